@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.JoinConfig;
+
+/**
+ * Configurations shared by the benchmarks which start Hazelcast instances.
+ */
+final class BenchmarkConfigs {
+
+    static final String CLUSTER_NAME = "jmh";
+
+    private BenchmarkConfigs() {
+    }
+
+    /**
+     * Returns the configuration of a member which doesn't join any other member.
+     */
+    static Config memberConfig() {
+        Config config = new Config();
+        config.setClusterName(CLUSTER_NAME);
+        config.setProperty("hazelcast.phone.home.enabled", "false");
+        config.setProperty("hazelcast.logging.type", "none");
+        config.getJetConfig().setEnabled(false);
+        JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        return config;
+    }
+
+    /**
+     * Returns the configuration of a client connecting to the member
+     * listening on the given port of the loopback interface.
+     */
+    static ClientConfig clientConfig(int port) {
+        ClientConfig config = new ClientConfig();
+        config.setClusterName(CLUSTER_NAME);
+        config.setProperty("hazelcast.logging.type", "none");
+        config.getNetworkConfig().addAddress("127.0.0.1:" + port);
+        return config;
+    }
+}
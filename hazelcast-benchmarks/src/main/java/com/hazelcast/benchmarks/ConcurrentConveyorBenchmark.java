@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.internal.util.concurrent.ConcurrentConveyor;
+import com.hazelcast.internal.util.concurrent.OneToOneConcurrentArrayQueue;
+import com.hazelcast.internal.util.concurrent.QueuedPipe;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures the throughput of a {@link ConcurrentConveyor} with
+ * {@value #PRODUCER_COUNT} producers and a single drainer.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentConveyorBenchmark {
+
+    static final int PRODUCER_COUNT = 3;
+    private static final int QUEUE_CAPACITY = 1024;
+    private static final Object DONE_ITEM = new Object();
+    private static final Object ITEM = new Object();
+
+    @State(Scope.Group)
+    public static class ConveyorState {
+
+        ConcurrentConveyor<Object> conveyor;
+        final AtomicInteger producerIndex = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setup() {
+            @SuppressWarnings("unchecked")
+            QueuedPipe<Object>[] queues = new QueuedPipe[PRODUCER_COUNT];
+            for (int i = 0; i < PRODUCER_COUNT; i++) {
+                queues[i] = new OneToOneConcurrentArrayQueue<>(QUEUE_CAPACITY);
+            }
+            conveyor = ConcurrentConveyor.concurrentConveyor(DONE_ITEM, queues);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ProducerState {
+
+        int queueIndex;
+
+        @Setup(Level.Trial)
+        public void setup(ConveyorState state) {
+            queueIndex = state.producerIndex.getAndIncrement() % PRODUCER_COUNT;
+        }
+    }
+
+    /**
+     * Counts the offers rejected because the queue of the producer was full.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class OfferCounters {
+
+        public long rejectedOffers;
+    }
+
+    @State(Scope.Thread)
+    public static class DrainerState {
+
+        final List<Object> drain = new ArrayList<>(QUEUE_CAPACITY * PRODUCER_COUNT);
+    }
+
+    @Benchmark
+    @Group("conveyor")
+    @GroupThreads(PRODUCER_COUNT)
+    public void offer(ConveyorState state, ProducerState producer, OfferCounters counters) {
+        if (!state.conveyor.offer(producer.queueIndex, ITEM)) {
+            counters.rejectedOffers++;
+            Thread.onSpinWait();
+        }
+    }
+
+    @Benchmark
+    @Group("conveyor")
+    @GroupThreads(1)
+    public int drain(ConveyorState state, DrainerState drainer) {
+        int count = state.conveyor.drainTo(drainer.drain);
+        drainer.drain.clear();
+        return count;
+    }
+}
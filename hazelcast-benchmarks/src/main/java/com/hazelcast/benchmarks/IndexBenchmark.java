@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures predicate queries on an indexed map for every {@link IndexType}, i.e. the
+ * ordered, the unordered and the bitmap index stores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexBenchmark {
+
+    private static final String MAP_NAME = "employees";
+    private static final int AGE_COUNT = 100;
+
+    @Param({"SORTED", "HASH", "BITMAP"})
+    public IndexType indexType;
+
+    @Param({"100000"})
+    public int entryCount;
+
+    private HazelcastInstance member;
+    private IMap<Integer, Employee> map;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config config = BenchmarkConfigs.memberConfig();
+        config.getMapConfig(MAP_NAME)
+              .setInMemoryFormat(InMemoryFormat.OBJECT)
+              .addIndexConfig(new IndexConfig(indexType, "age"));
+        member = Hazelcast.newHazelcastInstance(config);
+        map = member.getMap(MAP_NAME);
+        for (int i = 0; i < entryCount; i++) {
+            map.set(i, new Employee(i % AGE_COUNT, i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        member.shutdown();
+    }
+
+    @Benchmark
+    public Collection<Employee> equal() {
+        return map.values(Predicates.equal("age", randomAge()));
+    }
+
+    @Benchmark
+    public Collection<Employee> in() {
+        return map.values(Predicates.in("age", randomAge(), randomAge(), randomAge()));
+    }
+
+    @Benchmark
+    public Collection<Employee> range() {
+        int from = randomAge();
+        Predicate<Integer, Employee> predicate = Predicates.between("age", from, from + 2);
+        return map.values(predicate);
+    }
+
+    @Benchmark
+    public Collection<Employee> conjunction() {
+        return map.values(Predicates.and(Predicates.equal("age", randomAge()),
+                Predicates.greaterThan("salary", entryCount / 2)));
+    }
+
+    private static int randomAge() {
+        return ThreadLocalRandom.current().nextInt(AGE_COUNT);
+    }
+
+    public static class Employee implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int age;
+        private final int salary;
+
+        Employee(int age, int salary) {
+            this.age = age;
+            this.salary = salary;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public int getSalary() {
+            return salary;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of {@link IMap#get(Object)} and {@link IMap#set(Object, Object)}
+ * on a single member cluster, either called on the member itself or through a client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapBenchmark {
+
+    private static final String MAP_NAME = "map";
+
+    /**
+     * Where the map proxy lives: on the member or on a client.
+     */
+    @Param({"MEMBER", "CLIENT"})
+    public String caller;
+
+    @Param({"BINARY", "OBJECT"})
+    public InMemoryFormat inMemoryFormat;
+
+    @Param({"1000"})
+    public int keyCount;
+
+    @Param({"100"})
+    public int valueSize;
+
+    private HazelcastInstance member;
+    private HazelcastInstance client;
+    private IMap<Integer, byte[]> map;
+    private byte[] value;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config config = BenchmarkConfigs.memberConfig();
+        config.getMapConfig(MAP_NAME).setInMemoryFormat(inMemoryFormat);
+        member = Hazelcast.newHazelcastInstance(config);
+        if ("CLIENT".equals(caller)) {
+            int port = ((InetSocketAddress) member.getLocalEndpoint().getSocketAddress()).getPort();
+            client = HazelcastClient.newHazelcastClient(BenchmarkConfigs.clientConfig(port));
+            map = client.getMap(MAP_NAME);
+        } else {
+            map = member.getMap(MAP_NAME);
+        }
+
+        value = new byte[valueSize];
+        ThreadLocalRandom.current().nextBytes(value);
+        for (int i = 0; i < keyCount; i++) {
+            map.set(i, value);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (client != null) {
+            client.shutdown();
+        }
+        member.shutdown();
+    }
+
+    @Benchmark
+    public byte[] get() {
+        return map.get(randomKey());
+    }
+
+    @Benchmark
+    public void set() {
+        map.set(randomKey(), value);
+    }
+
+    private int randomKey() {
+        return ThreadLocalRandom.current().nextInt(keyCount);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the record layouts of a {@link InMemoryFormat#BINARY BINARY} map: the
+ * heap bytes per entry measured after populating the map are reported as the
+ * {@code heapBytesPerEntry} secondary result, and the benchmark measures
+ * {@link IMap#get(Object)} on the member. Run it with {@code -prof gc} to see
+ * the allocations of a read as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RecordLayoutBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final int GC_ROUNDS = 3;
+
+    /**
+     * The kind of record created for the entries of the map.
+     */
+    public enum Layout {
+        /**
+         * {@code SimpleRecord} or {@code CachedSimpleRecord}
+         */
+        SIMPLE,
+        /**
+         * {@code DataRecordWithStats} or {@code CachedDataRecordWithStats}
+         */
+        WITH_STATS,
+        /**
+         * {@code PackedDataRecord} or {@code PackedCachedDataRecord}
+         */
+        PACKED
+    }
+
+    @Param({"SIMPLE", "WITH_STATS", "PACKED"})
+    public Layout layout;
+
+    @Param({"NEVER", "INDEX_ONLY"})
+    public CacheDeserializedValues cacheDeserializedValues;
+
+    @Param({"1000000"})
+    public int entryCount;
+
+    @Param({"16"})
+    public int valueSize;
+
+    private HazelcastInstance member;
+    private IMap<Integer, byte[]> map;
+    private long heapBytesPerEntry;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Config config = BenchmarkConfigs.memberConfig();
+        config.setProperty(ClusterProperty.MAP_PACKED_RECORDS_ENABLED.getName(), String.valueOf(layout == Layout.PACKED));
+        config.getMapConfig(MAP_NAME)
+              .setInMemoryFormat(InMemoryFormat.BINARY)
+              .setBackupCount(0)
+              .setPerEntryStatsEnabled(layout == Layout.WITH_STATS)
+              .setCacheDeserializedValues(cacheDeserializedValues);
+        member = Hazelcast.newHazelcastInstance(config);
+        map = member.getMap(MAP_NAME);
+
+        byte[] value = new byte[valueSize];
+        long heapBefore = usedHeap();
+        for (int i = 0; i < entryCount; i++) {
+            map.set(i, value);
+        }
+        heapBytesPerEntry = (usedHeap() - heapBefore) / entryCount;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        member.shutdown();
+    }
+
+    @Benchmark
+    public byte[] get(Footprint footprint) {
+        return map.get(ThreadLocalRandom.current().nextInt(entryCount));
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Reports the heap footprint measured in the trial setup as a secondary result.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+
+        public long heapBytesPerEntry;
+
+        @Setup(Level.Iteration)
+        public void setup(RecordLayoutBenchmark benchmark) {
+            heapBytesPerEntry = benchmark.heapBytesPerEntry;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.benchmarks;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.PortableReader;
+import com.hazelcast.nio.serialization.PortableWriter;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures serialization and deserialization of the same object
+ * with the IdentifiedDataSerializable, Portable and Compact formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private static final int FACTORY_ID = 1;
+    private static final int CLASS_ID = 1;
+
+    @Param({"IDENTIFIED", "PORTABLE", "COMPACT"})
+    public String format;
+
+    private InternalSerializationService serializationService;
+    private Object object;
+    private Data data;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SerializationConfig config = new SerializationConfig();
+        config.getCompactSerializationConfig().addSerializer(new CompactOrderSerializer());
+        serializationService = new DefaultSerializationServiceBuilder()
+                .setConfig(config)
+                .addDataSerializableFactory(FACTORY_ID, id -> new IdentifiedOrder())
+                .addPortableFactory(FACTORY_ID, id -> new PortableOrder())
+                .setSchemaService(new LocalSchemaService())
+                .build();
+
+        switch (format) {
+            case "IDENTIFIED":
+                object = new IdentifiedOrder(1L, "HZ", 100, 42.5d);
+                break;
+            case "PORTABLE":
+                object = new PortableOrder(1L, "HZ", 100, 42.5d);
+                break;
+            case "COMPACT":
+                object = new CompactOrder(1L, "HZ", 100, 42.5d);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown format " + format);
+        }
+        data = serializationService.toData(object);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serializationService.dispose();
+    }
+
+    @Benchmark
+    public Data serialize() {
+        return serializationService.toData(object);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return serializationService.toObject(data);
+    }
+
+    /**
+     * Keeps the Compact schemas in the local process, there is no cluster to replicate them to.
+     */
+    private static final class LocalSchemaService implements SchemaService {
+
+        private final Map<Long, Schema> schemas = new ConcurrentHashMap<>();
+
+        @Override
+        public Schema get(long schemaId) {
+            return schemas.get(schemaId);
+        }
+
+        @Override
+        public void put(Schema schema) {
+            schemas.putIfAbsent(schema.getSchemaId(), schema);
+        }
+
+        @Override
+        public void putLocal(Schema schema) {
+            put(schema);
+        }
+    }
+
+    public static class IdentifiedOrder implements IdentifiedDataSerializable {
+
+        private long id;
+        private String symbol;
+        private int quantity;
+        private double price;
+
+        public IdentifiedOrder() {
+        }
+
+        IdentifiedOrder(long id, String symbol, int quantity, double price) {
+            this.id = id;
+            this.symbol = symbol;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeLong(id);
+            out.writeString(symbol);
+            out.writeInt(quantity);
+            out.writeDouble(price);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            id = in.readLong();
+            symbol = in.readString();
+            quantity = in.readInt();
+            price = in.readDouble();
+        }
+    }
+
+    public static class PortableOrder implements Portable {
+
+        private long id;
+        private String symbol;
+        private int quantity;
+        private double price;
+
+        public PortableOrder() {
+        }
+
+        PortableOrder(long id, String symbol, int quantity, double price) {
+            this.id = id;
+            this.symbol = symbol;
+            this.quantity = quantity;
+            this.price = price;
+        }
+
+        @Override
+        public int getFactoryId() {
+            return FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return CLASS_ID;
+        }
+
+        @Override
+        public void writePortable(PortableWriter writer) throws IOException {
+            writer.writeLong("id", id);
+            writer.writeString("symbol", symbol);
+            writer.writeInt("quantity", quantity);
+            writer.writeDouble("price", price);
+        }
+
+        @Override
+        public void readPortable(PortableReader reader) throws IOException {
+            id = reader.readLong("id");
+            symbol = reader.readString("symbol");
+            quantity = reader.readInt("quantity");
+            price = reader.readDouble("price");
+        }
+    }
+
+    public static class CompactOrder {
+
+        private final long id;
+        private final String symbol;
+        private final int quantity;
+        private final double price;
+
+        CompactOrder(long id, String symbol, int quantity, double price) {
+            this.id = id;
+            this.symbol = symbol;
+            this.quantity = quantity;
+            this.price = price;
+        }
+    }
+
+    private static final class CompactOrderSerializer implements CompactSerializer<CompactOrder> {
+
+        @Nonnull
+        @Override
+        public CompactOrder read(@Nonnull CompactReader reader) {
+            return new CompactOrder(reader.readInt64("id"), reader.readString("symbol"),
+                    reader.readInt32("quantity"), reader.readFloat64("price"));
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull CompactOrder order) {
+            writer.writeInt64("id", order.id);
+            writer.writeString("symbol", order.symbol);
+            writer.writeInt32("quantity", order.quantity);
+            writer.writeFloat64("price", order.price);
+        }
+
+        @Nonnull
+        @Override
+        public String getTypeName() {
+            return "order";
+        }
+
+        @Nonnull
+        @Override
+        public Class<CompactOrder> getCompactClass() {
+            return CompactOrder.class;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.keyvalue;
+
+import java.util.Arrays;
+
+/**
+ * The values of the columns read by a {@link VectorizedPredicate} for a batch
+ * of entries, one vector per column. Integer columns are also unboxed into a
+ * {@code long[]} vector and floating-point columns into a {@code double[]}
+ * vector, so the predicate compares primitives in a tight loop.
+ */
+final class ColumnBatch {
+
+    /**
+     * The column isn't read by the predicate.
+     */
+    static final int KIND_NONE = 0;
+
+    /**
+     * The column is read as a boxed value.
+     */
+    static final int KIND_OBJECT = 1;
+
+    /**
+     * The column is read as a boxed value and as a {@code long}.
+     */
+    static final int KIND_LONG = 2;
+
+    /**
+     * The column is read as a boxed value and as a {@code double}.
+     */
+    static final int KIND_DOUBLE = 3;
+
+    private final int[] columns;
+    private final Object[][] values;
+    private final boolean[][] nulls;
+    private final long[][] longs;
+    private final double[][] doubles;
+
+    ColumnBatch(int[] kinds, int capacity) {
+        columns = new int[(int) Arrays.stream(kinds).filter(kind -> kind != KIND_NONE).count()];
+        values = new Object[kinds.length][];
+        nulls = new boolean[kinds.length][];
+        longs = new long[kinds.length][];
+        doubles = new double[kinds.length][];
+
+        int columnCount = 0;
+        for (int column = 0; column < kinds.length; column++) {
+            if (kinds[column] == KIND_NONE) {
+                continue;
+            }
+            columns[columnCount++] = column;
+            values[column] = new Object[capacity];
+            nulls[column] = new boolean[capacity];
+            if (kinds[column] == KIND_LONG) {
+                longs[column] = new long[capacity];
+            } else if (kinds[column] == KIND_DOUBLE) {
+                doubles[column] = new double[capacity];
+            }
+        }
+    }
+
+    /**
+     * Returns the indexes of the columns in this batch.
+     */
+    int[] columns() {
+        return columns;
+    }
+
+    boolean contains(int column) {
+        return values[column] != null;
+    }
+
+    void set(int column, int row, Object value) {
+        values[column][row] = value;
+        nulls[column][row] = value == null;
+        if (value == null) {
+            return;
+        }
+        if (longs[column] != null) {
+            longs[column][row] = ((Number) value).longValue();
+        } else if (doubles[column] != null) {
+            doubles[column][row] = ((Number) value).doubleValue();
+        }
+    }
+
+    /**
+     * Drops the references to the values of the batch.
+     */
+    void clear(int size) {
+        for (int column : columns) {
+            Arrays.fill(values[column], 0, size, null);
+        }
+    }
+
+    Object[] values(int column) {
+        return values[column];
+    }
+
+    boolean[] nulls(int column) {
+        return nulls[column];
+    }
+
+    long[] longs(int column) {
+        return longs[column];
+    }
+
+    double[] doubles(int column) {
+        return doubles[column];
+    }
+}
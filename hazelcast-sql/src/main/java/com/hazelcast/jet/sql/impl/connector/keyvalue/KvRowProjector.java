@@ -23,6 +23,7 @@ import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.sql.impl.QueryException;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
@@ -36,6 +37,7 @@ import com.hazelcast.sql.impl.type.QueryDataType;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
 
@@ -49,6 +51,11 @@ import static com.hazelcast.internal.util.Preconditions.checkTrue;
  */
 public class KvRowProjector implements Row {
 
+    /**
+     * The maximum number of entries passed to {@link #projectBatch}.
+     */
+    public static final int MAX_BATCH_SIZE = 1024;
+
     private final QueryTarget keyTarget;
     private final QueryTarget valueTarget;
     private final QueryExtractor[] extractors;
@@ -57,6 +64,13 @@ public class KvRowProjector implements Row {
     private final List<Expression<?>> projections;
     private final ExpressionEvalContext evalContext;
 
+    private final VectorizedPredicate vectorizedPredicate;
+    private final ColumnBatch columnBatch;
+    private final int[] selection;
+    private final boolean batchReadsKey;
+    private final boolean batchReadsValue;
+    private int batchRow = -1;
+
     @SuppressWarnings("unchecked")
     KvRowProjector(
             QueryPath[] paths,
@@ -76,6 +90,22 @@ public class KvRowProjector implements Row {
                 : (Expression<Boolean>) ConstantExpression.create(true, QueryDataType.BOOLEAN);
         this.projections = projections;
         this.evalContext = evalContext;
+
+        int[] kinds = new int[paths.length];
+        this.vectorizedPredicate = VectorizedPredicate.compile(this.predicate, kinds);
+        this.columnBatch = vectorizedPredicate != null ? new ColumnBatch(kinds, MAX_BATCH_SIZE) : null;
+        this.selection = vectorizedPredicate != null ? new int[MAX_BATCH_SIZE] : null;
+        this.batchReadsKey = vectorizedPredicate != null && reads(paths, kinds, true);
+        this.batchReadsValue = vectorizedPredicate != null && reads(paths, kinds, false);
+    }
+
+    private static boolean reads(QueryPath[] paths, int[] kinds, boolean key) {
+        for (int i = 0; i < paths.length; i++) {
+            if (kinds[i] != ColumnBatch.KIND_NONE && paths[i].isKey() == key) {
+                return true;
+            }
+        }
+        return false;
     }
 
     private static QueryExtractor[] createExtractors(
@@ -111,15 +141,89 @@ public class KvRowProjector implements Row {
         return ExpressionUtil.projection(predicate, projections, this, evalContext);
     }
 
+    /**
+     * Projects a batch of at most {@link #MAX_BATCH_SIZE} entries and passes
+     * the rows the predicate selects to the consumer.
+     * <p>
+     * If the predicate is supported by {@link VectorizedPredicate}, the columns
+     * it reads are extracted for the whole batch first, then the predicate
+     * filters the batch column by column and the projections are evaluated
+     * only for the selected entries. Otherwise, and for batches with entries
+     * that aren't Compact or Portable and would have to be deserialized twice,
+     * the batch is projected entry by entry.
+     */
+    public void projectBatch(Data[] keys, Data[] values, int size, Consumer<JetSqlRow> consumer) {
+        if (vectorizedPredicate == null || !fillColumnBatch(keys, values, size)) {
+            for (int i = 0; i < size; i++) {
+                JetSqlRow row = project(keys[i], values[i]);
+                if (row != null) {
+                    consumer.accept(row);
+                }
+            }
+            return;
+        }
+
+        try {
+            for (int i = 0; i < size; i++) {
+                selection[i] = i;
+            }
+            int selected = vectorizedPredicate.filter(columnBatch, selection, size);
+            for (int i = 0; i < selected; i++) {
+                batchRow = selection[i];
+                keyTarget.setTarget(null, keys[batchRow]);
+                valueTarget.setTarget(null, values[batchRow]);
+                consumer.accept(ExpressionUtil.projection(null, projections, this, evalContext));
+            }
+        } finally {
+            batchRow = -1;
+            columnBatch.clear(size);
+        }
+    }
+
+    private boolean fillColumnBatch(Data[] keys, Data[] values, int size) {
+        for (int i = 0; i < size; i++) {
+            if ((batchReadsKey && !isReadableInPlace(keys[i])) || (batchReadsValue && !isReadableInPlace(values[i]))) {
+                return false;
+            }
+        }
+
+        int[] columns = columnBatch.columns();
+        try {
+            for (int row = 0; row < size; row++) {
+                keyTarget.setTarget(null, keys[row]);
+                valueTarget.setTarget(null, values[row]);
+                for (int column : columns) {
+                    columnBatch.set(column, row, extractors[column].get());
+                }
+            }
+            return true;
+        } catch (QueryException e) {
+            // The row-by-row evaluation short-circuits and might not read the
+            // failing column at all, let it decide whether the query fails.
+            columnBatch.clear(size);
+            return false;
+        }
+    }
+
+    private static boolean isReadableInPlace(Data data) {
+        return data.isCompact() || data.isPortable();
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(int index) {
+        if (batchRow >= 0 && columnBatch.contains(index)) {
+            return (T) columnBatch.values(index)[batchRow];
+        }
         return (T) extractors[index].get();
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T> T get(int index, boolean useLazyDeserialization) {
+        if (!useLazyDeserialization && batchRow >= 0 && columnBatch.contains(index)) {
+            return (T) columnBatch.values(index)[batchRow];
+        }
         return (T) extractors[index].get(useLazyDeserialization);
     }
 
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.keyvalue;
+
+import com.hazelcast.query.impl.Comparables;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+
+import static com.hazelcast.jet.sql.impl.connector.keyvalue.ColumnBatch.KIND_DOUBLE;
+import static com.hazelcast.jet.sql.impl.connector.keyvalue.ColumnBatch.KIND_LONG;
+import static com.hazelcast.jet.sql.impl.connector.keyvalue.ColumnBatch.KIND_NONE;
+import static com.hazelcast.jet.sql.impl.connector.keyvalue.ColumnBatch.KIND_OBJECT;
+
+/**
+ * A predicate evaluated on a whole {@link ColumnBatch} at a time. Instead of
+ * walking the expression tree and comparing boxed values for every entry, each
+ * comparison is a loop over a primitive column vector that narrows a selection
+ * vector - the ascending indexes of the rows still selected.
+ * <p>
+ * Supported are comparisons of a column with a constant, {@code IS [NOT] NULL}
+ * of a column, a {@code BOOLEAN} column and {@code AND} and {@code OR} of those.
+ * A row is selected only if the predicate is TRUE, so FALSE and UNKNOWN don't
+ * need to be told apart - that's why {@code NOT} isn't supported.
+ */
+abstract class VectorizedPredicate {
+
+    private static final int LESS = 1;
+    private static final int EQUAL = 2;
+    private static final int GREATER = 4;
+
+    /**
+     * Removes the rows the predicate isn't TRUE for from the selection.
+     *
+     * @param batch     the column values
+     * @param selection the ascending indexes of the selected rows, updated in place
+     * @param size      the number of the selected rows
+     * @return the number of the rows still selected
+     */
+    abstract int filter(ColumnBatch batch, int[] selection, int size);
+
+    /**
+     * Compiles the predicate.
+     *
+     * @param predicate the predicate
+     * @param kinds     the array to record how every column is read by the predicate
+     * @return the compiled predicate or {@code null} if the predicate isn't supported
+     */
+    @Nullable
+    static VectorizedPredicate compile(Expression<?> predicate, int[] kinds) {
+        if (predicate instanceof AndPredicate and) {
+            VectorizedPredicate[] operands = compile(and.operands(), kinds);
+            return operands == null ? null : new And(operands);
+        } else if (predicate instanceof OrPredicate or) {
+            VectorizedPredicate[] operands = compile(or.operands(), kinds);
+            return operands == null ? null : new Or(operands);
+        } else if (predicate instanceof ComparisonPredicate comparison) {
+            return compileComparison(comparison, kinds);
+        } else if (predicate instanceof IsNullPredicate isNull) {
+            return compileNullCheck(isNull.getOperand(), true, kinds);
+        } else if (predicate instanceof IsNotNullPredicate isNotNull) {
+            return compileNullCheck(isNotNull.getOperand(), false, kinds);
+        } else if (predicate instanceof ColumnExpression<?> column
+                && column.getType().getTypeFamily() == QueryDataTypeFamily.BOOLEAN) {
+            return new BooleanColumn(read(column, KIND_OBJECT, kinds));
+        }
+        return null;
+    }
+
+    private static VectorizedPredicate[] compile(Expression<?>[] expressions, int[] kinds) {
+        VectorizedPredicate[] operands = new VectorizedPredicate[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            operands[i] = compile(expressions[i], kinds);
+            if (operands[i] == null) {
+                return null;
+            }
+        }
+        return operands;
+    }
+
+    private static VectorizedPredicate compileComparison(ComparisonPredicate comparison, int[] kinds) {
+        Expression<?> left = comparison.getOperand1();
+        Expression<?> right = comparison.getOperand2();
+        int mask = mask(comparison.getMode());
+        if (left instanceof ConstantExpression && right instanceof ColumnExpression) {
+            Expression<?> swap = left;
+            left = right;
+            right = swap;
+            mask = swapOperands(mask);
+        }
+        if (!(left instanceof ColumnExpression<?> column) || !(right instanceof ConstantExpression<?> constant)) {
+            return null;
+        }
+        if (constant.getValue() == null || column.getType().getTypeFamily() != constant.getType().getTypeFamily()) {
+            return null;
+        }
+
+        int kind = kind(column.getType().getTypeFamily());
+        Object value = constant.getValue();
+        switch (kind) {
+            case KIND_LONG:
+                return new LongComparison(read(column, kind, kinds), mask, ((Number) value).longValue());
+            case KIND_DOUBLE:
+                return new DoubleComparison(read(column, kind, kinds), mask, ((Number) value).doubleValue());
+            case KIND_OBJECT:
+                return new ObjectComparison(read(column, kind, kinds), mask, (Comparable<?>) value);
+            default:
+                return null;
+        }
+    }
+
+    private static VectorizedPredicate compileNullCheck(Expression<?> operand, boolean isNull, int[] kinds) {
+        if (!(operand instanceof ColumnExpression<?> column) || kind(column.getType().getTypeFamily()) == KIND_NONE) {
+            return null;
+        }
+        return new NullCheck(read(column, KIND_OBJECT, kinds), isNull);
+    }
+
+    private static int read(ColumnExpression<?> column, int kind, int[] kinds) {
+        int index = column.getIndex();
+        kinds[index] = Math.max(kinds[index], kind);
+        return index;
+    }
+
+    private static int kind(QueryDataTypeFamily family) {
+        switch (family) {
+            case TINYINT:
+            case SMALLINT:
+            case INTEGER:
+            case BIGINT:
+                return KIND_LONG;
+            case REAL:
+            case DOUBLE:
+                return KIND_DOUBLE;
+            case VARCHAR:
+            case BOOLEAN:
+            case DECIMAL:
+            case DATE:
+            case TIME:
+            case TIMESTAMP:
+            case TIMESTAMP_WITH_TIME_ZONE:
+                return KIND_OBJECT;
+            default:
+                return KIND_NONE;
+        }
+    }
+
+    private static int mask(ComparisonMode mode) {
+        switch (mode) {
+            case EQUALS:
+                return EQUAL;
+            case NOT_EQUALS:
+                return LESS | GREATER;
+            case GREATER_THAN:
+                return GREATER;
+            case GREATER_THAN_OR_EQUAL:
+                return GREATER | EQUAL;
+            case LESS_THAN:
+                return LESS;
+            case LESS_THAN_OR_EQUAL:
+                return LESS | EQUAL;
+            default:
+                throw new IllegalStateException("unexpected comparison mode: " + mode);
+        }
+    }
+
+    /**
+     * Returns the mask of {@code b <op> a} for the mask of {@code a <op> b}.
+     */
+    private static int swapOperands(int mask) {
+        int swapped = mask & EQUAL;
+        if ((mask & LESS) != 0) {
+            swapped |= GREATER;
+        }
+        if ((mask & GREATER) != 0) {
+            swapped |= LESS;
+        }
+        return swapped;
+    }
+
+    /**
+     * Returns whether the result of a {@code compare()} call matches the mask.
+     */
+    static boolean matches(int mask, int order) {
+        return (mask & (LESS << (Integer.signum(order) + 1))) != 0;
+    }
+
+    static final class LongComparison extends VectorizedPredicate {
+        private final int column;
+        private final int mask;
+        private final long constant;
+
+        LongComparison(int column, int mask, long constant) {
+            this.column = column;
+            this.mask = mask;
+            this.constant = constant;
+        }
+
+        @Override
+        int filter(ColumnBatch batch, int[] selection, int size) {
+            long[] values = batch.longs(column);
+            boolean[] nulls = batch.nulls(column);
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                if (!nulls[row] && matches(mask, Long.compare(values[row], constant))) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    static final class DoubleComparison extends VectorizedPredicate {
+        private final int column;
+        private final int mask;
+        private final double constant;
+
+        DoubleComparison(int column, int mask, double constant) {
+            this.column = column;
+            this.mask = mask;
+            this.constant = constant;
+        }
+
+        @Override
+        int filter(ColumnBatch batch, int[] selection, int size) {
+            double[] values = batch.doubles(column);
+            boolean[] nulls = batch.nulls(column);
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                if (!nulls[row] && matches(mask, Double.compare(values[row], constant))) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    static final class ObjectComparison extends VectorizedPredicate {
+        private final int column;
+        private final int mask;
+        private final Comparable<?> constant;
+
+        ObjectComparison(int column, int mask, Comparable<?> constant) {
+            this.column = column;
+            this.mask = mask;
+            this.constant = constant;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        int filter(ColumnBatch batch, int[] selection, int size) {
+            Object[] values = batch.values(column);
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                Object value = values[row];
+                if (value != null && matches(mask, Comparables.compare((Comparable) value, constant))) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    static final class NullCheck extends VectorizedPredicate {
+        private final int column;
+        private final boolean isNull;
+
+        NullCheck(int column, boolean isNull) {
+            this.column = column;
+            this.isNull = isNull;
+        }
+
+        @Override
+        int filter(ColumnBatch batch, int[] selection, int size) {
+            boolean[] nulls = batch.nulls(column);
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                if (nulls[row] == isNull) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    static final class BooleanColumn extends VectorizedPredicate {
+        private final int column;
+
+        BooleanColumn(int column) {
+            this.column = column;
+        }
+
+        @Override
+        int filter(ColumnBatch batch, int[] selection, int size) {
+            Object[] values = batch.values(column);
+            int selected = 0;
+            for (int i = 0; i < size; i++) {
+                int row = selection[i];
+                if (Boolean.TRUE.equals(values[row])) {
+                    selection[selected++] = row;
+                }
+            }
+            return selected;
+        }
+    }
+
+    static final class And extends VectorizedPredicate {
+        private final VectorizedPredicate[] operands;
+
+        And(VectorizedPredicate[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        int filter(ColumnBatch batch, int[] selection, int size) {
+            for (int i = 0; i < operands.length && size > 0; i++) {
+                size = operands[i].filter(batch, selection, size);
+            }
+            return size;
+        }
+    }
+
+    /**
+     * Evaluates every operand only on the rows no previous operand selected
+     * and merges the selected rows.
+     */
+    static final class Or extends VectorizedPredicate {
+        private final VectorizedPredicate[] operands;
+
+        private int[] remaining = new int[0];
+        private int[] candidates = new int[0];
+        private int[] selected = new int[0];
+
+        Or(VectorizedPredicate[] operands) {
+            this.operands = operands;
+        }
+
+        @Override
+        int filter(ColumnBatch batch, int[] selection, int size) {
+            if (remaining.length < size) {
+                remaining = new int[size];
+                candidates = new int[size];
+                selected = new int[size];
+            }
+            System.arraycopy(selection, 0, remaining, 0, size);
+            int remainingSize = size;
+            int selectedSize = 0;
+            for (int i = 0; i < operands.length && remainingSize > 0; i++) {
+                System.arraycopy(remaining, 0, candidates, 0, remainingSize);
+                int candidateCount = operands[i].filter(batch, candidates, remainingSize);
+                int candidate = 0;
+                int kept = 0;
+                for (int j = 0; j < remainingSize; j++) {
+                    int row = remaining[j];
+                    if (candidate < candidateCount && candidates[candidate] == row) {
+                        selected[selectedSize++] = row;
+                        candidate++;
+                    } else {
+                        remaining[kept++] = row;
+                    }
+                }
+                remainingSize = kept;
+            }
+            Arrays.sort(selected, 0, selectedSize);
+            System.arraycopy(selected, 0, selection, 0, selectedSize);
+            return selectedSize;
+        }
+    }
+}
@@ -16,10 +16,12 @@
 
 package com.hazelcast.jet.sql.impl.connector.map;
 
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.AppendableTraverser;
+import com.hazelcast.jet.core.Inbox;
 import com.hazelcast.jet.core.Processor;
 import com.hazelcast.jet.core.ProcessorSupplier;
-import com.hazelcast.jet.core.ResettableSingletonTraverser;
-import com.hazelcast.jet.impl.processor.TransformP;
 import com.hazelcast.jet.sql.impl.JetSqlSerializerHook;
 import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
 import com.hazelcast.map.impl.LazyMapEntry;
@@ -37,6 +39,7 @@ import com.hazelcast.sql.impl.type.QueryDataType;
 import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
@@ -66,14 +69,7 @@ public final class RowProjectorProcessorSupplier implements ProcessorSupplier, I
     public Collection<? extends Processor> get(int count) {
         List<Processor> processors = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            ResettableSingletonTraverser<JetSqlRow> traverser = new ResettableSingletonTraverser<>();
-            KvRowProjector projector = projectorSupplier.get(evalContext, extractors);
-            TransformP<LazyMapEntry<Object, Object>, JetSqlRow> processor = new TransformP<>(entry -> {
-                traverser.accept(projector.project(entry.getKeyData(), entry.getValueData()));
-                return traverser;
-            });
-            processor.setCooperative(projector.isCooperative());
-            processors.add(processor);
+            processors.add(new RowProjectorP(projectorSupplier.get(evalContext, extractors)));
         }
         return processors;
     }
@@ -98,6 +94,50 @@ public final class RowProjectorProcessorSupplier implements ProcessorSupplier, I
         return JetSqlSerializerHook.ROW_PROJECTOR_PROCESSOR_SUPPLIER;
     }
 
+    /**
+     * Projects the map entries in batches of up to {@link
+     * KvRowProjector#MAX_BATCH_SIZE}, so that a vectorized predicate can
+     * filter a whole batch at a time.
+     */
+    private static final class RowProjectorP extends AbstractProcessor {
+
+        private final KvRowProjector projector;
+        private final Data[] keys = new Data[KvRowProjector.MAX_BATCH_SIZE];
+        private final Data[] values = new Data[KvRowProjector.MAX_BATCH_SIZE];
+        private final AppendableTraverser<JetSqlRow> traverser = new AppendableTraverser<>(KvRowProjector.MAX_BATCH_SIZE);
+
+        RowProjectorP(KvRowProjector projector) {
+            this.projector = projector;
+        }
+
+        @Override
+        public boolean isCooperative() {
+            return projector.isCooperative();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void process(int ordinal, @Nonnull Inbox inbox) {
+            while (emitFromTraverser(traverser)) {
+                int size = 0;
+                for (Object item; size < keys.length && (item = inbox.poll()) != null; size++) {
+                    LazyMapEntry<Object, Object> entry = (LazyMapEntry<Object, Object>) item;
+                    keys[size] = entry.getKeyData();
+                    values[size] = entry.getValueData();
+                }
+                if (size == 0) {
+                    return;
+                }
+                try {
+                    projector.projectBatch(keys, values, size, traverser::append);
+                } finally {
+                    Arrays.fill(keys, 0, size, null);
+                    Arrays.fill(values, 0, size, null);
+                }
+            }
+        }
+    }
+
     public static ProcessorSupplier rowProjector(
             QueryPath[] paths,
             QueryDataType[] types,
@@ -55,6 +55,10 @@ public final class ComparisonPredicate extends BiExpression<Boolean> {
         return new ComparisonPredicate(left, right, comparisonMode);
     }
 
+    public ComparisonMode getMode() {
+        return mode;
+    }
+
     @Override
     public int getClassId() {
         return JetSqlSerializerHook.EXPRESSION_COMPARISON;
@@ -19,13 +19,18 @@ package com.hazelcast.jet.sql.impl.connector.keyvalue;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestUtil;
 import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.sql.impl.expression.ColumnExpression;
 import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.expression.math.DivideFunction;
 import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
 import com.hazelcast.sql.impl.extract.GenericQueryTarget;
 import com.hazelcast.sql.impl.extract.GenericQueryTargetDescriptor;
 import com.hazelcast.sql.impl.extract.QueryExtractor;
@@ -40,6 +45,9 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static com.hazelcast.jet.sql.SqlTestSupport.jetRow;
 import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
 import static com.hazelcast.sql.impl.type.QueryDataType.INT;
@@ -112,6 +120,73 @@ public class KvRowProjectorTest {
         assertThat(row).isNull();
     }
 
+    @Test
+    public void test_projectBatch_compact() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder()
+                .setSchemaService(CompactTestUtil.createInMemorySchemaService())
+                .build();
+        int size = 100;
+        Data[] keys = new Data[size];
+        Data[] values = new Data[size];
+        for (int i = 0; i < size; i++) {
+            keys[i] = serializationService.toData(i);
+            values[i] = serializationService.toData(GenericRecordBuilder.compact("value")
+                    .setNullableInt32("field", i % 10 == 0 ? null : i)
+                    .build());
+        }
+
+        List<JetSqlRow> batchRows = new ArrayList<>();
+        compactProjector(serializationService).projectBatch(keys, values, size, batchRows::add);
+        List<JetSqlRow> rows = new ArrayList<>();
+        KvRowProjector projector = compactProjector(serializationService);
+        for (int i = 0; i < size; i++) {
+            JetSqlRow row = projector.project(keys[i], values[i]);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+
+        assertThat(batchRows).hasSize(45).isEqualTo(rows);
+    }
+
+    @Test
+    public void test_projectBatch_notCompact() {
+        InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+        KvRowProjector projector = new KvRowProjector(
+                new QueryPath[]{QueryPath.KEY_PATH, QueryPath.VALUE_PATH},
+                new QueryDataType[]{INT, INT},
+                new GenericQueryTarget(serializationService, null, true),
+                new GenericQueryTarget(serializationService, null, false),
+                ComparisonPredicate.create(ColumnExpression.create(1, INT), ConstantExpression.create(5, INT),
+                        ComparisonMode.LESS_THAN),
+                asList(ColumnExpression.create(0, INT), ColumnExpression.create(1, INT)),
+                SqlTestSupport.createExpressionEvalContext()
+        );
+        Data[] keys = {serializationService.toData(1), serializationService.toData(2)};
+        Data[] values = {serializationService.toData(8), serializationService.toData(4)};
+
+        List<JetSqlRow> rows = new ArrayList<>();
+        projector.projectBatch(keys, values, 2, rows::add);
+
+        assertThat(rows).containsExactly(jetRow(2, 4));
+    }
+
+    private static KvRowProjector compactProjector(InternalSerializationService serializationService) {
+        Extractors extractors = Extractors.newBuilder(serializationService).build();
+        return new KvRowProjector(
+                new QueryPath[]{QueryPath.KEY_PATH, new QueryPath("field", false)},
+                new QueryDataType[]{INT, INT},
+                new GenericQueryTarget(serializationService, extractors, true),
+                new GenericQueryTarget(serializationService, extractors, false),
+                ComparisonPredicate.create(ColumnExpression.create(1, INT), ConstantExpression.create(50, INT),
+                        ComparisonMode.GREATER_THAN_OR_EQUAL),
+                asList(ColumnExpression.create(0, INT),
+                        MultiplyFunction.create(ColumnExpression.create(1, INT), ConstantExpression.create(2, INT), INT)),
+                SqlTestSupport.createExpressionEvalContext()
+        );
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void test_supplierSerialization() {
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.connector.keyvalue;
+
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.row.Row;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
+import static com.hazelcast.sql.impl.type.QueryDataType.DOUBLE;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.OBJECT;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class VectorizedPredicateTest {
+
+    private static final int ROW_COUNT = 1000;
+
+    private static final Expression<?> INT_COLUMN = ColumnExpression.create(0, INT);
+    private static final Expression<?> DOUBLE_COLUMN = ColumnExpression.create(1, DOUBLE);
+    private static final Expression<?> VARCHAR_COLUMN = ColumnExpression.create(2, VARCHAR);
+    private static final Expression<?> BOOLEAN_COLUMN = ColumnExpression.create(3, BOOLEAN);
+
+    private final Random random = new Random(42);
+
+    @Test
+    public void when_supportedPredicate_then_selectsSameRowsAsRowByRowEvaluation() {
+        Object[][] rows = randomRows();
+
+        List<Expression<?>> predicates = new ArrayList<>();
+        for (ComparisonMode mode : ComparisonMode.values()) {
+            predicates.add(ComparisonPredicate.create(INT_COLUMN, ConstantExpression.create(5, INT), mode));
+            predicates.add(ComparisonPredicate.create(ConstantExpression.create(5, INT), INT_COLUMN, mode));
+            predicates.add(ComparisonPredicate.create(DOUBLE_COLUMN, ConstantExpression.create(0.5d, DOUBLE), mode));
+            predicates.add(ComparisonPredicate.create(ConstantExpression.create("m", VARCHAR), VARCHAR_COLUMN, mode));
+        }
+        predicates.add(IsNullPredicate.create(INT_COLUMN));
+        predicates.add(IsNotNullPredicate.create(VARCHAR_COLUMN));
+        predicates.add(BOOLEAN_COLUMN);
+        int simplePredicateCount = predicates.size();
+        for (int i = 0; i < 100; i++) {
+            Expression<?> first = predicates.get(random.nextInt(simplePredicateCount));
+            Expression<?> second = predicates.get(random.nextInt(simplePredicateCount));
+            Expression<?> third = predicates.get(random.nextInt(simplePredicateCount));
+            predicates.add(AndPredicate.create(first, OrPredicate.create(second, third)));
+            predicates.add(OrPredicate.create(first, AndPredicate.create(second, third), third));
+        }
+
+        for (Expression<?> predicate : predicates) {
+            assertThat(filter(predicate, rows)).as(predicate.toString()).isEqualTo(evaluate(predicate, rows));
+        }
+    }
+
+    @Test
+    public void when_unsupportedPredicate_then_notCompiled() {
+        Expression<?> sum = PlusFunction.create(INT_COLUMN, ConstantExpression.create(1, INT), INT);
+
+        assertThat(VectorizedPredicate.compile(NotPredicate.create(BOOLEAN_COLUMN), new int[4])).isNull();
+        assertThat(VectorizedPredicate.compile(
+                ComparisonPredicate.create(sum, ConstantExpression.create(1, INT), ComparisonMode.EQUALS), new int[4])).isNull();
+        assertThat(VectorizedPredicate.compile(
+                ComparisonPredicate.create(INT_COLUMN, ConstantExpression.create(null, INT), ComparisonMode.EQUALS),
+                new int[4])).isNull();
+        assertThat(VectorizedPredicate.compile(IsNullPredicate.create(ColumnExpression.create(0, OBJECT)), new int[4]))
+                .isNull();
+        assertThat(VectorizedPredicate.compile(AndPredicate.create(BOOLEAN_COLUMN, NotPredicate.create(BOOLEAN_COLUMN)),
+                new int[4])).isNull();
+    }
+
+    private Object[][] randomRows() {
+        Object[][] rows = new Object[ROW_COUNT][];
+        for (int i = 0; i < ROW_COUNT; i++) {
+            rows[i] = new Object[]{
+                    randomNull() ? null : random.nextInt(11),
+                    randomNull() ? null : random.nextInt(10) == 0 ? Double.NaN : random.nextDouble(),
+                    randomNull() ? null : String.valueOf((char) ('a' + random.nextInt(26))),
+                    randomNull() ? null : random.nextBoolean()
+            };
+        }
+        return rows;
+    }
+
+    private boolean randomNull() {
+        return random.nextInt(5) == 0;
+    }
+
+    private static List<Integer> filter(Expression<?> predicate, Object[][] rows) {
+        int[] kinds = new int[rows[0].length];
+        VectorizedPredicate vectorizedPredicate = VectorizedPredicate.compile(predicate, kinds);
+        assertThat(vectorizedPredicate).as(predicate.toString()).isNotNull();
+
+        ColumnBatch batch = new ColumnBatch(kinds, rows.length);
+        int[] selection = new int[rows.length];
+        for (int row = 0; row < rows.length; row++) {
+            for (int column : batch.columns()) {
+                batch.set(column, row, rows[row][column]);
+            }
+            selection[row] = row;
+        }
+
+        int size = vectorizedPredicate.filter(batch, selection, rows.length);
+        List<Integer> selected = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            selected.add(selection[i]);
+        }
+        return selected;
+    }
+
+    private static List<Integer> evaluate(Expression<?> predicate, Object[][] rows) {
+        List<Integer> selected = new ArrayList<>();
+        for (int i = 0; i < rows.length; i++) {
+            if (Boolean.TRUE.equals(predicate.eval(new ArrayRow(rows[i]), null))) {
+                selected.add(i);
+            }
+        }
+        return selected;
+    }
+
+    private static final class ArrayRow implements Row {
+
+        private final Object[] values;
+
+        private ArrayRow(Object[] values) {
+            this.values = values;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(int index) {
+            return (T) values[index];
+        }
+
+        @Override
+        public int getColumnCount() {
+            return values.length;
+        }
+    }
+}
@@ -80,6 +80,26 @@ public abstract class AbstractAggregator<I, E, R> implements Aggregator<I, R> {
         }
     }
 
+    /**
+     * @return the attribute path the accumulated values are extracted from or
+     * {@code null} if the values of the accumulated entries are accumulated.
+     */
+    public final String getAttributePath() {
+        return attributePath;
+    }
+
+    /**
+     * Accumulates the given value of the attribute path of this aggregator
+     * which was obtained without the extraction from the given entry, e.g.
+     * read from the keys of an index covering the attribute.
+     *
+     * @param entry The entry containing the value.
+     * @param value The value of the attribute path in the given entry.
+     */
+    public final void accumulateValue(I entry, E value) {
+        accumulateExtracted(entry, value);
+    }
+
     /**
      * Extract the value of the given attributePath from the given entry.
      */
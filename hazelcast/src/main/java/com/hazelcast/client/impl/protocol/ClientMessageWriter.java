@@ -28,27 +28,59 @@ public class ClientMessageWriter {
     private transient ClientMessage.Frame currentFrame;
     //-1 means length is not written yet
     private transient int writeOffset = -1;
+    private transient ByteBuffer gatheringBuffer;
 
     public boolean writeTo(ByteBuffer dst, ClientMessage clientMessage) {
+        return writeTo(dst, clientMessage, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Writes the message to the buffer, except for the content of the frames
+     * of at least {@code minGatheringSize} bytes: the writing stops after the
+     * length and flags of such a frame and its content is returned by the
+     * next {@link #takeGatheringBuffer()} call, without being copied.
+     *
+     * @return {@code true} if the whole message is written or handed over,
+     * {@code false} otherwise
+     */
+    public boolean writeTo(ByteBuffer dst, ClientMessage clientMessage, int minGatheringSize) {
         if (currentFrame == null) {
             currentFrame = clientMessage.getStartFrame();
         }
         for (; ; ) {
             boolean isLastFrame = currentFrame.next == null;
-            if (writeFrame(dst, currentFrame, isLastFrame)) {
+            if (writeFrame(dst, currentFrame, isLastFrame, minGatheringSize)) {
                 writeOffset = -1;
                 if (isLastFrame) {
                     currentFrame = null;
                     return true;
                 }
                 currentFrame = currentFrame.next;
+                if (gatheringBuffer != null) {
+                    // the content must be written before the next frames
+                    return false;
+                }
             } else {
                 return false;
             }
         }
     }
 
-    private boolean writeFrame(ByteBuffer dst, ClientMessage.Frame frame, boolean isLastFrame) {
+    /**
+     * Returns the frame content handed over by the last
+     * {@link #writeTo(ByteBuffer, ClientMessage, int)} call, it must be
+     * written right after the bytes written to the buffer.
+     *
+     * @return the content in reading mode or {@code null} if nothing was
+     * handed over
+     */
+    public ByteBuffer takeGatheringBuffer() {
+        ByteBuffer buffer = gatheringBuffer;
+        gatheringBuffer = null;
+        return buffer;
+    }
+
+    private boolean writeFrame(ByteBuffer dst, ClientMessage.Frame frame, boolean isLastFrame, int minGatheringSize) {
         // the number of bytes that can be written to the bb
         int bytesWritable = dst.remaining();
         int frameContentLength = frame.content.length;
@@ -76,6 +108,11 @@ public class ClientMessageWriter {
             return true;
         }
 
+        if (writeOffset == 0 && frameContentLength >= minGatheringSize) {
+            gatheringBuffer = ByteBuffer.wrap(frame.content);
+            return true;
+        }
+
         // the number of bytes that need to be written
         int bytesNeeded = frameContentLength - writeOffset;
 
@@ -30,19 +30,37 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
 
 /**
  * A {@link OutboundHandler} for the new-client. It writes ClientMessages to the ByteBuffer.
+ * <p>
+ * The content of the large frames is not copied to the heap ByteBuffer if
+ * the encoder is the last handler of the pipeline, it is written to the
+ * socket by a gathering write, see {@link OutboundHandler}.
  */
 public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage>, ByteBuffer> {
 
     private ClientMessage message;
     private final ClientMessageWriter clientMessageWriter = new ClientMessageWriter();
+    private ByteBuffer frameContent;
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public ByteBuffer gatheringBuffer() {
+        return frameContent;
+    }
+
     @Override
     public HandlerStatus onWrite() {
+        if (frameContent != null) {
+            if (frameContent.hasRemaining()) {
+                // nothing can be written before the rest of the frame content
+                return DIRTY;
+            }
+            frameContent = null;
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -55,9 +73,19 @@ public class ClientMessageEncoder extends OutboundHandler<Supplier<ClientMessage
                     }
                 }
 
-                if (clientMessageWriter.writeTo(dst, message)) {
-                    // message got written, lets see if another message can be written
+                int minGatheringSize = isGatheringWriteEnabled() ? GATHERING_WRITE_MIN_SIZE : Integer.MAX_VALUE;
+                boolean written = clientMessageWriter.writeTo(dst, message, minGatheringSize);
+                if (written) {
                     message = null;
+                }
+                frameContent = clientMessageWriter.takeGatheringBuffer();
+                if (frameContent != null) {
+                    // the frame content is written by the pipeline right after the dst buffer
+                    return DIRTY;
+                }
+                if (written) {
+                    // message got written, lets see if another message can be written
+                    continue;
                 } else {
                     // the message didn't get written completely, so we are done.
                     return DIRTY;
@@ -104,6 +104,7 @@ import com.hazelcast.client.map.impl.iterator.ClientMapPartitionIterator;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryIterable;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryPartitionIterable;
 import com.hazelcast.client.map.impl.iterator.ClientMapQueryPartitionIterator;
+import com.hazelcast.client.map.impl.iterator.ClientMapQueryStreamIterable;
 import com.hazelcast.client.map.impl.querycache.ClientQueryCacheContext;
 import com.hazelcast.cluster.Member;
 import com.hazelcast.config.IndexConfig;
@@ -1932,6 +1933,21 @@ public class ClientMapProxy<K, V> extends ClientProxy
         return new ClientMapQueryIterable<>(this, fetchSize, partitionCount, projection, predicate);
     }
 
+    @Override
+    @Nonnull
+    public <R> Iterable<R> queryIterable(int fetchSize, int maxConcurrentFetches,
+                                         @Nonnull Projection<? super Map.Entry<K, V>, R> projection,
+                                         @Nonnull Predicate<K, V> predicate) {
+        checkPositive("fetchSize", fetchSize);
+        checkPositive("maxConcurrentFetches", maxConcurrentFetches);
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkDoesNotContainPagingPredicate(predicate, "queryIterable");
+        int partitionCount = getContext().getPartitionService().getPartitionCount();
+        return new ClientMapQueryStreamIterable<>(this, fetchSize, maxConcurrentFetches, partitionCount,
+                projection, predicate);
+    }
+
     /**
      * Returns an iterable for iterating entries in the all of the partitions. If
      * {@code prefetchValues} is {@code true}, values will be sent along with
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.map.impl.iterator;
+
+import com.hazelcast.client.impl.clientside.HazelcastClientInstanceImpl;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapFetchWithQueryCodec;
+import com.hazelcast.client.impl.proxy.ClientMapProxy;
+import com.hazelcast.client.impl.spi.ClientContext;
+import com.hazelcast.client.impl.spi.impl.ClientInvocation;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.iterator.AbstractMapQueryStreamIterator;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+
+import static com.hazelcast.internal.iteration.IterationPointer.decodePointers;
+import static com.hazelcast.internal.iteration.IterationPointer.encodePointers;
+
+/**
+ * Client-side iterator for streaming the result of the projection on
+ * entries in the whole cluster which satisfy the {@code predicate},
+ * fetching the pages of several partitions concurrently. The
+ * {@link Iterator#remove()} method is not supported and will throw an
+ * {@link UnsupportedOperationException}.
+ *
+ * @param <K> the key type of map.
+ * @param <V> the value type of map.
+ * @param <R> the return type of iterator after the projection
+ * @see AbstractMapQueryStreamIterator
+ */
+public class ClientMapQueryStreamIterator<K, V, R> extends AbstractMapQueryStreamIterator<K, V, R> {
+
+    private final ClientMapProxy<K, V> mapProxy;
+    private final ClientContext context;
+
+    public ClientMapQueryStreamIterator(ClientMapProxy<K, V> mapProxy,
+                                        ClientContext context,
+                                        int fetchSize,
+                                        int maxConcurrentFetches,
+                                        int partitionCount,
+                                        Predicate<K, V> predicate,
+                                        Projection<? super Entry<K, V>, R> projection) {
+        super(mapProxy.getName(), fetchSize, maxConcurrentFetches, partitionCount, predicate, projection);
+        this.mapProxy = mapProxy;
+        this.context = context;
+    }
+
+    @Override
+    protected CompletableFuture<Page> fetch(int partitionId, IterationPointer[] pointers) {
+        HazelcastClientInstanceImpl client = (HazelcastClientInstanceImpl) context.getHazelcastInstance();
+        ClientMessage request = MapFetchWithQueryCodec.encodeRequest(
+                mapProxy.getName(),
+                encodePointers(pointers),
+                fetchSize,
+                getSerializationService().toData(query.getProjection()),
+                getSerializationService().toData(query.getPredicate()));
+        ClientInvocation clientInvocation = new ClientInvocation(client, request, mapProxy.getName(), partitionId);
+        return clientInvocation.invoke().thenApply(response -> {
+            MapFetchWithQueryCodec.ResponseParameters responseParameters = MapFetchWithQueryCodec.decodeResponse(response);
+            return new Page(partitionId, responseParameters.results, decodePointers(responseParameters.iterationPointers));
+        });
+    }
+
+    @Override
+    protected SerializationService getSerializationService() {
+        return context.getSerializationService();
+    }
+}
@@ -56,6 +56,11 @@ public class BTreeIndexConfig implements IdentifiedDataSerializable {
 
     /**
      * Returns the page size of B-Tree index.
+     * <p>
+     * For on-heap sorted indexes with
+     * {@code hazelcast.query.index.paged.stores.enabled} set, the page size
+     * determines the number of entries in a page of the tree, counting 16
+     * bytes per entry.
      * @return index page size.
      */
     public Capacity getPageSize() {
@@ -25,6 +25,7 @@ import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.networking.ChannelErrorHandler;
 import com.hazelcast.internal.networking.Networking;
 import com.hazelcast.internal.networking.nio.NioNetworking;
+import com.hazelcast.internal.nio.ByteBufferPool;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.server.Server;
 import com.hazelcast.internal.server.tcp.LocalAddressRegistry;
@@ -43,10 +44,12 @@ import java.util.Properties;
 
 import static com.hazelcast.config.ConfigAccessor.getActiveMemberNetworkConfig;
 import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity;
+import static com.hazelcast.memory.MemoryUnit.MEGABYTES;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_OUTPUT_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_THROUGH_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.SOCKET_BUFFER_POOL_SIZE;
 
 public class DefaultNodeContext implements NodeContext {
 
@@ -176,6 +179,12 @@ public class DefaultNodeContext implements NodeContext {
                         .balancerIntervalSeconds(props.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(props.getBoolean(IO_WRITE_THROUGH_ENABLED))
                         .concurrencyDetection(node.nodeEngine.getConcurrencyDetection())
+                        .bufferPool(createBufferPool(props))
         );
     }
+
+    private static ByteBufferPool createBufferPool(HazelcastProperties props) {
+        long sizeBytes = MEGABYTES.toBytes(props.getLong(SOCKET_BUFFER_POOL_SIZE));
+        return sizeBytes > 0 ? new ByteBufferPool(sizeBytes) : null;
+    }
 }
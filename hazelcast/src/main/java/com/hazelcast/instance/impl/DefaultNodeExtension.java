@@ -75,6 +75,7 @@ import com.hazelcast.internal.dynamicconfig.EmptyDynamicConfigListener;
 import com.hazelcast.internal.hotrestart.InternalHotRestartService;
 import com.hazelcast.internal.hotrestart.NoOpHotRestartService;
 import com.hazelcast.internal.hotrestart.NoopInternalHotRestartService;
+import com.hazelcast.internal.hotrestart.impl.LocalPersistenceService;
 import com.hazelcast.internal.jmx.ManagementService;
 import com.hazelcast.internal.management.TimedMemberStateFactory;
 import com.hazelcast.internal.memory.DefaultMemoryStats;
@@ -86,6 +87,7 @@ import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
+import com.hazelcast.internal.nio.ssl.TLSEngineFactory;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationServiceBuilder;
 import com.hazelcast.internal.serialization.impl.CodebaseClusterVersionAware;
@@ -165,6 +167,7 @@ public class DefaultNodeExtension implements NodeExtension {
     protected final List<ClusterVersionListener> clusterVersionListeners = new CopyOnWriteArrayList<>();
     protected JetServiceBackend jetServiceBackend;
     protected IntegrityChecker integrityChecker;
+    protected LocalPersistenceService persistenceService;
 
     private final MemoryStats memoryStats = new DefaultMemoryStats();
 
@@ -176,7 +179,7 @@ public class DefaultNodeExtension implements NodeExtension {
 
         checkCPSubsystemAllowed();
         checkSecurityAllowed();
-        checkPersistenceAllowed();
+        createPersistenceService();
         checkLosslessRestartAllowed();
         checkDynamicConfigurationPersistenceAllowed();
         checkSqlCatalogPersistenceAllowed();
@@ -197,12 +200,12 @@ public class DefaultNodeExtension implements NodeExtension {
         }
     }
 
-    private void checkPersistenceAllowed() {
+    private void createPersistenceService() {
         PersistenceConfig persistenceConfig = node.getConfig().getPersistenceConfig();
-        if (persistenceConfig != null && persistenceConfig.isEnabled()) {
-            if (!BuildInfoProvider.getBuildInfo().isEnterprise()) {
-                throw new IllegalStateException("Hot Restart requires Hazelcast Enterprise Edition");
-            }
+        if (persistenceConfig != null && persistenceConfig.isEnabled()
+                && !BuildInfoProvider.getBuildInfo().isEnterprise()) {
+            persistenceService = new LocalPersistenceService(node);
+            systemLogger.info("Persistence is enabled in " + persistenceConfig.getBaseDir().getAbsolutePath());
         }
     }
 
@@ -341,6 +344,9 @@ public class DefaultNodeExtension implements NodeExtension {
         if (jetServiceBackend != null) {
             jetServiceBackend.startScanningForJobs();
         }
+        if (persistenceService != null) {
+            persistenceService.start();
+        }
     }
 
     @Override
@@ -482,14 +488,15 @@ public class DefaultNodeExtension implements NodeExtension {
     public InboundHandler[] createInboundHandlers(EndpointQualifier qualifier,
                                                   ServerConnection connection, ServerContext serverContext) {
         NodeEngineImpl nodeEngine = node.nodeEngine;
-        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher());
+        PacketDecoder decoder = new PacketDecoder(connection, nodeEngine.getPacketDispatcher(),
+                serverContext.getPacketCompressor());
         return new InboundHandler[]{decoder};
     }
 
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier,
                                                     ServerConnection connection, ServerContext serverContext) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        return new OutboundHandler[]{new PacketEncoder(connection, serverContext.getPacketCompressor())};
     }
 
     @Override
@@ -512,6 +519,13 @@ public class DefaultNodeExtension implements NodeExtension {
         }
     }
 
+    @Override
+    public void shutdown() {
+        if (persistenceService != null) {
+            persistenceService.shutdown();
+        }
+    }
+
     @Override
     public void afterShutdown() {
         logger.info("Destroying node NodeExtension.");
@@ -612,7 +626,7 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public HotRestartService getHotRestartService() {
-        return new NoOpHotRestartService();
+        return persistenceService != null ? persistenceService : new NoOpHotRestartService();
     }
 
     @Override
@@ -709,7 +723,14 @@ public class DefaultNodeExtension implements NodeExtension {
 
     @Override
     public SSLEngineFactory createSslEngineFactory(SSLConfig sslConfig) {
-        throw new IllegalStateException("SSL/TLS requires Hazelcast Enterprise Edition");
+        if (sslConfig == null || !sslConfig.isEnabled()) {
+            return null;
+        }
+        try {
+            return TLSEngineFactory.create(sslConfig, node.getConfigClassLoader(), false);
+        } catch (Exception e) {
+            throw rethrow(e);
+        }
     }
 
     @Override
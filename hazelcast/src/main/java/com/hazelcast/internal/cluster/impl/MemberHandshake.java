@@ -60,6 +60,10 @@ public class MemberHandshake
 
     public static final String OPTION_PLANE_COUNT = "planeCount";
     public static final String OPTION_PLANE_INDEX = "planeIndex";
+    /**
+     * The compression algorithm of the packets the member can decompress.
+     */
+    public static final String OPTION_COMPRESSION = "compression";
 
     private byte schemaVersion;
     private Map<ProtocolType, Collection<Address>> localAddresses;
@@ -93,6 +97,10 @@ public class MemberHandshake
         return value == null ? defaultValue : Integer.parseInt(value);
     }
 
+    public String getStringOption(String key) {
+        return options.get(key);
+    }
+
     public int getPlaneCount() {
         return getIntOption(OPTION_PLANE_COUNT, 1);
     }
@@ -0,0 +1,277 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.hotrestart.impl;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.cluster.MembershipEvent;
+import com.hazelcast.cluster.MembershipListener;
+import com.hazelcast.config.PersistenceConfig;
+import com.hazelcast.hotrestart.HotRestartService;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.PersistenceReloadStateOperation;
+import com.hazelcast.persistence.BackupTaskState;
+import com.hazelcast.persistence.BackupTaskStatus;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static com.hazelcast.cluster.memberselector.MemberSelectors.NON_LOCAL_MEMBER_SELECTOR;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
+import static java.util.Collections.singletonList;
+
+/**
+ * A member-local {@link HotRestartService} which persists the entries of maps
+ * with {@link com.hazelcast.config.DataPersistenceConfig data persistence}
+ * enabled to a {@link LogStructuredStore} in the
+ * {@link PersistenceConfig#getBaseDir() base directory}.
+ * <p>
+ * The entries persisted by the previous run of the member are put back to their
+ * maps after the member has started, reading {@link PersistenceConfig#getParallelism()}
+ * partitions in parallel. The operations of persistent maps are rejected with a
+ * retryable exception while any member of the cluster is reloading: a reloading
+ * member tells the other members when it starts and when it finishes. Backups are
+ * taken from the local store of the member only.
+ */
+public class LocalPersistenceService implements HotRestartService {
+
+    static final long COMPACTION_PERIOD_SECONDS = 5;
+    private static final String COMPACTION_TASK_NAME = "hz:persistence-compaction";
+    private static final String BACKUP_DIR_PREFIX = "backup-";
+    private static final BackupTaskStatus NO_TASK_BACKUP_STATUS = new BackupTaskStatus(BackupTaskState.NO_TASK, 0, 0);
+
+    private final Node node;
+    private final ILogger logger;
+    private final PersistenceConfig config;
+    private final LogStructuredStore store;
+    // the other members which are reloading their persisted entries
+    private final Set<UUID> reloadingMembers = ConcurrentHashMap.newKeySet();
+    private volatile BackupTaskStatus backupTaskStatus = NO_TASK_BACKUP_STATUS;
+    private volatile boolean reloading;
+    private volatile boolean reloadCompleted;
+    private ScheduledFuture<?> compactionTask;
+
+    public LocalPersistenceService(Node node) {
+        this.node = node;
+        this.logger = node.getLogger(LocalPersistenceService.class);
+        this.config = node.getConfig().getPersistenceConfig();
+        int partitionCount = node.getProperties().getInteger(ClusterProperty.PARTITION_COUNT);
+        String flusherThreadName = createThreadName(node.hazelcastInstance.getName(), "persistence-flusher");
+        this.store = new LogStructuredStore(config.getBaseDir(), partitionCount, LogStructuredStore.DEFAULT_SEGMENT_SIZE,
+                LogStructuredStore.DEFAULT_COMPACTION_THRESHOLD, flusherThreadName, node.getLogger(LogStructuredStore.class));
+        // the partitions must not accept operations before the entries are reloaded
+        this.reloading = store.isRecoveryPending();
+    }
+
+    public LogStructuredStore getStore() {
+        return store;
+    }
+
+    /**
+     * Returns {@code true} once the entries of the previous run have been put back to their maps.
+     */
+    public boolean isReloadCompleted() {
+        return reloadCompleted;
+    }
+
+    /**
+     * Returns {@code true} while this or another member is reloading its persisted entries.
+     */
+    public boolean isReloading() {
+        return reloading || !reloadingMembers.isEmpty();
+    }
+
+    /**
+     * Records that the given member started or finished reloading its persisted entries.
+     */
+    public void setMemberReloading(UUID memberUuid, boolean reloading) {
+        if (!reloading) {
+            reloadingMembers.remove(memberUuid);
+        } else if (node.getClusterService().getMember(memberUuid) != null) {
+            reloadingMembers.add(memberUuid);
+        }
+    }
+
+    /**
+     * Starts the background compaction and the reload of the entries of the previous run.
+     */
+    public void start() {
+        NodeEngine nodeEngine = node.getNodeEngine();
+        compactionTask = nodeEngine.getExecutionService().scheduleWithRepetition(COMPACTION_TASK_NAME, this::compact,
+                COMPACTION_PERIOD_SECONDS, COMPACTION_PERIOD_SECONDS, TimeUnit.SECONDS);
+        node.getClusterService().addMembershipListener(new ReloadingMembershipListener());
+
+        String hzName = nodeEngine.getHazelcastInstance().getName();
+        Thread reloader = new Thread(this::reload, createThreadName(hzName, "persistence-reload"));
+        reloader.setDaemon(true);
+        reloader.start();
+    }
+
+    public void shutdown() {
+        if (compactionTask != null) {
+            compactionTask.cancel(false);
+        }
+        store.close();
+    }
+
+    @Override
+    public void backup() {
+        backup(System.currentTimeMillis());
+    }
+
+    @Override
+    public void backup(long backupSeq) {
+        if (!isBackupEnabled()) {
+            throw new IllegalStateException("Backup directory is not configured");
+        }
+
+        File target = new File(config.getBackupDir(), BACKUP_DIR_PREFIX + backupSeq);
+        backupTaskStatus = new BackupTaskStatus(BackupTaskState.IN_PROGRESS, 0, 1);
+        try {
+            int segments = store.backup(target);
+            backupTaskStatus = new BackupTaskStatus(BackupTaskState.SUCCESS, 1, 1);
+            logger.info("Backed up " + segments + " persistence segments to " + target.getAbsolutePath());
+        } catch (RuntimeException e) {
+            backupTaskStatus = new BackupTaskStatus(BackupTaskState.FAILURE, 1, 1);
+            throw e;
+        }
+    }
+
+    @Override
+    public BackupTaskStatus getBackupTaskStatus() {
+        return backupTaskStatus;
+    }
+
+    @Override
+    public void interruptLocalBackupTask() {
+        // backups are taken synchronously
+    }
+
+    @Override
+    public void interruptBackupTask() {
+        // backups are taken synchronously
+    }
+
+    @Override
+    public boolean isHotBackupEnabled() {
+        return isBackupEnabled();
+    }
+
+    @Override
+    public boolean isBackupEnabled() {
+        return config.getBackupDir() != null;
+    }
+
+    @Override
+    public String getBackupDirectory() {
+        File backupDir = config.getBackupDir();
+        return backupDir == null ? null : backupDir.getAbsolutePath();
+    }
+
+    private void compact() {
+        try {
+            store.compact();
+        } catch (Exception e) {
+            logger.warning("Compaction of the persistence store failed", e);
+        }
+    }
+
+    private void reload() {
+        if (!reloading) {
+            reloadCompleted = true;
+            return;
+        }
+
+        NodeEngine nodeEngine = node.getNodeEngine();
+        String hzName = nodeEngine.getHazelcastInstance().getName();
+        PoolExecutorThreadFactory threadFactory = new PoolExecutorThreadFactory(
+                createThreadPoolName(hzName, "persistence-reload"), node.getConfigClassLoader());
+        long start = System.nanoTime();
+        try {
+            announceReloading(node.getClusterService().getMembers(NON_LOCAL_MEMBER_SELECTOR), true);
+            long count = store.reload(config.getParallelism(), threadFactory, () -> new MapReloadSink(nodeEngine, store));
+            reloadCompleted = true;
+            logger.info("Reloaded " + count + " persisted entries in "
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+        } catch (Exception e) {
+            if (node.isRunning()) {
+                logger.severe("Reloading the persisted entries failed, they will be reloaded on the next start", e);
+            }
+        } finally {
+            // the operations are not rejected forever if the reload fails
+            reloading = false;
+            announceReloading(node.getClusterService().getMembers(NON_LOCAL_MEMBER_SELECTOR), false);
+        }
+    }
+
+    /**
+     * Tells the given members whether this member is reloading. The
+     * announcements are serialized and awaited, so a member never sees
+     * the start of a reload after its end.
+     */
+    private synchronized void announceReloading(Collection<Member> members, boolean reloading) {
+        if (reloading != this.reloading) {
+            // the reload has ended in the meantime
+            return;
+        }
+
+        OperationService operationService = node.getNodeEngine().getOperationService();
+        List<InternalCompletableFuture<Object>> futures = new ArrayList<>(members.size());
+        for (Member member : members) {
+            futures.add(operationService.invokeOnTarget(MapService.SERVICE_NAME,
+                    new PersistenceReloadStateOperation(reloading), member.getAddress()));
+        }
+        for (InternalCompletableFuture<Object> future : futures) {
+            try {
+                future.joinInternal();
+            } catch (Exception e) {
+                // the member has left or it is shutting down
+                logger.fine(e);
+            }
+        }
+    }
+
+    private final class ReloadingMembershipListener implements MembershipListener {
+
+        @Override
+        public void memberAdded(MembershipEvent membershipEvent) {
+            if (reloading) {
+                announceReloading(singletonList(membershipEvent.getMember()), true);
+            }
+        }
+
+        @Override
+        public void memberRemoved(MembershipEvent membershipEvent) {
+            // a member which crashed while reloading must not block the operations
+            reloadingMembers.remove(membershipEvent.getMember().getUuid());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.hotrestart.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.logging.ILogger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.HEADER_SIZE;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.KEY_LENGTH_OFFSET;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.LENGTH_OFFSET;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.NAME_LENGTH_OFFSET;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.TYPE_CLEAR;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.TYPE_PUT;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.TYPE_REMOVE;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.decodeKey;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.decodeName;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Reads the segments written by a previous run of a {@link LogStructuredStore}.
+ * <p>
+ * {@link #scan(File, RecordVisitor, ILogger)} reads only the record headers and
+ * keys, so the live record of every key can be found without reading the values.
+ * {@link #read(File, long[], int, ReloadSink, ILogger)} then reads a segment
+ * sequentially once and skips everything but the live records.
+ * <p>
+ * A torn record at the end of a segment, e.g. after a crash, ends the segment.
+ */
+final class LogRecovery {
+
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_OFFSETS_LENGTH = 16;
+
+    private LogRecovery() {
+    }
+
+    /**
+     * Visits the headers of the records of the given segment.
+     *
+     * @return the length of the intact prefix of the segment
+     */
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    static long scan(File file, RecordVisitor visitor, ILogger logger) throws IOException {
+        long fileLength = file.length();
+        long offset = 0;
+        try (DataInputStream in = newInputStream(file)) {
+            while (offset + HEADER_SIZE <= fileLength) {
+                in.readInt();
+                int length = in.readInt();
+                byte type = in.readByte();
+                long seq = in.readLong();
+                in.readInt();
+                int nameLength = in.readInt();
+                int keyLength = in.readInt();
+                if (length < HEADER_SIZE || offset + length > fileLength || nameLength < 0 || keyLength < 0
+                        || (long) HEADER_SIZE + nameLength + keyLength > length
+                        || (type != TYPE_PUT && type != TYPE_REMOVE && type != TYPE_CLEAR)) {
+                    break;
+                }
+
+                byte[] name = new byte[nameLength];
+                in.readFully(name);
+                byte[] key = new byte[keyLength];
+                in.readFully(key);
+                in.skipNBytes(length - HEADER_SIZE - nameLength - keyLength);
+
+                visitor.visit(type, seq, new String(name, UTF_8), key, offset, length);
+                offset += length;
+            }
+        }
+        if (offset != fileLength) {
+            logger.warning("Ignoring " + (fileLength - offset) + " bytes of a torn record at the end of "
+                    + file.getAbsolutePath());
+        }
+        return offset;
+    }
+
+    /**
+     * Hands the records at the given ascending offsets of the segment to the sink.
+     * Records whose checksum does not match are skipped.
+     *
+     * @return the number of records handed to the sink
+     */
+    static long read(File file, long[] offsets, int partitionId, ReloadSink sink, ILogger logger) throws IOException {
+        CRC32C crc = new CRC32C();
+        long count = 0;
+        try (DataInputStream in = newInputStream(file)) {
+            long position = 0;
+            for (long offset : offsets) {
+                in.skipNBytes(offset - position);
+                int storedCrc = in.readInt();
+                int length = in.readInt();
+                byte[] record = new byte[length];
+                ByteBuffer buffer = ByteBuffer.wrap(record);
+                buffer.putInt(LENGTH_OFFSET, length);
+                in.readFully(record, LENGTH_OFFSET + Integer.BYTES, length - LENGTH_OFFSET - Integer.BYTES);
+                position = offset + length;
+
+                crc.reset();
+                crc.update(record, LENGTH_OFFSET, length - LENGTH_OFFSET);
+                if ((int) crc.getValue() != storedCrc) {
+                    logger.warning("Skipping a corrupted record at offset " + offset + " of " + file.getAbsolutePath());
+                    continue;
+                }
+
+                int valueOffset = HEADER_SIZE + buffer.getInt(NAME_LENGTH_OFFSET) + buffer.getInt(KEY_LENGTH_OFFSET);
+                Data value = new HeapData(Arrays.copyOfRange(record, valueOffset, length));
+                sink.accept(decodeName(record, 0), partitionId, decodeKey(record, 0), value);
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static DataInputStream newInputStream(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file), READ_BUFFER_SIZE));
+    }
+
+    /**
+     * Receives the headers of the scanned records.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+
+        void visit(byte type, long seq, String name, byte[] key, long offset, int length);
+    }
+
+    /**
+     * A growable array of record offsets.
+     */
+    static final class LongArray {
+        private long[] values = new long[INITIAL_OFFSETS_LENGTH];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toSortedArray() {
+            long[] result = Arrays.copyOf(values, size);
+            Arrays.sort(result);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,448 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.hotrestart.impl;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.logging.ILogger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.nio.Bits.BYTE_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.fsyncDir;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A log-structured store for the entries of persistent data structures.
+ * <p>
+ * Every partition has its own {@link PartitionLog} in a directory of the store,
+ * so the partition threads never contend with each other. A mutation is appended
+ * to the pending bytes of the active segment of its partition and a dedicated
+ * flusher thread writes them to the segment file, forcing it when a mutation
+ * {@link #fsync(int) requested} it. The forced mutations are therefore durable
+ * shortly after they are applied, not when they are applied. A segment is sealed
+ * once it reaches the configured size and it is never modified afterwards.
+ * A record has the layout:
+ * <pre>
+ * | crc (int) | length (int) | type (byte) | seq (long) | partitionId (int) | nameLength (int) | keyLength (int) |
+ * | name | key | value |
+ * </pre>
+ * The CRC-32C covers everything after the crc field. The sequence increases with
+ * every mutation of a partition, so the record with the highest sequence wins for
+ * a key, independently of the segment it is found in.
+ * <p>
+ * Clearing a partition of a data structure writes a single tombstone record which
+ * shadows all older records of that partition. Sealed segments whose share of
+ * garbage reaches the compaction threshold are rewritten by {@link #compact()}:
+ * live records are copied to the active segment with their original sequence and
+ * the segment file is deleted once the copies are forced. Removes and tombstones
+ * are only copied while an older segment might still hold a record they shadow.
+ * <p>
+ * The segments found when the store is opened stay part of their partition logs.
+ * Their live records are streamed by {@link #reload(int, ThreadFactory, Supplier)};
+ * the records of a partition which is reloaded by another member are shadowed with
+ * {@link #dropRecovered(String, int)}.
+ */
+public final class LogStructuredStore implements Closeable {
+
+    /**
+     * Default size of a segment file.
+     */
+    public static final long DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+
+    /**
+     * Default share of garbage in a sealed segment above which it is compacted.
+     */
+    public static final double DEFAULT_COMPACTION_THRESHOLD = 0.5;
+
+    static final byte TYPE_PUT = 1;
+    static final byte TYPE_REMOVE = 2;
+    static final byte TYPE_CLEAR = 3;
+
+    static final int LENGTH_OFFSET = INT_SIZE_IN_BYTES;
+    static final int TYPE_OFFSET = LENGTH_OFFSET + INT_SIZE_IN_BYTES;
+    static final int SEQ_OFFSET = TYPE_OFFSET + BYTE_SIZE_IN_BYTES;
+    static final int PARTITION_OFFSET = SEQ_OFFSET + LONG_SIZE_IN_BYTES;
+    static final int NAME_LENGTH_OFFSET = PARTITION_OFFSET + INT_SIZE_IN_BYTES;
+    static final int KEY_LENGTH_OFFSET = NAME_LENGTH_OFFSET + INT_SIZE_IN_BYTES;
+    static final int HEADER_SIZE = KEY_LENGTH_OFFSET + INT_SIZE_IN_BYTES;
+
+    static final String PARTITION_DIR_PREFIX = "partition-";
+    static final String SEGMENT_PREFIX = "segment-";
+    static final String SEGMENT_SUFFIX = ".log";
+    private static final String LOCK_FILE_NAME = "persistence.lock";
+    private static final String FLUSHER_THREAD_NAME = "persistence-flusher";
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final long FLUSHER_POLL_MILLIS = 100;
+
+    private final File dir;
+    private final ILogger logger;
+    private final PartitionLog[] logs;
+    private final BlockingQueue<PartitionLog> dirtyLogs = new LinkedBlockingQueue<>();
+    private final FileChannel lockChannel;
+    private final FileLock lock;
+    private final Thread flusher;
+    private volatile boolean closed;
+
+    public LogStructuredStore(File dir, int partitionCount, ILogger logger) {
+        this(dir, partitionCount, DEFAULT_SEGMENT_SIZE, DEFAULT_COMPACTION_THRESHOLD, FLUSHER_THREAD_NAME, logger);
+    }
+
+    public LogStructuredStore(File dir, int partitionCount, long segmentSize, double compactionThreshold,
+                              String flusherThreadName, ILogger logger) {
+        checkPositive("partitionCount", partitionCount);
+        checkPositive("segmentSize", segmentSize);
+        if (compactionThreshold <= 0 || compactionThreshold > 1) {
+            throw new IllegalArgumentException("compactionThreshold must be in (0, 1], but found " + compactionThreshold);
+        }
+        this.dir = dir;
+        this.logger = logger;
+        this.logs = new PartitionLog[partitionCount];
+        try {
+            Files.createDirectories(dir.toPath());
+            lockChannel = FileChannel.open(new File(dir, LOCK_FILE_NAME).toPath(), CREATE, READ, WRITE);
+            lock = tryLock(lockChannel, dir);
+            for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+                logs[partitionId] = new PartitionLog(partitionId, partitionDir(dir, partitionId), segmentSize,
+                        compactionThreshold, dirtyLogs::add, logger);
+            }
+        } catch (IOException e) {
+            throw new HazelcastException("Cannot open the persistence store in " + dir.getAbsolutePath(), e);
+        }
+        flusher = new Thread(this::flushDirtyLogs, flusherThreadName);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public File getDirectory() {
+        return dir;
+    }
+
+    /**
+     * Appends a put of the given key to the store.
+     */
+    public void put(String name, int partitionId, Data key, Data value) {
+        logs[partitionId].put(name, key, value);
+    }
+
+    /**
+     * Appends a remove of the given key to the store.
+     */
+    public void remove(String name, int partitionId, Data key) {
+        logs[partitionId].remove(name, key);
+    }
+
+    /**
+     * Appends a tombstone which shadows all records of the given partition of a data structure.
+     */
+    public void clear(String name, int partitionId) {
+        logs[partitionId].clear(name);
+    }
+
+    /**
+     * Requests the flusher to force the records appended to the partition to the storage device.
+     */
+    public void fsync(int partitionId) {
+        logs[partitionId].requestForce();
+    }
+
+    /**
+     * Appends a tombstone which shadows the records of the given partition of a
+     * data structure found when the store was opened, but none written since.
+     * Used when the records have been reloaded by another member.
+     */
+    public void dropRecovered(String name, int partitionId) {
+        logs[partitionId].dropRecovered(name);
+    }
+
+    /**
+     * Starts or ends reapplying the records of the partition found when the store
+     * was opened to their data structures. While reapplying, the puts of the keys
+     * whose recovered records are still live are not appended again.
+     */
+    public void setReapplying(int partitionId, boolean reapplying) {
+        logs[partitionId].setReapplying(reapplying);
+    }
+
+    /**
+     * Returns {@code true} if the store still has live records of a previous run
+     * which have not been {@link #reload(int, ThreadFactory, Supplier) reloaded}.
+     */
+    public boolean isRecoveryPending() {
+        for (PartitionLog log : logs) {
+            if (log.isRecoveryPending()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Streams the live records found when the store was opened to sinks supplied
+     * by the given supplier, reading up to {@code parallelism} partitions
+     * concurrently on threads of the given factory. Every reading thread gets its
+     * own sink.
+     *
+     * @return the number of reloaded records
+     */
+    public long reload(int parallelism, ThreadFactory threadFactory, Supplier<? extends ReloadSink> sinkSupplier) {
+        AtomicInteger nextPartition = new AtomicInteger();
+        AtomicLong count = new AtomicLong();
+        Runnable task = () -> {
+            ReloadSink sink = sinkSupplier.get();
+            for (int i = nextPartition.getAndIncrement(); i < logs.length; i = nextPartition.getAndIncrement()) {
+                try {
+                    count.addAndGet(logs[i].reload(sink));
+                } catch (IOException e) {
+                    throw rethrow(e);
+                }
+            }
+            sink.flush();
+        };
+
+        int threadCount = Math.max(1, Math.min(parallelism, logs.length));
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, threadFactory);
+        try {
+            CompletableFuture<?>[] futures = new CompletableFuture[threadCount];
+            for (int i = 0; i < threadCount; i++) {
+                futures[i] = CompletableFuture.runAsync(task, executor);
+            }
+            CompletableFuture.allOf(futures).join();
+        } finally {
+            executor.shutdown();
+        }
+        for (PartitionLog log : logs) {
+            log.completeRecovery();
+        }
+        return count.get();
+    }
+
+    /**
+     * Compacts the sealed segments whose share of garbage reached the compaction threshold.
+     *
+     * @return the number of compacted segments
+     */
+    public int compact() {
+        int compacted = 0;
+        for (PartitionLog log : logs) {
+            if (closed) {
+                break;
+            }
+            try {
+                compacted += log.compact();
+            } catch (IOException e) {
+                throw rethrow(e);
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * Copies the segments to the given directory. Every partition log is copied
+     * in a consistent state, including the records appended to it before the copy,
+     * while the mutations go on. Closed segments are hard-linked where the file
+     * system supports it.
+     *
+     * @return the number of copied segments
+     */
+    public int backup(File targetDir) {
+        if (closed) {
+            throw new IllegalStateException("Persistence store in " + dir.getAbsolutePath() + " is closed");
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        try {
+            Files.createDirectories(targetDir.toPath());
+            int count = 0;
+            for (PartitionLog log : logs) {
+                count += log.backup(partitionDir(targetDir, log.getPartitionId()), buffer);
+            }
+            fsyncDir(targetDir.toPath());
+            return count;
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        for (PartitionLog log : logs) {
+            try {
+                log.close(buffer);
+            } catch (IOException e) {
+                logger.warning("Flushing the persistence log in " + log.getDirectory() + " failed", e);
+            }
+        }
+        try {
+            lock.release();
+        } catch (IOException e) {
+            logger.fine(e);
+        }
+        closeResource(lockChannel);
+    }
+
+    /**
+     * Writes the pending records of all partitions to the segment files.
+     */
+    void flush() {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        for (PartitionLog log : logs) {
+            try {
+                log.flush(buffer);
+            } catch (IOException e) {
+                throw rethrow(e);
+            }
+        }
+    }
+
+    int getSegmentCount() {
+        int count = 0;
+        for (PartitionLog log : logs) {
+            count += log.getSegmentCount();
+        }
+        return count;
+    }
+
+    long getLiveBytes() {
+        long liveBytes = 0;
+        for (PartitionLog log : logs) {
+            liveBytes += log.getLiveBytes();
+        }
+        return liveBytes;
+    }
+
+    long getTotalBytes() {
+        long size = 0;
+        for (PartitionLog log : logs) {
+            size += log.getTotalBytes();
+        }
+        return size;
+    }
+
+    private void flushDirtyLogs() {
+        // the channels copy heap buffers to a temporary direct buffer, so the flusher keeps its own
+        ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        while (!closed) {
+            PartitionLog log;
+            try {
+                log = dirtyLogs.poll(FLUSHER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (log == null) {
+                continue;
+            }
+            try {
+                log.flush(buffer);
+            } catch (IOException | RuntimeException e) {
+                logger.severe("Writing the persistence log in " + log.getDirectory() + " failed", e);
+            }
+        }
+    }
+
+    static String decodeName(byte[] bytes, int offset) {
+        int nameLength = ByteBuffer.wrap(bytes).getInt(offset + NAME_LENGTH_OFFSET);
+        return new String(bytes, offset + HEADER_SIZE, nameLength, UTF_8);
+    }
+
+    static Data decodeKey(byte[] bytes, int offset) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int keyOffset = offset + HEADER_SIZE + buffer.getInt(offset + NAME_LENGTH_OFFSET);
+        int keyLength = buffer.getInt(offset + KEY_LENGTH_OFFSET);
+        return new HeapData(Arrays.copyOfRange(bytes, keyOffset, keyOffset + keyLength));
+    }
+
+    static File partitionDir(File dir, int partitionId) {
+        return new File(dir, PARTITION_DIR_PREFIX + partitionId);
+    }
+
+    static File[] listSegmentFiles(File dir) {
+        File[] files = dir.listFiles((d, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return new File[0];
+        }
+        Arrays.sort(files, (f1, f2) -> Long.compare(segmentId(f1), segmentId(f2)));
+        return files;
+    }
+
+    static long segmentId(File file) {
+        String name = file.getName();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static FileLock tryLock(FileChannel channel, File dir) throws IOException {
+        FileLock lock;
+        try {
+            lock = channel.tryLock();
+        } catch (OverlappingFileLockException e) {
+            lock = null;
+        }
+        if (lock == null) {
+            closeResource(channel);
+            throw new HazelcastException("Persistence directory " + dir.getAbsolutePath()
+                    + " is already in use by another member");
+        }
+        return lock;
+    }
+
+    /**
+     * A data structure partition whose records are reloaded together.
+     */
+    record Bucket(String name, int partitionId) {
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.hotrestart.impl;
+
+import com.hazelcast.internal.hotrestart.impl.LogStructuredStore.Bucket;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.operation.PutReloadedEntriesOperation;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ReloadSink} which puts the reloaded entries back to their maps.
+ * <p>
+ * The entries are batched per map partition and every full batch is sent with a
+ * {@link PutReloadedEntriesOperation} to the current owner of the partition, so
+ * the batches of different partitions are applied in parallel by the partition
+ * threads while the segments are still being read. The operation puts absent
+ * keys only and has no backups, the backup replicas are synchronized afterwards.
+ * <p>
+ * If a batch is applied by another member, that member persists the entries, so
+ * the records of the partition are dropped from the local store.
+ */
+final class MapReloadSink implements ReloadSink {
+
+    static final int BATCH_SIZE = 1000;
+    private static final int MAX_IN_FLIGHT_BATCHES = 64;
+
+    private final OperationService operationService;
+    private final LogStructuredStore store;
+    private final Map<Bucket, MapEntries> batches = new HashMap<>();
+    private final List<Bucket> inFlightBuckets = new ArrayList<>();
+    private final List<InternalCompletableFuture<Boolean>> inFlight = new ArrayList<>();
+
+    MapReloadSink(NodeEngine nodeEngine, LogStructuredStore store) {
+        this.operationService = nodeEngine.getOperationService();
+        this.store = store;
+    }
+
+    @Override
+    public void accept(String name, int partitionId, Data key, Data value) {
+        Bucket bucket = new Bucket(name, partitionId);
+        MapEntries batch = batches.computeIfAbsent(bucket, b -> new MapEntries(BATCH_SIZE));
+        batch.add(key, value);
+        if (batch.size() >= BATCH_SIZE) {
+            batches.remove(bucket);
+            send(bucket, batch);
+        }
+    }
+
+    @Override
+    public void flush() {
+        for (Map.Entry<Bucket, MapEntries> entry : batches.entrySet()) {
+            send(entry.getKey(), entry.getValue());
+        }
+        batches.clear();
+        awaitInFlight();
+    }
+
+    private void send(Bucket bucket, MapEntries batch) {
+        if (inFlight.size() >= MAX_IN_FLIGHT_BATCHES) {
+            awaitInFlight();
+        }
+        PutReloadedEntriesOperation operation = new PutReloadedEntriesOperation(bucket.name(), batch);
+        inFlightBuckets.add(bucket);
+        inFlight.add(operationService.invokeOnPartition(MapService.SERVICE_NAME, operation, bucket.partitionId()));
+    }
+
+    private void awaitInFlight() {
+        for (int i = 0; i < inFlight.size(); i++) {
+            boolean reapplied = inFlight.get(i).joinInternal();
+            if (!reapplied) {
+                Bucket bucket = inFlightBuckets.get(i);
+                store.dropRecovered(bucket.name(), bucket.partitionId());
+            }
+        }
+        inFlight.clear();
+        inFlightBuckets.clear();
+    }
+}
@@ -0,0 +1,773 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.hotrestart.impl;
+
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.internal.hotrestart.impl.LogRecovery.LongArray;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.logging.ILogger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.HEADER_SIZE;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.LENGTH_OFFSET;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.SEGMENT_PREFIX;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.SEGMENT_SUFFIX;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.SEQ_OFFSET;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.TYPE_CLEAR;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.TYPE_OFFSET;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.TYPE_PUT;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.TYPE_REMOVE;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.decodeKey;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.decodeName;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.listSegmentFiles;
+import static com.hazelcast.internal.hotrestart.impl.LogStructuredStore.segmentId;
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.nio.IOUtil.fsyncDir;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The log of a single partition of a {@link LogStructuredStore}.
+ * <p>
+ * A mutation is encoded into the pending bytes of the active segment under the
+ * monitor of the log, which is otherwise only taken briefly by the flusher and
+ * by the compaction. The flusher writes the pending bytes to the segment files
+ * and forces them while holding the I/O lock of the log, so a partition thread
+ * waits for the file system only when more than {@link #MAX_PENDING_BYTES} are
+ * still waiting to be written.
+ * <p>
+ * The segments found when the log is opened are adopted as sealed segments.
+ * Their records keep their sequences, which are at most the recovered sequence
+ * of the log, and the first new sequence is reserved for the tombstones written
+ * by {@link #dropRecovered(String)}: such a tombstone shadows the records of the
+ * previous runs only, regardless of when it is written.
+ */
+final class PartitionLog {
+
+    /**
+     * Pending bytes of a log above which the mutations wait for the flusher.
+     */
+    static final long MAX_PENDING_BYTES = 8 * 1024 * 1024;
+
+    private static final int INITIAL_PENDING_SIZE = 4 * 1024;
+    private static final int MAX_SPARE_SIZE = 1024 * 1024;
+    private static final byte[] EMPTY = new byte[0];
+
+    private final int partitionId;
+    private final File dir;
+    private final long segmentSize;
+    private final double compactionThreshold;
+    private final Consumer<PartitionLog> dirtyListener;
+    private final ILogger logger;
+    // the live records per data structure; the keys are the keys of the record stores
+    private final Map<String, Map<Data, Slot>> index = new HashMap<>();
+    // data structure -> sequence of its last tombstone
+    private final Map<String, Long> tombstones = new HashMap<>();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    // the segments which still have bytes to be written or a file to be closed by the flusher
+    private final ArrayDeque<Segment> unflushed = new ArrayDeque<>();
+    // compacted segments, deleted by the flusher once their live records are forced
+    private final List<Segment> obsolete = new ArrayList<>();
+    private final Map<String, byte[]> encodedNames = new HashMap<>();
+    private final CRC32C crc = new CRC32C();
+    // serializes the file I/O of the flusher, backups and close
+    private final Object ioLock = new Object();
+    // the segment whose file is open for writing, guarded by the I/O lock
+    private Segment writing;
+    private Segment active;
+    private long nextSegmentId;
+    private long sequence;
+    private long recoveredSequence;
+    private long pendingBytes;
+    private boolean recoveryPending;
+    private boolean reapplying;
+    private boolean forceRequested;
+    private boolean queued;
+    private boolean closed;
+    private IOException failure;
+
+    PartitionLog(int partitionId, File dir, long segmentSize, double compactionThreshold,
+                 Consumer<PartitionLog> dirtyListener, ILogger logger) throws IOException {
+        this.partitionId = partitionId;
+        this.dir = dir;
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+        this.dirtyListener = dirtyListener;
+        this.logger = logger;
+        recover();
+    }
+
+    int getPartitionId() {
+        return partitionId;
+    }
+
+    File getDirectory() {
+        return dir;
+    }
+
+    synchronized void put(String name, Data key, Data value) {
+        if (!awaitCapacity()) {
+            return;
+        }
+
+        Map<Data, Slot> slots = index.get(name);
+        Slot slot = slots == null ? null : slots.get(key);
+        if (reapplying && slot != null && slot.seq <= recoveredSequence) {
+            // the record is still live in this log
+            return;
+        }
+
+        long seq = ++sequence;
+        byte[] keyBytes = key.toByteArray();
+        byte[] valueBytes = value.toByteArray();
+        byte[] nameBytes = encodeName(name);
+        int length = HEADER_SIZE + nameBytes.length + keyBytes.length + valueBytes.length;
+        long offset = append(length, TYPE_PUT, seq, nameBytes, keyBytes, valueBytes);
+        if (slots == null) {
+            slots = new HashMap<>();
+            index.put(name, slots);
+        }
+        if (slot == null) {
+            slots.put(key, new Slot(seq, active, offset, length));
+        } else {
+            slot.segment.liveBytes -= slot.size;
+            slot.update(seq, active, offset, length);
+        }
+        active.liveBytes += length;
+    }
+
+    synchronized void remove(String name, Data key) {
+        if (!awaitCapacity()) {
+            return;
+        }
+
+        Map<Data, Slot> slots = index.get(name);
+        Slot slot = slots == null ? null : slots.remove(key);
+        if (slot == null) {
+            // every live record on disk is indexed, so there is nothing to shadow
+            return;
+        }
+        slot.segment.liveBytes -= slot.size;
+        byte[] keyBytes = key.toByteArray();
+        byte[] nameBytes = encodeName(name);
+        append(HEADER_SIZE + nameBytes.length + keyBytes.length, TYPE_REMOVE, ++sequence, nameBytes, keyBytes, EMPTY);
+    }
+
+    synchronized void clear(String name) {
+        if (!awaitCapacity()) {
+            return;
+        }
+
+        Map<Data, Slot> slots = index.remove(name);
+        if (slots == null) {
+            // older records of the data structure are already shadowed
+            return;
+        }
+        for (Slot slot : slots.values()) {
+            slot.segment.liveBytes -= slot.size;
+        }
+        long seq = ++sequence;
+        appendTombstone(name, seq);
+        tombstones.put(name, seq);
+    }
+
+    /**
+     * Shadows the records of the given data structure which were found when
+     * the log was opened and have not been overwritten since.
+     */
+    synchronized void dropRecovered(String name) {
+        if (!awaitCapacity()) {
+            return;
+        }
+
+        Map<Data, Slot> slots = index.get(name);
+        if (slots == null) {
+            return;
+        }
+        boolean dropped = false;
+        for (Iterator<Slot> iterator = slots.values().iterator(); iterator.hasNext(); ) {
+            Slot slot = iterator.next();
+            if (slot.seq <= recoveredSequence) {
+                slot.segment.liveBytes -= slot.size;
+                iterator.remove();
+                dropped = true;
+            }
+        }
+        if (dropped) {
+            long seq = recoveredSequence + 1;
+            appendTombstone(name, seq);
+            tombstones.merge(name, seq, Math::max);
+        }
+    }
+
+    /**
+     * While reapplying, puts of keys whose records from the previous runs are
+     * still live are not appended again.
+     */
+    synchronized void setReapplying(boolean reapplying) {
+        this.reapplying = reapplying;
+    }
+
+    synchronized void requestForce() {
+        if (closed) {
+            return;
+        }
+        forceRequested = true;
+        markDirty();
+    }
+
+    synchronized boolean isRecoveryPending() {
+        return recoveryPending;
+    }
+
+    synchronized void completeRecovery() {
+        recoveryPending = false;
+    }
+
+    /**
+     * Hands the live records found when the log was opened to the given sink.
+     *
+     * @return the number of records handed to the sink
+     */
+    long reload(ReloadSink sink) throws IOException {
+        Map<Segment, LongArray> offsets = new TreeMap<>((s1, s2) -> Long.compare(s1.id, s2.id));
+        synchronized (this) {
+            if (!recoveryPending) {
+                return 0;
+            }
+            for (Map<Data, Slot> slots : index.values()) {
+                for (Slot slot : slots.values()) {
+                    if (slot.seq <= recoveredSequence) {
+                        offsets.computeIfAbsent(slot.segment, s -> new LongArray()).add(slot.offset);
+                    }
+                }
+            }
+        }
+
+        // the compaction leaves the recovered segments alone while the recovery is pending
+        long count = 0;
+        for (Map.Entry<Segment, LongArray> entry : offsets.entrySet()) {
+            count += LogRecovery.read(entry.getKey().file, entry.getValue().toSortedArray(), partitionId, sink, logger);
+        }
+        return count;
+    }
+
+    /**
+     * Writes the pending bytes to the segment files, forces them if requested
+     * and deletes the segments made obsolete by the compaction.
+     */
+    void flush(ByteBuffer buffer) throws IOException {
+        synchronized (ioLock) {
+            flushLocked(buffer);
+        }
+    }
+
+    int compact() throws IOException {
+        List<Segment> candidates = new ArrayList<>();
+        synchronized (this) {
+            if (closed || recoveryPending) {
+                return 0;
+            }
+            for (Segment segment : segments.values()) {
+                if (segment.flushed && segment.garbageRatio() >= compactionThreshold) {
+                    candidates.add(segment);
+                }
+            }
+        }
+
+        int compacted = 0;
+        for (Segment segment : candidates) {
+            // flushed segments are immutable and only the flusher deletes them after they are compacted
+            byte[] bytes = Files.readAllBytes(segment.file.toPath());
+            if (compact(segment, bytes)) {
+                compacted++;
+            }
+        }
+        return compacted;
+    }
+
+    /**
+     * Copies the segment files to the given directory after writing the pending
+     * bytes. Closed segments are hard-linked where the file system supports it.
+     *
+     * @return the number of copied segments
+     */
+    int backup(File targetDir, ByteBuffer buffer) throws IOException {
+        synchronized (ioLock) {
+            flushLocked(buffer);
+            List<Segment> snapshot;
+            synchronized (this) {
+                snapshot = new ArrayList<>(segments.values());
+                // not deleted before the I/O lock is released
+                snapshot.addAll(obsolete);
+            }
+
+            Files.createDirectories(targetDir.toPath());
+            int count = 0;
+            for (Segment segment : snapshot) {
+                if (!segment.file.exists()) {
+                    // created after the flush
+                    continue;
+                }
+                Path target = targetDir.toPath().resolve(segment.file.getName());
+                if (segment.flushed) {
+                    linkOrCopy(segment.file.toPath(), target);
+                } else {
+                    Files.copy(segment.file.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                count++;
+            }
+            fsyncDir(targetDir.toPath());
+            return count;
+        }
+    }
+
+    void close(ByteBuffer buffer) throws IOException {
+        synchronized (ioLock) {
+            try {
+                flushLocked(buffer);
+            } finally {
+                if (writing != null) {
+                    closeResource(writing.channel);
+                    writing = null;
+                }
+                synchronized (this) {
+                    closed = true;
+                    index.clear();
+                    tombstones.clear();
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    synchronized long getLiveBytes() {
+        long liveBytes = 0;
+        for (Segment segment : segments.values()) {
+            liveBytes += segment.liveBytes;
+        }
+        return liveBytes;
+    }
+
+    synchronized long getTotalBytes() {
+        long size = 0;
+        for (Segment segment : segments.values()) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:NPathComplexity"})
+    private void flushLocked(ByteBuffer buffer) throws IOException {
+        List<Chunk> chunks = new ArrayList<>();
+        List<Segment> deletable;
+        boolean force;
+        synchronized (this) {
+            queued = false;
+            if (failure != null) {
+                throw failure;
+            }
+            for (Iterator<Segment> iterator = unflushed.iterator(); iterator.hasNext(); ) {
+                Segment segment = iterator.next();
+                if (segment.pendingLength > 0 || segment.sealed) {
+                    chunks.add(new Chunk(segment, segment.pending, segment.pendingLength, segment.sealed));
+                    pendingBytes -= segment.pendingLength;
+                    segment.pending = segment.spare != null ? segment.spare : EMPTY;
+                    segment.spare = null;
+                    segment.pendingLength = 0;
+                }
+                if (segment.sealed) {
+                    iterator.remove();
+                }
+            }
+            force = forceRequested || !obsolete.isEmpty();
+            forceRequested = false;
+            deletable = new ArrayList<>(obsolete);
+            obsolete.clear();
+            // the mutations waiting for capacity may go on
+            notifyAll();
+        }
+
+        try {
+            for (Chunk chunk : chunks) {
+                Segment segment = chunk.segment;
+                if (chunk.length > 0) {
+                    if (segment != writing) {
+                        open(segment);
+                    }
+                    write(segment.channel, chunk.bytes, chunk.length, buffer);
+                }
+                if (chunk.sealed && segment == writing) {
+                    // a sealed segment is never written again
+                    segment.channel.force(false);
+                    closeResource(segment.channel);
+                    writing = null;
+                }
+            }
+            if (force && writing != null) {
+                writing.channel.force(false);
+            }
+            for (Segment segment : deletable) {
+                delete(segment.file);
+            }
+            if (!deletable.isEmpty()) {
+                fsyncDir(dir.toPath());
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                failure = e;
+                notifyAll();
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (Chunk chunk : chunks) {
+                Segment segment = chunk.segment;
+                if (chunk.sealed) {
+                    segment.flushed = true;
+                } else if (segment.spare == null && chunk.bytes.length <= MAX_SPARE_SIZE) {
+                    segment.spare = chunk.bytes;
+                }
+            }
+        }
+    }
+
+    private void open(Segment segment) throws IOException {
+        if (writing != null) {
+            writing.channel.force(false);
+            closeResource(writing.channel);
+        }
+        Files.createDirectories(dir.toPath());
+        segment.channel = FileChannel.open(segment.file.toPath(), CREATE_NEW, WRITE);
+        fsyncDir(dir.toPath());
+        writing = segment;
+    }
+
+    private static void write(FileChannel channel, byte[] bytes, int length, ByteBuffer buffer) throws IOException {
+        // copied to a direct buffer here, otherwise the channel copies to a temporary direct buffer of the full length
+        int offset = 0;
+        while (offset < length) {
+            int count = Math.min(buffer.capacity(), length - offset);
+            buffer.clear();
+            buffer.put(bytes, offset, count);
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            offset += count;
+        }
+    }
+
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private synchronized boolean compact(Segment segment, byte[] bytes) {
+        if (closed || segments.get(segment.id) != segment) {
+            return false;
+        }
+
+        boolean hasOlderSegment = segments.firstKey() < segment.id;
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int offset = 0;
+        while (offset < segment.size) {
+            int length = buffer.getInt(offset + LENGTH_OFFSET);
+            byte type = buffer.get(offset + TYPE_OFFSET);
+            long seq = buffer.getLong(offset + SEQ_OFFSET);
+            String name = decodeName(bytes, offset);
+            switch (type) {
+                case TYPE_PUT:
+                    Map<Data, Slot> slots = index.get(name);
+                    Slot slot = slots == null ? null : slots.get(decodeKey(bytes, offset));
+                    if (slot != null && slot.seq == seq) {
+                        segment.liveBytes -= length;
+                        long newOffset = appendRaw(bytes, offset, length);
+                        slot.update(seq, active, newOffset, length);
+                        active.liveBytes += length;
+                    }
+                    break;
+                case TYPE_REMOVE:
+                    if (hasOlderSegment && !isShadowed(name, decodeKey(bytes, offset), seq)) {
+                        appendRaw(bytes, offset, length);
+                    }
+                    break;
+                case TYPE_CLEAR:
+                    if (!Long.valueOf(seq).equals(tombstones.get(name))) {
+                        break;
+                    }
+                    if (hasOlderSegment) {
+                        appendRaw(bytes, offset, length);
+                    } else {
+                        tombstones.remove(name);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown record type " + type + " in " + segment.file);
+            }
+            offset += length;
+        }
+
+        segments.remove(segment.id);
+        obsolete.add(segment);
+        markDirty();
+        if (logger.isFineEnabled()) {
+            logger.fine("Compacted " + segment.file + " of " + segment.size + " bytes");
+        }
+        return true;
+    }
+
+    private boolean isShadowed(String name, Data key, long seq) {
+        Long tombstone = tombstones.get(name);
+        if (tombstone != null && tombstone > seq) {
+            return true;
+        }
+        Map<Data, Slot> slots = index.get(name);
+        // a live record of the key is always newer than the remove
+        return slots != null && slots.containsKey(key);
+    }
+
+    private boolean awaitCapacity() {
+        boolean interrupted = false;
+        try {
+            while (!closed && failure == null && pendingBytes >= MAX_PENDING_BYTES) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (failure != null) {
+            throw new HazelcastException("Persistence log in " + dir.getAbsolutePath() + " failed", failure);
+        }
+        return !closed;
+    }
+
+    private void appendTombstone(String name, long seq) {
+        byte[] nameBytes = encodeName(name);
+        append(HEADER_SIZE + nameBytes.length, TYPE_CLEAR, seq, nameBytes, EMPTY, EMPTY);
+    }
+
+    private long append(int length, byte type, long seq, byte[] name, byte[] key, byte[] value) {
+        Segment segment = activeSegment(length);
+        int start = segment.reserve(length);
+        ByteBuffer buffer = ByteBuffer.wrap(segment.pending);
+        buffer.position(start + LENGTH_OFFSET);
+        buffer.putInt(length)
+                .put(type)
+                .putLong(seq)
+                .putInt(partitionId)
+                .putInt(name.length)
+                .putInt(key.length)
+                .put(name)
+                .put(key)
+                .put(value);
+        crc.reset();
+        crc.update(segment.pending, start + LENGTH_OFFSET, length - LENGTH_OFFSET);
+        buffer.putInt(start, (int) crc.getValue());
+        return appended(segment, length);
+    }
+
+    private long appendRaw(byte[] bytes, int offset, int length) {
+        Segment segment = activeSegment(length);
+        int start = segment.reserve(length);
+        System.arraycopy(bytes, offset, segment.pending, start, length);
+        return appended(segment, length);
+    }
+
+    private long appended(Segment segment, int length) {
+        long offset = segment.size;
+        segment.size += length;
+        pendingBytes += length;
+        markDirty();
+        return offset;
+    }
+
+    private Segment activeSegment(int length) {
+        if (active == null || (active.size > 0 && active.size + length > segmentSize)) {
+            if (active != null) {
+                active.sealed = true;
+            }
+            long id = nextSegmentId++;
+            active = new Segment(id, new File(dir, SEGMENT_PREFIX + id + SEGMENT_SUFFIX));
+            segments.put(id, active);
+            unflushed.add(active);
+        }
+        return active;
+    }
+
+    private void markDirty() {
+        if (!queued) {
+            queued = true;
+            dirtyListener.accept(this);
+        }
+    }
+
+    private byte[] encodeName(String name) {
+        return encodedNames.computeIfAbsent(name, n -> n.getBytes(UTF_8));
+    }
+
+    private void recover() throws IOException {
+        for (File file : listSegmentFiles(dir)) {
+            long id = segmentId(file);
+            nextSegmentId = Math.max(nextSegmentId, id + 1);
+            if (file.length() == 0) {
+                deleteQuietly(file);
+                continue;
+            }
+
+            Segment segment = new Segment(id, file);
+            segment.sealed = true;
+            segment.flushed = true;
+            segment.size = LogRecovery.scan(file, (type, seq, name, key, offset, length)
+                    -> recover(segment, type, seq, name, key, offset, length), logger);
+            segments.put(id, segment);
+        }
+
+        for (Iterator<Map.Entry<String, Map<Data, Slot>>> iterator = index.entrySet().iterator(); iterator.hasNext(); ) {
+            Map.Entry<String, Map<Data, Slot>> entry = iterator.next();
+            long tombstone = tombstones.getOrDefault(entry.getKey(), 0L);
+            Map<Data, Slot> slots = entry.getValue();
+            slots.values().removeIf(slot -> slot.segment == null || slot.seq < tombstone);
+            for (Slot slot : slots.values()) {
+                slot.segment.liveBytes += slot.size;
+            }
+            if (slots.isEmpty()) {
+                iterator.remove();
+            }
+        }
+
+        // reserved for the tombstones of dropRecovered()
+        sequence = recoveredSequence + 1;
+        recoveryPending = !index.isEmpty();
+    }
+
+    private void recover(Segment segment, byte type, long seq, String name, byte[] key, long offset, int length) {
+        recoveredSequence = Math.max(recoveredSequence, seq);
+        if (type == TYPE_CLEAR) {
+            tombstones.merge(name, seq, Math::max);
+            return;
+        }
+
+        Map<Data, Slot> slots = index.computeIfAbsent(name, n -> new HashMap<>());
+        HeapData keyData = new HeapData(key);
+        Slot slot = slots.get(keyData);
+        // a remove is tracked as a slot without a segment until all segments are scanned
+        Segment target = type == TYPE_PUT ? segment : null;
+        if (slot == null) {
+            slots.put(keyData, new Slot(seq, target, offset, length));
+        } else if (slot.seq < seq) {
+            slot.update(seq, target, offset, length);
+        }
+    }
+
+    private static void linkOrCopy(Path source, Path target) throws IOException {
+        Files.deleteIfExists(target);
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | FileSystemException e) {
+            Files.copy(source, target);
+        }
+    }
+
+    /**
+     * The location of the live record of a key.
+     */
+    private static final class Slot {
+        long seq;
+        Segment segment;
+        long offset;
+        int size;
+
+        Slot(long seq, Segment segment, long offset, int size) {
+            update(seq, segment, offset, size);
+        }
+
+        void update(long seq, Segment segment, long offset, int size) {
+            this.seq = seq;
+            this.segment = segment;
+            this.offset = offset;
+            this.size = size;
+        }
+    }
+
+    private static final class Segment {
+        final long id;
+        final File file;
+        // written and closed by the flusher
+        FileChannel channel;
+        // the bytes appended to the segment, including the pending ones
+        long size;
+        long liveBytes;
+        byte[] pending = EMPTY;
+        int pendingLength;
+        byte[] spare;
+        boolean sealed;
+        // sealed and closed, the file does not change anymore
+        boolean flushed;
+
+        Segment(long id, File file) {
+            this.id = id;
+            this.file = file;
+        }
+
+        int reserve(int length) {
+            if (pendingLength + length > pending.length) {
+                int capacity = Math.max(Math.max(INITIAL_PENDING_SIZE, pending.length * 2), pendingLength + length);
+                pending = Arrays.copyOf(pending, capacity);
+            }
+            int start = pendingLength;
+            pendingLength += length;
+            return start;
+        }
+
+        double garbageRatio() {
+            return size == 0 ? 0 : (double) (size - liveBytes) / size;
+        }
+    }
+
+    private record Chunk(Segment segment, byte[] bytes, int length, boolean sealed) {
+    }
+}
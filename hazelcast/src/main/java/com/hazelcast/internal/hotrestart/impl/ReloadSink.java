@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.hotrestart.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+/**
+ * Receives the live records of a {@link LogStructuredStore} when it is reloaded.
+ * A sink is used by a single thread.
+ */
+public interface ReloadSink {
+
+    /**
+     * Accepts a live record.
+     *
+     * @param name        name of the data structure of the record
+     * @param partitionId partition of the record
+     * @param key         key of the record
+     * @param value       value of the record
+     */
+    void accept(String name, int partitionId, Data key, Data value);
+
+    /**
+     * Called once after the last record handed to this sink and
+     * waits until all accepted records have been applied.
+     */
+    void flush();
+}
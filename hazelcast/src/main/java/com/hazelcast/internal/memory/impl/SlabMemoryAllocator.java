@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.util.collection.Long2LongHashMap;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.QuickMath.isPowerOfTwo;
+import static com.hazelcast.internal.util.QuickMath.log2;
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * A {@link MemoryAllocator} which carves small blocks out of fixed-size native memory slabs.
+ * <p>
+ * Block sizes are rounded up to a power-of-two size class between {@link #MIN_BLOCK_SIZE} and
+ * {@link #MAX_SLAB_BLOCK_SIZE}. Every size class has its own free list which is threaded through
+ * the freed blocks themselves, so freeing and re-allocating a block never touches the system
+ * allocator. Blocks larger than {@link #MAX_SLAB_BLOCK_SIZE} are allocated directly from the system,
+ * also rounded up to a power of two; a freed large block is kept on the free list of its size
+ * class too, so it is re-used instead of being released.
+ * <p>
+ * Memory of slabs and large blocks is only returned to the system when the allocator is
+ * {@link #dispose() disposed}. This means that a stale reader can never fault on an address handed
+ * out by this allocator while the allocator is alive, it can only observe a block that has been
+ * re-used. The block at a given address always has the same size while the allocator is alive.
+ * <p>
+ * This class is not thread-safe; it is meant to be owned by a single (partition) thread.
+ */
+public final class SlabMemoryAllocator implements MemoryAllocator {
+
+    /**
+     * Smallest size of a block; a freed block must be able to hold the next pointer of the free list.
+     */
+    public static final int MIN_BLOCK_SIZE = 16;
+
+    /**
+     * Largest size of a block that is served from a slab.
+     */
+    public static final int MAX_SLAB_BLOCK_SIZE = 4096;
+
+    /**
+     * Default size of a single slab.
+     */
+    public static final int DEFAULT_SLAB_SIZE = 32 * 1024;
+
+    private static final int MIN_SIZE_CLASS_SHIFT = log2(MIN_BLOCK_SIZE);
+    private static final int SIZE_CLASS_COUNT = log2(MAX_SLAB_BLOCK_SIZE) - MIN_SIZE_CLASS_SHIFT + 1;
+    private static final int INITIAL_SLAB_ARRAY_LENGTH = 4;
+
+    private final int slabSize;
+    // head of the free list per size class
+    private final long[] freeLists = new long[SIZE_CLASS_COUNT];
+    // the next unused address in the current slab per size class; bump allocated
+    private final long[] bumpAddresses = new long[SIZE_CLASS_COUNT];
+    private final long[] bumpLimits = new long[SIZE_CLASS_COUNT];
+    // head of the free list of large blocks, indexed by log2 of the block size
+    private final long[] largeFreeLists = new long[Long.SIZE];
+    // address -> size of the blocks allocated outside of slabs
+    private final Long2LongHashMap largeBlocks = new Long2LongHashMap(NULL_ADDRESS);
+    private long[] slabs = new long[INITIAL_SLAB_ARRAY_LENGTH];
+    private int slabCount;
+    private long usedMemory;
+    private long committedMemory;
+    private boolean disposed;
+
+    public SlabMemoryAllocator() {
+        this(DEFAULT_SLAB_SIZE);
+    }
+
+    public SlabMemoryAllocator(int slabSize) {
+        checkPositive("slabSize", slabSize);
+        if (!isPowerOfTwo(slabSize) || slabSize < MAX_SLAB_BLOCK_SIZE) {
+            throw new IllegalArgumentException("slabSize must be a power of two and not smaller than "
+                    + MAX_SLAB_BLOCK_SIZE + ", but found " + slabSize);
+        }
+        if (UNSAFE == null) {
+            throw new UnsupportedOperationException(getClass().getSimpleName() + " requires sun.misc.Unsafe");
+        }
+        this.slabSize = slabSize;
+    }
+
+    /**
+     * Returns the size of the block the given request size is rounded up to.
+     */
+    public static long blockSize(long size) {
+        if (size > MAX_SLAB_BLOCK_SIZE) {
+            return nextPowerOfTwo(size);
+        }
+        return size <= MIN_BLOCK_SIZE ? MIN_BLOCK_SIZE : nextPowerOfTwo((int) size);
+    }
+
+    @Override
+    public long allocate(long size) {
+        checkPositive("size", size);
+        ensureNotDisposed();
+
+        if (size > MAX_SLAB_BLOCK_SIZE) {
+            return allocateLarge(size);
+        }
+
+        int sizeClass = sizeClass(size);
+        long blockSize = blockSize(size);
+        long address = freeLists[sizeClass];
+        if (address != NULL_ADDRESS) {
+            freeLists[sizeClass] = UNSAFE.getLong(address);
+        } else {
+            if (bumpAddresses[sizeClass] == bumpLimits[sizeClass]) {
+                long slab = allocateSlab();
+                bumpAddresses[sizeClass] = slab;
+                bumpLimits[sizeClass] = slab + slabSize;
+            }
+            address = bumpAddresses[sizeClass];
+            bumpAddresses[sizeClass] += blockSize;
+        }
+        usedMemory += blockSize;
+        return address;
+    }
+
+    @Override
+    public long reallocate(long address, long currentSize, long newSize) {
+        if (address == NULL_ADDRESS) {
+            return allocate(newSize);
+        }
+        if (blockSize(currentSize) == blockSize(newSize)) {
+            return address;
+        }
+
+        long newAddress = allocate(newSize);
+        UNSAFE.copyMemory(address, newAddress, Math.min(currentSize, newSize));
+        free(address, currentSize);
+        return newAddress;
+    }
+
+    @Override
+    public void free(long address, long size) {
+        if (address == NULL_ADDRESS || disposed) {
+            return;
+        }
+
+        if (size > MAX_SLAB_BLOCK_SIZE) {
+            long blockSize = blockSize(size);
+            assert largeBlocks.get(address) == blockSize : "Invalid size " + size + " for large block " + address;
+            // not released to the system, readers of other threads may still copy from it
+            int sizeClass = log2(blockSize);
+            UNSAFE.putLong(address, largeFreeLists[sizeClass]);
+            largeFreeLists[sizeClass] = address;
+            usedMemory -= blockSize;
+            return;
+        }
+
+        int sizeClass = sizeClass(size);
+        UNSAFE.putLong(address, freeLists[sizeClass]);
+        freeLists[sizeClass] = address;
+        usedMemory -= blockSize(size);
+    }
+
+    /**
+     * Returns the number of bytes handed out to callers, including the size class rounding.
+     */
+    public long getUsedMemory() {
+        return usedMemory;
+    }
+
+    /**
+     * Returns the number of bytes allocated from the system.
+     */
+    public long getCommittedMemory() {
+        return committedMemory;
+    }
+
+    /**
+     * Frees all slabs and large blocks. Any address handed out by this allocator
+     * becomes invalid.
+     */
+    @Override
+    public void dispose() {
+        if (disposed) {
+            return;
+        }
+        disposed = true;
+
+        for (int i = 0; i < slabCount; i++) {
+            UNSAFE.freeMemory(slabs[i]);
+        }
+        slabs = null;
+        slabCount = 0;
+
+        Long2LongHashMap.LongLongCursor cursor = largeBlocks.cursor();
+        while (cursor.advance()) {
+            UNSAFE.freeMemory(cursor.key());
+        }
+        largeBlocks.clear();
+
+        Arrays.fill(freeLists, NULL_ADDRESS);
+        Arrays.fill(largeFreeLists, NULL_ADDRESS);
+        Arrays.fill(bumpAddresses, NULL_ADDRESS);
+        Arrays.fill(bumpLimits, NULL_ADDRESS);
+        usedMemory = 0;
+        committedMemory = 0;
+    }
+
+    private long allocateLarge(long size) {
+        long blockSize = blockSize(size);
+        int sizeClass = log2(blockSize);
+        long address = largeFreeLists[sizeClass];
+        if (address != NULL_ADDRESS) {
+            largeFreeLists[sizeClass] = UNSAFE.getLong(address);
+        } else {
+            address = allocateFromSystem(blockSize);
+            largeBlocks.put(address, blockSize);
+        }
+        usedMemory += blockSize;
+        return address;
+    }
+
+    private long allocateSlab() {
+        long slab = allocateFromSystem(slabSize);
+        if (slabCount == slabs.length) {
+            slabs = Arrays.copyOf(slabs, slabs.length * 2);
+        }
+        slabs[slabCount++] = slab;
+        return slab;
+    }
+
+    private long allocateFromSystem(long size) {
+        long address;
+        try {
+            address = UNSAFE.allocateMemory(size);
+        } catch (OutOfMemoryError e) {
+            throw new NativeOutOfMemoryError("Cannot allocate " + size + " bytes of native memory", e);
+        }
+        committedMemory += size;
+        return address;
+    }
+
+    private void ensureNotDisposed() {
+        if (disposed) {
+            throw new IllegalStateException(getClass().getSimpleName() + " is already disposed");
+        }
+    }
+
+    private static int sizeClass(long size) {
+        return log2(blockSize(size)) - MIN_SIZE_CLASS_SHIFT;
+    }
+}
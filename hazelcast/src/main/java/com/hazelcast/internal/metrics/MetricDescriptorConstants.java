@@ -294,6 +294,8 @@ public final class MetricDescriptorConstants {
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_OPERATION_TIME = "totalElapsedMigrationOperationTime";
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_DESTINATION_COMMIT_TIME = "totalElapsedDestinationCommitTime";
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_TIME = "totalElapsedMigrationTime";
+    public static final String MIGRATION_METRIC_TOTAL_SENT_MIGRATION_FRAGMENTS = "totalSentMigrationFragments";
+    public static final String MIGRATION_METRIC_TOTAL_SENT_MIGRATION_CHUNK_BYTES = "totalSentMigrationChunkBytes";
     // ===[/MIGRATION]==================================================
 
     // ===[MULTIMAP]====================================================
@@ -390,6 +392,8 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_THREAD_COMPLETED_OPERATION_BATCH_COUNT = "completedOperationBatchCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT = "normalPendingCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT = "priorityPendingCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_BUSY_TIME = "busyTime";
+    public static final String OPERATION_METRIC_EXECUTOR_PARTITION_MOVE_COUNT = "partitionMoveCount";
     public static final String OPERATION_METRIC_PARKER_PARK_QUEUE_COUNT = "parkQueueCount";
     public static final String OPERATION_METRIC_PARKER_TOTAL_PARKED_OPERATION_COUNT = "totalParkedOperationCount";
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSE_QUEUE_SIZE = "responseQueueSize";
@@ -539,11 +543,14 @@ public final class MetricDescriptorConstants {
     public static final String TCP_PREFIX = "tcp";
     public static final String TCP_PREFIX_ACCEPTOR = "tcp.acceptor";
     public static final String TCP_PREFIX_BALANCER = "tcp.balancer";
+    public static final String TCP_PREFIX_BUFFER_POOL = "tcp.bufferPool";
+    public static final String TCP_PREFIX_COMPRESSION = "tcp.compression";
     public static final String TCP_PREFIX_CONNECTION = "tcp.connection";
     public static final String TCP_PREFIX_CONNECTION_IN = "tcp.connection.in";
     public static final String TCP_PREFIX_CONNECTION_OUT = "tcp.connection.out";
     public static final String TCP_PREFIX_INPUTTHREAD = "tcp.inputThread";
     public static final String TCP_PREFIX_OUTPUTTHREAD = "tcp.outputThread";
+    public static final String TCP_PREFIX_TLS = "tcp.tls";
     public static final String TCP_DISCRIMINATOR_BINDADDRESS = "bindAddress";
     public static final String TCP_DISCRIMINATOR_ENDPOINT = "endpoint";
     public static final String TCP_DISCRIMINATOR_PIPELINEID = "pipelineId";
@@ -564,6 +571,23 @@ public final class MetricDescriptorConstants {
     public static final String TCP_METRIC_ENDPOINT_MANAGER_ACCEPTED_SOCKET_COUNT = "acceptedSocketCount";
     public static final String TCP_METRIC_CLIENT_COUNT = "clientCount";
     public static final String TCP_METRIC_TEXT_COUNT = "textCount";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS = "compressedPackets";
+    public static final String TCP_METRIC_COMPRESSION_INCOMPRESSIBLE_PACKETS = "incompressiblePackets";
+    public static final String TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES = "uncompressedBytes";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSED_BYTES = "compressedBytes";
+    public static final String TCP_METRIC_COMPRESSION_RATIO_PERCENT = "compressionRatioPercent";
+    public static final String TCP_METRIC_COMPRESSION_COMPRESSION_TIME_NANOS = "compressionTimeNanos";
+    public static final String TCP_METRIC_COMPRESSION_DECOMPRESSED_PACKETS = "decompressedPackets";
+    public static final String TCP_METRIC_COMPRESSION_DECOMPRESSION_TIME_NANOS = "decompressionTimeNanos";
+    public static final String TCP_METRIC_BUFFER_POOL_RESERVED_BYTES = "reservedBytes";
+    public static final String TCP_METRIC_BUFFER_POOL_USED_BYTES = "usedBytes";
+    public static final String TCP_METRIC_BUFFER_POOL_UNPOOLED_ALLOCATIONS = "unpooledAllocations";
+    public static final String TCP_METRIC_TLS_HANDSHAKES = "handshakes";
+    public static final String TCP_METRIC_TLS_HANDSHAKE_TIME_NANOS = "handshakeTimeNanos";
+    public static final String TCP_METRIC_TLS_ENCRYPTED_BYTES = "encryptedBytes";
+    public static final String TCP_METRIC_TLS_ENCRYPTION_TIME_NANOS = "encryptionTimeNanos";
+    public static final String TCP_METRIC_TLS_DECRYPTED_BYTES = "decryptedBytes";
+    public static final String TCP_METRIC_TLS_DECRYPTION_TIME_NANOS = "decryptionTimeNanos";
     // ===[/TCP]========================================================
 
     // ===[TOPIC]=======================================================
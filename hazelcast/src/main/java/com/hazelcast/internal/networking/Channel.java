@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.util.concurrent.ConcurrentMap;
 
 /**
@@ -99,6 +100,21 @@ public interface Channel extends Closeable {
      */
     ConcurrentMap attributeMap();
 
+    /**
+     * Allocates a buffer for a {@link ChannelHandler} of this Channel. The
+     * buffer is direct if the {@link ChannelOption#DIRECT_BUF} option is set.
+     * <p>
+     * The direct buffers can be taken from a pool shared by the channels, in
+     * that case they are returned to the pool once the Channel is closed and
+     * its pipelines don't process the handlers anymore.
+     * <p>
+     * Call is thread-safe.
+     *
+     * @param sizeBytes the capacity of the buffer in bytes
+     * @return the allocated buffer
+     */
+    ByteBuffer newBuffer(int sizeBytes);
+
     /**
      * Returns the {@link InboundPipeline} that belongs to this Channel.
      * <p>
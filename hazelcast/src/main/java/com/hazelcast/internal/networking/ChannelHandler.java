@@ -110,6 +110,16 @@ public abstract class ChannelHandler<H extends ChannelHandler, S, D> {
     public void handlerAdded() {
     }
 
+    /**
+     * Gets called once the channel is closed and the pipeline of this
+     * handler is not going to be processed anymore, e.g. to release the
+     * resources held by the handler.
+     * <p>
+     * Will be called from a thread owning this handler.
+     */
+    public void handlerClosed() {
+    }
+
     /**
      * Intercepts an error that is thrown while processing the inbound or
      * outbound pipeline.
@@ -16,9 +16,7 @@
 
 package com.hazelcast.internal.networking;
 
-import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
-import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
 
 /**
  * The {@link InboundHandler} provides control when data is received and
@@ -73,7 +71,6 @@ public abstract class InboundHandler<S, D> extends ChannelHandler<InboundHandler
      * @param sizeBytes the size of the srcBuffer in bytes.
      */
     protected final void initSrcBuffer(int sizeBytes) {
-        ChannelOptions config = channel.options();
-        src = (S) newByteBuffer(sizeBytes, config.getOption(DIRECT_BUF));
+        src = (S) channel.newBuffer(sizeBytes);
     }
 }
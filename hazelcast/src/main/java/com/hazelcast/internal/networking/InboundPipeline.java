@@ -50,6 +50,20 @@ public interface InboundPipeline {
      */
     InboundPipeline addLast(InboundHandler... handlers);
 
+    /**
+     * Adds the handlers at the beginning of the pipeline, e.g. to decrypt
+     * the data before it is passed to the handlers already added.
+     * <p>
+     * No verification is done if the handler is already added and a handler
+     * should only be added once.
+     * <p>
+     * This method should only be made on the thread 'owning' the pipeline.
+     *
+     * @param handlers the handlers to add
+     * @return this
+     */
+    InboundPipeline addFirst(InboundHandler... handlers);
+
     /**
      * Replaces the old InboundHandler by the new ones. So if there
      * is a sequence of handlers [H1,H2,H3] and H2 gets replaced by [H4,H5]
@@ -20,9 +20,7 @@ import com.hazelcast.internal.nio.IOUtil;
 
 import java.nio.ByteBuffer;
 
-import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
 import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
-import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
 
 /**
  * The {@link OutboundHandler} is a {@link ChannelHandler} for outbound
@@ -51,6 +49,22 @@ import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
  * in reading mode, and it is the responsibility of the OutboundHandler
  * in front to put that buffer in reading mode.
  *
+ * <h1>Gathering writes</h1>
+ * The last OutboundHandler of the pipeline, whose destination buffer is
+ * written to the socket, can hand over large payloads without copying them
+ * to its destination buffer: the buffer returned by {@link #gatheringBuffer()}
+ * is written right after the destination buffer by a gathering write.
+ * As long as the gathering buffer has remaining bytes, nothing may be added
+ * to the destination buffer.
+ * <p>
+ * This doesn't make the write zero-copy for heap buffers: the JDK copies
+ * them into temporary direct buffers before writing them to the socket. It
+ * saves the copy into the destination buffer, so the gathering writes are
+ * only enabled if the destination buffer is a heap buffer, which the JDK
+ * copies anyway. A heap gathering buffer is written in chunks of at most
+ * the size of the destination buffer, which bounds the temporary direct
+ * buffers the JDK caches for the writing thread.
+ *
  * @param <S> the type of the source. E.g. a ByteBuffer or a
  *            {@link java.util.function.Supplier}.
  * @param <D> the type of the destination. E.g. a ByteBuffer or a
@@ -63,6 +77,15 @@ import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
  */
 public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandler, S, D> {
 
+    /**
+     * The minimum size of the payloads handed over as a
+     * {@link #gatheringBuffer() gathering buffer}, the smaller ones are
+     * cheaper to copy than to write by a separate buffer.
+     */
+    protected static final int GATHERING_WRITE_MIN_SIZE = 1 << 16;
+
+    private boolean gatheringWriteEnabled;
+
     /**
      * A callback to indicate that this OutboundHandler should be
      * processed.
@@ -77,6 +100,38 @@ public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandl
      */
     public abstract HandlerStatus onWrite() throws Exception;
 
+    /**
+     * Returns the buffer to be written to the socket right after the dst
+     * buffer or {@code null} if there is none. Only called if the
+     * {@link #isGatheringWriteEnabled() gathering writes are enabled}.
+     * A heap buffer is still copied by the JDK while it's written, see
+     * the class documentation.
+     *
+     * @return the gathering buffer in reading mode or {@code null}
+     */
+    public ByteBuffer gatheringBuffer() {
+        return null;
+    }
+
+    /**
+     * Enables or disables the gathering writes of this handler. Called by
+     * the pipeline when the handler becomes or stops being the last one of
+     * the pipeline with a heap dst buffer.
+     *
+     * @param gatheringWriteEnabled if the gathering writes are enabled
+     */
+    public final void setGatheringWriteEnabled(boolean gatheringWriteEnabled) {
+        this.gatheringWriteEnabled = gatheringWriteEnabled;
+    }
+
+    /**
+     * Checks if this handler can hand over payloads as a
+     * {@link #gatheringBuffer() gathering buffer}.
+     */
+    protected final boolean isGatheringWriteEnabled() {
+        return gatheringWriteEnabled;
+    }
+
     /**
      * Initializes the dst ByteBuffer with the value for {@link ChannelOption#SO_SNDBUF}.
      * <p>
@@ -114,8 +169,7 @@ public abstract class OutboundHandler<S, D> extends ChannelHandler<OutboundHandl
                     + ". bytes.length " + bytes.length);
         }
 
-        ChannelOptions config = channel.options();
-        ByteBuffer buffer = newByteBuffer(sizeBytes, config.getOption(DIRECT_BUF));
+        ByteBuffer buffer = channel.newBuffer(sizeBytes);
         if (bytes != null) {
             buffer.put(bytes);
         }
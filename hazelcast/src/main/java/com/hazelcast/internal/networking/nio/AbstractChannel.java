@@ -26,6 +26,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -33,6 +34,8 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
+import static com.hazelcast.internal.nio.IOUtil.newByteBuffer;
 import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static java.lang.String.format;
@@ -83,6 +86,11 @@ public abstract class AbstractChannel implements Channel {
         return attributeMap;
     }
 
+    @Override
+    public ByteBuffer newBuffer(int sizeBytes) {
+        return newByteBuffer(sizeBytes, options().getOption(DIRECT_BUF));
+    }
+
     @Override
     public Socket socket() {
         return socketChannel.socket();
@@ -20,15 +20,22 @@ import com.hazelcast.core.HazelcastException;
 import com.hazelcast.internal.networking.Channel;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.networking.OutboundFrame;
+import com.hazelcast.internal.nio.ByteBufferPool;
+import com.hazelcast.internal.nio.PooledByteBuffer;
 
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.nio.ByteBuffer;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 
+import static com.hazelcast.internal.networking.ChannelOption.DIRECT_BUF;
+
 /**
  * A {@link Channel} implementation tailored for non-blocking IO using
  * {@link Selector} in combination with a non-blocking {@link SocketChannel}.
@@ -42,15 +49,22 @@ public final class NioChannel extends AbstractChannel {
     private final Executor closeListenerExecutor;
     private final ChannelInitializer channelInitializer;
     private final NioChannelOptions config;
+    private final ByteBufferPool bufferPool;
+    // the direct buffers taken from the pool, they are released when both pipelines are closed
+    private final List<PooledByteBuffer> pooledBuffers = new ArrayList<>();
+    // guarded by pooledBuffers
+    private int openPipelines = 2;
 
     public NioChannel(SocketChannel socketChannel,
                       boolean clientMode,
                       ChannelInitializer channelInitializer,
-                      Executor closeListenerExecutor) {
+                      Executor closeListenerExecutor,
+                      ByteBufferPool bufferPool) {
         super(socketChannel, clientMode);
         this.channelInitializer = channelInitializer;
         this.closeListenerExecutor = closeListenerExecutor;
         this.config = new NioChannelOptions(socketChannel, logger);
+        this.bufferPool = bufferPool;
     }
 
     @Override
@@ -73,6 +87,41 @@ public final class NioChannel extends AbstractChannel {
         return inboundPipeline;
     }
 
+    @Override
+    public ByteBuffer newBuffer(int sizeBytes) {
+        if (bufferPool == null || !config.getOption(DIRECT_BUF)) {
+            return super.newBuffer(sizeBytes);
+        }
+
+        synchronized (pooledBuffers) {
+            if (openPipelines == 0) {
+                // nothing would release the buffer
+                return super.newBuffer(sizeBytes);
+            }
+            PooledByteBuffer buffer = bufferPool.acquire(sizeBytes);
+            pooledBuffers.add(buffer);
+            return buffer.buffer();
+        }
+    }
+
+    /**
+     * Called once by each pipeline after the channel is closed, when its
+     * handlers are not processed anymore. The pooled buffers are released
+     * once both pipelines are closed since the buffers can be shared by the
+     * handlers of both.
+     */
+    void onPipelineClosed() {
+        synchronized (pooledBuffers) {
+            if (--openPipelines > 0) {
+                return;
+            }
+            for (PooledByteBuffer buffer : pooledBuffers) {
+                buffer.release();
+            }
+            pooledBuffers.clear();
+        }
+    }
+
     @Override
     public boolean write(OutboundFrame frame) {
         if (isClosed()) {
@@ -109,6 +158,7 @@ public final class NioChannel extends AbstractChannel {
     @Override
     protected void close0() {
         outboundPipeline.drainWriteQueues();
+        inboundPipeline.close();
 
         // the socket is immediately closed.
         try {
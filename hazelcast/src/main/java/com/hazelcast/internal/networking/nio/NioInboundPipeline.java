@@ -109,8 +109,23 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
         return lastReadTime;
     }
 
+    /**
+     * Closes the pipeline on the owner, the handlers are not processed
+     * afterwards.
+     * <p>
+     * This method can be called by any thread.
+     */
+    void close() {
+        ownerAddTaskAndWakeup(this::onClosed);
+    }
+
     @Override
     void process() throws Exception {
+        if (isClosed()) {
+            // the channel is closed, the buffers of the handlers may be reused already
+            return;
+        }
+
         int readBytes = socketChannel.read(receiveBuffer);
 
         if (readBytes == -1) {
@@ -218,6 +233,19 @@ public final class NioInboundPipeline extends NioPipeline implements InboundPipe
         return this;
     }
 
+    @Override
+    public InboundPipeline addFirst(InboundHandler... addedHandlers) {
+        checkNotNull(addedHandlers, "handlers can't be null");
+
+        for (InboundHandler addedHandler : addedHandlers) {
+            fixDependencies(addedHandler);
+            addedHandler.setChannel(channel).handlerAdded();
+        }
+
+        updatePipeline(append(addedHandlers, handlers));
+        return this;
+    }
+
     @Override
     public InboundPipeline replace(InboundHandler oldHandler, InboundHandler... addedHandlers) {
         checkNotNull(oldHandler, "oldHandler can't be null");
@@ -30,6 +30,7 @@ import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.Networking;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
+import com.hazelcast.internal.nio.ByteBufferPool;
 import com.hazelcast.internal.util.ConcurrencyDetection;
 import com.hazelcast.internal.util.ThreadAffinity;
 import com.hazelcast.internal.util.concurrent.BackoffIdleStrategy;
@@ -55,6 +56,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_DISCR
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_DISCRIMINATOR_THREAD;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_BALANCER;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_BUFFER_POOL;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_CONNECTION_IN;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_CONNECTION_OUT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_INPUTTHREAD;
@@ -122,6 +124,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
     private final ThreadAffinity inputThreadAffinity;
+    private final ByteBufferPool bufferPool;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
     private volatile NioThread[] outputThreads;
@@ -149,6 +152,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         this.inputThreadAffinity = ctx.inputThreadAffinity;
         this.outputThreadAffinity = ctx.outputThreadAffinity;
         this.balancerIntervalSeconds = ctx.balancerIntervalSeconds;
+        this.bufferPool = ctx.bufferPool;
         this.selectorMode = ctx.selectorMode;
         this.selectorWorkaroundTest = ctx.selectorWorkaroundTest;
         this.idleStrategy = ctx.idleStrategy;
@@ -306,7 +310,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             throw new IllegalArgumentException("Can't register a channel when networking isn't started");
         }
 
-        NioChannel channel = new NioChannel(socketChannel, clientMode, channelInitializer, closeListenerExecutor);
+        NioChannel channel = new NioChannel(socketChannel, clientMode, channelInitializer, closeListenerExecutor,
+                bufferPool);
 
         socketChannel.configureBlocking(false);
 
@@ -401,6 +406,13 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             context.collect(descriptorBalancer, ioBalancer);
         }
 
+        if (bufferPool != null) {
+            MetricDescriptor descriptorBufferPool = descriptor
+                    .copy()
+                    .withPrefix(TCP_PREFIX_BUFFER_POOL);
+            context.collect(descriptorBufferPool, bufferPool);
+        }
+
         MetricDescriptor descriptorTcp = descriptor
                 .copy()
                 .withPrefix(TCP_PREFIX);
@@ -483,6 +495,7 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         private int inputThreadCount = 1;
         private int outputThreadCount = 1;
         private int balancerIntervalSeconds;
+        private ByteBufferPool bufferPool;
         private ThreadAffinity inputThreadAffinity = ThreadAffinity.DISABLED;
         private ThreadAffinity outputThreadAffinity = ThreadAffinity.DISABLED;
 
@@ -594,5 +607,14 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             this.balancerIntervalSeconds = balancerIntervalSeconds;
             return this;
         }
+
+        /**
+         * Sets the pool the direct buffers of the channels are taken from,
+         * {@code null} if the buffers are not pooled.
+         */
+        public Context bufferPool(ByteBufferPool bufferPool) {
+            this.bufferPool = bufferPool;
+            return this;
+        }
     }
 }
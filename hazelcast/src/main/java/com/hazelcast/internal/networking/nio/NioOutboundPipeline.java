@@ -25,16 +25,17 @@ import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.OutboundPipeline;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.internal.util.ConcurrencyDetection;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
+import org.jctools.queues.MpscUnboundedArrayQueue;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.util.Arrays;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -57,8 +58,10 @@ import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.collection.ArrayUtils.append;
 import static com.hazelcast.internal.util.collection.ArrayUtils.replaceFirst;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.System.currentTimeMillis;
 import static java.lang.Thread.currentThread;
 import static java.nio.channels.SelectionKey.OP_WRITE;
@@ -107,15 +110,38 @@ public final class NioOutboundPipeline
         RESCHEDULE
     }
 
+    // the write queues grow by chunks of this many frames instead of allocating a node per frame
+    private static final int WRITE_QUEUE_CHUNK_SIZE = 256;
+    private static final int PRIORITY_WRITE_QUEUE_CHUNK_SIZE = 32;
+
+    // The write queues have multiple producers and a single consumer: the thread owning
+    // the pipeline (see State). The frames are pulled in batches: the encoders keep on
+    // taking frames until the send buffer is full, so a single socket write flushes many
+    // frames.
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE, level = INFO)
-    public final Queue<OutboundFrame> writeQueue = new ConcurrentLinkedQueue<>();
+    public final MpscUnboundedArrayQueue<OutboundFrame> writeQueue = new MpscUnboundedArrayQueue<>(WRITE_QUEUE_CHUNK_SIZE);
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_SIZE, level = DEBUG)
-    public final Queue<OutboundFrame> priorityWriteQueue = new ConcurrentLinkedQueue<>();
+    public final MpscUnboundedArrayQueue<OutboundFrame> priorityWriteQueue =
+            new MpscUnboundedArrayQueue<>(PRIORITY_WRITE_QUEUE_CHUNK_SIZE);
+
+    // the pending bytes are the difference of the bytes offered by the producers
+    // and the bytes taken by the consumer, so they don't need to iterate the queues.
+    private final MwCounter bytesOffered = newMwCounter();
+    private final SwCounter bytesTaken = newSwCounter();
+    private final MwCounter priorityBytesOffered = newMwCounter();
+    private final SwCounter priorityBytesTaken = newSwCounter();
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
+    // reused by the gathering writes of the sendBuffer and the gathering buffer of the last handler
+    private final ByteBuffer[] gatheringWriteBuffers = new ByteBuffer[2];
+    // set when the channel is closed, the write queues are drained by the consumer
+    private volatile boolean writeQueuesDrained;
+    // the number of threads running the process method. Once the write queues are drained,
+    // the threads calling process only leave it again, so it can be more than one.
+    private final AtomicInteger processors = new AtomicInteger();
 
     private final AtomicReference<State> scheduled = new AtomicReference<>(State.SCHEDULED);
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_BYTES_WRITTEN, unit = BYTES, level = DEBUG)
@@ -173,20 +199,19 @@ public final class NioOutboundPipeline
 
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_PENDING_BYTES, level = DEBUG, unit = BYTES)
     public long bytesPending() {
-        return bytesPending(writeQueue);
+        return bytesPending(bytesOffered, bytesTaken);
     }
 
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_PENDING_BYTES, level = DEBUG, unit = BYTES)
     public long priorityBytesPending() {
-        return bytesPending(priorityWriteQueue);
+        return bytesPending(priorityBytesOffered, priorityBytesTaken);
     }
 
-    private long bytesPending(Queue<OutboundFrame> writeQueue) {
-        long bytesPending = 0;
-        for (OutboundFrame frame : writeQueue) {
-            bytesPending += frame.getFrameLength();
-        }
-        return bytesPending;
+    private static long bytesPending(MwCounter bytesOffered, SwCounter bytesTaken) {
+        // the bytes are offered before the frame is queued, so reading the taken bytes
+        // first can't lead to a negative number
+        long taken = bytesTaken.get();
+        return max(bytesOffered.get() - taken, 0);
     }
 
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS, unit = MS, level = INFO)
@@ -201,8 +226,10 @@ public final class NioOutboundPipeline
 
     public void write(OutboundFrame frame) {
         if (frame.isUrgent()) {
+            priorityBytesOffered.inc(frame.getFrameLength());
             priorityWriteQueue.offer(frame);
         } else {
+            bytesOffered.inc(frame.getFrameLength());
             writeQueue.offer(frame);
         }
 
@@ -292,37 +319,63 @@ public final class NioOutboundPipeline
                 return null;
             }
             normalFramesWritten.inc();
+            bytesTaken.inc(frame.getFrameLength());
         } else {
             priorityFramesWritten.inc();
+            priorityBytesTaken.inc(frame.getFrameLength());
         }
 
         return frame;
     }
 
-    // is never called concurrently!
+    // the handlers are never processed concurrently!
     @Override
     @SuppressWarnings("unchecked")
     public void process() throws Exception {
         processCount.inc();
 
-        OutboundHandler[] localHandlers = handlers;
-        HandlerStatus pipelineStatus = CLEAN;
-        for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
-            OutboundHandler handler = localHandlers[handlerIndex];
-
-            HandlerStatus handlerStatus = handler.onWrite();
-
-            if (localHandlers != handlers) {
-                // change in the pipeline detected, therefor the loop is restarted.
-                localHandlers = handlers;
-                pipelineStatus = CLEAN;
-                handlerIndex = -1;
-            } else if (handlerStatus != CLEAN) {
-                pipelineStatus = handlerStatus;
+        processors.incrementAndGet();
+        try {
+            if (!writeQueuesDrained) {
+                processHandlers();
+            }
+            // otherwise the channel is closed and there is no point in writing anything. The pipeline
+            // remains scheduled, so writes don't schedule it anymore.
+        } finally {
+            processors.decrementAndGet();
+            if (writeQueuesDrained) {
+                // the channel got closed while processing, the close task may have seen this thread
+                closeWhenIdle();
             }
         }
+    }
 
-        flushToSocket();
+    private void processHandlers() throws Exception {
+        HandlerStatus pipelineStatus;
+        ByteBuffer gatheringBuffer;
+        do {
+            OutboundHandler[] localHandlers = handlers;
+            pipelineStatus = CLEAN;
+            for (int handlerIndex = 0; handlerIndex < localHandlers.length; handlerIndex++) {
+                OutboundHandler handler = localHandlers[handlerIndex];
+
+                HandlerStatus handlerStatus = handler.onWrite();
+
+                if (localHandlers != handlers) {
+                    // change in the pipeline detected, therefor the loop is restarted.
+                    localHandlers = handlers;
+                    pipelineStatus = CLEAN;
+                    handlerIndex = -1;
+                } else if (handlerStatus != CLEAN) {
+                    pipelineStatus = handlerStatus;
+                }
+            }
+
+            gatheringBuffer = flushToSocket();
+            // if a gathering buffer got written completely, the last handler can continue
+            // with the next frames without waiting for the next OP_WRITE.
+        } while (gatheringBuffer != null && !gatheringBuffer.hasRemaining() && !sendBuffer.hasRemaining()
+                && !migrationRequested() && !writeQueuesDrained);
 
         if (migrationRequested()) {
             startMigration();
@@ -331,7 +384,12 @@ public final class NioOutboundPipeline
             return;
         }
 
-        if (sendBuffer.remaining() > 0) {
+        if (writeQueuesDrained) {
+            // the channel got closed while processing
+            return;
+        }
+
+        if (sendBuffer.remaining() > 0 || (gatheringBuffer != null && gatheringBuffer.hasRemaining())) {
             pipelineStatus = DIRTY;
         }
 
@@ -435,16 +493,86 @@ public final class NioOutboundPipeline
         }
     }
 
-    private void flushToSocket() throws IOException {
+    /**
+     * Writes the sendBuffer to the socket, followed by the gathering buffer
+     * of the last handler if there is one.
+     * <p>
+     * The JDK copies heap buffers into temporary direct buffers, which it
+     * caches per thread, before writing them. So at most a sendBuffer worth
+     * of a heap gathering buffer is written at once: the temporary buffers
+     * stay as small as the ones used to write the heap sendBuffer itself.
+     *
+     * @return the gathering buffer or {@code null} if there was none
+     */
+    private ByteBuffer flushToSocket() throws IOException {
         lastWriteTime = currentTimeMillis();
-        int written = socketChannel.write(sendBuffer);
+        OutboundHandler[] localHandlers = handlers;
+        ByteBuffer gatheringBuffer = localHandlers.length == 0
+                ? null : localHandlers[localHandlers.length - 1].gatheringBuffer();
+        long written;
+        if (gatheringBuffer == null || !gatheringBuffer.hasRemaining()) {
+            written = socketChannel.write(sendBuffer);
+        } else {
+            written = gatheringWrite(gatheringBuffer);
+        }
         bytesWritten.inc(written);
         //System.out.println(channel + " bytes written:" + written);
+        return gatheringBuffer;
+    }
+
+    private long gatheringWrite(ByteBuffer gatheringBuffer) throws IOException {
+        int limit = gatheringBuffer.limit();
+        int maxChunkSize = gatheringBuffer.isDirect() ? Integer.MAX_VALUE : sendBuffer.capacity();
+        gatheringWriteBuffers[0] = sendBuffer;
+        gatheringWriteBuffers[1] = gatheringBuffer;
+        long written = 0;
+        try {
+            do {
+                gatheringBuffer.limit((int) min(limit, (long) gatheringBuffer.position() + maxChunkSize));
+                written += socketChannel.write(gatheringWriteBuffers);
+                // the next chunk is written as long as the socket takes the whole chunk
+            } while (!gatheringBuffer.hasRemaining() && gatheringBuffer.position() < limit);
+        } finally {
+            gatheringBuffer.limit(limit);
+            // the payload must not be retained by the pipeline
+            gatheringWriteBuffers[1] = null;
+        }
+        return written;
     }
 
+    /**
+     * Drops the pending frames of the closed channel and marks the pipeline
+     * closed, so that the buffers of the handlers can be released.
+     * <p>
+     * The write queues can only be polled by a single thread, and the handlers
+     * must not be closed while a thread is processing them. So the close is
+     * handed to the owning thread, since the pipeline can be waiting for an
+     * OP_WRITE of the closed socket that is never going to come. If a thread
+     * is still processing the pipeline, that thread closes it when it leaves
+     * the process method.
+     * <p>
+     * This method can be called by any thread.
+     */
     void drainWriteQueues() {
-        writeQueue.clear();
-        priorityWriteQueue.clear();
+        writeQueuesDrained = true;
+        ownerAddTaskAndWakeup(this::closeWhenIdle);
+    }
+
+    private void closeWhenIdle() {
+        // a thread starting to process the pipeline from now on sees the drained write queues
+        // and doesn't touch the handlers. The closed flag makes sure only one thread closes it.
+        if (processors.get() == 0 && onClosed()) {
+            clearWriteQueues();
+        }
+    }
+
+    private void clearWriteQueues() {
+        for (OutboundFrame frame; (frame = priorityWriteQueue.poll()) != null; ) {
+            priorityBytesTaken.inc(frame.getFrameLength());
+        }
+        for (OutboundFrame frame; (frame = writeQueue.poll()) != null; ) {
+            bytesTaken.inc(frame.getFrameLength());
+        }
     }
 
     long bytesWritten() {
@@ -517,6 +645,10 @@ public final class NioOutboundPipeline
 
         OutboundHandler prev = null;
         for (OutboundHandler handler : handlers) {
+            // only the last handler writes to the sendBuffer. A direct sendBuffer takes a payload
+            // with a single copy, gathering it would only move that copy into the JDK
+            handler.setGatheringWriteEnabled(handler == newHandlers[newHandlers.length - 1]
+                    && sendBuffer != null && !sendBuffer.isDirect());
             if (prev == null) {
                 handler.src(this);
             } else {
@@ -28,6 +28,7 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.SelectionKey;
 import java.nio.channels.Selector;
 import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_PIPELINE_COMPLETED_MIGRATIONS;
@@ -74,6 +75,7 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
     @Probe(name = NETWORKING_METRIC_NIO_PIPELINE_COMPLETED_MIGRATIONS, level = DEBUG)
     private final SwCounter completedMigrations = newSwCounter();
     private volatile NioThread newOwner;
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     NioPipeline(NioChannel channel,
                 NioThread owner,
@@ -152,6 +154,35 @@ public abstract class NioPipeline implements MigratablePipeline, Runnable {
 
     abstract void publishMetrics();
 
+    /**
+     * Marks the pipeline closed once the channel is closed and the handlers
+     * of the pipeline are not going to be processed anymore, and lets the
+     * handlers know about it.
+     * <p>
+     * This method should only be called by the thread processing the
+     * pipeline.
+     *
+     * @return {@code true} if the pipeline got closed by this call,
+     * {@code false} if it was closed already
+     */
+    final boolean onClosed() {
+        if (!closed.compareAndSet(false, true)) {
+            return false;
+        }
+        try {
+            for (ChannelHandler handler : handlers()) {
+                handler.handlerClosed();
+            }
+        } finally {
+            channel.onPipelineClosed();
+        }
+        return true;
+    }
+
+    final boolean isClosed() {
+        return closed.get();
+    }
+
     /**
      * Called when the pipeline needs to be processed.
      * <p>
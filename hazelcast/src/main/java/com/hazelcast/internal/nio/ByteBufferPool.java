@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_BUFFER_POOL_RESERVED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_BUFFER_POOL_UNPOOLED_ALLOCATIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_BUFFER_POOL_USED_BYTES;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * A pool of direct {@link ByteBuffer ByteBuffers} shared by many threads.
+ * <p>
+ * The direct memory is reserved in slabs of {@value #SLAB_SIZE} bytes. Each
+ * slab is split into the chunks of a single size class, the size classes are
+ * the powers of two from {@value #MIN_CHUNK_SIZE} bytes up to the size of a
+ * slab. A buffer is a slice of the chunk of the smallest size class that can
+ * hold it and the chunk is returned to its size class when the last
+ * reference to the buffer is {@link PooledByteBuffer#release() released}.
+ * <p>
+ * The pool never reserves more than its maximum size. The buffers which are
+ * larger than a slab or which are acquired when the pool is exhausted are
+ * allocated outside the pool and left to the garbage collector once released.
+ * The reserved memory is kept until the pool is garbage collected.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ByteBufferPool {
+
+    /**
+     * The size of the smallest chunk.
+     */
+    public static final int MIN_CHUNK_SIZE = 1 << 12;
+
+    /**
+     * The size of a slab and of the largest chunk.
+     */
+    public static final int SLAB_SIZE = 1 << 20;
+
+    private static final int MIN_CHUNK_SHIFT = Integer.numberOfTrailingZeros(MIN_CHUNK_SIZE);
+
+    private final long maxSizeBytes;
+    private final SizeClass[] sizeClasses;
+
+    @Probe(name = TCP_METRIC_BUFFER_POOL_RESERVED_BYTES, unit = BYTES, level = INFO)
+    private final AtomicLong reservedBytes = new AtomicLong();
+    @Probe(name = TCP_METRIC_BUFFER_POOL_USED_BYTES, unit = BYTES, level = INFO)
+    private final AtomicLong usedBytes = new AtomicLong();
+    @Probe(name = TCP_METRIC_BUFFER_POOL_UNPOOLED_ALLOCATIONS, level = INFO)
+    private final MwCounter unpooledAllocations = newMwCounter();
+
+    /**
+     * @param maxSizeBytes the maximum size of the direct memory reserved
+     *                     by the pool
+     */
+    public ByteBufferPool(long maxSizeBytes) {
+        this.maxSizeBytes = checkNotNegative(maxSizeBytes, "maxSizeBytes can't be negative");
+        this.sizeClasses = new SizeClass[Integer.numberOfTrailingZeros(SLAB_SIZE) - MIN_CHUNK_SHIFT + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass(MIN_CHUNK_SIZE << i);
+        }
+    }
+
+    /**
+     * Acquires a direct buffer with the given capacity.
+     * <p>
+     * The position of the returned buffer is 0 and its limit is its
+     * capacity, its content is undefined. The buffer must be released once
+     * it isn't used anymore.
+     *
+     * @param sizeBytes the capacity of the buffer
+     * @return the acquired buffer
+     */
+    public PooledByteBuffer acquire(int sizeBytes) {
+        checkPositive("sizeBytes", sizeBytes);
+        if (sizeBytes > SLAB_SIZE) {
+            return allocateUnpooled(sizeBytes);
+        }
+
+        SizeClass sizeClass = sizeClasses[sizeClassIndex(sizeBytes)];
+        ByteBuffer chunk = sizeClass.chunks.poll();
+        if (chunk == null) {
+            chunk = sizeClass.allocateSlab();
+            if (chunk == null) {
+                return allocateUnpooled(sizeBytes);
+            }
+        }
+        usedBytes.addAndGet(sizeClass.chunkSize);
+        return new PooledByteBuffer(this, sizeClass, chunk, sizeBytes);
+    }
+
+    public long getMaxSizeBytes() {
+        return maxSizeBytes;
+    }
+
+    public long getReservedBytes() {
+        return reservedBytes.get();
+    }
+
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    void release(SizeClass sizeClass, ByteBuffer chunk) {
+        usedBytes.addAndGet(-sizeClass.chunkSize);
+        sizeClass.chunks.offer(chunk);
+    }
+
+    private PooledByteBuffer allocateUnpooled(int sizeBytes) {
+        unpooledAllocations.inc();
+        return new PooledByteBuffer(ByteBuffer.allocateDirect(sizeBytes));
+    }
+
+    private static int sizeClassIndex(int sizeBytes) {
+        if (sizeBytes <= MIN_CHUNK_SIZE) {
+            return 0;
+        }
+        // the index of the smallest power of two not less than the size
+        return Integer.SIZE - Integer.numberOfLeadingZeros(sizeBytes - 1) - MIN_CHUNK_SHIFT;
+    }
+
+    private boolean reserveSlab() {
+        for (; ; ) {
+            long reserved = reservedBytes.get();
+            if (reserved + SLAB_SIZE > maxSizeBytes) {
+                return false;
+            }
+            if (reservedBytes.compareAndSet(reserved, reserved + SLAB_SIZE)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * The free chunks of a single size.
+     */
+    final class SizeClass {
+
+        private final int chunkSize;
+        private final Queue<ByteBuffer> chunks = new ConcurrentLinkedQueue<>();
+
+        SizeClass(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+
+        /**
+         * Reserves a new slab and splits it into chunks.
+         *
+         * @return a chunk of the slab, the others are added to the free
+         * chunks, or {@code null} if the pool is exhausted
+         */
+        ByteBuffer allocateSlab() {
+            if (!reserveSlab()) {
+                return null;
+            }
+            ByteBuffer slab = ByteBuffer.allocateDirect(SLAB_SIZE);
+            for (int offset = chunkSize; offset < SLAB_SIZE; offset += chunkSize) {
+                chunks.offer(slab.slice(offset, chunkSize));
+            }
+            return slab.slice(0, chunkSize);
+        }
+    }
+}
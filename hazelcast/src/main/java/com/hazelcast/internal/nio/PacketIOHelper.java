@@ -44,6 +44,7 @@ public class PacketIOHelper {
     private char flags;
     private int partitionId;
     private byte[] payload;
+    private ByteBuffer gatheringBuffer;
 
     /**
      * Writes the packet data to the supplied {@code ByteBuffer}, up to the buffer's limit. If it returns {@code false},
@@ -53,6 +54,19 @@ public class PacketIOHelper {
      * @return {@code true} if all the packet's data is now written out; {@code false} otherwise.
      */
     public boolean writeTo(Packet packet, ByteBuffer dst) {
+        return writeTo(packet, dst, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Writes the packet data to the supplied {@code ByteBuffer} like {@link #writeTo(Packet, ByteBuffer)}, except
+     * for the payloads of at least {@code minGatheringSize} bytes: only the header of such a packet is written to the
+     * buffer and the payload is returned by the next {@link #takeGatheringBuffer()} call, without being copied.
+     *
+     * @param dst              the destination byte buffer
+     * @param minGatheringSize the minimum size of the payload not copied to the buffer
+     * @return {@code true} if all the packet's data is now written out or handed over; {@code false} otherwise.
+     */
+    public boolean writeTo(Packet packet, ByteBuffer dst, int minGatheringSize) {
         if (!headerComplete) {
             if (dst.remaining() < HEADER_SIZE) {
                 return false;
@@ -66,6 +80,12 @@ public class PacketIOHelper {
             headerComplete = true;
         }
 
+        if (valueOffset == 0 && size >= minGatheringSize) {
+            gatheringBuffer = ByteBuffer.wrap(packet.toByteArray(), 0, size);
+            reset();
+            return true;
+        }
+
         if (writeValue(packet, dst)) {
             reset();
             return true;
@@ -74,6 +94,18 @@ public class PacketIOHelper {
         }
     }
 
+    /**
+     * Returns the payload handed over by the last {@link #writeTo(Packet, ByteBuffer, int)} call, it must be
+     * written right after the bytes written to the buffer.
+     *
+     * @return the payload in reading mode or {@code null} if the payload of the last packet was copied
+     */
+    public ByteBuffer takeGatheringBuffer() {
+        ByteBuffer buffer = gatheringBuffer;
+        gatheringBuffer = null;
+        return buffer;
+    }
+
     private boolean writeValue(Packet packet, ByteBuffer dst) {
         if (size > 0) {
             // the number of bytes that can be written to the bb.
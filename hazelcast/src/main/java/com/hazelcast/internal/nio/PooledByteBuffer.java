@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A reference-counted direct {@link ByteBuffer} acquired from a
+ * {@link ByteBufferPool}.
+ * <p>
+ * The buffer is acquired with a single reference. Every party sharing the
+ * buffer {@link #retain() retains} it and {@link #release() releases} it
+ * once done; when the last reference is released, the memory of the buffer
+ * is returned to the pool and the buffer must not be accessed anymore.
+ * <p>
+ * This class is thread-safe, the buffer itself is not.
+ */
+public final class PooledByteBuffer {
+
+    private final ByteBufferPool pool;
+    private final ByteBufferPool.SizeClass sizeClass;
+    private final ByteBuffer chunk;
+    private final ByteBuffer buffer;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    PooledByteBuffer(ByteBufferPool pool, ByteBufferPool.SizeClass sizeClass, ByteBuffer chunk, int sizeBytes) {
+        this.pool = pool;
+        this.sizeClass = sizeClass;
+        this.chunk = chunk;
+        this.buffer = chunk.slice(0, sizeBytes);
+    }
+
+    PooledByteBuffer(ByteBuffer buffer) {
+        this.pool = null;
+        this.sizeClass = null;
+        this.chunk = null;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns the buffer.
+     *
+     * @throws IllegalStateException if the buffer has been released
+     */
+    public ByteBuffer buffer() {
+        if (refCount.get() <= 0) {
+            throw new IllegalStateException("The buffer has been released");
+        }
+        return buffer;
+    }
+
+    /**
+     * Checks if the memory of the buffer is returned to the pool once the
+     * buffer is released, otherwise it's left to the garbage collector.
+     */
+    public boolean isPooled() {
+        return pool != null;
+    }
+
+    public int refCount() {
+        return refCount.get();
+    }
+
+    /**
+     * Adds a reference to the buffer.
+     *
+     * @return this buffer
+     * @throws IllegalStateException if the buffer has been released
+     */
+    public PooledByteBuffer retain() {
+        for (; ; ) {
+            int current = refCount.get();
+            if (current <= 0) {
+                throw new IllegalStateException("The buffer has been released");
+            }
+            if (refCount.compareAndSet(current, current + 1)) {
+                return this;
+            }
+        }
+    }
+
+    /**
+     * Releases a reference to the buffer.
+     *
+     * @return {@code true} if the last reference was released,
+     * {@code false} otherwise
+     * @throws IllegalStateException if the buffer has been released
+     */
+    public boolean release() {
+        for (; ; ) {
+            int current = refCount.get();
+            if (current <= 0) {
+                throw new IllegalStateException("The buffer has been released");
+            }
+            if (refCount.compareAndSet(current, current - 1)) {
+                if (current > 1) {
+                    return false;
+                }
+                if (pool != null) {
+                    pool.release(sizeClass, chunk);
+                }
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "PooledByteBuffer{capacity=" + buffer.capacity() + ", pooled=" + isPooled()
+                + ", refCount=" + refCount.get() + '}';
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.ssl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.nio.ssl.SSLEngineFactory;
+
+import javax.net.ssl.SSLEngine;
+import java.net.InetSocketAddress;
+
+/**
+ * A {@link ChannelInitializer} adding TLS to the channels set up by another
+ * initializer: the {@link TLSDecoder} is put in front of its inbound handlers
+ * and the {@link TLSEncoder} after its outbound handlers.
+ */
+public class TLSChannelInitializer implements ChannelInitializer {
+
+    private final ChannelInitializer channelInitializer;
+    private final SSLEngineFactory sslEngineFactory;
+    private final TLSMetrics metrics;
+
+    public TLSChannelInitializer(ChannelInitializer channelInitializer, SSLEngineFactory sslEngineFactory,
+                                 TLSMetrics metrics) {
+        this.channelInitializer = channelInitializer;
+        this.sslEngineFactory = sslEngineFactory;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void initChannel(Channel channel) throws Exception {
+        // the channel options the buffers of the TLS handlers are sized by are set by the initializer
+        channelInitializer.initChannel(channel);
+
+        InetSocketAddress remoteAddress = (InetSocketAddress) channel.remoteSocketAddress();
+        SSLEngine engine = sslEngineFactory.create(channel.isClientMode(),
+                remoteAddress == null ? null : new Address(remoteAddress));
+        engine.beginHandshake();
+
+        TLSHandshake handshake = new TLSHandshake(channel, engine, metrics);
+        channel.inboundPipeline().addFirst(new TLSDecoder(handshake));
+        channel.outboundPipeline().addLast(new TLSEncoder(handshake));
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.ssl;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.InboundHandler;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.FINISHED;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_TASK;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_WRAP;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING;
+
+/**
+ * The first {@link InboundHandler} of the TLS channels, it decrypts the TLS
+ * records received from the network.
+ * <p>
+ * The records are decrypted directly into the src buffer of the next handler
+ * if it has room for a whole record. Otherwise, e.g. for the protocol decoders
+ * reading only a few bytes, they are decrypted into a buffer of this handler
+ * and copied to the next handler as it consumes them.
+ *
+ * @see TLSEncoder
+ */
+public class TLSDecoder extends InboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final TLSHandshake handshake;
+    private final SSLEngine engine;
+    private ByteBuffer appBuffer;
+
+    TLSDecoder(TLSHandshake handshake) {
+        this.handshake = handshake;
+        this.engine = handshake.engine();
+    }
+
+    @Override
+    public void handlerAdded() {
+        // the src buffer must be able to hold a whole record
+        initSrcBuffer(max(channel.options().getOption(SO_RCVBUF), engine.getSession().getPacketBufferSize()));
+    }
+
+    @Override
+    public HandlerStatus onRead() throws Exception {
+        src.flip();
+        try {
+            for (; ; ) {
+                if (!drainAppBuffer()) {
+                    // the next handler needs to consume the decrypted data first
+                    return DIRTY;
+                }
+
+                HandshakeStatus handshakeStatus = engine.getHandshakeStatus();
+                if (handshakeStatus == NEED_TASK) {
+                    handshake.runDelegatedTasks();
+                    continue;
+                } else if (handshakeStatus == NEED_WRAP) {
+                    // the encoder needs to send handshake data before anything can be decrypted
+                    channel.outboundPipeline().wakeup();
+                    return CLEAN;
+                }
+
+                if (!src.hasRemaining()) {
+                    return CLEAN;
+                }
+
+                if (!unwrap(handshakeStatus)) {
+                    return CLEAN;
+                }
+            }
+        } finally {
+            compactOrClear(src);
+        }
+    }
+
+    /**
+     * Decrypts a record from the src buffer.
+     *
+     * @return {@code true} if there was any progress, {@code false} otherwise
+     */
+    private boolean unwrap(HandshakeStatus handshakeStatus) throws Exception {
+        int appBufferSize = engine.getSession().getApplicationBufferSize();
+        ByteBuffer target = dst.remaining() >= appBufferSize ? dst : appBuffer(appBufferSize);
+
+        long startNanos = nanoTime();
+        SSLEngineResult result = engine.unwrap(src, target);
+        switch (result.getStatus()) {
+            case OK:
+                break;
+            case BUFFER_UNDERFLOW:
+                // only a part of the record is received
+                return false;
+            case BUFFER_OVERFLOW:
+                // the application buffer size grew during the handshake, a larger app buffer is used next time
+                return true;
+            case CLOSED:
+                throw new EOFException("TLS connection closed by the remote side!");
+            default:
+                throw new IllegalStateException("Unexpected status " + result.getStatus());
+        }
+
+        if (handshakeStatus == NOT_HANDSHAKING) {
+            handshake.metrics().onDecrypted(result.bytesProduced(), nanoTime() - startNanos);
+        }
+        if (result.getHandshakeStatus() == FINISHED) {
+            handshake.onFinished();
+        }
+        return result.bytesConsumed() > 0 || result.bytesProduced() > 0
+                || result.getHandshakeStatus() != handshakeStatus;
+    }
+
+    private ByteBuffer appBuffer(int appBufferSize) {
+        if (appBuffer == null || appBuffer.capacity() < appBufferSize) {
+            appBuffer = channel.newBuffer(appBufferSize);
+        }
+        return appBuffer;
+    }
+
+    /**
+     * Copies the data decrypted into the app buffer to the dst buffer.
+     *
+     * @return {@code true} if the app buffer is empty, {@code false} otherwise
+     */
+    private boolean drainAppBuffer() {
+        if (appBuffer == null || appBuffer.position() == 0) {
+            return true;
+        }
+        appBuffer.flip();
+        int length = min(appBuffer.remaining(), dst.remaining());
+        dst.put(appBuffer.slice(appBuffer.position(), length));
+        appBuffer.position(appBuffer.position() + length);
+        appBuffer.compact();
+        return appBuffer.position() == 0;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.ssl;
+
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundHandler;
+
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLEngineResult;
+import javax.net.ssl.SSLEngineResult.HandshakeStatus;
+import javax.net.ssl.SSLException;
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static java.lang.Math.max;
+import static java.lang.System.nanoTime;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.FINISHED;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_TASK;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_UNWRAP;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NEED_UNWRAP_AGAIN;
+import static javax.net.ssl.SSLEngineResult.HandshakeStatus.NOT_HANDSHAKING;
+
+/**
+ * The last {@link OutboundHandler} of the TLS channels, it encrypts the data
+ * of the previous handler directly into the buffer written to the network.
+ * <p>
+ * While the handshake is not finished, the data of the previous handler is
+ * kept in its dst buffer.
+ *
+ * @see TLSDecoder
+ */
+public class TLSEncoder extends OutboundHandler<ByteBuffer, ByteBuffer> {
+
+    private final TLSHandshake handshake;
+    private final SSLEngine engine;
+
+    TLSEncoder(TLSHandshake handshake) {
+        this.handshake = handshake;
+        this.engine = handshake.engine();
+    }
+
+    @Override
+    public void handlerAdded() {
+        // the dst buffer must be able to hold a whole record
+        initDstBuffer(max(channel.options().getOption(SO_SNDBUF), engine.getSession().getPacketBufferSize()));
+    }
+
+    @Override
+    public HandlerStatus onWrite() throws Exception {
+        compactOrClear(dst);
+        try {
+            for (; ; ) {
+                HandshakeStatus handshakeStatus = engine.getHandshakeStatus();
+                if (handshakeStatus == NEED_TASK) {
+                    handshake.runDelegatedTasks();
+                    continue;
+                } else if (handshakeStatus == NEED_UNWRAP || handshakeStatus == NEED_UNWRAP_AGAIN) {
+                    // the decoder may have received the handshake data already, the
+                    // outbound pipeline is woken up by it once the handshake can continue
+                    channel.inboundPipeline().wakeup();
+                    return CLEAN;
+                } else if (handshakeStatus == NOT_HANDSHAKING && !src.hasRemaining()) {
+                    return CLEAN;
+                }
+
+                long startNanos = nanoTime();
+                SSLEngineResult result = engine.wrap(src, dst);
+                switch (result.getStatus()) {
+                    case OK:
+                        break;
+                    case BUFFER_OVERFLOW:
+                        // the dst buffer needs to be written to the network first
+                        return DIRTY;
+                    case CLOSED:
+                        throw new SSLException("TLS engine closed, can't write to " + channel);
+                    default:
+                        throw new IllegalStateException("Unexpected status " + result.getStatus());
+                }
+
+                if (handshakeStatus == NOT_HANDSHAKING) {
+                    handshake.metrics().onEncrypted(result.bytesConsumed(), nanoTime() - startNanos);
+                }
+                if (result.getHandshakeStatus() == FINISHED) {
+                    handshake.onFinished();
+                } else if (result.bytesConsumed() == 0 && result.bytesProduced() == 0
+                        && result.getHandshakeStatus() == handshakeStatus) {
+                    // no progress, there is nothing to be written
+                    return CLEAN;
+                }
+            }
+        } finally {
+            dst.flip();
+        }
+    }
+}
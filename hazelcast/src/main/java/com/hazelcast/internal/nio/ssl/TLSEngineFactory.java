@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.ssl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.SSLConfig;
+import com.hazelcast.nio.ssl.SSLContextFactory;
+import com.hazelcast.nio.ssl.SSLEngineFactory;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSessionContext;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import static com.hazelcast.internal.nio.ClassLoaderUtil.newInstance;
+import static com.hazelcast.internal.util.StringUtil.splitByComma;
+
+/**
+ * An {@link SSLEngineFactory} creating the engines of an {@link SSLContext}.
+ * <p>
+ * The engines use TLS 1.3 unless configured otherwise. The sessions are
+ * resumed on reconnect: the client engines are created for the address of
+ * the peer, so the JDK looks up the session, or the TLS 1.3 session ticket,
+ * cached for that address. The server side of the resumption is done by the
+ * JDK, its session cache can be sized with the {@value #SESSION_CACHE_SIZE}
+ * and {@value #SESSION_TIMEOUT_SECONDS} properties.
+ * <p>
+ * The following properties of the {@link SSLConfig} are supported:
+ * <ul>
+ *     <li>{@value #PROTOCOL}: the comma-separated protocols to enable</li>
+ *     <li>{@value #CIPHER_SUITES}: the comma-separated cipher suites to enable</li>
+ *     <li>{@value #MUTUAL_AUTHENTICATION}: {@code REQUIRED} or {@code OPTIONAL}
+ *     authentication of the clients</li>
+ *     <li>{@value #SESSION_CACHE_SIZE}: the maximum number of the cached sessions</li>
+ *     <li>{@value #SESSION_TIMEOUT_SECONDS}: the lifetime of the cached sessions</li>
+ * </ul>
+ */
+public class TLSEngineFactory implements SSLEngineFactory {
+
+    /**
+     * The property of the protocols to enable.
+     */
+    public static final String PROTOCOL = "protocol";
+    /**
+     * The property of the cipher suites to enable.
+     */
+    public static final String CIPHER_SUITES = "ciphersuites";
+    /**
+     * The property of the authentication of the clients.
+     */
+    public static final String MUTUAL_AUTHENTICATION = "mutualAuthentication";
+    /**
+     * The property of the size of the session caches.
+     */
+    public static final String SESSION_CACHE_SIZE = "sessionCacheSize";
+    /**
+     * The property of the timeout of the cached sessions.
+     */
+    public static final String SESSION_TIMEOUT_SECONDS = "sessionTimeoutSeconds";
+
+    static final String DEFAULT_PROTOCOL = "TLSv1.3";
+
+    private final SSLContext sslContext;
+    private String[] protocols;
+    private String[] cipherSuites;
+    private boolean needClientAuth;
+    private boolean wantClientAuth;
+
+    public TLSEngineFactory(SSLContext sslContext) {
+        this.sslContext = sslContext;
+    }
+
+    /**
+     * Creates the engine factory of the configuration.
+     * <p>
+     * The factory implementation of the configuration can be an
+     * {@link SSLEngineFactory}, which is used as it is, or an
+     * {@link SSLContextFactory}. If there is none, the default
+     * {@link SSLContext} configured by the {@code javax.net.ssl} system
+     * properties is used.
+     *
+     * @param sslConfig   the enabled configuration
+     * @param classLoader the class loader of the factory class
+     * @param forClient   if the factory is created for a client
+     * @return the initialized engine factory
+     * @throws Exception if the factory can't be created or initialized
+     */
+    public static SSLEngineFactory create(SSLConfig sslConfig, ClassLoader classLoader, boolean forClient)
+            throws Exception {
+        Object factory = sslConfig.getFactoryImplementation();
+        if (factory == null && sslConfig.getFactoryClassName() != null) {
+            factory = newInstance(classLoader, sslConfig.getFactoryClassName());
+        }
+
+        Properties properties = sslConfig.getProperties();
+        SSLEngineFactory engineFactory;
+        if (factory instanceof SSLEngineFactory sslEngineFactory) {
+            engineFactory = sslEngineFactory;
+        } else if (factory instanceof SSLContextFactory sslContextFactory) {
+            sslContextFactory.init(properties);
+            engineFactory = new TLSEngineFactory(sslContextFactory.getSSLContext());
+        } else if (factory == null) {
+            engineFactory = new TLSEngineFactory(SSLContext.getDefault());
+        } else {
+            throw new InvalidConfigurationException("SSL factory " + factory.getClass().getName()
+                    + " is neither an SSLEngineFactory nor an SSLContextFactory");
+        }
+        engineFactory.init(properties, forClient);
+        return engineFactory;
+    }
+
+    @Override
+    public void init(Properties properties, boolean forClient) {
+        SSLParameters supported = sslContext.getSupportedSSLParameters();
+        protocols = supported(splitByComma(properties.getProperty(PROTOCOL, DEFAULT_PROTOCOL), false),
+                supported.getProtocols(), PROTOCOL);
+        String cipherSuitesProperty = properties.getProperty(CIPHER_SUITES);
+        cipherSuites = cipherSuitesProperty == null
+                ? null : supported(splitByComma(cipherSuitesProperty, false), supported.getCipherSuites(), CIPHER_SUITES);
+
+        String mutualAuthentication = properties.getProperty(MUTUAL_AUTHENTICATION);
+        if (mutualAuthentication != null) {
+            if (forClient) {
+                throw new InvalidConfigurationException(MUTUAL_AUTHENTICATION + " can't be configured on the client");
+            }
+            switch (mutualAuthentication.toUpperCase()) {
+                case "REQUIRED" -> needClientAuth = true;
+                case "OPTIONAL" -> wantClientAuth = true;
+                default -> throw new InvalidConfigurationException("Invalid " + MUTUAL_AUTHENTICATION + " '"
+                        + mutualAuthentication + "', expected REQUIRED or OPTIONAL");
+            }
+        }
+
+        // the members are on the client side of the connections they initiate
+        configureSessionContext(sslContext.getClientSessionContext(), properties);
+        if (!forClient) {
+            configureSessionContext(sslContext.getServerSessionContext(), properties);
+        }
+    }
+
+    @Override
+    public SSLEngine create(boolean clientMode, Address peerAddress) {
+        // the client sessions are cached by the host and port of the peer
+        SSLEngine engine = peerAddress == null
+                ? sslContext.createSSLEngine()
+                : sslContext.createSSLEngine(peerAddress.getHost(), peerAddress.getPort());
+        engine.setUseClientMode(clientMode);
+        engine.setEnabledProtocols(protocols);
+        if (cipherSuites != null) {
+            engine.setEnabledCipherSuites(cipherSuites);
+        }
+        if (!clientMode) {
+            if (needClientAuth) {
+                engine.setNeedClientAuth(true);
+            } else if (wantClientAuth) {
+                engine.setWantClientAuth(true);
+            }
+        }
+        return engine;
+    }
+
+    private static void configureSessionContext(SSLSessionContext sessionContext, Properties properties) {
+        String sessionCacheSize = properties.getProperty(SESSION_CACHE_SIZE);
+        if (sessionCacheSize != null) {
+            sessionContext.setSessionCacheSize(Integer.parseInt(sessionCacheSize));
+        }
+        String sessionTimeoutSeconds = properties.getProperty(SESSION_TIMEOUT_SECONDS);
+        if (sessionTimeoutSeconds != null) {
+            sessionContext.setSessionTimeout(Integer.parseInt(sessionTimeoutSeconds));
+        }
+    }
+
+    private static String[] supported(String[] values, String[] supported, String property) {
+        List<String> supportedList = Arrays.asList(supported);
+        for (String value : values) {
+            if (!supportedList.contains(value)) {
+                throw new InvalidConfigurationException("Unsupported " + property + " '" + value
+                        + "', supported values are " + supportedList);
+            }
+        }
+        return values;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.ssl;
+
+import com.hazelcast.internal.networking.Channel;
+
+import javax.net.ssl.SSLEngine;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.lang.System.nanoTime;
+
+/**
+ * The {@link SSLEngine} of a channel shared by its {@link TLSDecoder} and
+ * {@link TLSEncoder}.
+ * <p>
+ * The handshake needs both the handlers: the decoder wakes up the outbound
+ * pipeline when the engine needs to send handshake data and the encoder wakes
+ * up the inbound pipeline when it needs to receive it. Once the handshake is
+ * finished, both the pipelines are woken up to process the application data
+ * buffered in the meantime.
+ * <p>
+ * The engine is thread-safe, the handlers are called by the input and output
+ * threads concurrently.
+ */
+final class TLSHandshake {
+
+    private final Channel channel;
+    private final SSLEngine engine;
+    private final TLSMetrics metrics;
+    private final long startNanos = nanoTime();
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    TLSHandshake(Channel channel, SSLEngine engine, TLSMetrics metrics) {
+        this.channel = channel;
+        this.engine = engine;
+        this.metrics = metrics;
+    }
+
+    Channel channel() {
+        return channel;
+    }
+
+    SSLEngine engine() {
+        return engine;
+    }
+
+    TLSMetrics metrics() {
+        return metrics;
+    }
+
+    /**
+     * Runs the delegated tasks of the engine, e.g. the validation of the
+     * certificates, on the calling io thread.
+     */
+    void runDelegatedTasks() {
+        Runnable task;
+        while ((task = engine.getDelegatedTask()) != null) {
+            task.run();
+        }
+    }
+
+    void onFinished() {
+        if (finished.compareAndSet(false, true)) {
+            metrics.onHandshake(nanoTime() - startNanos);
+        }
+        channel.inboundPipeline().wakeup();
+        channel.outboundPipeline().wakeup();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.ssl;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.MwCounter;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_TLS_DECRYPTED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_TLS_DECRYPTION_TIME_NANOS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_TLS_ENCRYPTED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_TLS_ENCRYPTION_TIME_NANOS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_TLS_HANDSHAKES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_TLS_HANDSHAKE_TIME_NANOS;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+
+/**
+ * The metrics of the TLS channels, shared by all the channels of a member.
+ * <p>
+ * The handshake time is measured from the creation of the engine until the
+ * handshake is finished, so it includes the round trips. The encryption and
+ * decryption times and bytes only cover the application data, the bytes are
+ * the plain-text ones.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class TLSMetrics {
+
+    @Probe(name = TCP_METRIC_TLS_HANDSHAKES, level = INFO)
+    private final MwCounter handshakes = newMwCounter();
+    @Probe(name = TCP_METRIC_TLS_HANDSHAKE_TIME_NANOS, unit = NS, level = INFO)
+    private final MwCounter handshakeTimeNanos = newMwCounter();
+    @Probe(name = TCP_METRIC_TLS_ENCRYPTED_BYTES, unit = BYTES, level = INFO)
+    private final MwCounter encryptedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_TLS_ENCRYPTION_TIME_NANOS, unit = NS)
+    private final MwCounter encryptionTimeNanos = newMwCounter();
+    @Probe(name = TCP_METRIC_TLS_DECRYPTED_BYTES, unit = BYTES, level = INFO)
+    private final MwCounter decryptedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_TLS_DECRYPTION_TIME_NANOS, unit = NS)
+    private final MwCounter decryptionTimeNanos = newMwCounter();
+
+    void onHandshake(long durationNanos) {
+        handshakes.inc();
+        handshakeTimeNanos.inc(durationNanos);
+    }
+
+    void onEncrypted(int bytes, long durationNanos) {
+        encryptedBytes.inc(bytes);
+        encryptionTimeNanos.inc(durationNanos);
+    }
+
+    void onDecrypted(int bytes, long durationNanos) {
+        decryptedBytes.inc(bytes);
+        decryptionTimeNanos.inc(durationNanos);
+    }
+
+    long handshakes() {
+        return handshakes.get();
+    }
+
+    long encryptedBytes() {
+        return encryptedBytes.get();
+    }
+
+    long decryptedBytes() {
+        return decryptedBytes.get();
+    }
+}
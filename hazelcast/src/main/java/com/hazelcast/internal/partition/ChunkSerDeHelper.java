@@ -41,6 +41,7 @@ public final class ChunkSerDeHelper {
     private final int partitionId;
     private final Collection<ChunkSupplier> chunkSuppliers;
     private final int maxTotalChunkedDataInBytes;
+    private int writtenBytes;
 
     public ChunkSerDeHelper(ILogger logger, int partitionId,
                             Collection<ChunkSupplier> chunkSuppliers,
@@ -79,6 +80,7 @@ public final class ChunkSerDeHelper {
 
         BufferObjectDataOutput bufferedOut = (BufferObjectDataOutput) out;
         IsEndOfChunk isEndOfChunk = new IsEndOfChunk(maxTotalChunkedDataInBytes);
+        int startPosition = bufferedOut.position();
 
         for (ChunkSupplier chunkSupplier : chunkSuppliers) {
 
@@ -111,10 +113,19 @@ public final class ChunkSerDeHelper {
 
         // indicates end of chunked state
         out.writeObject(null);
+        writtenBytes = bufferedOut.position() - startPosition;
 
         logEndOfAllChunks(bufferedOut, isEndOfChunk);
     }
 
+    /**
+     * @return number of bytes written by the last {@link
+     * #writeChunkedOperations} call, or 0 if not written yet
+     */
+    public int getWrittenBytes() {
+        return writtenBytes;
+    }
+
     private void logCurrentChunk(ChunkSupplier chunkSupplier) {
         if (!logger.isFinestEnabled()) {
             return;
@@ -72,6 +72,14 @@ public class ReplicaFragmentMigrationState
         return migrationOperations;
     }
 
+    /**
+     * @return size of the serialized chunked data, available on the
+     * sender side once this state has been serialized
+     */
+    public int getChunkedDataSize() {
+        return chunkSerDeHelper == null ? 0 : chunkSerDeHelper.getWrittenBytes();
+    }
+
     @Override
     public int getFactoryId() {
         return PartitionDataSerializerHook.F_ID;
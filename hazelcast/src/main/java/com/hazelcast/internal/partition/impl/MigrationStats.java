@@ -36,6 +36,9 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_DESTINATION_COMMIT_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_OPERATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_SENT_MIGRATION_CHUNK_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_SENT_MIGRATION_FRAGMENTS;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 
@@ -66,6 +69,18 @@ public class MigrationStats {
     @Probe(name = MIGRATION_METRIC_TOTAL_COMPLETED_MIGRATIONS)
     private final LongAdder totalCompletedMigrations = new LongAdder();
 
+    /**
+     * number of migration fragments sent by this member as migration source
+     */
+    @Probe(name = MIGRATION_METRIC_TOTAL_SENT_MIGRATION_FRAGMENTS)
+    private final LongAdder totalSentMigrationFragments = new LongAdder();
+
+    /**
+     * size of the chunked data sent by this member as migration source
+     */
+    @Probe(name = MIGRATION_METRIC_TOTAL_SENT_MIGRATION_CHUNK_BYTES, unit = BYTES)
+    private final LongAdder totalSentMigrationChunkBytes = new LongAdder();
+
     /**
      * elapsed time of migration &amp; replication operations' executions
      */
@@ -105,6 +120,30 @@ public class MigrationStats {
         totalCompletedMigrations.increment();
     }
 
+    /**
+     * Records a migration fragment sent by this member as migration source.
+     *
+     * @param chunkBytes size of the chunked data in the fragment
+     */
+    public void recordSentMigrationFragment(long chunkBytes) {
+        totalSentMigrationFragments.increment();
+        totalSentMigrationChunkBytes.add(chunkBytes);
+    }
+
+    /**
+     * @return the total number of migration fragments sent by this member.
+     */
+    public long getTotalSentMigrationFragments() {
+        return totalSentMigrationFragments.sum();
+    }
+
+    /**
+     * @return the total size of the chunked data sent by this member in bytes.
+     */
+    public long getTotalSentMigrationChunkBytes() {
+        return totalSentMigrationChunkBytes.sum();
+    }
+
     /**
      * @return the last repartition time.
      */
@@ -36,6 +36,7 @@ import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.util.ThreadUtil;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.memory.Capacity;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.impl.NodeEngine;
@@ -43,6 +44,7 @@ import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.executionservice.ExecutionService;
 import com.hazelcast.spi.impl.operationservice.CallStatus;
+import com.hazelcast.spi.impl.operationservice.InvocationBuilder;
 import com.hazelcast.spi.impl.operationservice.Offload;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
@@ -58,14 +60,19 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
 import static com.hazelcast.internal.util.CollectionUtil.isNotEmpty;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_MIGRATION_MAX_IN_FLIGHT_FRAGMENTS;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 /**
  * Sent from the master node to the partition owner.
@@ -83,9 +90,16 @@ import static java.util.Collections.singleton;
  *
  * @since 5.1 If chunked migration is enabled,
  * it also subdivides fragments into chunks.
+ * <p>
+ * Up to {@link com.hazelcast.spi.properties.ClusterProperty#PARTITION_MIGRATION_MAX_IN_FLIGHT_FRAGMENTS}
+ * fragments are sent without waiting for the destination to acknowledge
+ * them. Fragments are still prepared and sent one at a time and in order,
+ * so the destination applies them in the same order as they are prepared.
  */
 public class MigrationRequestOperation extends BaseMigrationOperation {
 
+    private static final long MILLIS_PER_SECOND = 1000;
+
     private int maxTotalChunkedDataInBytes;
     private boolean chunkedMigrationEnabled;
     private boolean fragmentedMigrationEnabled;
@@ -94,6 +108,17 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
     private transient Map<ServiceNamespace, Collection<ChunkSupplier>>
             namespaceToSuppliers = new HashMap<>();
 
+    private transient int maxInFlightFragments;
+    // fragments sent and not acknowledged by the destination yet
+    private final transient AtomicInteger inFlightFragments = new AtomicInteger();
+    // set while the next fragment is being prepared and sent
+    private final transient AtomicBoolean preparingFragment = new AtomicBoolean();
+    private final transient AtomicBoolean completed = new AtomicBoolean();
+    private transient volatile boolean allFragmentsPrepared;
+    private final transient AtomicInteger sentFragments = new AtomicInteger();
+    private final transient AtomicLong sentChunkBytes = new AtomicLong();
+    private transient long startNanos;
+
     public MigrationRequestOperation() {
     }
 
@@ -120,6 +145,9 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         @Override
         public void start() {
             NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+            startNanos = System.nanoTime();
+            maxInFlightFragments = Math.max(1,
+                    nodeEngine.getProperties().getInteger(PARTITION_MIGRATION_MAX_IN_FLIGHT_FRAGMENTS));
             try {
                 executeBeforeMigrations();
                 namespacesContext = new ServiceNamespacesContext(nodeEngine, getPartitionReplicationEvent());
@@ -167,12 +195,55 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         ExecutorService asyncExecutor = getNodeEngine().getExecutionService().getExecutor(ExecutionService.ASYNC_EXECUTOR);
 
         Address target = migrationInfo.getDestinationAddress();
-        nodeEngine.getOperationService()
+        InvocationBuilder invocationBuilder = nodeEngine.getOperationService()
                 .createInvocationBuilder(IPartitionService.SERVICE_NAME, operation, target)
                 .setResultDeserialized(true)
-                .setCallTimeout(partitionService.getPartitionMigrationTimeout())
-                .invoke()
-                .whenCompleteAsync(new MigrationCallback(), asyncExecutor);
+                .setCallTimeout(partitionService.getPartitionMigrationTimeout());
+        if (!firstFragment && maxInFlightFragments > 1) {
+            // a retried fragment could be applied after the fragments sent after it
+            invocationBuilder.setTryCount(1);
+        }
+
+        inFlightFragments.incrementAndGet();
+        invocationBuilder.invoke().whenCompleteAsync(new MigrationCallback(), asyncExecutor);
+        // the operation is serialized by the invocation when sent to the destination
+        recordSentFragment(migrationState);
+    }
+
+    private void recordSentFragment(ReplicaFragmentMigrationState migrationState) {
+        int chunkBytes = migrationState != null ? migrationState.getChunkedDataSize() : 0;
+        sentFragments.incrementAndGet();
+        sentChunkBytes.addAndGet(chunkBytes);
+        InternalPartitionServiceImpl partitionService = getService();
+        partitionService.getMigrationManager().getStats().recordSentMigrationFragment(chunkBytes);
+    }
+
+    /**
+     * Starts preparing the next fragment if the destination has acknowledged
+     * enough fragments and no other fragment is being prepared, or completes
+     * the migration once all fragments are prepared and acknowledged.
+     */
+    private void scheduleNextFragment() {
+        if (completed.get()) {
+            return;
+        }
+
+        if (allFragmentsPrepared) {
+            if (inFlightFragments.get() == 0) {
+                getLogger().finest("All migration fragments done for " + migrationInfo);
+                completeMigration(true);
+            }
+            return;
+        }
+
+        if (inFlightFragments.get() >= maxInFlightFragments || !preparingFragment.compareAndSet(false, true)) {
+            return;
+        }
+
+        // ASYNC executor is of CONCRETE type (does not share threads with other executors)
+        // and is never used for user-supplied code.
+        getNodeEngine().getExecutionService().submit(ExecutionService.ASYNC_EXECUTOR,
+                MigrationRequestOperation.this::trySendNewFragment);
     }
 
     private void trySendNewFragment() {
@@ -196,8 +267,9 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
                 // migration ops must be serialized and invoked from partition threads
                 getNodeEngine().getOperationService().execute(new InvokeMigrationOps(migrationState, getPartitionId()));
             } else {
-                getLogger().finest("All migration fragments done for " + migrationInfo);
-                completeMigration(true);
+                allFragmentsPrepared = true;
+                preparingFragment.set(false);
+                scheduleNextFragment();
             }
         } catch (Throwable e) {
             logThrowable(e);
@@ -224,6 +296,8 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         public void run() {
             try {
                 invokeMigrationOperation(migrationState, false);
+                preparingFragment.set(false);
+                scheduleNextFragment();
             } catch (Throwable t) {
                 logThrowable(t);
                 completeMigration(false);
@@ -381,6 +455,18 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
     }
 
     private void completeMigration(boolean result) {
+        if (!completed.compareAndSet(false, true)) {
+            return;
+        }
+
+        ILogger logger = getLogger();
+        if (logger.isFineEnabled()) {
+            long elapsedMillis = NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            long bytesPerSecond = sentChunkBytes.get() * MILLIS_PER_SECOND / Math.max(1, elapsedMillis);
+            logger.fine("Migration " + (result ? "completed" : "failed") + " after sending " + sentFragments.get()
+                    + " fragments with " + Capacity.toPrettyString(sentChunkBytes.get()) + " of chunked data in "
+                    + elapsedMillis + " ms (" + Capacity.toPrettyString(bytesPerSecond) + "/s) -> " + migrationInfo);
+        }
         success = result;
         onMigrationComplete();
         sendResponse(result);
@@ -436,10 +522,8 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
                 logThrowable(throwable);
                 completeMigration(false);
             } else if (Boolean.TRUE.equals(result)) {
-                // ASYNC executor is of CONCRETE type (does not share threads with other executors)
-                // and is never used for user-supplied code.
-                getNodeEngine().getExecutionService().submit(ExecutionService.ASYNC_EXECUTOR,
-                        MigrationRequestOperation.this::trySendNewFragment);
+                inFlightFragments.decrementAndGet();
+                scheduleNextFragment();
             } else {
                 ILogger logger = getLogger();
                 if (logger.isFineEnabled()) {
@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.nio.serialization.FieldKind;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.SHORT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.serialization.impl.HeapData.DATA_OFFSET;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.BYTE_OFFSET_READER_RANGE;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.SHORT_OFFSET_READER_RANGE;
+
+/**
+ * Reads a top-level field of Compact serialized values directly from the
+ * byte array of their {@link com.hazelcast.internal.serialization.Data}.
+ * <p>
+ * The accessor is bound to a single {@link Schema}, the position of the
+ * field is resolved from its {@link FieldDescriptor} the same way
+ * {@link CompactInternalGenericRecord} does it, but without creating an
+ * input, a record or, for the fixed-size fields, any object at all. The
+ * {@link FieldKind#STRING} fields can be compared with the UTF-8 encoded
+ * strings without decoding them.
+ * <p>
+ * Only the {@link FieldKind#BOOLEAN}, integral, floating-point and
+ * {@link FieldKind#STRING} fields are supported. The caller is responsible
+ * for checking that the given byte arrays are the payloads of the
+ * {@link com.hazelcast.internal.serialization.impl.SerializationConstants#TYPE_COMPACT}
+ * data of the schema, written in the given byte order.
+ */
+public final class CompactFieldAccessor {
+
+    private static final int SCHEMA_ID_POSITION = DATA_OFFSET;
+    private static final int HEADER_LENGTH = DATA_OFFSET + LONG_SIZE_IN_BYTES;
+    private static final int UTF8_LEAD_U_E000 = 0xEE;
+    private static final int UTF8_LEAD_U_10000 = 0xF0;
+    private static final int UTF8_CONTINUATION_MASK = 0xC0;
+    private static final int UTF8_CONTINUATION = 0x80;
+
+    private final FieldKind kind;
+    private final boolean bigEndian;
+    private final int fixedSizePosition;
+    private final int bitOffset;
+    private final int index;
+
+    private CompactFieldAccessor(FieldDescriptor field, boolean bigEndian, boolean hasVariableSizeFields) {
+        this.kind = field.getKind();
+        this.bigEndian = bigEndian;
+        // the length of the fixed-size data precedes it if there are variable-size fields
+        this.fixedSizePosition = HEADER_LENGTH + (hasVariableSizeFields ? INT_SIZE_IN_BYTES : 0) + field.getOffset();
+        this.bitOffset = field.getBitOffset();
+        this.index = field.getIndex();
+    }
+
+    /**
+     * Returns the accessor of the field of the given schema or {@code null}
+     * if the schema has no such field or the kind of the field is not
+     * supported.
+     */
+    public static CompactFieldAccessor of(Schema schema, String fieldName, ByteOrder byteOrder) {
+        FieldDescriptor field = schema.getField(fieldName);
+        if (field == null) {
+            return null;
+        }
+        return switch (field.getKind()) {
+            case BOOLEAN, INT8, INT16, INT32, INT64, FLOAT32, FLOAT64, STRING ->
+                    new CompactFieldAccessor(field, byteOrder == ByteOrder.BIG_ENDIAN,
+                            schema.getNumberOfVariableSizeFields() != 0);
+            default -> null;
+        };
+    }
+
+    /**
+     * Reads the ID of the schema of the Compact serialized value.
+     */
+    public static long readSchemaId(byte[] payload, ByteOrder byteOrder) {
+        return Bits.readLong(payload, SCHEMA_ID_POSITION, byteOrder == ByteOrder.BIG_ENDIAN);
+    }
+
+    public FieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * Reads the value of a {@link FieldKind#BOOLEAN} field.
+     */
+    public boolean readBoolean(byte[] payload) {
+        return ((payload[fixedSizePosition] >>> bitOffset) & 1) != 0;
+    }
+
+    /**
+     * Reads the value of an {@link FieldKind#INT8}, {@link FieldKind#INT16},
+     * {@link FieldKind#INT32} or {@link FieldKind#INT64} field.
+     */
+    public long readLong(byte[] payload) {
+        return switch (kind) {
+            case INT8 -> payload[fixedSizePosition];
+            case INT16 -> Bits.readShort(payload, fixedSizePosition, bigEndian);
+            case INT32 -> Bits.readInt(payload, fixedSizePosition, bigEndian);
+            case INT64 -> Bits.readLong(payload, fixedSizePosition, bigEndian);
+            default -> throw new IllegalStateException("Not an integral field: " + kind);
+        };
+    }
+
+    /**
+     * Reads the value of a {@link FieldKind#FLOAT32} or
+     * {@link FieldKind#FLOAT64} field.
+     */
+    public double readDouble(byte[] payload) {
+        return switch (kind) {
+            case FLOAT32 -> Float.intBitsToFloat(Bits.readInt(payload, fixedSizePosition, bigEndian));
+            case FLOAT64 -> Double.longBitsToDouble(Bits.readLong(payload, fixedSizePosition, bigEndian));
+            default -> throw new IllegalStateException("Not a floating-point field: " + kind);
+        };
+    }
+
+    /**
+     * Reads the value of the field as it is returned by the generic records,
+     * i.e. boxed or, for {@link FieldKind#STRING} fields, decoded.
+     */
+    public Object read(byte[] payload) {
+        return switch (kind) {
+            case BOOLEAN -> readBoolean(payload);
+            case INT8 -> (byte) readLong(payload);
+            case INT16 -> (short) readLong(payload);
+            case INT32 -> (int) readLong(payload);
+            case INT64 -> readLong(payload);
+            case FLOAT32 -> (float) readDouble(payload);
+            case FLOAT64 -> readDouble(payload);
+            case STRING -> readString(payload);
+            default -> throw new IllegalStateException("Unsupported field: " + kind);
+        };
+    }
+
+    /**
+     * Returns the position of the length of a {@link FieldKind#STRING} field
+     * followed by its UTF-8 bytes or {@link OffsetReader#NULL_OFFSET} if the
+     * value of the field is {@code null}.
+     */
+    public int stringPosition(byte[] payload) {
+        int dataLength = Bits.readInt(payload, HEADER_LENGTH, bigEndian);
+        int dataStartPosition = HEADER_LENGTH + INT_SIZE_IN_BYTES;
+        int offsetsPosition = dataStartPosition + dataLength;
+        int fieldOffset;
+        if (dataLength < BYTE_OFFSET_READER_RANGE) {
+            byte byteOffset = payload[offsetsPosition + index];
+            fieldOffset = byteOffset == NULL_OFFSET ? NULL_OFFSET : Byte.toUnsignedInt(byteOffset);
+        } else if (dataLength < SHORT_OFFSET_READER_RANGE) {
+            short shortOffset = Bits.readShort(payload, offsetsPosition + index * SHORT_SIZE_IN_BYTES, bigEndian);
+            fieldOffset = shortOffset == NULL_OFFSET ? NULL_OFFSET : Short.toUnsignedInt(shortOffset);
+        } else {
+            fieldOffset = Bits.readInt(payload, offsetsPosition + index * INT_SIZE_IN_BYTES, bigEndian);
+        }
+        return fieldOffset == NULL_OFFSET ? NULL_OFFSET : fieldOffset + dataStartPosition;
+    }
+
+    /**
+     * Checks if the non-null {@link FieldKind#STRING} field at the given
+     * position is equal to the given UTF-8 encoded string.
+     */
+    public boolean stringEquals(byte[] payload, int position, byte[] utf8) {
+        int length = Bits.readInt(payload, position, bigEndian);
+        int start = position + INT_SIZE_IN_BYTES;
+        return length == utf8.length
+                && Arrays.equals(payload, start, start + length, utf8, 0, utf8.length);
+    }
+
+    /**
+     * Compares the non-null {@link FieldKind#STRING} field at the given
+     * position with the given UTF-8 encoded string.
+     * <p>
+     * The byte-wise comparison of UTF-8 strings orders them by their code
+     * points, while {@link String#compareTo} orders them by their UTF-16
+     * code units. The two orders differ only when a supplementary character,
+     * which is represented by surrogates, is compared with a character in
+     * the {@code U+E000..U+FFFF} range, the result is reversed in that case.
+     *
+     * @return the sign of the comparison of the field with the given string
+     * as of {@link String#compareTo}
+     */
+    public int compareString(byte[] payload, int position, byte[] utf8) {
+        int length = Bits.readInt(payload, position, bigEndian);
+        int start = position + INT_SIZE_IN_BYTES;
+        int mismatch = Arrays.mismatch(payload, start, start + length, utf8, 0, utf8.length);
+        if (mismatch < 0) {
+            return 0;
+        } else if (mismatch == length || mismatch == utf8.length) {
+            return Integer.compare(length, utf8.length);
+        }
+        // the characters differing at the mismatch share their preceding bytes
+        int charStart = mismatch;
+        while (charStart > 0 && (utf8[charStart] & UTF8_CONTINUATION_MASK) == UTF8_CONTINUATION) {
+            charStart--;
+        }
+        int fieldLead = Byte.toUnsignedInt(payload[start + charStart]);
+        int givenLead = Byte.toUnsignedInt(utf8[charStart]);
+        int comparison = Integer.compare(Byte.toUnsignedInt(payload[start + mismatch]), Byte.toUnsignedInt(utf8[mismatch]));
+        boolean fieldSupplementary = fieldLead >= UTF8_LEAD_U_10000;
+        boolean givenSupplementary = givenLead >= UTF8_LEAD_U_10000;
+        if (fieldSupplementary != givenSupplementary
+                && (fieldSupplementary ? givenLead : fieldLead) >= UTF8_LEAD_U_E000) {
+            return -comparison;
+        }
+        return comparison;
+    }
+
+    private String readString(byte[] payload) {
+        int position = stringPosition(payload);
+        if (position == NULL_OFFSET) {
+            return null;
+        }
+        int length = Bits.readInt(payload, position, bigEndian);
+        return new String(payload, position + INT_SIZE_IN_BYTES, length, StandardCharsets.UTF_8);
+    }
+}
@@ -26,7 +26,9 @@ import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.nio.ssl.TLSMetrics;
 import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.server.tcp.PacketCompressor;
 import com.hazelcast.logging.LoggingService;
 import com.hazelcast.nio.MemberSocketInterceptor;
 import com.hazelcast.spi.impl.eventservice.EventService;
@@ -123,5 +125,9 @@ public interface ServerContext {
 
     OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier, ServerConnection connection);
 
+    PacketCompressor getPacketCompressor();
+
+    TLSMetrics getTlsMetrics();
+
     AuditlogService getAuditLogService();
 }
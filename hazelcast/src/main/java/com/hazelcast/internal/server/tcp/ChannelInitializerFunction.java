@@ -20,10 +20,11 @@ import com.hazelcast.config.AdvancedNetworkConfig;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EndpointConfig;
 import com.hazelcast.config.SSLConfig;
-import com.hazelcast.instance.BuildInfoProvider;
 import com.hazelcast.instance.EndpointQualifier;
 import com.hazelcast.internal.networking.ChannelInitializer;
 import com.hazelcast.internal.nio.ascii.TextChannelInitializer;
+import com.hazelcast.internal.nio.ssl.TLSChannelInitializer;
+import com.hazelcast.internal.nio.ssl.TLSEngineFactory;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
@@ -33,6 +34,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+
 public class ChannelInitializerFunction implements Function<EndpointQualifier, ChannelInitializer> {
     protected static final ILogger LOGGER = Logger.getLogger(ChannelInitializerFunction.class);
 
@@ -42,10 +45,12 @@ public class ChannelInitializerFunction implements Function<EndpointQualifier, C
     private volatile Map<EndpointQualifier, ChannelInitializer> initializerMap;
 
     public ChannelInitializerFunction(ServerContext serverContext, Config config) {
-        checkSslConfigAvailability(config);
         this.serverContext = serverContext;
-        this.uniChannelInitializer = new UnifiedChannelInitializer(serverContext);
         this.config = config;
+        // with the advanced network, the SSL config of the endpoints is used
+        SSLConfig sslConfig = config.getAdvancedNetworkConfig().isEnabled()
+                ? null : config.getNetworkConfig().getSSLConfig();
+        this.uniChannelInitializer = withTls(new UnifiedChannelInitializer(serverContext), sslConfig);
     }
 
     @Override
@@ -62,25 +67,25 @@ public class ChannelInitializerFunction implements Function<EndpointQualifier, C
 
         Map<EndpointQualifier, ChannelInitializer> map = new HashMap<>();
         for (EndpointConfig endpointConfig : advancedNetworkConfig.getEndpointConfigs().values()) {
-            checkSslConfigAvailability(endpointConfig.getSSLConfig());
-
             logSSLConfig(endpointConfig);
 
+            SSLConfig sslConfig = endpointConfig.getSSLConfig();
             switch (endpointConfig.getProtocolType()) {
                 case MEMBER:
-                    map.put(EndpointQualifier.MEMBER, provideMemberChannelInitializer(endpointConfig));
+                    map.put(EndpointQualifier.MEMBER, withTls(provideMemberChannelInitializer(endpointConfig), sslConfig));
                     break;
                 case CLIENT:
-                    map.put(EndpointQualifier.CLIENT, provideClientChannelInitializer(endpointConfig));
+                    map.put(EndpointQualifier.CLIENT, withTls(provideClientChannelInitializer(endpointConfig), sslConfig));
                     break;
                 case REST:
-                    map.put(EndpointQualifier.REST, provideTextChannelInitializer(endpointConfig, true));
+                    map.put(EndpointQualifier.REST, withTls(provideTextChannelInitializer(endpointConfig, true), sslConfig));
                     break;
                 case MEMCACHE:
-                    map.put(EndpointQualifier.MEMCACHE, provideTextChannelInitializer(endpointConfig, false));
+                    map.put(EndpointQualifier.MEMCACHE,
+                            withTls(provideTextChannelInitializer(endpointConfig, false), sslConfig));
                     break;
                 case WAN:
-                    map.put(endpointConfig.getQualifier(), provideMemberChannelInitializer(endpointConfig));
+                    map.put(endpointConfig.getQualifier(), withTls(provideMemberChannelInitializer(endpointConfig), sslConfig));
                     break;
                 default:
                     throw new IllegalStateException("Cannot build channel initializer for protocol type "
@@ -125,21 +130,16 @@ public class ChannelInitializerFunction implements Function<EndpointQualifier, C
         throw new UnsupportedOperationException("TODO");
     }
 
-    // check SSL config for unisocket member configuration
-    private void checkSslConfigAvailability(Config config) {
-        if (config.getAdvancedNetworkConfig().isEnabled()) {
-            return;
+    // adds TLS to the channels of the initializer if the SSL config is enabled
+    private ChannelInitializer withTls(ChannelInitializer channelInitializer, SSLConfig sslConfig) {
+        if (sslConfig == null || !sslConfig.isEnabled()) {
+            return channelInitializer;
         }
-        SSLConfig sslConfig = config.getNetworkConfig().getSSLConfig();
-        checkSslConfigAvailability(sslConfig);
-    }
-
-    // check given SSL config
-    private void checkSslConfigAvailability(SSLConfig sslConfig) {
-        if (sslConfig != null && sslConfig.isEnabled()) {
-            if (!BuildInfoProvider.getBuildInfo().isEnterprise()) {
-                throw new IllegalStateException("SSL/TLS requires Hazelcast Enterprise Edition");
-            }
+        try {
+            return new TLSChannelInitializer(channelInitializer,
+                    TLSEngineFactory.create(sslConfig, config.getClassLoader(), false), serverContext.getTlsMetrics());
+        } catch (Exception e) {
+            throw rethrow(e);
         }
     }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_COMPRESSION_TIME_NANOS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_DECOMPRESSED_PACKETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_DECOMPRESSION_TIME_NANOS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_INCOMPRESSIBLE_PACKETS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_RATIO_PERCENT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.metrics.ProbeUnit.PERCENT;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_LEVEL;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_THRESHOLD;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+
+/**
+ * Compresses the payloads of the {@link Packet packets} sent between the
+ * members with Deflate.
+ * <p>
+ * The compression is negotiated with the member handshake: every member
+ * advertises the algorithm of the packets it can decompress, and the packets
+ * sent over a connection are compressed only if the compression is
+ * {@link com.hazelcast.spi.properties.ClusterProperty#NETWORK_COMPRESSION_ENABLED enabled}
+ * and the remote member advertised the algorithm. The packets smaller than
+ * the threshold and the packets which don't get any smaller are sent as they
+ * are.
+ * <p>
+ * The compressed packets are marked with {@link Packet#FLAG_COMPRESSED},
+ * their payload is the length of the uncompressed payload followed by the
+ * deflated payload. All the other flags and the partition ID are kept.
+ * <p>
+ * The {@link Deflater} and {@link Inflater} are owned by the encoder and
+ * decoder of a connection, this class is thread-safe.
+ */
+public final class PacketCompressor {
+
+    /**
+     * The algorithm advertised in the member handshake.
+     */
+    public static final String ALGORITHM = "deflate";
+
+    private static final int PERCENT_MULTIPLIER = 100;
+    // Deflate can't expand a byte to more than 1032 bytes
+    private static final int MAX_DEFLATE_RATIO = 1032;
+    private static final int MIN_DECOMPRESSION_BUFFER_SIZE = 4096;
+
+    private final boolean enabled;
+    private final int threshold;
+    private final int level;
+
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSED_PACKETS, level = INFO)
+    private final MwCounter compressedPackets = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_INCOMPRESSIBLE_PACKETS)
+    private final MwCounter incompressiblePackets = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_UNCOMPRESSED_BYTES, unit = BYTES, level = INFO)
+    private final MwCounter uncompressedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSED_BYTES, unit = BYTES, level = INFO)
+    private final MwCounter compressedBytes = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_COMPRESSION_TIME_NANOS, unit = NS)
+    private final MwCounter compressionTimeNanos = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_DECOMPRESSED_PACKETS)
+    private final MwCounter decompressedPackets = newMwCounter();
+    @Probe(name = TCP_METRIC_COMPRESSION_DECOMPRESSION_TIME_NANOS, unit = NS)
+    private final MwCounter decompressionTimeNanos = newMwCounter();
+
+    public PacketCompressor(HazelcastProperties properties) {
+        this.enabled = properties.getBoolean(NETWORK_COMPRESSION_ENABLED);
+        this.threshold = properties.getInteger(NETWORK_COMPRESSION_THRESHOLD);
+        this.level = properties.getInteger(NETWORK_COMPRESSION_LEVEL);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Creates the deflater of an encoder.
+     */
+    public Deflater newDeflater() {
+        return new Deflater(level);
+    }
+
+    /**
+     * Compresses the packet if it's large enough and gets smaller.
+     *
+     * @return the compressed packet or the given packet
+     */
+    public Packet compress(Packet packet, Deflater deflater) {
+        byte[] payload = packet.toByteArray();
+        if (payload == null || payload.length < threshold) {
+            return packet;
+        }
+
+        long startNanos = nanoTime();
+        deflater.reset();
+        deflater.setInput(payload);
+        deflater.finish();
+        // the compressed payload is only used if it's smaller than the original one
+        byte[] compressed = new byte[payload.length];
+        Bits.writeIntB(compressed, 0, payload.length);
+        int length = INT_SIZE_IN_BYTES;
+        while (!deflater.finished() && length < compressed.length) {
+            length += deflater.deflate(compressed, length, compressed.length - length);
+        }
+        compressionTimeNanos.inc(nanoTime() - startNanos);
+
+        if (!deflater.finished() || length >= payload.length) {
+            incompressiblePackets.inc();
+            return packet;
+        }
+        compressedPackets.inc();
+        uncompressedBytes.inc(payload.length);
+        compressedBytes.inc(length);
+        return new Packet(Arrays.copyOf(compressed, length), packet.getPartitionId())
+                .resetFlagsTo(packet.getFlags() | FLAG_COMPRESSED);
+    }
+
+    /**
+     * Decompresses the packet marked with {@link Packet#FLAG_COMPRESSED}.
+     *
+     * @throws DataFormatException if the payload of the packet is corrupt
+     */
+    public Packet decompress(Packet packet, Inflater inflater) throws DataFormatException {
+        byte[] payload = packet.toByteArray();
+        if (payload == null || payload.length < INT_SIZE_IN_BYTES) {
+            throw new DataFormatException("Compressed packet without the length of the payload");
+        }
+        long startNanos = nanoTime();
+        int length = Bits.readIntB(payload, 0);
+        // the length comes from the wire, it can't exceed what the deflated bytes can expand to
+        if (length < 0 || length > (long) (payload.length - INT_SIZE_IN_BYTES) * MAX_DEFLATE_RATIO) {
+            throw new DataFormatException("Invalid length of the compressed packet: " + length);
+        }
+        // the buffer grows with the inflated bytes instead of trusting the length up front
+        byte[] decompressed = new byte[min(length, max(payload.length * 2, MIN_DECOMPRESSION_BUFFER_SIZE))];
+        inflater.reset();
+        inflater.setInput(payload, INT_SIZE_IN_BYTES, payload.length - INT_SIZE_IN_BYTES);
+        int position = 0;
+        while (position < length) {
+            if (position == decompressed.length) {
+                decompressed = Arrays.copyOf(decompressed, (int) min((long) position * 2, length));
+            }
+            int inflated = inflater.inflate(decompressed, position, decompressed.length - position);
+            if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                throw new DataFormatException("Truncated compressed packet, expected " + length
+                        + " bytes but got " + position);
+            }
+            position += inflated;
+        }
+        decompressionTimeNanos.inc(nanoTime() - startNanos);
+        decompressedPackets.inc();
+
+        return new Packet(decompressed, packet.getPartitionId())
+                .resetFlagsTo(packet.getFlags() & ~FLAG_COMPRESSED);
+    }
+
+    @Probe(name = TCP_METRIC_COMPRESSION_RATIO_PERCENT, unit = PERCENT, level = INFO)
+    private double compressionRatioPercent() {
+        long uncompressed = uncompressedBytes.get();
+        return uncompressed == 0 ? 0 : (double) PERCENT_MULTIPLIER * compressedBytes.get() / uncompressed;
+    }
+}
@@ -25,16 +25,20 @@ import com.hazelcast.internal.server.ServerConnection;
 
 import java.nio.ByteBuffer;
 import java.util.function.Consumer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
 
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
 import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
 
 /**
  * The {@link InboundHandler} for member to member communication.
  * <p>
  * It reads as many packets from the src {@link ByteBuffer} as possible, and
- * each of the Packets is sent to the destination.
+ * each of the Packets is sent to the destination. The packets compressed by
+ * the remote member are decompressed by the {@link PacketCompressor}.
  *
  * @see Consumer
  * @see PacketEncoder
@@ -43,10 +47,17 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
 
     protected final ServerConnection connection;
     private final PacketIOHelper packetReader = new PacketIOHelper();
+    private final PacketCompressor compressor;
+    private Inflater inflater;
 
     public PacketDecoder(ServerConnection connection, Consumer<Packet> dst) {
+        this(connection, dst, null);
+    }
+
+    public PacketDecoder(ServerConnection connection, Consumer<Packet> dst, PacketCompressor compressor) {
         this.connection = connection;
         this.dst = dst;
+        this.compressor = compressor;
     }
 
     @Override
@@ -54,6 +65,15 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
         initSrcBuffer();
     }
 
+    @Override
+    public void handlerClosed() {
+        if (inflater != null) {
+            // releases the native memory of the inflater right away
+            inflater.end();
+            inflater = null;
+        }
+    }
+
     @Override
     public HandlerStatus onRead() throws Exception {
         src.flip();
@@ -72,7 +92,11 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
         }
     }
 
-    protected void onPacketComplete(Packet packet) {
+    protected void onPacketComplete(Packet packet) throws DataFormatException {
+        if (packet.isFlagRaised(FLAG_COMPRESSED)) {
+            packet = decompress(packet);
+        }
+
         if (packet.isFlagRaised(FLAG_URGENT)) {
             priorityPacketsRead.inc();
         } else {
@@ -83,4 +107,14 @@ public class PacketDecoder extends InboundHandlerWithCounters<ByteBuffer, Consum
 
         dst.accept(packet);
     }
+
+    private Packet decompress(Packet packet) throws DataFormatException {
+        if (compressor == null) {
+            throw new DataFormatException("Received a compressed packet, but the compression is not supported");
+        }
+        if (inflater == null) {
+            inflater = new Inflater();
+        }
+        return compressor.decompress(packet, inflater);
+    }
 }
@@ -20,9 +20,11 @@ import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.HandlerStatus;
 import com.hazelcast.internal.nio.Packet;
 import com.hazelcast.internal.nio.PacketIOHelper;
+import com.hazelcast.internal.server.ServerConnection;
 
 import java.nio.ByteBuffer;
 import java.util.function.Supplier;
+import java.util.zip.Deflater;
 
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
@@ -36,6 +38,12 @@ import static com.hazelcast.internal.nio.IOUtil.compactOrClear;
  * It makes use of a flyweight to allow the sharing of a packet-instance over
  * multiple connections. The flyweight contains the actual 'position' state of
  * what has been written.
+ * <p>
+ * If the remote member accepts it, the large packets are compressed by the
+ * {@link PacketCompressor} before they are written. The large payloads are
+ * not copied to the heap ByteBuffer if the encoder is the last handler of
+ * the pipeline, they are written to the socket by a gathering write, see
+ * {@link OutboundHandler}.
  *
  * @see PacketDecoder
  */
@@ -43,15 +51,51 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
 
     private final PacketIOHelper packetWriter = new PacketIOHelper();
 
+    private final TcpServerConnection connection;
+    private final PacketCompressor compressor;
+    private Deflater deflater;
+
     private Packet packet;
+    private ByteBuffer payload;
+
+    public PacketEncoder() {
+        this(null, null);
+    }
+
+    public PacketEncoder(ServerConnection connection, PacketCompressor compressor) {
+        this.connection = connection instanceof TcpServerConnection tcpConnection ? tcpConnection : null;
+        this.compressor = compressor != null && compressor.isEnabled() ? compressor : null;
+    }
 
     @Override
     public void handlerAdded() {
         initDstBuffer();
     }
 
+    @Override
+    public void handlerClosed() {
+        if (deflater != null) {
+            // releases the native memory of the deflater right away
+            deflater.end();
+            deflater = null;
+        }
+    }
+
+    @Override
+    public ByteBuffer gatheringBuffer() {
+        return payload;
+    }
+
     @Override
     public HandlerStatus onWrite() {
+        if (payload != null) {
+            if (payload.hasRemaining()) {
+                // nothing can be written before the rest of the payload
+                return DIRTY;
+            }
+            payload = null;
+        }
+
         compactOrClear(dst);
         try {
             for (; ; ) {
@@ -62,11 +106,17 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
                         // everything is processed, so we are done
                         return CLEAN;
                     }
+                    packet = compress(packet);
                 }
 
-                if (packetWriter.writeTo(packet, dst)) {
+                if (packetWriter.writeTo(packet, dst, minGatheringSize())) {
                     // packet got written, lets see if another packet can be written
                     packet = null;
+                    payload = packetWriter.takeGatheringBuffer();
+                    if (payload != null) {
+                        // the payload is written by the pipeline right after the dst buffer
+                        return DIRTY;
+                    }
                 } else {
                     // the packet didn't get written completely, so we are done.
                     return DIRTY;
@@ -76,4 +126,19 @@ public class PacketEncoder extends OutboundHandler<Supplier<Packet>, ByteBuffer>
             dst.flip();
         }
     }
+
+    private int minGatheringSize() {
+        return isGatheringWriteEnabled() ? GATHERING_WRITE_MIN_SIZE : Integer.MAX_VALUE;
+    }
+
+    private Packet compress(Packet packet) {
+        // the remote member tells if it can decompress in the handshake
+        if (compressor == null || connection == null || !connection.isCompressionAccepted()) {
+            return packet;
+        }
+        if (deflater == null) {
+            deflater = compressor.newDeflater();
+        }
+        return compressor.compress(packet, deflater);
+    }
 }
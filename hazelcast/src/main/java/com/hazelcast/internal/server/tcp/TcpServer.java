@@ -55,6 +55,8 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_COMPRESSION;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.TCP_PREFIX_TLS;
 import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_STATS_REFRESH_INTERVAL_SECONDS;
@@ -126,6 +128,8 @@ public final class TcpServer implements Server {
             }
             refreshStatsTask.registerMetrics(metricsRegistry);
         }
+        metricsRegistry.registerStaticMetrics(context.getPacketCompressor(), TCP_PREFIX_COMPRESSION);
+        metricsRegistry.registerStaticMetrics(context.getTlsMetrics(), TCP_PREFIX_TLS);
         metricsRegistry.registerDynamicMetricsProvider(new MetricsProvider());
     }
 
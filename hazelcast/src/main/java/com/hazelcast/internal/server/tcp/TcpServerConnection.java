@@ -97,6 +97,8 @@ public class TcpServerConnection implements ServerConnection {
 
     private volatile String closeReason;
     private volatile int planeIndex = -1;
+    // set when the remote member advertised it can decompress the packets
+    private volatile boolean compressionAccepted;
 
     public TcpServerConnection(TcpServerConnectionManager connectionManager,
                                ConnectionLifecycleListener<TcpServerConnection> lifecycleListener,
@@ -140,6 +142,14 @@ public class TcpServerConnection implements ServerConnection {
         this.planeIndex = planeIndex;
     }
 
+    public boolean isCompressionAccepted() {
+        return compressionAccepted;
+    }
+
+    public void setCompressionAccepted(boolean compressionAccepted) {
+        this.compressionAccepted = compressionAccepted;
+    }
+
     @Override
     public String getConnectionType() {
         return connectionType;
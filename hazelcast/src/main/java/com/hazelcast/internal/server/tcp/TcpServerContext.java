@@ -36,6 +36,7 @@ import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.cluster.impl.ClusterServiceImpl;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.nio.ssl.TLSMetrics;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.server.ServerContext;
 import com.hazelcast.internal.server.ServerConnection;
@@ -69,12 +70,15 @@ public class TcpServerContext implements ServerContext {
     private final NodeEngine nodeEngine;
     private final RestApiConfig restApiConfig;
     private final MemcacheProtocolConfig memcacheProtocolConfig;
+    private final PacketCompressor packetCompressor;
+    private final TLSMetrics tlsMetrics = new TLSMetrics();
 
     public TcpServerContext(Node node, NodeEngine nodeEngine) {
         this.node = node;
         this.nodeEngine = nodeEngine;
         this.restApiConfig = initRestApiConfig(node.getConfig());
         this.memcacheProtocolConfig = initMemcacheProtocolConfig(node.getConfig());
+        this.packetCompressor = new PacketCompressor(node.getProperties());
     }
 
     private static RestApiConfig initRestApiConfig(Config config) {
@@ -303,6 +307,16 @@ public class TcpServerContext implements ServerContext {
         return node.getNodeExtension().createOutboundHandlers(qualifier, connection, this);
     }
 
+    @Override
+    public PacketCompressor getPacketCompressor() {
+        return packetCompressor;
+    }
+
+    @Override
+    public TLSMetrics getTlsMetrics() {
+        return tlsMetrics;
+    }
+
     @Override
     public Collection<Integer> getOutboundPorts(EndpointQualifier endpointQualifier) {
         final AdvancedNetworkConfig advancedNetworkConfig = node.getConfig().getAdvancedNetworkConfig();
@@ -34,6 +34,7 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.logging.Level;
 
+import static com.hazelcast.internal.cluster.impl.MemberHandshake.OPTION_COMPRESSION;
 import static com.hazelcast.spi.properties.ClusterProperty.CHANNEL_COUNT;
 
 /**
@@ -79,6 +80,8 @@ public final class TcpServerControl {
         // before we register the connection on the plane, we make sure the plane index is set on the connection
         // so that we can safely remove the connection from the plane.
         connection.setPlaneIndex(handshake.getPlaneIndex());
+        connection.setCompressionAccepted(
+                PacketCompressor.ALGORITHM.equals(handshake.getStringOption(OPTION_COMPRESSION)));
         process(connection, handshake);
     }
 
@@ -3399,4 +3399,46 @@ public interface IMap<K, V> extends ConcurrentMap<K, V>, BaseMap<K, V>, Iterable
     @Nonnull
     Iterator<Entry<K, V>> iterator(int fetchSize);
 
+    /**
+     * Returns an iterable over the result of the projection on the entries
+     * of the map which satisfy the predicate. Unlike {@link #values(Predicate)}
+     * and {@link #project(Projection, Predicate)}, the result is never
+     * materialized as a whole, neither on the members nor on the caller. It
+     * is streamed in pages of at most {@code fetchSize} items, the pages of
+     * up to {@code maxConcurrentFetches} partitions are fetched concurrently
+     * and prefetched while the previous ones are consumed. Therefore, the
+     * heap used by the iteration stays bounded regardless of the size of the
+     * result and it is not subject to the
+     * {@link ClusterProperty#QUERY_RESULT_SIZE_LIMIT query result size limit}.
+     * <p>
+     * The iteration holds no state on the members: each returned iterator
+     * keeps a cursor per partition and may be abandoned at any time. The
+     * order of the items is not defined. The iteration may be done while the
+     * map is being mutated or when there are membership changes: it may
+     * return some entries that were added after the iteration has started
+     * and may not return some entries that were removed after the iteration
+     * has started, but it will not skip an entry which has not been changed
+     * and will not return an entry twice. Removing via the returned iterators
+     * is not supported.
+     *
+     * @param fetchSize            the maximum number of items fetched from a
+     *                             partition at once
+     * @param maxConcurrentFetches the maximum number of pages being fetched
+     *                             or held at the same time
+     * @param projection           the projection to apply before returning
+     *                             the value. Use {@link com.hazelcast.projection.Projections#identity()}
+     *                             to iterate the entries themselves.
+     * @param predicate            the predicate which the entries must match
+     * @param <R>                  the return type of the projection
+     * @return an iterable for the projected entries
+     * @throws IllegalArgumentException if the predicate is a {@link com.hazelcast.query.PagingPredicate} or is a
+     *                                  {@link com.hazelcast.query.PartitionPredicate} that includes a
+     *                                  {@link com.hazelcast.query.PagingPredicate}
+     * @since 6.0
+     */
+    @Nonnull
+    <R> Iterable<R> queryIterable(int fetchSize, int maxConcurrentFetches,
+                                  @Nonnull Projection<? super Map.Entry<K, V>, R> projection,
+                                  @Nonnull Predicate<K, V> predicate);
+
 }
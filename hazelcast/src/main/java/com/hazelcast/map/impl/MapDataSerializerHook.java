@@ -97,6 +97,7 @@ import com.hazelcast.map.impl.operation.PartitionWideEntryOperationFactory;
 import com.hazelcast.map.impl.operation.PartitionWideEntryWithPredicateBackupOperation;
 import com.hazelcast.map.impl.operation.PartitionWideEntryWithPredicateOperation;
 import com.hazelcast.map.impl.operation.PartitionWideEntryWithPredicateOperationFactory;
+import com.hazelcast.map.impl.operation.PersistenceReloadStateOperation;
 import com.hazelcast.map.impl.operation.PostJoinMapOperation;
 import com.hazelcast.map.impl.operation.PostJoinMapOperation.InterceptorInfo;
 import com.hazelcast.map.impl.operation.PutAllBackupOperation;
@@ -108,6 +109,7 @@ import com.hazelcast.map.impl.operation.PutFromLoadAllOperation;
 import com.hazelcast.map.impl.operation.PutIfAbsentOperation;
 import com.hazelcast.map.impl.operation.PutIfAbsentWithExpiryOperation;
 import com.hazelcast.map.impl.operation.PutOperation;
+import com.hazelcast.map.impl.operation.PutReloadedEntriesOperation;
 import com.hazelcast.map.impl.operation.PutTransientBackupOperation;
 import com.hazelcast.map.impl.operation.PutTransientOperation;
 import com.hazelcast.map.impl.operation.PutTransientWithExpiryOperation;
@@ -327,8 +329,10 @@ public final class MapDataSerializerHook implements DataSerializerHook {
     public static final int INDEX_ITERATION_POINTER = 156;
     public static final int MAP_FETCH_INDEX_OPERATION_RESULT = 157;
     public static final int MAP_CHUNK = 158;
+    public static final int PUT_RELOADED_ENTRIES = 159;
+    public static final int PERSISTENCE_RELOAD_STATE = 160;
 
-    private static final int LEN = MAP_CHUNK + 1;
+    private static final int LEN = PERSISTENCE_RELOAD_STATE + 1;
 
     @Override
     public int getFactoryId() {
@@ -496,6 +500,8 @@ public final class MapDataSerializerHook implements DataSerializerHook {
         constructors[INDEX_ITERATION_POINTER] = IndexIterationPointer::new;
         constructors[MAP_FETCH_INDEX_OPERATION_RESULT] = MapFetchIndexOperationResult::new;
         constructors[MAP_CHUNK] = MapChunk::new;
+        constructors[PUT_RELOADED_ENTRIES] = PutReloadedEntriesOperation::new;
+        constructors[PERSISTENCE_RELOAD_STATE] = PersistenceReloadStateOperation::new;
 
         return new ArrayDataSerializableFactory(constructors);
     }
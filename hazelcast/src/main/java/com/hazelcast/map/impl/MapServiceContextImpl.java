@@ -57,6 +57,7 @@ import com.hazelcast.map.impl.query.CallerRunsAccumulationExecutor;
 import com.hazelcast.map.impl.query.CallerRunsPartitionScanExecutor;
 import com.hazelcast.map.impl.query.ParallelAccumulationExecutor;
 import com.hazelcast.map.impl.query.ParallelPartitionScanExecutor;
+import com.hazelcast.map.impl.query.ParallelQueryResultProcessor;
 import com.hazelcast.map.impl.query.PartitionScanExecutor;
 import com.hazelcast.map.impl.query.PartitionScanRunner;
 import com.hazelcast.map.impl.query.QueryEngine;
@@ -111,6 +112,7 @@ import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITIO
 import static com.hazelcast.spi.properties.ClusterProperty.AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION;
 import static com.hazelcast.spi.properties.ClusterProperty.INDEX_COPY_BEHAVIOR;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_INDEX_SCAN_PARALLELISM;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
 import static java.lang.Thread.currentThread;
 
@@ -280,6 +282,12 @@ class MapServiceContextImpl implements MapServiceContext {
     }
 
     private QueryResultProcessor createQueryResultProcessor(SerializationService ss) {
+        int parallelism = nodeEngine.getProperties().getInteger(QUERY_INDEX_SCAN_PARALLELISM);
+        if (parallelism > 1) {
+            int opTimeoutInMillis = nodeEngine.getProperties().getInteger(OPERATION_CALL_TIMEOUT_MILLIS);
+            ManagedExecutorService queryExecutorService = nodeEngine.getExecutionService().getExecutor(QUERY_EXECUTOR);
+            return new ParallelQueryResultProcessor(ss, queryExecutorService, parallelism, opTimeoutInMillis);
+        }
         return new QueryResultProcessor(ss);
     }
 
@@ -373,7 +381,8 @@ class MapServiceContextImpl implements MapServiceContext {
             if (predicate.test(recordStore)) {
                 recordStore.beforeOperation();
                 try {
-                    boolean empty = recordStore.isEmpty();
+                    // isEmpty() is rejected while the map is loading
+                    boolean empty = recordStore.size() == 0;
 
                     recordStore.clearPartition(onShutdown, onRecordStoreDestroy);
 
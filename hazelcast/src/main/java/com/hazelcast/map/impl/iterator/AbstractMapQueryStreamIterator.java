@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.map.impl.query.Query;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static java.util.Collections.emptyList;
+
+/**
+ * Base class for streaming the result of a {@link Projection} on the map
+ * entries in the whole cluster which satisfy a {@link Predicate}.
+ * <p>
+ * Unlike {@link AbstractMapQueryIterator}, which fetches the pages of one
+ * partition after another, this iterator keeps up to
+ * {@code maxConcurrentFetches} page fetches in flight, each one targeting
+ * a different partition and therefore usually a different member. When a
+ * page is consumed, the next page of the same partition is requested, so
+ * the partitions owned by all members are iterated concurrently while at
+ * most {@code maxConcurrentFetches} pages of {@code fetchSize} items are
+ * being fetched or held by the caller at any time, the page being consumed
+ * included.
+ * <p>
+ * The cursors are kept on the caller side as {@link IterationPointer}s, the
+ * members do not hold any state between the fetches. The guarantees are
+ * the same as with {@link AbstractMapQueryPartitionIterator}, the order of
+ * the items is not defined.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ * @param <R> the return type of the projection
+ */
+public abstract class AbstractMapQueryStreamIterator<K, V, R> implements Iterator<R> {
+
+    protected final int fetchSize;
+    protected final Query query;
+
+    private final int partitionCount;
+    private final int maxConcurrentFetches;
+    private final Queue<CompletableFuture<Page>> inFlight;
+
+    private int nextPartitionId;
+    private Page current;
+    private List<Data> page = emptyList();
+    private int index;
+
+    protected AbstractMapQueryStreamIterator(String mapName,
+                                             int fetchSize,
+                                             int maxConcurrentFetches,
+                                             int partitionCount,
+                                             Predicate<K, V> predicate,
+                                             Projection<? super Entry<K, V>, R> projection) {
+        this.fetchSize = fetchSize;
+        this.maxConcurrentFetches = maxConcurrentFetches;
+        this.partitionCount = partitionCount;
+        this.inFlight = new ArrayDeque<>(maxConcurrentFetches);
+        this.query = Query.of()
+                          .mapName(mapName)
+                          .iterationType(IterationType.VALUE)
+                          .predicate(predicate)
+                          .projection(projection)
+                          .build();
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (index == page.size()) {
+            if (!advance()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public R next() {
+        if (hasNext()) {
+            return getSerializationService().toObject(page.get(index++));
+        }
+        throw new NoSuchElementException();
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException("Removing when iterating map with query is not supported");
+    }
+
+    private boolean advance() {
+        // the consumed page counts against the limit until it is released
+        if (current != null && current.hasMore()) {
+            inFlight.add(fetch(current.partitionId, current.pointers));
+        }
+        current = null;
+        page = emptyList();
+
+        startFetches();
+        CompletableFuture<Page> future = inFlight.poll();
+        if (future == null) {
+            return false;
+        }
+
+        Page fetched;
+        try {
+            fetched = future.join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+        current = fetched;
+        page = fetched.results;
+        index = 0;
+        return true;
+    }
+
+    /**
+     * Starts iterating the partitions not iterated yet until the maximum
+     * number of concurrent fetches is reached.
+     */
+    private void startFetches() {
+        while (inFlight.size() < maxConcurrentFetches && nextPartitionId < partitionCount) {
+            IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+            inFlight.add(fetch(nextPartitionId++, pointers));
+        }
+    }
+
+    /**
+     * Fetches the page of the {@code partitionId} defined by the
+     * {@code pointers}.
+     *
+     * @param partitionId the partition ID which is being iterated
+     * @param pointers    the pointers defining the state of iteration
+     * @return the future of the fetched page
+     */
+    protected abstract CompletableFuture<Page> fetch(int partitionId, IterationPointer[] pointers);
+
+    protected abstract SerializationService getSerializationService();
+
+    /**
+     * A page of serialized query results of a single partition along with
+     * the pointers to fetch the next page from.
+     */
+    protected static final class Page {
+
+        private final int partitionId;
+        private final List<Data> results;
+        private final IterationPointer[] pointers;
+
+        public Page(int partitionId, List<Data> results, IterationPointer[] pointers) {
+            this.partitionId = partitionId;
+            this.results = results;
+            this.pointers = pointers;
+        }
+
+        private boolean hasMore() {
+            return !results.isEmpty() && pointers[pointers.length - 1].getIndex() >= 0;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.operation.MapOperation;
+import com.hazelcast.map.impl.proxy.MapProxyImpl;
+import com.hazelcast.map.impl.query.QueryResult;
+import com.hazelcast.map.impl.query.QueryResultRow;
+import com.hazelcast.map.impl.query.ResultSegment;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Iterator for streaming the result of the projection on entries in the
+ * whole cluster which satisfy the {@code predicate}, fetching the pages
+ * of several partitions concurrently. The {@link Iterator#remove()} method
+ * is not supported and will throw a {@link UnsupportedOperationException}.
+ *
+ * @see AbstractMapQueryStreamIterator
+ */
+public class MapQueryStreamIterator<K, V, R> extends AbstractMapQueryStreamIterator<K, V, R> {
+
+    private final MapProxyImpl<K, V> mapProxy;
+
+    public MapQueryStreamIterator(MapProxyImpl<K, V> mapProxy, int fetchSize, int maxConcurrentFetches,
+                                  int partitionCount, Predicate<K, V> predicate,
+                                  Projection<? super Entry<K, V>, R> projection) {
+        super(mapProxy.getName(), fetchSize, maxConcurrentFetches, partitionCount, predicate, projection);
+        this.mapProxy = mapProxy;
+    }
+
+    @Override
+    protected CompletableFuture<Page> fetch(int partitionId, IterationPointer[] pointers) {
+        MapOperation op = mapProxy.getOperationProvider()
+                                  .createFetchWithQueryOperation(mapProxy.getName(), pointers, fetchSize, query);
+        InternalCompletableFuture<ResultSegment> future =
+                mapProxy.getOperationService().invokeOnPartition(mapProxy.getServiceName(), op, partitionId);
+        return future.thenApply(segment -> {
+            QueryResult queryResult = (QueryResult) segment.getResult();
+            List<Data> serialized = new ArrayList<>(queryResult.size());
+            for (QueryResultRow row : queryResult) {
+                serialized.add(row.getValue());
+            }
+            return new Page(partitionId, serialized, segment.getPointers());
+        });
+    }
+
+    @Override
+    protected SerializationService getSerializationService() {
+        return mapProxy.getNodeEngine().getSerializationService();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.hotrestart.impl.LocalPersistenceService;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.persistence.PersistenceService;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Tells a member that the sending member started or finished reloading
+ * its persisted map entries. The operations of persistent maps are
+ * rejected with a retryable exception while any member is reloading.
+ */
+public class PersistenceReloadStateOperation extends Operation implements IdentifiedDataSerializable {
+
+    private boolean reloading;
+
+    public PersistenceReloadStateOperation() {
+    }
+
+    public PersistenceReloadStateOperation(boolean reloading) {
+        this.reloading = reloading;
+    }
+
+    @Override
+    public void run() {
+        PersistenceService persistenceService = getNodeEngine().getHazelcastInstance().getCluster().getPersistenceService();
+        if (persistenceService instanceof LocalPersistenceService localPersistenceService) {
+            UUID memberUuid = getCallerUuid();
+            localPersistenceService.setMemberReloading(memberUuid, reloading);
+        }
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeBoolean(reloading);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        reloading = in.readBoolean();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.PERSISTENCE_RELOAD_STATE;
+    }
+}
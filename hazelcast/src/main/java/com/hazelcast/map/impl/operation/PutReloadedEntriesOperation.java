@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.hotrestart.impl.LocalPersistenceService;
+import com.hazelcast.internal.partition.PartitionReplicaVersionManager;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapEntries;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.persistence.PersistenceService;
+import com.hazelcast.spi.impl.NodeEngineImpl;
+import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.spi.impl.operationservice.PartitionAwareOperation;
+
+import java.io.IOException;
+
+/**
+ * Puts the entries reloaded from the persistence store of a member to the
+ * owner replica of a partition, skipping the keys which are already present.
+ * <p>
+ * No events, MapStore writes or WAN events are produced and no backups are
+ * sent: the replica versions of the partition are incremented instead, so the
+ * backup replicas are synchronized by the replica synchronization. The entries
+ * reloaded by the member owning the partition are not appended to its store
+ * again, as their records are still live in it. The response tells whether
+ * this was the case.
+ */
+public class PutReloadedEntriesOperation extends MapOperation implements PartitionAwareOperation, MutatingOperation {
+
+    private MapEntries mapEntries;
+
+    private transient boolean reapplied;
+
+    public PutReloadedEntriesOperation() {
+    }
+
+    public PutReloadedEntriesOperation(String name, MapEntries mapEntries) {
+        super(name);
+        this.mapEntries = mapEntries;
+    }
+
+    @Override
+    protected void runInternal() {
+        PersistenceService persistenceService = getNodeEngine().getHazelcastInstance().getCluster().getPersistenceService();
+        LocalPersistenceService localPersistenceService = persistenceService instanceof LocalPersistenceService service
+                ? service : null;
+        reapplied = localPersistenceService != null && executedLocally();
+        if (reapplied) {
+            localPersistenceService.getStore().setReapplying(getPartitionId(), true);
+        }
+
+        boolean anyPut = false;
+        try {
+            long now = Clock.currentTimeMillis();
+            for (int i = 0; i < mapEntries.size(); i++) {
+                anyPut |= recordStore.putReloadedIfAbsent(mapEntries.getKey(i), mapEntries.getValue(i), now);
+            }
+        } finally {
+            if (reapplied) {
+                localPersistenceService.getStore().setReapplying(getPartitionId(), false);
+            }
+        }
+
+        int backupCount = mapContainer.getTotalBackupCount();
+        if (anyPut && backupCount > 0) {
+            // the backup replicas detect the version difference and synchronize
+            NodeEngineImpl nodeEngine = (NodeEngineImpl) getNodeEngine();
+            PartitionReplicaVersionManager versionManager = nodeEngine.getPartitionService().getPartitionReplicaVersionManager();
+            versionManager.incrementPartitionReplicaVersions(getPartitionId(), getServiceNamespace(), backupCount);
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return reapplied;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(mapEntries);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        mapEntries = in.readObject();
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.PUT_RELOADED_ENTRIES;
+    }
+}
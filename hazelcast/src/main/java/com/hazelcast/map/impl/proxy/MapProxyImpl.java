@@ -48,6 +48,7 @@ import com.hazelcast.map.impl.iterator.MapPartitionIterator;
 import com.hazelcast.map.impl.iterator.MapQueryIterable;
 import com.hazelcast.map.impl.iterator.MapQueryPartitionIterable;
 import com.hazelcast.map.impl.iterator.MapQueryPartitionIterator;
+import com.hazelcast.map.impl.iterator.MapQueryStreamIterable;
 import com.hazelcast.map.impl.journal.MapEventJournalReadOperation;
 import com.hazelcast.map.impl.journal.MapEventJournalSubscribeOperation;
 import com.hazelcast.map.impl.query.AggregationResult;
@@ -1160,6 +1161,26 @@ public class MapProxyImpl<K, V> extends MapProxySupport<K, V> implements EventJo
         return new MapQueryIterable<>(this, fetchSize, partitionCount, projection, predicate);
     }
 
+    @Override
+    @Nonnull
+    public <R> Iterable<R> queryIterable(
+            int fetchSize,
+            int maxConcurrentFetches,
+            @Nonnull Projection<? super Map.Entry<K, V>, R> projection,
+            @Nonnull Predicate<K, V> predicate
+    ) {
+        checkPositive("fetchSize", fetchSize);
+        checkPositive("maxConcurrentFetches", maxConcurrentFetches);
+        checkNotNull(projection, NULL_PROJECTION_IS_NOT_ALLOWED);
+        checkNotNull(predicate, NULL_PREDICATE_IS_NOT_ALLOWED);
+        checkDoesNotContainPagingPredicate(predicate, "queryIterable");
+        // HazelcastInstanceAware handled by cloning
+        projection = serializationService.toObject(serializationService.toData(projection));
+        handleHazelcastInstanceAwareParams(predicate);
+        int partitionCount = partitionService.getPartitionCount();
+        return new MapQueryStreamIterable<>(this, fetchSize, maxConcurrentFetches, partitionCount, projection, predicate);
+    }
+
     /**
      * Returns an iterable for iterating entries in the all of the partitions. If
      * {@code prefetchValues} is {@code true}, values will be sent along with
@@ -137,6 +137,8 @@ import static com.hazelcast.map.impl.query.Target.createPartitionTarget;
 import static com.hazelcast.query.Predicates.alwaysFalse;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
 import static com.hazelcast.spi.properties.ClusterProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_LOCAL_READS_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_OFF_HEAP_VALUES_ENABLED;
 import static java.lang.Math.ceil;
 import static java.lang.Math.log10;
 import static java.lang.Math.min;
@@ -228,6 +230,7 @@ abstract class MapProxySupport<K, V>
 
     private final int putAllBatchSize;
     private final float putAllInitialSizeFactor;
+    private final boolean localReadsEnabled;
 
     protected MapProxySupport(String name, MapService service, NodeEngine nodeEngine, MapConfig mapConfig) {
         super(nodeEngine, service);
@@ -253,6 +256,9 @@ abstract class MapProxySupport<K, V>
         this.putAllInitialSizeFactor = properties.getFloat(MAP_PUT_ALL_INITIAL_SIZE_FACTOR);
         // default value the same as in OperationService
         this.failOnIndeterminateOperationState = properties.getBoolean(FAIL_ON_INDETERMINATE_OPERATION_STATE);
+        this.localReadsEnabled = properties.getBoolean(MAP_LOCAL_READS_ENABLED)
+                && !properties.getBoolean(MAP_OFF_HEAP_VALUES_ENABLED)
+                && mapConfig.getInMemoryFormat() == InMemoryFormat.BINARY;
     }
 
     @Override
@@ -421,6 +427,16 @@ abstract class MapProxySupport<K, V>
     protected Object getInternal(Object key) {
         // TODO: action for read-backup true is not well tested
         Data keyData = toDataWithStrategy(key);
+        if (localReadsEnabled) {
+            long startTimeNanos = Timer.nanos();
+            Data local = readOwnedDataOrNull(keyData);
+            if (local != null) {
+                if (statisticsEnabled) {
+                    localMapStats.incrementGetLatencyNanos(Timer.nanosElapsed(startTimeNanos));
+                }
+                return local;
+            }
+        }
         if (mapConfig.isReadBackupData()) {
             Object fromBackup = readBackupDataOrNull(keyData);
             if (fromBackup != null) {
@@ -445,6 +461,28 @@ abstract class MapProxySupport<K, V>
         return recordStore.readBackupData(key);
     }
 
+    private Data readOwnedDataOrNull(Data key) {
+        int partitionId = partitionService.getPartitionId(key);
+        IPartition partition = partitionService.getPartition(partitionId, false);
+        int partitionVersion = partition.version();
+        if (!partition.isLocal() || partition.isMigrating()) {
+            return null;
+        }
+        PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
+        RecordStore recordStore = partitionContainer.getExistingRecordStore(name);
+        if (recordStore == null) {
+            return null;
+        }
+        Data value = recordStore.readOwnedData(key);
+        // the value is stale if the partition started to migrate
+        // or its replicas changed while it was read
+        IPartition current = partitionService.getPartition(partitionId, false);
+        if (current != partition || current.version() != partitionVersion || current.isMigrating()) {
+            return null;
+        }
+        return value;
+    }
+
     protected InternalCompletableFuture<Data> getAsyncInternal(Object key) {
         Data keyData = toDataWithStrategy(key);
         return invokeOperationAsync(key, operationProvider.createGetOperation(name, keyData), false);
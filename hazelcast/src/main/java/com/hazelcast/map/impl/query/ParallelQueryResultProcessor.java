@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.util.collection.PartitionIdSet;
+import com.hazelcast.internal.util.executor.ManagedExecutorService;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.projection.Projection;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.SplittableResultSet;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.internal.util.FutureUtil.RETHROW_EVERYTHING;
+import static com.hazelcast.internal.util.FutureUtil.returnWithDeadline;
+import static com.hazelcast.internal.util.ThreadUtil.isRunningOnPartitionThread;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Implementation of the {@link QueryResultProcessor} that scans the range of
+ * an index in parallel.
+ * <p>
+ * The entries matched by an index are split into parts holding the entries
+ * of contiguous sub-ranges of the index keys (see {@link SplittableResultSet}).
+ * The parts are iterated, filtered by the predicates the index can't answer
+ * and converted into {@link QueryResultRow rows} on the underlying executor.
+ * At most {@code parallelism} parts are in flight at any time, the converted
+ * parts are merged into the result in the order of the index keys.
+ * <p>
+ * Entries which can't be split, e.g. the ones of a full scan, and small
+ * index results are populated by the calling thread. So are all entries on
+ * partition threads, and the parts in flight are cancelled if the
+ * population fails.
+ */
+public class ParallelQueryResultProcessor extends QueryResultProcessor {
+
+    /**
+     * The minimum number of index keys of a part.
+     */
+    static final int MIN_KEYS_PER_PART = 256;
+
+    // more parts than threads even out parts of different sizes
+    private static final int PARTS_PER_THREAD = 4;
+
+    private final SerializationService serializationService;
+    private final ManagedExecutorService executor;
+    private final int parallelism;
+    private final int callTimeoutInMillis;
+
+    public ParallelQueryResultProcessor(SerializationService serializationService, ManagedExecutorService executor,
+                                        int parallelism, int callTimeoutInMillis) {
+        super(serializationService);
+        this.serializationService = serializationService;
+        this.executor = executor;
+        this.parallelism = parallelism;
+        this.callTimeoutInMillis = callTimeoutInMillis;
+    }
+
+    @Override
+    public QueryResult populateResult(Query query, long resultLimit, Iterable<QueryableEntry> entries,
+                                      PartitionIdSet partitionIds) {
+        // a partition thread must not wait for the executor, which
+        // may itself be waiting for operations of the partition
+        if (isRunningOnPartitionThread() || !(entries instanceof SplittableResultSet splittable)) {
+            return super.populateResult(query, resultLimit, entries, partitionIds);
+        }
+
+        List<Set<QueryableEntry>> parts = splittable.split(parallelism * PARTS_PER_THREAD, MIN_KEYS_PER_PART);
+        if (parts.size() == 1) {
+            return super.populateResult(query, resultLimit, entries, partitionIds);
+        }
+
+        QueryResult result = populateResult(query, resultLimit);
+        Queue<Future<QueryResult>> inFlight = new ArrayDeque<>(parallelism);
+        try {
+            for (Set<QueryableEntry> part : parts) {
+                if (inFlight.size() == parallelism) {
+                    merge(result, inFlight.poll(), resultLimit);
+                }
+                inFlight.add(executor.submit(new ScanPartCallable(query, resultLimit, part)));
+            }
+
+            while (!inFlight.isEmpty()) {
+                merge(result, inFlight.poll(), resultLimit);
+            }
+        } catch (Throwable t) {
+            for (Future<QueryResult> future : inFlight) {
+                future.cancel(true);
+            }
+            throw t;
+        }
+
+        result.setPartitionIds(partitionIds);
+        return result;
+    }
+
+    private void merge(QueryResult result, Future<QueryResult> future, long resultLimit) {
+        QueryResult partResult = returnWithDeadline(singletonList(future), callTimeoutInMillis, MILLISECONDS,
+                RETHROW_EVERYTHING).iterator().next();
+        if (result.size() + partResult.size() > resultLimit) {
+            throw new QueryResultSizeExceededException();
+        }
+        result.getRows().addAll(partResult.getRows());
+    }
+
+    private final class ScanPartCallable implements Callable<QueryResult> {
+
+        private final Query query;
+        private final long resultLimit;
+        private final Set<QueryableEntry> entries;
+
+        private ScanPartCallable(Query query, long resultLimit, Set<QueryableEntry> entries) {
+            this.query = query;
+            this.resultLimit = resultLimit;
+            this.entries = entries;
+        }
+
+        @Override
+        public QueryResult call() {
+            // projections are not required to be thread-safe
+            Projection projection = query.getProjection();
+            if (projection != null) {
+                projection = serializationService.toObject(serializationService.toData(projection));
+            }
+
+            QueryResult result = new QueryResult(query.getIterationType(), projection, serializationService,
+                    resultLimit, false);
+            for (QueryableEntry entry : entries) {
+                result.add(entry);
+            }
+            return result;
+        }
+    }
+}
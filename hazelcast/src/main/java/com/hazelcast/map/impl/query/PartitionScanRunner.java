@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.config.AttributeConfig;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.iteration.IterationPointer;
@@ -37,19 +38,23 @@ import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.getters.Extractors;
 import com.hazelcast.query.impl.predicates.PagingPredicateImpl;
+import com.hazelcast.query.impl.predicates.PredicateCompiler;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 import static com.hazelcast.internal.util.SortingUtil.compareAnchor;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.map.impl.record.Records.getValueOrCachedValue;
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_COMPILATION_ENABLED;
 
 /**
  * Responsible for running a full-partition scan for a single partition in the calling thread.
@@ -63,6 +68,7 @@ public class PartitionScanRunner {
     protected final IPartitionService partitionService;
     protected final OperationService operationService;
     protected final ClusterService clusterService;
+    protected final boolean predicateCompilationEnabled;
 
     public PartitionScanRunner(MapServiceContext mapServiceContext) {
         this.mapServiceContext = mapServiceContext;
@@ -72,6 +78,7 @@ public class PartitionScanRunner {
         this.logger = nodeEngine.getLogger(getClass());
         this.operationService = nodeEngine.getOperationService();
         this.clusterService = nodeEngine.getClusterService();
+        this.predicateCompilationEnabled = nodeEngine.getProperties().getBoolean(QUERY_PREDICATE_COMPILATION_ENABLED);
     }
 
     @SuppressWarnings("unchecked")
@@ -87,6 +94,7 @@ public class PartitionScanRunner {
         Extractors extractors = mapServiceContext.getExtractors(mapName);
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
+        Predicate scanPredicate = compile(predicate, mapContainer);
 
         recordStore.forEachAfterLoad(new BiConsumer<>() {
             LazyMapEntry queryEntry = new LazyMapEntry();
@@ -103,7 +111,7 @@ public class PartitionScanRunner {
                 queryEntry.setRecord(record);
                 queryEntry.setMetadata(recordStore.getOrCreateMetadataStore().get(key));
 
-                if (predicate.apply(queryEntry)
+                if (scanPredicate.apply(queryEntry)
                         && compareAnchor(pagingPredicate, queryEntry, nearestAnchorEntry)) {
 
                     // always copy key&value to heap if map is backed by native memory
@@ -149,6 +157,7 @@ public class PartitionScanRunner {
         PartitionContainer partitionContainer = mapServiceContext.getPartitionContainer(partitionId);
         RecordStore recordStore = partitionContainer.getRecordStore(mapName);
         Extractors extractors = mapServiceContext.getExtractors(mapName);
+        Predicate scanPredicate = compile(predicate, recordStore.getMapContainer());
 
         return NamespaceUtil.callWithNamespace(nodeEngine, MapService.lookupNamespace(nodeEngine, mapName), () -> {
             IterationPointer[] localPointers = pointers;
@@ -161,7 +170,7 @@ public class PartitionScanRunner {
                 }
                 for (Entry<Data, Data> entry : entries) {
                     QueryableEntry queryEntry = new LazyMapEntry(entry.getKey(), entry.getValue(), ss, extractors);
-                    if (predicate.apply(queryEntry)) {
+                    if (scanPredicate.apply(queryEntry)) {
                         resultList.add(queryEntry);
                     }
                 }
@@ -170,6 +179,22 @@ public class PartitionScanRunner {
         });
     }
 
+    /**
+     * Compiles the predicate for the scan, unless the compilation is disabled.
+     *
+     * @see PredicateCompiler
+     */
+    protected Predicate compile(Predicate predicate, MapContainer mapContainer) {
+        if (!predicateCompilationEnabled) {
+            return predicate;
+        }
+        Set<String> customAttributes = new HashSet<>();
+        for (AttributeConfig attributeConfig : mapContainer.getMapConfig().getAttributeConfigs()) {
+            customAttributes.add(attributeConfig.getName());
+        }
+        return PredicateCompiler.compile(predicate, customAttributes, nodeEngine.getSchemaService(), ss.getByteOrder());
+    }
+
     protected boolean isUseCachedDeserializedValuesEnabled(MapContainer mapContainer, int partitionId) {
         return mapContainer.isUseCachedDeserializedValuesEnabled(partitionId);
     }
@@ -16,6 +16,8 @@
 
 package com.hazelcast.map.impl.query;
 
+import com.hazelcast.aggregation.impl.AbstractAggregator;
+import com.hazelcast.aggregation.impl.CountAggregator;
 import com.hazelcast.internal.cluster.ClusterService;
 import com.hazelcast.internal.iteration.IterationPointer;
 import com.hazelcast.internal.serialization.InternalSerializationService;
@@ -34,6 +36,7 @@ import com.hazelcast.query.impl.IndexRegistry;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
 import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.query.impl.predicates.QueryOptimizer;
+import com.hazelcast.query.impl.predicates.RangePredicate;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.spi.impl.operationservice.OperationService;
 
@@ -140,6 +143,13 @@ public class QueryRunner {
         // first we optimize the query
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), indexRegistry);
 
+        // aggregations of an attribute covered by an index are run on the index keys alone
+        Result coveredResult = runUsingCoveringIndexSafely(query, predicate, mapContainer, migrationStamp,
+                ownedPartitions, actualPartitions);
+        if (coveredResult != null) {
+            return coveredResult;
+        }
+
         // then we try to run using an index, but if that doesn't work, we'll try a full table scan
         Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
                 migrationStamp, ownedPartitions.size());
@@ -202,6 +212,12 @@ public class QueryRunner {
         // first we optimize the query
         Predicate predicate = queryOptimizer.optimize(query.getPredicate(), indexRegistry);
 
+        Result coveredResult = runUsingCoveringIndexSafely(query, predicate, mapContainer, migrationStamp,
+                ownedPartitions, ownedPartitions);
+        if (coveredResult != null) {
+            return coveredResult;
+        }
+
         // then we try to run using an index
         Iterable<QueryableEntry> entries = runUsingGlobalIndexSafely(predicate, mapContainer,
                 migrationStamp, ownedPartitions.size());
@@ -297,6 +313,69 @@ public class QueryRunner {
         return null;
     }
 
+    /**
+     * Runs the aggregation of the given query on the keys of the index covering
+     * the aggregated attribute, so neither the attribute is extracted from the
+     * entries nor the entries are deserialized.
+     *
+     * @return the result of the aggregation or {@code null} if the query isn't
+     * an aggregation of a covered attribute, the predicate can't be evaluated
+     * on the index keys or a migration was detected.
+     * @see IndexRegistry#queryCovering
+     */
+    protected Result runUsingCoveringIndexSafely(Query query, Predicate predicate, MapContainer mapContainer,
+                                                 int migrationStamp, PartitionIdSet ownedPartitions,
+                                                 PartitionIdSet actualPartitions) {
+        String attribute = coveredAttribute(query, predicate);
+        if (attribute == null || !validateMigrationStamp(migrationStamp)) {
+            return null;
+        }
+        IndexRegistry indexRegistry = mapContainer.getGlobalIndexRegistry();
+        if (indexRegistry == null || !indexRegistry.isGlobal()) {
+            return null;
+        }
+
+        AggregationResult result = (AggregationResult) createResult(query, actualPartitions);
+        AbstractAggregator aggregator = (AbstractAggregator) result.getAggregator();
+        boolean allOwnedPartitions = ownedPartitions.equals(actualPartitions);
+        boolean covered;
+        try {
+            covered = indexRegistry.queryCovering(attribute, predicate, ownedPartitions.size(), (entry, value) -> {
+                if (allOwnedPartitions || actualPartitions.contains(
+                        HashUtil.hashToIndex(entry.getKeyData().getPartitionHash(), partitionCount))) {
+                    aggregator.accumulateValue(entry, value);
+                }
+            });
+        } finally {
+            aggregator.onAccumulationFinished();
+        }
+
+        // see runUsingGlobalIndexSafely
+        if (!covered || !validateMigrationStamp(migrationStamp)) {
+            return null;
+        }
+        result.completeConstruction(actualPartitions);
+        return result;
+    }
+
+    /**
+     * @return the attribute read by the aggregator of the given query, or the
+     * attribute of the given predicate if the aggregator just counts the
+     * entries, {@code null} if the query isn't an aggregation of an attribute.
+     */
+    private static String coveredAttribute(Query query, Predicate predicate) {
+        if (!query.isAggregationQuery() || !(query.getAggregator() instanceof AbstractAggregator aggregator)) {
+            return null;
+        }
+        if (aggregator.getAttributePath() != null) {
+            return aggregator.getAttributePath();
+        }
+        if (aggregator instanceof CountAggregator && predicate instanceof RangePredicate rangePredicate) {
+            return rangePredicate.getAttribute();
+        }
+        return null;
+    }
+
     protected Result runUsingPartitionScanSafely(Query query, Predicate predicate,
                                                  PartitionIdSet partitions, int migrationStamp) {
 
@@ -32,7 +32,9 @@ public abstract class AbstractRecord<V> implements Record<V> {
 
     private static final int NUMBER_OF_INTS = 6;
 
-    protected int version;
+    // written by the partition thread only, volatile for the
+    // local reads outside of it, see RecordStore#readOwnedData
+    protected volatile int version;
     @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
             justification = "Record can be accessed by only its own partition thread.")
     protected volatile int hits;
@@ -29,10 +29,21 @@ public class DataRecordFactory implements RecordFactory<Data> {
 
     private final MapContainer mapContainer;
     private final SerializationService ss;
+    private final boolean packedRecords;
 
     public DataRecordFactory(MapContainer mapContainer, SerializationService ss) {
+        this(mapContainer, ss, false);
+    }
+
+    /**
+     * @param packedRecords {@code true} to create {@link PackedDataRecord}s
+     *                      for maps which don't need any record metadata
+     *                      other than the version
+     */
+    public DataRecordFactory(MapContainer mapContainer, SerializationService ss, boolean packedRecords) {
         this.ss = ss;
         this.mapContainer = mapContainer;
+        this.packedRecords = packedRecords;
     }
 
     @Override
@@ -44,6 +55,11 @@ public class DataRecordFactory implements RecordFactory<Data> {
 
         Data valueData = ss.toData(value);
 
+        if (packedRecords && !perEntryStatsEnabled && !hasEviction) {
+            return cacheDeserializedValues == CacheDeserializedValues.NEVER
+                    ? new PackedDataRecord(valueData) : new PackedCachedDataRecord(valueData);
+        }
+
         switch (cacheDeserializedValues) {
             case NEVER:
                 return newSimpleRecord(valueData, mapConfig, perEntryStatsEnabled, hasEviction);
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+
+/**
+ * A {@link Record} which keeps its serialized value in an {@link OffHeapValueStore}.
+ * <p>
+ * Every {@link #getValue()} copies the value to the heap, so the returned
+ * {@link Data} stays valid after the record is updated or removed.
+ */
+public class OffHeapDataRecord extends AbstractRecord<Data> {
+
+    private final OffHeapValueStore store;
+    private volatile long address = NULL_ADDRESS;
+
+    OffHeapDataRecord(OffHeapValueStore store, Data value) {
+        this.store = store;
+        setValue(value);
+    }
+
+    @Override
+    public long getCost() {
+        // the value itself doesn't live on the heap
+        return super.getCost() + REFERENCE_COST_IN_BYTES + LONG_SIZE_IN_BYTES;
+    }
+
+    /**
+     * Returns the number of native memory bytes used by the value of this record.
+     */
+    public long getOffHeapCost() {
+        long address = this.address;
+        return address == NULL_ADDRESS ? 0L : OffHeapValueStore.HEADER_SIZE + store.length(address);
+    }
+
+    @Override
+    public Data getValue() {
+        for (; ; ) {
+            long address = this.address;
+            if (address == NULL_ADDRESS) {
+                return null;
+            }
+
+            Data value = store.load(address);
+            if (value != null || store.isDisposed()) {
+                return value;
+            }
+            // the block was re-used concurrently, retry with the new address
+            Thread.onSpinWait();
+        }
+    }
+
+    @Override
+    public void setValue(Data value) {
+        long oldAddress = address;
+        address = store.store(value);
+        store.free(oldAddress);
+    }
+
+    /**
+     * Frees the native memory of the value. The record
+     * has a {@code null} value afterwards.
+     */
+    public void dispose() {
+        long oldAddress = address;
+        address = NULL_ADDRESS;
+        store.free(oldAddress);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!super.equals(o)) {
+            return false;
+        }
+
+        OffHeapDataRecord that = (OffHeapDataRecord) o;
+        Data value = getValue();
+        Data thatValue = that.getValue();
+        return value == null ? thatValue == null : value.equals(thatValue);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        Data value = getValue();
+        result = 31 * result + (value == null ? 0 : value.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapDataRecord{"
+                + "address=" + address
+                + ", " + super.toString()
+                + "} ";
+    }
+}
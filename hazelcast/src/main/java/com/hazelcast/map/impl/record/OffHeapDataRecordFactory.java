@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+
+/**
+ * Creates {@link OffHeapDataRecord}s whose values are kept
+ * in the {@link OffHeapValueStore} of a single record store.
+ * <p>
+ * The created records always track all metadata, so they can serve
+ * any eviction policy and per entry stats setting.
+ */
+public class OffHeapDataRecordFactory implements RecordFactory<Data> {
+
+    private final SerializationService ss;
+    private final OffHeapValueStore valueStore;
+
+    public OffHeapDataRecordFactory(SerializationService ss, OffHeapValueStore valueStore) {
+        this.ss = ss;
+        this.valueStore = valueStore;
+    }
+
+    public OffHeapValueStore getValueStore() {
+        return valueStore;
+    }
+
+    @Override
+    public Record<Data> newRecord(Data key, Object value) {
+        return new OffHeapDataRecord(valueStore, ss.toData(value));
+    }
+}
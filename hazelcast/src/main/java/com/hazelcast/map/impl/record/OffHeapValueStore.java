@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.memory.impl.SlabMemoryAllocator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+
+/**
+ * Stores serialized values of a single record store in native memory.
+ * <p>
+ * Every value is kept in a block allocated from a {@link SlabMemoryAllocator} with the layout:
+ * <pre>
+ * | stamp (int) | length (int) | block size (int) | payload (length bytes) |
+ * </pre>
+ * The stamp is unique per {@link #store(Data)} call, which lets readers from non-owner threads
+ * detect that a block has been freed and re-used while they were copying it out. The block size
+ * never changes for an address and it isn't overwritten when the block is freed, so readers can
+ * bound a torn length by it and never copy beyond the block.
+ * <p>
+ * The native memory is only released once the store is {@link #dispose() disposed}
+ * and no load is in progress anymore, so a reader never copies from unmapped memory.
+ * <p>
+ * Writes must be done by the partition thread owning the record store.
+ */
+public final class OffHeapValueStore {
+
+    static final int HEADER_SIZE = 3 * INT_SIZE_IN_BYTES;
+    private static final int LENGTH_OFFSET = INT_SIZE_IN_BYTES;
+    private static final int BLOCK_SIZE_OFFSET = 2 * INT_SIZE_IN_BYTES;
+
+    private final SlabMemoryAllocator allocator;
+    // the number of loads in progress; the last one releases the memory of a disposed store
+    private final AtomicInteger loads = new AtomicInteger();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean disposed;
+    private int stampSequence;
+
+    public OffHeapValueStore() {
+        this(new SlabMemoryAllocator());
+    }
+
+    OffHeapValueStore(SlabMemoryAllocator allocator) {
+        this.allocator = allocator;
+    }
+
+    /**
+     * Copies the given value into a newly allocated native memory block.
+     *
+     * @return the address of the block, or {@link com.hazelcast.internal.memory.MemoryAllocator#NULL_ADDRESS}
+     * when the value is {@code null}.
+     */
+    public long store(Data value) {
+        if (value == null) {
+            return NULL_ADDRESS;
+        }
+
+        int length = value.totalSize();
+        long address = allocator.allocate(HEADER_SIZE + length);
+        MEM.putInt(address + BLOCK_SIZE_OFFSET, (int) SlabMemoryAllocator.blockSize(HEADER_SIZE + length));
+        if (length > 0) {
+            MEM.copyFromByteArray(value.toByteArray(), 0, address + HEADER_SIZE, length);
+        }
+        MEM.putInt(address + LENGTH_OFFSET, length);
+        // publishes the payload to readers of other threads
+        MEM.putIntVolatile(address, nextStamp());
+        return address;
+    }
+
+    /**
+     * Copies the value stored at the given address to the heap.
+     *
+     * @return the value or {@code null} if the block was freed or re-used
+     * while it was being read, in which case the caller should retry with
+     * the current address of the value, unless the store is
+     * {@link #isDisposed() disposed}.
+     */
+    public Data load(long address) {
+        if (!enterLoad()) {
+            return null;
+        }
+        try {
+            return copy(address);
+        } finally {
+            exitLoad();
+        }
+    }
+
+    private Data copy(long address) {
+        int stamp = MEM.getIntVolatile(address);
+        int length = MEM.getInt(address + LENGTH_OFFSET);
+        if (length < 0 || length > MEM.getInt(address + BLOCK_SIZE_OFFSET) - HEADER_SIZE) {
+            // torn read of a freed or re-used block
+            return null;
+        }
+
+        byte[] payload = new byte[length];
+        if (length > 0) {
+            MEM.copyToByteArray(address + HEADER_SIZE, payload, 0, length);
+        }
+        // the payload must be read before the stamp is validated
+        VarHandle.acquireFence();
+        if (MEM.getIntVolatile(address) != stamp) {
+            return null;
+        }
+        return new HeapData(payload);
+    }
+
+    /**
+     * Returns the length of the payload stored at the given address.
+     */
+    public int length(long address) {
+        return MEM.getInt(address + LENGTH_OFFSET);
+    }
+
+    /**
+     * Frees the block at the given address.
+     */
+    public void free(long address) {
+        if (address == NULL_ADDRESS || disposed) {
+            return;
+        }
+
+        int length = MEM.getInt(address + LENGTH_OFFSET);
+        // invalidate the stamp before the block can be handed out again
+        MEM.putIntVolatile(address, nextStamp());
+        allocator.free(address, HEADER_SIZE + length);
+    }
+
+    public long getUsedMemory() {
+        return allocator.getUsedMemory();
+    }
+
+    public long getCommittedMemory() {
+        return allocator.getCommittedMemory();
+    }
+
+    /**
+     * Frees all native memory of this store. Addresses of previously stored
+     * values become invalid, loads return {@code null} from now on. If loads
+     * are in progress, the memory is released by the last of them.
+     */
+    public void dispose() {
+        disposed = true;
+        if (loads.get() == 0) {
+            release();
+        }
+    }
+
+    public boolean isDisposed() {
+        return disposed;
+    }
+
+    boolean enterLoad() {
+        loads.incrementAndGet();
+        if (disposed) {
+            exitLoad();
+            return false;
+        }
+        return true;
+    }
+
+    void exitLoad() {
+        if (loads.decrementAndGet() == 0 && disposed) {
+            release();
+        }
+    }
+
+    private void release() {
+        // the disposing thread and the last load may both get here
+        if (released.compareAndSet(false, true)) {
+            allocator.dispose();
+        }
+    }
+
+    private int nextStamp() {
+        return ++stampSequence;
+    }
+}
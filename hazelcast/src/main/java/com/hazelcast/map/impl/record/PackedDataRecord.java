@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.util.Arrays;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.JVMUtil.OBJECT_HEADER_SIZE;
+import static com.hazelcast.internal.util.JVMUtil.REFERENCE_COST_IN_BYTES;
+import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECORD_READER_WRITER;
+
+/**
+ * A {@link SimpleRecord} alternative which keeps the serialized value inline
+ * as a {@code byte[]} instead of referencing a {@link HeapData} wrapper, saving
+ * the wrapper of the entries whose value is never read.
+ * <p>
+ * {@link #getValue()} wraps the payload into a {@link HeapData} without copying
+ * it and caches the wrapper until the value is updated, so reads don't allocate.
+ * The cached wrapper is not accounted in {@link #getCost()}, like cached
+ * deserialized values aren't. The field of the wrapper fits into the object
+ * alignment of the record, so it doesn't grow the record itself. Deserialized
+ * values are cached by {@link PackedCachedDataRecord}.
+ * <p>
+ * Used when {@link com.hazelcast.spi.properties.ClusterProperty#MAP_PACKED_RECORDS_ENABLED}
+ * is enabled, the map is {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY}
+ * and neither per entry stats nor eviction is configured.
+ */
+public class PackedDataRecord implements Record<Data> {
+
+    private static final int ARRAY_HEADER_SIZE_IN_BYTES = 16;
+
+    private volatile byte[] payload;
+    // written by the partition thread only, volatile for the
+    // local reads outside of it, see RecordStore#readOwnedData
+    private volatile int version;
+    private transient volatile Data view;
+
+    PackedDataRecord(Data value) {
+        setValue(value);
+    }
+
+    @Override
+    public final int getVersion() {
+        return version;
+    }
+
+    @Override
+    public final void setVersion(int version) {
+        this.version = version;
+    }
+
+    @Override
+    public Data getValue() {
+        Data view = this.view;
+        byte[] payload = this.payload;
+        if (view != null && view.toByteArray() == payload) {
+            return view;
+        }
+        if (payload == null) {
+            return null;
+        }
+        // racing readers create equal wrappers, any of them can be cached
+        view = new HeapData(payload);
+        this.view = view;
+        return view;
+    }
+
+    @Override
+    public void setValue(Data value) {
+        // HeapData doesn't copy on toByteArray(), so the payload is shared
+        // with the given value which is immutable by contract.
+        this.payload = value == null ? null : value.toByteArray();
+        // cached on the first read only, so entries which are never read don't keep a wrapper
+        this.view = null;
+    }
+
+    @Override
+    public Object getCachedValueUnsafe() {
+        return Record.NOT_CACHED;
+    }
+
+    @Override
+    public boolean casCachedValue(Object expectedValue, Object newValue) {
+        return true;
+    }
+
+    @Override
+    public long getCost() {
+        byte[] payload = this.payload;
+        return OBJECT_HEADER_SIZE + REFERENCE_COST_IN_BYTES + INT_SIZE_IN_BYTES
+                + (payload == null ? 0 : ARRAY_HEADER_SIZE_IN_BYTES + payload.length);
+    }
+
+    @Override
+    public void onAccess(long now) {
+        // NOP
+    }
+
+    @Override
+    public void onStore() {
+        // NOP
+    }
+
+    @Override
+    public RecordReaderWriter getMatchingRecordReaderWriter() {
+        return SIMPLE_DATA_RECORD_READER_WRITER;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        PackedDataRecord that = (PackedDataRecord) o;
+
+        if (version != that.version) {
+            return false;
+        }
+        return Arrays.equals(payload, that.payload);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Arrays.hashCode(payload);
+        result = 31 * result + version;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "PackedDataRecord{"
+                + "value=" + getValue()
+                + ", version=" + version
+                + '}';
+    }
+}
@@ -31,7 +31,9 @@ import static com.hazelcast.map.impl.record.RecordReaderWriter.SIMPLE_DATA_RECOR
 @SuppressWarnings({"checkstyle:methodcount", "VolatileLongOrDoubleField"})
 public class SimpleRecord<V> implements Record<V> {
     protected volatile V value;
-    private int version;
+    // written by the partition thread only, volatile for the
+    // local reads outside of it, see RecordStore#readOwnedData
+    private volatile int version;
 
     SimpleRecord() {
     }
@@ -39,10 +39,14 @@ import com.hazelcast.map.impl.mapstore.MapDataStore;
 import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.record.DataRecordFactory;
 import com.hazelcast.map.impl.record.ObjectRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapDataRecordFactory;
+import com.hazelcast.map.impl.record.OffHeapValueStore;
 import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordReaderWriter;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.wan.impl.CallerProvenance;
 
 import javax.annotation.Nonnull;
@@ -68,6 +72,7 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     protected RecordFactory recordFactory;
     protected Storage<Data, Record> storage;
     protected IndexingMutationObserver<Record> indexingObserver;
+    protected PersistenceMutationObserver persistenceObserver;
 
     protected AbstractRecordStore(MapContainer mapContainer, int partitionId) {
         this.name = mapContainer.getName();
@@ -89,7 +94,12 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         MapConfig mapConfig = mapContainer.getMapConfig();
         switch (mapConfig.getInMemoryFormat()) {
             case BINARY:
-                return new DataRecordFactory(mapContainer, serializationService);
+                HazelcastProperties properties = mapServiceContext.getNodeEngine().getProperties();
+                if (properties.getBoolean(ClusterProperty.MAP_OFF_HEAP_VALUES_ENABLED)) {
+                    return new OffHeapDataRecordFactory(serializationService, new OffHeapValueStore());
+                }
+                return new DataRecordFactory(mapContainer, serializationService,
+                        properties.getBoolean(ClusterProperty.MAP_PACKED_RECORDS_ENABLED));
             case OBJECT:
                 return new ObjectRecordFactory(mapContainer, serializationService);
             default:
@@ -127,6 +137,12 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
                     JsonMetadataInitializer.INSTANCE, getOrCreateMetadataStore()));
         }
 
+        // Add observer for disk persistence
+        persistenceObserver = PersistenceMutationObserver.create(mapContainer, partitionId);
+        if (persistenceObserver != null) {
+            mutationObserver.add(persistenceObserver);
+        }
+
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
@@ -175,6 +191,10 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (recordFactory instanceof OffHeapDataRecordFactory) {
+            return new OffHeapStorage(((OffHeapDataRecordFactory) recordFactory).getValueStore(),
+                    getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
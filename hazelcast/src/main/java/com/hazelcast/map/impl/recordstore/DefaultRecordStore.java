@@ -88,6 +88,7 @@ import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.MapUtil.createHashMap;
 import static com.hazelcast.internal.util.ToHeapDataConverter.toHeapData;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.map.impl.eviction.Evictor.NULL_EVICTOR;
 import static com.hazelcast.map.impl.mapstore.MapDataStores.EMPTY_MAP_DATA_STORE;
 import static com.hazelcast.map.impl.record.Record.UNSET;
 import static com.hazelcast.map.impl.recordstore.StaticParams.PUT_BACKUP_FOR_ENTRY_PROCESSOR_PARAMS;
@@ -261,6 +262,19 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         return newRecord;
     }
 
+    @Override
+    public boolean putReloadedIfAbsent(Data dataKey, Data value, long now) {
+        if (storage.get(dataKey) != null) {
+            return false;
+        }
+
+        Record record = createRecord(dataKey, value, now);
+        storage.put(dataKey, record);
+        expirySystem.add(dataKey, now, now);
+        mutationObserver.onReplicationPutRecord(dataKey, record, true);
+        return true;
+    }
+
     @Override
     public void removeReplicatedRecord(Data dataKey, boolean backup) {
         Record record = storage.get(dataKey);
@@ -783,6 +797,40 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         return mapServiceContext.toData(value);
     }
 
+    /**
+     * This method is called directly by user threads, in other words
+     * it is called outside of the partition threads. It only reads
+     * state that is safe to read concurrently and does not update the
+     * access metadata of the record or the statistics of the map.
+     */
+    @Override
+    public Data readOwnedData(Data key) {
+        // eviction relies on the access metadata, which is
+        // maintained by the partition thread only, and the
+        // lock resources are not safe to read outside of it
+        if (!isLoaded() || !interceptorRegistry.getInterceptors().isEmpty()
+                || mapContainer.getEvictor() != NULL_EVICTOR
+                || (lockStore != null && lockStore.getLockedEntryCount() > 0)) {
+            return null;
+        }
+        Record record = storage.get(key);
+        // expiry and idleness of the entries with expiry
+        // metadata are handled by the partition thread
+        if (record == null || expirySystem.getExpiryMetadata(key) != ExpiryMetadata.NULL) {
+            return null;
+        }
+
+        // updates increment the volatile version before they publish
+        // the new value, so a changed version or record means an update
+        // overlapped the read
+        int version = record.getVersion();
+        Object value = record.getValue();
+        if (!(value instanceof Data) || record.getVersion() != version || storage.get(key) != record) {
+            return null;
+        }
+        return (Data) value;
+    }
+
     @Override
     public MapEntries getAll(Set<Data> keys, Address callerAddress) {
         checkIfLoaded();
@@ -1423,6 +1471,11 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
 
     @Override
     public void checkIfLoaded() {
+        if (persistenceObserver != null && persistenceObserver.isReloading()) {
+            throw new RetryableHazelcastException("Map " + getName()
+                    + " is still reloading persisted entries");
+        }
+
         if (mapDataStore == EMPTY_MAP_DATA_STORE
                 || loadingFutures.isEmpty()) {
             return;
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.record.OffHeapDataRecord;
+import com.hazelcast.map.impl.record.OffHeapValueStore;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+
+/**
+ * A {@link StorageImpl} for {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY}
+ * maps which keeps the serialized values in native memory slabs of an
+ * {@link OffHeapValueStore}. Keys and record metadata stay on the heap.
+ * <p>
+ * The value of a removed or replaced record is not freed immediately since the
+ * running operation may still read it, e.g. to publish an event. It is
+ * freed on {@link #disposeDeferredBlocks()} or on the next mutation of
+ * this storage, whichever comes first.
+ *
+ * @param <R> the value type to be put in this storage.
+ */
+public class OffHeapStorage<R extends Record> extends StorageImpl<R> {
+
+    private final OffHeapValueStore valueStore;
+    private final List<OffHeapDataRecord> deferredRecords = new ArrayList<>();
+
+    public OffHeapStorage(OffHeapValueStore valueStore, ExpirySystem expirySystem,
+                          SerializationService serializationService) {
+        super(BINARY, expirySystem, serializationService);
+        this.valueStore = valueStore;
+    }
+
+    public OffHeapValueStore getValueStore() {
+        return valueStore;
+    }
+
+    @Override
+    public void put(Data key, R record) {
+        disposeDeferredBlocks();
+        R previousRecord = get(key);
+        super.put(key, record);
+        if (previousRecord != null && previousRecord != record) {
+            deferredRecords.add((OffHeapDataRecord) previousRecord);
+        }
+    }
+
+    @Override
+    public R updateRecordValue(Data key, R record, Object value) {
+        disposeDeferredBlocks();
+        return super.updateRecordValue(key, record, value);
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull R record) {
+        disposeDeferredBlocks();
+        super.removeRecord(dataKey, record);
+        deferredRecords.add((OffHeapDataRecord) record);
+    }
+
+    @Override
+    public void disposeDeferredBlocks() {
+        if (deferredRecords.isEmpty()) {
+            return;
+        }
+
+        for (int i = 0; i < deferredRecords.size(); i++) {
+            deferredRecords.get(i).dispose();
+        }
+        deferredRecords.clear();
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        disposeDeferredBlocks();
+        // Free blocks one by one instead of disposing the whole store:
+        // slabs stay mapped, so concurrent readers can't fault.
+        Iterator<Map.Entry<Data, R>> iterator = mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            ((OffHeapDataRecord) iterator.next().getValue()).dispose();
+        }
+        super.clear(isDuringShutdown);
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        deferredRecords.clear();
+        super.clear(isDuringShutdown);
+        valueStore.dispose();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.DataPersistenceConfig;
+import com.hazelcast.internal.hotrestart.impl.LocalPersistenceService;
+import com.hazelcast.internal.hotrestart.impl.LogStructuredStore;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.persistence.PersistenceService;
+import com.hazelcast.spi.impl.NodeEngine;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Appends the mutations of a record store to a {@link LogStructuredStore}.
+ * Backup replicas are persisted as well, so the entries survive as long
+ * as one of the members holding a replica of them is restarted with its
+ * persistence directory.
+ */
+public class PersistenceMutationObserver implements MutationObserver<Record> {
+
+    private final String name;
+    private final int partitionId;
+    private final boolean fsync;
+    private final LocalPersistenceService persistenceService;
+    private final LogStructuredStore store;
+    private final SerializationService serializationService;
+
+    public PersistenceMutationObserver(String name, int partitionId, boolean fsync,
+                                       LocalPersistenceService persistenceService,
+                                       SerializationService serializationService) {
+        this.name = name;
+        this.partitionId = partitionId;
+        this.fsync = fsync;
+        this.persistenceService = persistenceService;
+        this.store = persistenceService.getStore();
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Creates an observer for the given partition of the map if both the map and
+     * the member have persistence enabled, otherwise returns {@code null}.
+     */
+    public static PersistenceMutationObserver create(MapContainer mapContainer, int partitionId) {
+        DataPersistenceConfig dataPersistenceConfig = mapContainer.getMapConfig().getDataPersistenceConfig();
+        if (!dataPersistenceConfig.isEnabled()) {
+            return null;
+        }
+
+        NodeEngine nodeEngine = mapContainer.getMapServiceContext().getNodeEngine();
+        PersistenceService persistenceService = nodeEngine.getHazelcastInstance().getCluster().getPersistenceService();
+        if (persistenceService instanceof LocalPersistenceService localPersistenceService) {
+            return new PersistenceMutationObserver(mapContainer.getName(), partitionId, dataPersistenceConfig.isFsync(),
+                    localPersistenceService, nodeEngine.getSerializationService());
+        }
+        return null;
+    }
+
+    /**
+     * Returns {@code true} while a member of the cluster is reloading its persisted entries.
+     */
+    public boolean isReloading() {
+        return persistenceService.isReloading();
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        put(key, record);
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        put(key, record);
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        put(key, record);
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, Record record, boolean backup) {
+        store.remove(name, partitionId, key);
+        sync();
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        // an evicted or expired entry must not come back on restart
+        store.remove(name, partitionId, key);
+        sync();
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        put(key, record);
+    }
+
+    @Override
+    public void onReset() {
+        // the replica is dropped, e.g. after it has migrated away
+        store.clear(name, partitionId);
+        sync();
+    }
+
+    @Override
+    public void onClear() {
+        // also called during shutdown, when the store is already closed and ignores it
+        store.clear(name, partitionId);
+        sync();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        // the records have been cleared already
+    }
+
+    private void put(Data key, Record record) {
+        Data value = serializationService.toData(record.getValue());
+        store.put(name, partitionId, key, value);
+        sync();
+    }
+
+    private void sync() {
+        if (fsync) {
+            store.fsync(partitionId);
+        }
+    }
+}
@@ -191,6 +191,23 @@ public interface RecordStore<R extends Record> {
     @SuppressWarnings("JavadocReference")
     Data readBackupData(Data key);
 
+    /**
+     * Called when {@link
+     * com.hazelcast.spi.properties.ClusterProperty#MAP_LOCAL_READS_ENABLED}
+     * is <code>true</code> from {@link
+     * com.hazelcast.map.impl.proxy.MapProxySupport#getInternal}
+     * on the owner of the partition, outside of the partition thread.
+     * <p>
+     * Returns {@code null} if the value can't be read without the
+     * partition thread, in which case the caller should fall back
+     * to a {@link com.hazelcast.map.impl.operation.GetOperation}.
+     *
+     * @param key key to be accessed
+     * @return value as {@link Data} or {@code null}
+     */
+    @SuppressWarnings("JavadocReference")
+    Data readOwnedData(Data key);
+
     MapEntries getAll(Set<Data> keySet, Address callerAddress);
 
     /**
@@ -308,6 +325,19 @@ public interface RecordStore<R extends Record> {
     R putOrUpdateReplicatedRecord(Data dataKey, R record, ExpiryMetadata expiryMetadata,
                                   boolean indexesMustBePopulated, long now);
 
+    /**
+     * Puts an entry reloaded from a persistence store if the key is absent.
+     * Like a replicated record, the entry is indexed but it publishes no
+     * events, is not written to the MapStore and is not backed up.
+     *
+     * @param dataKey the key to put
+     * @param value   the reloaded value
+     * @param now     current time millis
+     * @return {@code true} if the entry was put
+     * @see com.hazelcast.map.impl.operation.PutReloadedEntriesOperation
+     */
+    boolean putReloadedIfAbsent(Data dataKey, Data value, long now);
+
     /**
      * Remove record for given key. Does not load from MapLoader,
      * does not intercept.
@@ -158,6 +158,12 @@ public abstract class AbstractIndex implements InternalIndex {
         return indexStore.isEvaluateOnly();
     }
 
+    @Override
+    public boolean isCovering() {
+        // enum values are stored as their names
+        return components.length == 1 && converter != TypeConverters.ENUM_CONVERTER && indexStore.isCovering();
+    }
+
     @Override
     public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
         return indexStore.canEvaluate(predicateClass);
@@ -331,6 +337,23 @@ public abstract class AbstractIndex implements InternalIndex {
         return result;
     }
 
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateRecordCount(convert(value));
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (converter == null) {
+            return 0;
+        }
+        return indexStore.estimateRecordCount(from == null ? null : convert(from), fromInclusive,
+                to == null ? null : convert(to), toInclusive);
+    }
+
     @Override
     public void clear() {
         indexStore.clear();
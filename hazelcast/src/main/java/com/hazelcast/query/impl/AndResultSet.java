@@ -19,6 +19,7 @@ package com.hazelcast.query.impl;
 import com.hazelcast.query.Predicate;
 
 import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -26,11 +27,12 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 import static com.hazelcast.internal.util.Preconditions.isNotNull;
+import static java.util.Collections.singletonList;
 
 /**
  * And Result set for Predicates.
  */
-public class AndResultSet extends AbstractSet<QueryableEntry> {
+public class AndResultSet extends AbstractSet<QueryableEntry> implements SplittableResultSet {
 
     private static final int SIZE_UNINITIALIZED = -1;
 
@@ -75,6 +77,30 @@ public class AndResultSet extends AbstractSet<QueryableEntry> {
         return new It();
     }
 
+    /**
+     * Splits the smallest result set, each part is filtered by the
+     * predicates without an index. Isn't split when there are other
+     * indexed results, since they may not be queried concurrently.
+     */
+    @Override
+    public List<Set<QueryableEntry>> split(int maxParts, int minKeysPerPart) {
+        if ((otherIndexedResults != null && !otherIndexedResults.isEmpty())
+                || !(setSmallest instanceof SplittableResultSet splittable)) {
+            return singletonList(this);
+        }
+
+        List<Set<QueryableEntry>> smallestParts = splittable.split(maxParts, minKeysPerPart);
+        if (smallestParts.size() == 1) {
+            return singletonList(this);
+        }
+
+        List<Set<QueryableEntry>> parts = new ArrayList<>(smallestParts.size());
+        for (Set<QueryableEntry> smallestPart : smallestParts) {
+            parts.add(new AndResultSet(smallestPart, null, lsNoIndexPredicates));
+        }
+        return parts;
+    }
+
     class It implements Iterator<QueryableEntry> {
 
         QueryableEntry currentEntry;
@@ -229,6 +229,12 @@ public class AttributeIndexRegistry {
             return delegate.isEvaluateOnly();
         }
 
+        @Override
+        public boolean isCovering() {
+            // the keys are composite values of all the components
+            return false;
+        }
+
         @Override
         public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
             return delegate.canEvaluate(predicateClass);
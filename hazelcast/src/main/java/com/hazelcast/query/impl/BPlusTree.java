@@ -0,0 +1,345 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * An on-heap B+tree mapping {@link Comparable} keys to object values.
+ * <p>
+ * Every node is a page of at most {@code pageCapacity} slots. Leaf pages
+ * hold the keys and the values; internal pages hold the smallest key of
+ * every child page next to the reference to the child, so a page split or a
+ * merge of adjacent pages never needs to pull separator keys up or down.
+ * Pages are split in halves when they overflow and merged with a sibling
+ * when they become sparse after removals, which bounds the memory used per
+ * entry.
+ * <p>
+ * The class is not thread-safe. Mutations and reads must be guarded
+ * externally, for instance by a read-write lock.
+ */
+@SuppressWarnings("rawtypes")
+final class BPlusTree {
+
+    /**
+     * The minimal number of slots in a page.
+     */
+    static final int MIN_PAGE_CAPACITY = 4;
+
+    private final Comparator<Comparable> comparator;
+    private final int pageCapacity;
+    private final int mergeThreshold;
+
+    private Page root;
+    private int size;
+
+    BPlusTree(Comparator<Comparable> comparator, int pageCapacity) {
+        assert pageCapacity >= MIN_PAGE_CAPACITY;
+        this.comparator = comparator;
+        this.pageCapacity = pageCapacity;
+        // pages filled less than a quarter are merged
+        this.mergeThreshold = pageCapacity >>> 2;
+        this.root = new Page(true, pageCapacity);
+    }
+
+    /**
+     * @return the number of keys in this tree.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value associated with the given key or {@code null} if
+     * there is no such key.
+     */
+    Object get(Comparable key) {
+        Page page = root;
+        while (!page.leaf) {
+            page = (Page) page.slots[page.childFor(key, comparator)];
+        }
+        int slot = page.search(key, comparator);
+        return slot >= 0 ? page.slots[slot] : null;
+    }
+
+    /**
+     * Associates the given key with the given non-null value.
+     *
+     * @return the value previously associated with the key or {@code null}
+     * if there was none.
+     */
+    Object put(Comparable key, Object value) {
+        assert value != null;
+        Object[] previous = new Object[1];
+        Page split = put(root, key, value, previous);
+        if (split != null) {
+            Page newRoot = new Page(false, pageCapacity);
+            newRoot.insert(0, root.keys[0], root);
+            newRoot.insert(1, split.keys[0], split);
+            root = newRoot;
+        }
+        if (previous[0] == null) {
+            size++;
+        }
+        return previous[0];
+    }
+
+    /**
+     * Removes the given key.
+     *
+     * @return the value previously associated with the key or {@code null}
+     * if there was none.
+     */
+    Object remove(Comparable key) {
+        Object removed = remove(root, key);
+        if (removed != null) {
+            size--;
+            while (!root.leaf && root.size == 1) {
+                root = (Page) root.slots[0];
+            }
+            if (root.size == 0) {
+                root = new Page(true, pageCapacity);
+            }
+        }
+        return removed;
+    }
+
+    void clear() {
+        root = new Page(true, pageCapacity);
+        size = 0;
+    }
+
+    /**
+     * @return the height of this tree: 1 if the root page is a leaf.
+     */
+    int height() {
+        int height = 1;
+        for (Page page = root; !page.leaf; page = (Page) page.slots[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    /**
+     * Copies consecutive entries, starting at the given key, into the given
+     * arrays.
+     * <p>
+     * In ascending order the copying starts at the smallest key that is
+     * greater than (or equal to, if inclusive) the start key; in descending
+     * order at the greatest key that is less than (or equal to, if inclusive)
+     * the start key. If {@code unbounded}, the copying starts at the first
+     * (or the last, if descending) key of the tree and the start key is
+     * ignored. At most {@code keys.length} entries are copied.
+     *
+     * @return the number of copied entries.
+     */
+    int fill(Comparable start, boolean inclusive, boolean unbounded, boolean descending,
+             Comparable[] keys, Object[] values) {
+        return descending
+                ? fillDescending(root, start, inclusive, unbounded, keys, values, 0)
+                : fillAscending(root, start, inclusive, unbounded, keys, values, 0);
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private int fillAscending(Page page, Comparable start, boolean inclusive, boolean unbounded,
+                              Comparable[] keys, Object[] values, int count) {
+        if (page.leaf) {
+            int slot = 0;
+            if (!unbounded) {
+                slot = page.search(start, comparator);
+                slot = slot >= 0 ? (inclusive ? slot : slot + 1) : -slot - 1;
+            }
+            int length = Math.min(page.size - slot, keys.length - count);
+            if (length <= 0) {
+                return count;
+            }
+            System.arraycopy(page.keys, slot, keys, count, length);
+            System.arraycopy(page.slots, slot, values, count, length);
+            return count + length;
+        }
+
+        int first = unbounded ? 0 : page.childFor(start, comparator);
+        for (int i = first; i < page.size && count < keys.length; i++) {
+            count = fillAscending((Page) page.slots[i], start, inclusive, unbounded || i > first, keys, values, count);
+        }
+        return count;
+    }
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private int fillDescending(Page page, Comparable start, boolean inclusive, boolean unbounded,
+                               Comparable[] keys, Object[] values, int count) {
+        if (page.leaf) {
+            int slot = page.size - 1;
+            if (!unbounded) {
+                slot = page.search(start, comparator);
+                slot = slot >= 0 ? (inclusive ? slot : slot - 1) : -slot - 2;
+            }
+            for (; slot >= 0 && count < keys.length; slot--, count++) {
+                keys[count] = page.keys[slot];
+                values[count] = page.slots[slot];
+            }
+            return count;
+        }
+
+        int first = unbounded ? page.size - 1 : page.childFor(start, comparator);
+        for (int i = first; i >= 0 && count < keys.length; i--) {
+            count = fillDescending((Page) page.slots[i], start, inclusive, unbounded || i < first, keys, values, count);
+        }
+        return count;
+    }
+
+    /**
+     * Inserts the given entry into the subtree of the given page.
+     *
+     * @return the new right sibling of the page if the page was split,
+     * {@code null} otherwise.
+     */
+    private Page put(Page page, Comparable key, Object value, Object[] previous) {
+        if (page.leaf) {
+            int slot = page.search(key, comparator);
+            if (slot >= 0) {
+                previous[0] = page.slots[slot];
+                page.slots[slot] = value;
+                return null;
+            }
+            return insertWithSplit(page, -slot - 1, key, value);
+        }
+
+        int index = page.childFor(key, comparator);
+        Page child = (Page) page.slots[index];
+        Page split = put(child, key, value, previous);
+        page.keys[index] = child.keys[0];
+        return split == null ? null : insertWithSplit(page, index + 1, split.keys[0], split);
+    }
+
+    private Page insertWithSplit(Page page, int slot, Comparable key, Object value) {
+        if (page.size < pageCapacity) {
+            page.insert(slot, key, value);
+            return null;
+        }
+
+        Page upper = page.splitUpperHalf();
+        if (slot > page.size) {
+            upper.insert(slot - page.size, key, value);
+        } else {
+            page.insert(slot, key, value);
+        }
+        return upper;
+    }
+
+    private Object remove(Page page, Comparable key) {
+        if (page.leaf) {
+            int slot = page.search(key, comparator);
+            if (slot < 0) {
+                return null;
+            }
+            Object removed = page.slots[slot];
+            page.delete(slot);
+            return removed;
+        }
+
+        int index = page.childFor(key, comparator);
+        Page child = (Page) page.slots[index];
+        Object removed = remove(child, key);
+        if (removed == null) {
+            return null;
+        }
+
+        if (child.size == 0) {
+            page.delete(index);
+            return removed;
+        }
+        page.keys[index] = child.keys[0];
+        if (child.size < mergeThreshold) {
+            mergeWithSibling(page, index);
+        }
+        return removed;
+    }
+
+    private void mergeWithSibling(Page parent, int index) {
+        Page child = (Page) parent.slots[index];
+        int limit = pageCapacity / 2;
+        if (index + 1 < parent.size && child.size + ((Page) parent.slots[index + 1]).size <= limit) {
+            child.append((Page) parent.slots[index + 1]);
+            parent.delete(index + 1);
+        } else if (index > 0 && child.size + ((Page) parent.slots[index - 1]).size <= limit) {
+            ((Page) parent.slots[index - 1]).append(child);
+            parent.delete(index);
+        }
+    }
+
+    private static final class Page {
+        final boolean leaf;
+        final Comparable[] keys;
+        final Object[] slots;
+        int size;
+
+        Page(boolean leaf, int capacity) {
+            this.leaf = leaf;
+            this.keys = new Comparable[capacity];
+            this.slots = new Object[capacity];
+        }
+
+        int search(Comparable key, Comparator<Comparable> comparator) {
+            return Arrays.binarySearch(keys, 0, size, key, comparator);
+        }
+
+        /**
+         * Returns the index of the child page that holds the given key or
+         * would hold it if the key were inserted.
+         */
+        int childFor(Comparable key, Comparator<Comparable> comparator) {
+            int index = search(key, comparator);
+            return index >= 0 ? index : Math.max(0, -index - 2);
+        }
+
+        void insert(int slot, Comparable key, Object value) {
+            System.arraycopy(keys, slot, keys, slot + 1, size - slot);
+            System.arraycopy(slots, slot, slots, slot + 1, size - slot);
+            keys[slot] = key;
+            slots[slot] = value;
+            size++;
+        }
+
+        void delete(int slot) {
+            System.arraycopy(keys, slot + 1, keys, slot, size - slot - 1);
+            System.arraycopy(slots, slot + 1, slots, slot, size - slot - 1);
+            size--;
+            keys[size] = null;
+            slots[size] = null;
+        }
+
+        Page splitUpperHalf() {
+            Page upper = new Page(leaf, keys.length);
+            int half = size >>> 1;
+            upper.size = size - half;
+            System.arraycopy(keys, half, upper.keys, 0, upper.size);
+            System.arraycopy(slots, half, upper.slots, 0, upper.size);
+            Arrays.fill(keys, half, size, null);
+            Arrays.fill(slots, half, size, null);
+            size = half;
+            return upper;
+        }
+
+        void append(Page other) {
+            System.arraycopy(other.keys, 0, keys, size, other.size);
+            System.arraycopy(other.slots, 0, slots, size, other.size);
+            size += other.size;
+        }
+    }
+}
@@ -0,0 +1,513 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.BTreeIndexConfig;
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.query.Predicate;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+
+/**
+ * Store indexes rankly in an on-heap {@link BPlusTree}.
+ * <p>
+ * The size of the pages of the tree is derived from
+ * {@link BTreeIndexConfig#getPageSize()}: a page holds as many entries as
+ * fit the configured size, counting a key reference and a record reference
+ * of 8 bytes each per entry. The keys are ordered the same way as in
+ * {@link OrderedIndexStore}, so composite keys support prefix range scans
+ * with {@link CompositeValue#NEGATIVE_INFINITY} and
+ * {@link CompositeValue#POSITIVE_INFINITY} components.
+ * <p>
+ * The records associated with a key are kept in {@link RecordSlots}. All the
+ * mutations and reads of the tree are guarded by the global lock of the
+ * store; SQL iterators read the tree in batches, taking the read lock for
+ * every batch, and continue from the last key of the previous batch, so they
+ * are weakly consistent and stay valid while the tree is updated.
+ */
+@SuppressWarnings({"rawtypes", "checkstyle:MethodCount"})
+public class BTreeIndexStore extends BaseSingleValueIndexStore {
+
+    /**
+     * The number of bytes accounted for an entry of a page.
+     */
+    static final int ENTRY_SIZE_IN_BYTES = 16;
+
+    /**
+     * The maximal number of entries in a page, so inserts into a page of a
+     * huge configured size don't move too many entries.
+     */
+    static final int MAX_PAGE_CAPACITY = 1 << 14;
+
+    static final int BATCH_SIZE = 64;
+
+    private final boolean snapshotResults;
+    private final BPlusTree records;
+
+    public BTreeIndexStore(IndexCopyBehavior copyOn, BTreeIndexConfig config) {
+        this(copyOn, pageCapacity(config), null);
+    }
+
+    /**
+     * @param lock the global lock to share with another store or {@code null}
+     *             to create a new one.
+     */
+    BTreeIndexStore(IndexCopyBehavior copyOn, int pageCapacity, ReentrantReadWriteLock lock) {
+        super(copyOn, lock == null ? new ReentrantReadWriteLock() : lock);
+        assert copyOn != null;
+        this.snapshotResults = copyOn != IndexCopyBehavior.NEVER;
+        this.records = new BPlusTree(SPECIAL_AWARE_COMPARATOR, pageCapacity);
+    }
+
+    /**
+     * Returns the number of entries in a page of the given configuration.
+     */
+    static int pageCapacity(BTreeIndexConfig config) {
+        Capacity pageSize = config == null ? BTreeIndexConfig.DEFAULT_PAGE_SIZE : config.getPageSize();
+        long capacity = pageSize.bytes() / ENTRY_SIZE_IN_BYTES;
+        return (int) Math.max(BPlusTree.MIN_PAGE_CAPACITY, Math.min(MAX_PAGE_CAPACITY, capacity));
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        Object slot = records.get(value);
+        QueryableEntry previous = RecordSlots.get(slot, record.getKeyData());
+        records.put(value, RecordSlots.withRecord(slot, record));
+        return previous;
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        Object slot = records.get(value);
+        QueryableEntry previous = RecordSlots.get(slot, recordKey);
+        if (previous != null) {
+            Object remaining = RecordSlots.withoutRecord(slot, recordKey);
+            if (remaining == null) {
+                records.remove(value);
+            } else {
+                records.put(value, remaining);
+            }
+        }
+        return previous;
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // Same as for OrderedIndexStore, the canonicalization is needed to
+        // support InPredicate queries.
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            records.clear();
+            clearStatistics();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean isCovering() {
+        return !hasMultiValueRecords();
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(@Nonnull Comparable value) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(value, false));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable searchedValue, boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(comparison, searchedValue, descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive,
+                descending));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparable value, boolean descending) {
+        return getSqlRecordIteratorBatch(value, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable value,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        Object slot;
+        takeReadLock();
+        try {
+            slot = records.get(value);
+        } finally {
+            releaseReadLock();
+        }
+        if (slot == null) {
+            return emptyIterator();
+        }
+        Iterator<QueryableEntry> entries = RecordSlots.iterator(slot, descending, lastEntryKeyData);
+        return Collections.singletonList(new IndexKeyEntries(value, entries)).iterator();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        return new KeyEntriesIterator(null, true, null, true, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(comparison, searchedValue, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        switch (comparison) {
+            case LESS:
+                return getSqlRecordIteratorBatch(NULL, false, searchedValue, false, descending, lastEntryKeyData);
+            case LESS_OR_EQUAL:
+                return getSqlRecordIteratorBatch(NULL, false, searchedValue, true, descending, lastEntryKeyData);
+            case GREATER:
+                return getSqlRecordIteratorBatch(searchedValue, false, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            case GREATER_OR_EQUAL:
+                return getSqlRecordIteratorBatch(searchedValue, true, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending, null);
+    }
+
+    @Override
+    @SuppressWarnings({"checkstyle:NPathComplexity", "checkstyle:CyclomaticComplexity"})
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        boolean useCursor = lastEntryKeyData != null;
+        if (useCursor && !descending && !fromInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `from` must be inclusive");
+        }
+        if (useCursor && descending && !toInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `to` must be inclusive");
+        }
+
+        int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return getSqlRecordIteratorBatch(from, descending, lastEntryKeyData);
+        } else if (order > 0) {
+            return emptyIterator();
+        }
+
+        return new KeyEntriesIterator(from, fromInclusive, to, toInclusive, descending, lastEntryKeyData);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            Object slot = records.get(value);
+            return slot == null ? emptySet() : new SingleResultSet(RecordSlots.asMap(slot, snapshotResults));
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            Map<Data, QueryableEntry> singleRecords = null;
+            for (Comparable value : values) {
+                Object slot = records.get(value);
+                if (slot != null) {
+                    singleRecords = RecordSlots.collect(slot, singleRecords, results, snapshotResults);
+                }
+            }
+            if (singleRecords != null) {
+                results.addResultSet(singleRecords);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        switch (comparison) {
+            case LESS:
+                return getRecords(NULL, false, searchedValue, false);
+            case LESS_OR_EQUAL:
+                return getRecords(NULL, false, searchedValue, true);
+            case GREATER:
+                return getRecords(searchedValue, false, POSITIVE_INFINITY, true);
+            case GREATER_OR_EQUAL:
+                return getRecords(searchedValue, true, POSITIVE_INFINITY, true);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+            if (order == 0) {
+                if (!fromInclusive || !toInclusive) {
+                    return emptySet();
+                }
+                Object slot = records.get(from);
+                return slot == null ? emptySet() : new SingleResultSet(RecordSlots.asMap(slot, snapshotResults));
+            } else if (order > 0) {
+                return emptySet();
+            }
+
+            MultiResultSet results = createMultiResultSet();
+            Map<Data, QueryableEntry> singleRecords = null;
+            Comparable[] keys = new Comparable[BATCH_SIZE];
+            Object[] slots = new Object[BATCH_SIZE];
+            Comparable next = from;
+            boolean inclusive = fromInclusive;
+            int count;
+            do {
+                count = records.fill(next, inclusive, false, false, keys, slots);
+                for (int i = 0; i < count; i++) {
+                    if (isBeyond(keys[i], to, toInclusive, false)) {
+                        count = 0;
+                        break;
+                    }
+                    singleRecords = RecordSlots.collect(slots[i], singleRecords, results, snapshotResults);
+                }
+                next = keys[BATCH_SIZE - 1];
+                inclusive = false;
+            } while (count == BATCH_SIZE);
+
+            if (singleRecords != null) {
+                // the map is private to this result, there is no need to copy it
+                results.addResultSet(singleRecords);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * Visits all the records of this store in the ascending order of their
+     * keys. Needs to be invoked under the read or the write lock.
+     */
+    void forEachRecord(RecordConsumer consumer) {
+        Comparable[] keys = new Comparable[BATCH_SIZE];
+        Object[] slots = new Object[BATCH_SIZE];
+        Comparable next = null;
+        boolean unbounded = true;
+        int count;
+        do {
+            count = records.fill(next, false, unbounded, false, keys, slots);
+            for (int i = 0; i < count; i++) {
+                Iterator<QueryableEntry> iterator = RecordSlots.iterator(slots[i], false, null);
+                while (iterator.hasNext()) {
+                    consumer.accept(keys[i], iterator.next());
+                }
+            }
+            next = keys[BATCH_SIZE - 1];
+            unbounded = false;
+        } while (count == BATCH_SIZE);
+    }
+
+    private static boolean isBeyond(Comparable key, Comparable bound, boolean inclusive, boolean descending) {
+        int order = SPECIAL_AWARE_COMPARATOR.compare(key, bound);
+        return descending ? order < 0 || order == 0 && !inclusive : order > 0 || order == 0 && !inclusive;
+    }
+
+    /**
+     * Consumes a record with the key it's associated with.
+     */
+    @FunctionalInterface
+    interface RecordConsumer {
+        void accept(Comparable key, QueryableEntry record);
+    }
+
+    /**
+     * Iterates over the keys of a range, reading the tree in batches under
+     * the read lock. A {@code null} bound means the range is unbounded on
+     * that side.
+     */
+    private final class KeyEntriesIterator implements Iterator<IndexKeyEntries> {
+        private final Comparable end;
+        private final boolean endInclusive;
+        private final boolean descending;
+        private final Comparable cursorKey;
+        private final Comparable[] keys = new Comparable[BATCH_SIZE];
+        private final Object[] slots = new Object[BATCH_SIZE];
+
+        private Data lastEntryKeyData;
+        private Comparable next;
+        private boolean nextInclusive;
+        private boolean exhausted;
+        private int count;
+        private int position;
+
+        @SuppressWarnings("checkstyle:ParameterNumber")
+        KeyEntriesIterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive, boolean descending,
+                           Data lastEntryKeyData) {
+            this.end = descending ? from : to;
+            this.endInclusive = descending ? fromInclusive : toInclusive;
+            this.descending = descending;
+            this.next = descending ? to : from;
+            this.nextInclusive = descending ? toInclusive : fromInclusive;
+            this.cursorKey = next;
+            this.lastEntryKeyData = lastEntryKeyData;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return position < count || fetch();
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Comparable key = keys[position];
+            Object slot = slots[position];
+            keys[position] = null;
+            slots[position++] = null;
+
+            Data lastEntryKeyData = this.lastEntryKeyData;
+            if (lastEntryKeyData != null) {
+                // only the first key may be the one of the cursor
+                this.lastEntryKeyData = null;
+                if (SPECIAL_AWARE_COMPARATOR.compare(cursorKey, key) != 0) {
+                    lastEntryKeyData = null;
+                }
+            }
+            return new IndexKeyEntries(key, RecordSlots.iterator(slot, descending, lastEntryKeyData));
+        }
+
+        private boolean fetch() {
+            if (exhausted) {
+                return false;
+            }
+            takeReadLock();
+            try {
+                count = records.fill(next, nextInclusive, next == null, descending, keys, slots);
+            } finally {
+                releaseReadLock();
+            }
+            position = 0;
+            if (count < BATCH_SIZE) {
+                exhausted = true;
+            }
+            if (end != null) {
+                // trim the batch to the range
+                for (int i = 0; i < count; i++) {
+                    if (isBeyond(keys[i], end, endInclusive, descending)) {
+                        count = i;
+                        exhausted = true;
+                        break;
+                    }
+                }
+            }
+            if (count == 0) {
+                return false;
+            }
+            next = keys[count - 1];
+            nextInclusive = false;
+            return true;
+        }
+    }
+}
@@ -40,14 +40,29 @@ public abstract class BaseIndexStore implements IndexStore {
     private final CopyFunctor<Data, QueryableEntry> resultCopyFunctor;
 
     BaseIndexStore(IndexCopyBehavior copyOn, boolean enableGlobalLock) {
+        this(copyOn, enableGlobalLock ? new ReentrantReadWriteLock() : null);
+    }
+
+    /**
+     * @param lock the global lock of the store, possibly shared with another
+     *             store, or {@code null} if the global lock is disabled.
+     */
+    BaseIndexStore(IndexCopyBehavior copyOn, ReentrantReadWriteLock lock) {
         if (copyOn == IndexCopyBehavior.COPY_ON_WRITE || copyOn == IndexCopyBehavior.NEVER) {
             resultCopyFunctor = new PassThroughFunctor();
         } else {
             resultCopyFunctor = new CopyInputFunctor();
         }
-        lock = enableGlobalLock ? new ReentrantReadWriteLock() : null;
-        readLock = enableGlobalLock ? lock.readLock() : null;
-        writeLock = enableGlobalLock ? lock.writeLock() : null;
+        this.lock = lock;
+        readLock = lock != null ? lock.readLock() : null;
+        writeLock = lock != null ? lock.writeLock() : null;
+    }
+
+    /**
+     * @return the global lock of this store or {@code null} if it's disabled.
+     */
+    final ReentrantReadWriteLock getGlobalLock() {
+        return lock;
     }
 
     /**
@@ -22,6 +22,7 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.query.impl.getters.MultiResult;
 
 import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * The base store for indexes that are unable to work with multi-value
@@ -43,10 +44,16 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     private volatile boolean multiResultHasToDetectDuplicates;
 
+    private final IndexHistogram histogram = new IndexHistogram();
+
     BaseSingleValueIndexStore(IndexCopyBehavior copyOn, boolean enableGlobalLock) {
         super(copyOn, enableGlobalLock);
     }
 
+    BaseSingleValueIndexStore(IndexCopyBehavior copyOn, ReentrantReadWriteLock lock) {
+        super(copyOn, lock);
+    }
+
     /**
      * Associates the given value in this index store with the given record.
      * <p>
@@ -74,6 +81,43 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
      */
     abstract Object removeInternal(Comparable value, Data recordKey);
 
+    /**
+     * Enables the duplicate detection in the results of this store if it's
+     * enabled for the given store, so this store can hold the records of the
+     * given one.
+     */
+    final void inheritDuplicateDetection(BaseSingleValueIndexStore other) {
+        if (other.multiResultHasToDetectDuplicates && !multiResultHasToDetectDuplicates) {
+            multiResultHasToDetectDuplicates = true;
+        }
+    }
+
+    /**
+     * @return {@code true} if a single record may be associated with several
+     * values in this store, {@code false} otherwise.
+     */
+    final boolean hasMultiValueRecords() {
+        return multiResultHasToDetectDuplicates;
+    }
+
+    /**
+     * Resets the statistics of the stored values, must be invoked when this
+     * store is cleared.
+     */
+    final void clearStatistics() {
+        histogram.clear();
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        return histogram.estimateEqual(value);
+    }
+
+    @Override
+    public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        return histogram.estimateRange(from, fromInclusive, to, toInclusive);
+    }
+
     final MultiResultSet createMultiResultSet() {
         return multiResultHasToDetectDuplicates ? new DuplicateDetectingMultiResult() : new FastMultiResultSet();
     }
@@ -124,6 +168,7 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
                 Comparable<?> sanitizedValue = sanitizeValue(o);
                 Object oldValue = insertInternal(sanitizedValue, queryableEntry);
                 if (oldValue == null) {
+                    histogram.onInsert(sanitizedValue);
                     operationStats.onEntryAdded(newValue);
                 }
             }
@@ -131,6 +176,7 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             Comparable<?> sanitizedValue = sanitizeValue(newValue);
             Object oldValue = insertInternal(sanitizedValue, queryableEntry);
             if (oldValue == null) {
+                histogram.onInsert(sanitizedValue);
                 operationStats.onEntryAdded(newValue);
             }
         }
@@ -146,6 +192,7 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
                 Comparable<?> sanitizedValue = sanitizeValue(o);
                 Object removedValue = removeInternal(sanitizedValue, recordKey);
                 if (removedValue != null) {
+                    histogram.onRemove(sanitizedValue);
                     operationStats.onEntryRemoved(oldValue);
                 }
             }
@@ -153,6 +200,7 @@ public abstract class BaseSingleValueIndexStore extends BaseIndexStore {
             Comparable<?> sanitizedValue = sanitizeValue(oldValue);
             Object removedValue = removeInternal(sanitizedValue, recordKey);
             if (removedValue != null) {
+                histogram.onRemove(sanitizedValue);
                 operationStats.onEntryRemoved(oldValue);
             }
         }
@@ -311,6 +311,16 @@ public final class BitmapIndexStore extends BaseIndexStore {
         }
     }
 
+    @Override
+    public long estimateRecordCount(Comparable value) {
+        takeReadLock();
+        try {
+            return bitmap.count(canonicalize(value));
+        } finally {
+            releaseReadLock();
+        }
+    }
+
     @Override
     public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
         throw makeUnsupportedOperationException();
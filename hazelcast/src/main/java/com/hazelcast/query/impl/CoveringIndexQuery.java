@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
+import com.hazelcast.query.impl.predicates.TruePredicate;
+
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.query.impl.Comparison.GREATER;
+import static com.hazelcast.query.impl.Comparison.GREATER_OR_EQUAL;
+import static com.hazelcast.query.impl.Comparison.LESS;
+import static com.hazelcast.query.impl.Comparison.LESS_OR_EQUAL;
+
+/**
+ * Evaluates predicates on the keys of covering indexes.
+ *
+ * @see IndexRegistry#queryCovering
+ */
+@SuppressWarnings("rawtypes")
+final class CoveringIndexQuery {
+
+    private CoveringIndexQuery() {
+    }
+
+    /**
+     * @return the iterator over the keys of the given covering index matching
+     * the given predicate or {@code null} if the predicate isn't either always
+     * true or a range predicate on the given attribute of the index.
+     */
+    static Iterator<IndexKeyEntries> iterator(InternalIndex index, String attribute, Predicate predicate) {
+        if (predicate instanceof TruePredicate) {
+            return index.getSqlRecordIteratorBatch(false);
+        }
+        if (!(predicate instanceof RangePredicate rangePredicate)
+                || !attribute.equals(IndexUtils.canonicalizeAttribute(rangePredicate.getAttribute()))) {
+            return null;
+        }
+
+        Comparable from = rangePredicate.getFrom();
+        Comparable to = rangePredicate.getTo();
+        if (from == null && to == null) {
+            // comparisons with null are evaluated differently
+            return null;
+        } else if (from == null) {
+            return index.getSqlRecordIteratorBatch(rangePredicate.isToInclusive() ? LESS_OR_EQUAL : LESS, to, false);
+        } else if (to == null) {
+            return index.getSqlRecordIteratorBatch(rangePredicate.isFromInclusive() ? GREATER_OR_EQUAL : GREATER, from, false);
+        } else {
+            return index.getSqlRecordIteratorBatch(from, rangePredicate.isFromInclusive(), to, rangePredicate.isToInclusive(),
+                    false);
+        }
+    }
+
+    /**
+     * Passes the entries of the given iterator accepted by the given filter to
+     * the given consumer along with their keys, the index {@code NULL} key is
+     * passed as {@code null}.
+     */
+    static void forEach(Iterator<IndexKeyEntries> iterator, java.util.function.Predicate<QueryableEntry> resultFilter,
+                        BiConsumer<QueryableEntry, Object> consumer) {
+        while (iterator.hasNext()) {
+            IndexKeyEntries keyEntries = iterator.next();
+            Object value = keyEntries.getIndexKey() == AbstractIndex.NULL ? null : keyEntries.getIndexKey();
+            Iterator<QueryableEntry> entries = keyEntries.getEntries();
+            while (entries.hasNext()) {
+                QueryableEntry entry = entries.next();
+                if (resultFilter == null || resultFilter.test(entry)) {
+                    consumer.accept(entry, value);
+                }
+            }
+        }
+    }
+}
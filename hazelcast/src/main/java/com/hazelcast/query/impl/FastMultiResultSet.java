@@ -26,10 +26,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static java.util.Collections.singletonList;
+
 /**
  * Multiple result set for Predicates.
  */
-public class FastMultiResultSet extends AbstractSet<QueryableEntry> implements MultiResultSet {
+public class FastMultiResultSet extends AbstractSet<QueryableEntry> implements MultiResultSet, SplittableResultSet {
 
     private Set<Object> index;
     private final List<Map<Data, QueryableEntry>> resultSets
@@ -69,6 +71,28 @@ public class FastMultiResultSet extends AbstractSet<QueryableEntry> implements M
         }
     }
 
+    /**
+     * Splits the result sets, one per index key, into contiguous groups of
+     * about the same number of keys. The entries of a key are never split.
+     */
+    @Override
+    public List<Set<QueryableEntry>> split(int maxParts, int minKeysPerPart) {
+        int keyCount = resultSets.size();
+        int partCount = Math.min(maxParts, keyCount / minKeysPerPart);
+        if (partCount <= 1) {
+            return singletonList(this);
+        }
+
+        List<Set<QueryableEntry>> parts = new ArrayList<>(partCount);
+        for (int part = 0; part < partCount; part++) {
+            FastMultiResultSet partSet = new FastMultiResultSet();
+            partSet.resultSets.addAll(resultSets.subList((int) ((long) keyCount * part / partCount),
+                    (int) ((long) keyCount * (part + 1) / partCount)));
+            parts.add(partSet);
+        }
+        return parts;
+    }
+
     private boolean checkFromIndex(QueryableEntry entry) {
         return index.contains(entry.getKeyData());
     }
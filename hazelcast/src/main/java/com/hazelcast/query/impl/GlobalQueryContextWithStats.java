@@ -130,6 +130,21 @@ public class GlobalQueryContextWithStats extends QueryContext {
             return delegate.isEvaluateOnly();
         }
 
+        @Override
+        public boolean isCovering() {
+            return delegate.isCovering();
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable value) {
+            return delegate.estimateRecordCount(value);
+        }
+
+        @Override
+        public long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+            return delegate.estimateRecordCount(from, fromInclusive, to, toInclusive);
+        }
+
         @Override
         public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
             return delegate.canEvaluate(predicateClass);
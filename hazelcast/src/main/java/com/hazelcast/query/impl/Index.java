@@ -280,6 +280,37 @@ public interface Index {
      */
     Set<QueryableEntry> getRecords(Comparison comparison, Comparable value);
 
+    /**
+     * Estimates the number of entries whose attribute values are equal to the
+     * given value without producing the result set.
+     *
+     * @param value the value to compare against.
+     * @return the estimated number of entries or {@code -1} if this index
+     * can't estimate it.
+     */
+    default long estimateRecordCount(Comparable value) {
+        return -1;
+    }
+
+    /**
+     * Estimates the number of entries in the range defined by the passed
+     * arguments without producing the result set.
+     *
+     * @param from          the beginning of the range or {@code null} if the
+     *                      range is left-unbounded.
+     * @param fromInclusive {@code true} if the beginning of the range is
+     *                      inclusive, {@code false} otherwise.
+     * @param to            the end of the range or {@code null} if the range
+     *                      is right-unbounded.
+     * @param toInclusive   {@code true} if the end of the range is inclusive,
+     *                      {@code false} otherwise.
+     * @return the estimated number of entries or {@code -1} if this index
+     * can't estimate it.
+     */
+    default long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        return -1;
+    }
+
     /**
      * Clears out all entries from this index.
      */
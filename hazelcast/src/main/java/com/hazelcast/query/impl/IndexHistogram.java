@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.util.HashUtil;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
+
+/**
+ * Lightweight statistics of the values stored in an index store, updated
+ * incrementally on every insertion and removal.
+ * <p>
+ * The statistics consist of the number of stored values, the number of
+ * values hashed into each of a fixed set of buckets and the observed range
+ * of numeric values. They are used to estimate how many records a predicate
+ * matches before evaluating it, so the query engine can start from the most
+ * selective index. The estimates are approximate by design: hash collisions
+ * overestimate equality matches, ranges assume uniformly distributed values
+ * and the observed numeric range never shrinks.
+ */
+final class IndexHistogram {
+
+    private static final int BUCKET_COUNT = 1024;
+    private static final int BUCKET_MASK = BUCKET_COUNT - 1;
+
+    /**
+     * The selectivity assumed for ranges of values which can't be placed on
+     * the observed numeric range.
+     */
+    private static final double DEFAULT_RANGE_SELECTIVITY = 1.0 / 3;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+
+    // updated without synchronization, a concurrently lost update only makes
+    // the range estimates less precise
+    private volatile double min = Double.POSITIVE_INFINITY;
+    private volatile double max = Double.NEGATIVE_INFINITY;
+
+    void onInsert(Comparable value) {
+        count.incrementAndGet();
+        buckets.incrementAndGet(bucket(value));
+        if (value instanceof Number number) {
+            double doubleValue = number.doubleValue();
+            if (doubleValue < min) {
+                min = doubleValue;
+            }
+            if (doubleValue > max) {
+                max = doubleValue;
+            }
+        }
+    }
+
+    void onRemove(Comparable value) {
+        count.decrementAndGet();
+        buckets.decrementAndGet(bucket(value));
+    }
+
+    void clear() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * @return the estimated number of records associated with the given value.
+     */
+    long estimateEqual(Comparable value) {
+        return Math.max(0, buckets.get(bucket(value)));
+    }
+
+    /**
+     * @return the estimated number of records associated with the values in
+     * the given range, a {@code null} or {@code NULL} bound makes the range
+     * unbounded from that side.
+     */
+    long estimateRange(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        if (!isNull(from) && !isNull(to) && fromInclusive && toInclusive && Comparables.equal(from, to)) {
+            return estimateEqual(from);
+        }
+        long total = Math.max(0, count.get());
+        double selectivity = selectivity(isNull(from) ? null : asDouble(from), isNull(to) ? null : asDouble(to));
+        if (selectivity == 0) {
+            return 0;
+        }
+        // a range always includes at least the values equal to its bounds
+        return Math.max((long) (total * selectivity), Math.min(total, 1));
+    }
+
+    /**
+     * @return the fraction of the observed numeric range covered by the given
+     * range, a {@code null} bound makes the range unbounded from that side.
+     */
+    private double selectivity(Double from, Double to) {
+        double observedMin = min;
+        double observedMax = max;
+        if (observedMin > observedMax || from != null && from.isNaN() || to != null && to.isNaN()) {
+            // the range can't be placed on the observed numeric values
+            return DEFAULT_RANGE_SELECTIVITY;
+        }
+        double low = from == null ? observedMin : Math.max(from, observedMin);
+        double high = to == null ? observedMax : Math.min(to, observedMax);
+        if (low > high) {
+            return 0;
+        }
+        double span = observedMax - observedMin;
+        return span == 0 ? 1 : (high - low) / span;
+    }
+
+    private static double asDouble(Comparable value) {
+        return value instanceof Number number ? number.doubleValue() : Double.NaN;
+    }
+
+    private static int bucket(Comparable value) {
+        return HashUtil.fastIntMix(Comparables.canonicalizeForHashLookup(value).hashCode()) & BUCKET_MASK;
+    }
+}
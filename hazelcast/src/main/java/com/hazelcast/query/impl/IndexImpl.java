@@ -23,6 +23,8 @@ import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.query.impl.GlobalIndexPartitionTracker.PartitionStamp;
 import com.hazelcast.query.impl.getters.Extractors;
 
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_INDEX_PAGED_STORES_ENABLED;
+
 /**
  * Provides implementation of on-heap indexes.
  */
@@ -49,7 +51,15 @@ public class IndexImpl extends AbstractIndex {
                                           PerIndexStats stats, String mapName, int ignored) {
         switch (config.getType()) {
             case SORTED:
-                return new OrderedIndexStore(copyBehavior);
+                if (node == null || !node.getProperties().getBoolean(QUERY_INDEX_PAGED_STORES_ENABLED)) {
+                    return new OrderedIndexStore(copyBehavior);
+                }
+                // composite values have no primitive encoding
+                if (config.getAttributes().size() == 1) {
+                    int pageCapacity = BTreeIndexStore.pageCapacity(config.getBTreeIndexConfig());
+                    return new NumericOrderedIndexStore(copyBehavior, pageCapacity);
+                }
+                return new BTreeIndexStore(copyBehavior, config.getBTreeIndexConfig());
             case HASH:
                 return new UnorderedIndexStore(copyBehavior);
             case BITMAP:
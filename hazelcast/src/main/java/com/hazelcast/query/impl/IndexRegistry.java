@@ -37,9 +37,11 @@ import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -484,6 +486,47 @@ public class IndexRegistry {
         }
     }
 
+    /**
+     * Performs a query on the index covering the given attribute, passing each
+     * matched entry along with its attribute value read from the index keys to
+     * the given consumer, so the attribute isn't extracted from the entries.
+     * <p>
+     * The query is performed only if the given predicate is either always
+     * true or a range predicate on the attribute itself, so the index keys
+     * alone decide which entries match.
+     *
+     * @param attribute           the attribute to read the values of.
+     * @param predicate           the predicate to evaluate.
+     * @param ownedPartitionCount a count of owned partitions a query runs on.
+     *                            Negative value indicates that the value is not defined.
+     * @param consumer            the consumer of the matched entries and their
+     *                            attribute values.
+     * @return {@code true} if the query was performed, {@code false} if there
+     * is no covering index for the attribute or the predicate can't be
+     * evaluated using its keys.
+     * @see InternalIndex#isCovering()
+     */
+    public boolean queryCovering(String attribute, Predicate predicate, int ownedPartitionCount,
+                                 BiConsumer<QueryableEntry, Object> consumer) {
+        if (!haveAtLeastOneIndex()) {
+            return false;
+        }
+        String canonicalAttribute = IndexUtils.canonicalizeAttribute(attribute);
+        InternalIndex index = matchIndex(canonicalAttribute, QueryContext.IndexMatchHint.PREFER_ORDERED, ownedPartitionCount);
+        if (index == null || !index.isOrdered() || !index.isCovering()) {
+            return false;
+        }
+        Iterator<IndexKeyEntries> iterator = CoveringIndexQuery.iterator(index, canonicalAttribute, predicate);
+        if (iterator == null) {
+            return false;
+        }
+
+        stats.incrementQueryCount();
+        stats.incrementIndexedQueryCount();
+        CoveringIndexQuery.forEach(iterator, resultFilterFactory != null ? resultFilterFactory.get() : null, consumer);
+        return true;
+    }
+
     public boolean canQueryOverIndex(Predicate predicate) {
         return haveAtLeastOneIndex() && predicate instanceof IndexAwarePredicate;
     }
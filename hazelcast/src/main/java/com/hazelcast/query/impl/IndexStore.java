@@ -127,6 +127,45 @@ public interface IndexStore {
      */
     boolean canEvaluate(Class<? extends Predicate> predicateClass);
 
+    /**
+     * @return {@code true} if the keys of this index store are the attribute
+     * values of the records exactly as they were extracted, one key per
+     * record, so the keys may be read instead of the records, {@code false}
+     * otherwise.
+     */
+    default boolean isCovering() {
+        return false;
+    }
+
+    /**
+     * Estimates the number of records associated with the given value without
+     * looking them up.
+     *
+     * @param value the value to estimate the number of records for.
+     * @return the estimated number of records or {@code -1} if this store
+     * can't estimate it.
+     */
+    default long estimateRecordCount(Comparable value) {
+        return -1;
+    }
+
+    /**
+     * Estimates the number of records associated with the values in the given
+     * range without looking them up.
+     *
+     * @param from          the beginning of the range or {@code null} if the
+     *                      range is left-unbounded.
+     * @param fromInclusive {@code true} if the beginning of the range is inclusive.
+     * @param to            the end of the range or {@code null} if the range
+     *                      is right-unbounded.
+     * @param toInclusive   {@code true} if the end of the range is inclusive.
+     * @return the estimated number of records or {@code -1} if this store
+     * can't estimate it.
+     */
+    default long estimateRecordCount(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        return -1;
+    }
+
     /**
      * Evaluates the given predicate using this index store.
      *
@@ -39,6 +39,16 @@ public interface InternalIndex extends Index {
      */
     Comparable canonicalizeQueryArgumentScalar(Comparable value);
 
+    /**
+     * Returns {@code true} if this index covers its single attribute, i.e. its
+     * keys are the values of the attribute exactly as they were extracted from
+     * the indexed entries, one key per entry, {@code false} otherwise.
+     * <p>
+     * A covering index may answer aggregations over its attribute from the
+     * index keys alone, without extracting the attribute from the entries.
+     */
+    boolean isCovering();
+
     /**
      * Returns {@code true} if the given partition is indexed by this index,
      * {@code false} otherwise.
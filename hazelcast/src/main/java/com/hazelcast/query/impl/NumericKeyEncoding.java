@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+import static java.time.ZoneOffset.UTC;
+
+/**
+ * Order-preserving encodings of numeric and temporal index values into
+ * primitive {@code long} keys.
+ * <p>
+ * For every encoding, the signed order of the encoded keys matches the
+ * {@link Comparable#compareTo} order of the encoded values, and decoding
+ * a key gives back a value equal to the encoded one and of the same class.
+ *
+ * @see NumericOrderedIndexStore
+ */
+@SuppressWarnings("rawtypes")
+enum NumericKeyEncoding {
+
+    LONG(Long.class) {
+        @Override
+        Comparable decode(long key) {
+            return key;
+        }
+    },
+
+    INTEGER(Integer.class) {
+        @Override
+        Comparable decode(long key) {
+            return (int) key;
+        }
+    },
+
+    SHORT(Short.class) {
+        @Override
+        Comparable decode(long key) {
+            return (short) key;
+        }
+    },
+
+    BYTE(Byte.class) {
+        @Override
+        Comparable decode(long key) {
+            return (byte) key;
+        }
+    },
+
+    DOUBLE(Double.class) {
+        @Override
+        Comparable decode(long key) {
+            return decodeDouble(key);
+        }
+    },
+
+    FLOAT(Float.class) {
+        @Override
+        Comparable decode(long key) {
+            return (float) decodeDouble(key);
+        }
+    },
+
+    DATE(Date.class) {
+        @Override
+        long encode(Comparable value) {
+            return ((Date) value).getTime();
+        }
+
+        @Override
+        Comparable decode(long key) {
+            return new Date(key);
+        }
+    },
+
+    LOCAL_DATE(LocalDate.class) {
+        @Override
+        long encode(Comparable value) {
+            return ((LocalDate) value).toEpochDay();
+        }
+
+        @Override
+        Comparable decode(long key) {
+            return LocalDate.ofEpochDay(key);
+        }
+    },
+
+    LOCAL_DATE_TIME(LocalDateTime.class) {
+        @Override
+        boolean canEncodeValue(Comparable value) {
+            return isEpochNanosRepresentable(((LocalDateTime) value).toEpochSecond(UTC));
+        }
+
+        @Override
+        long encode(Comparable value) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            return dateTime.toEpochSecond(UTC) * NANOS_PER_SECOND + dateTime.getNano();
+        }
+
+        @Override
+        Comparable decode(long key) {
+            return LocalDateTime.ofEpochSecond(Math.floorDiv(key, NANOS_PER_SECOND),
+                    (int) Math.floorMod(key, NANOS_PER_SECOND), UTC);
+        }
+    },
+
+    INSTANT(Instant.class) {
+        @Override
+        boolean canEncodeValue(Comparable value) {
+            return isEpochNanosRepresentable(((Instant) value).getEpochSecond());
+        }
+
+        @Override
+        long encode(Comparable value) {
+            Instant instant = (Instant) value;
+            return instant.getEpochSecond() * NANOS_PER_SECOND + instant.getNano();
+        }
+
+        @Override
+        Comparable decode(long key) {
+            return Instant.ofEpochSecond(Math.floorDiv(key, NANOS_PER_SECOND), Math.floorMod(key, NANOS_PER_SECOND));
+        }
+    };
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long MAX_EPOCH_NANOS_SECONDS = Long.MAX_VALUE / NANOS_PER_SECOND - 1;
+
+    private static final NumericKeyEncoding[] ENCODINGS = values();
+
+    private final Class<?> valueClass;
+
+    NumericKeyEncoding(Class<?> valueClass) {
+        this.valueClass = valueClass;
+    }
+
+    /**
+     * Returns the encoding for the given value or {@code null} if the value
+     * has no primitive encoding.
+     */
+    static NumericKeyEncoding forValue(Comparable value) {
+        for (NumericKeyEncoding encoding : ENCODINGS) {
+            if (encoding.canEncode(value)) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the given value can be stored using this encoding: it
+     * must be of the exact value class of the encoding, so it can be decoded
+     * back without changing its type.
+     */
+    final boolean canEncode(Comparable value) {
+        return value.getClass() == valueClass && canEncodeValue(value);
+    }
+
+    /**
+     * Checks whether the given query argument can be compared with the values
+     * stored using this encoding by comparing the encoded keys. For integral
+     * and floating-point encodings the check is relaxed to the whole family
+     * of types, since {@link Comparables#compare} compares them by value.
+     */
+    final boolean canEncodeArgument(Comparable value) {
+        if (isIntegral()) {
+            return isIntegral(value);
+        } else if (this == DOUBLE || this == FLOAT) {
+            return value instanceof Double || value instanceof Float;
+        } else {
+            return canEncode(value);
+        }
+    }
+
+    /**
+     * Encodes the given value, which must be accepted by {@link #canEncode}
+     * or {@link #canEncodeArgument}.
+     */
+    long encode(Comparable value) {
+        return isIntegral() ? ((Number) value).longValue() : encodeDouble(((Number) value).doubleValue());
+    }
+
+    abstract Comparable decode(long key);
+
+    boolean canEncodeValue(Comparable value) {
+        return true;
+    }
+
+    private boolean isIntegral() {
+        return this == LONG || this == INTEGER || this == SHORT || this == BYTE;
+    }
+
+    private static boolean isIntegral(Comparable value) {
+        return value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    private static boolean isEpochNanosRepresentable(long epochSecond) {
+        return epochSecond >= -MAX_EPOCH_NANOS_SECONDS && epochSecond <= MAX_EPOCH_NANOS_SECONDS;
+    }
+
+    /**
+     * Flips the magnitude bits of negative values, so the signed order of the
+     * keys matches {@link Double#compare}, including negative zero and NaN.
+     */
+    private static long encodeDouble(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits ^ ((bits >> (Long.SIZE - 1)) & Long.MAX_VALUE);
+    }
+
+    private static double decodeDouble(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> (Long.SIZE - 1)) & Long.MAX_VALUE));
+    }
+}
@@ -0,0 +1,764 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+
+import javax.annotation.Nonnull;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static com.hazelcast.query.impl.OrderedIndexStore.SPECIAL_AWARE_COMPARATOR;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+
+/**
+ * Store indexes rankly, keeping numeric and temporal values as primitive keys.
+ * <p>
+ * The values of the indexed attribute are encoded into {@code long} keys (see
+ * {@link NumericKeyEncoding}) and kept in {@link SortedLongRuns}, so neither
+ * the keys nor the per-key records are boxed into skip list nodes. The
+ * records associated with a key are kept in {@link RecordSlots}. Records with
+ * {@code null} attribute values are kept aside, they are ordered before any
+ * other value.
+ * <p>
+ * The encoding is chosen by the first non-null value inserted into the store.
+ * Once a value that can't be encoded is inserted (for instance, a string or a
+ * number of another type in an attribute declared as {@code Object}), the
+ * store hands all its records over to a {@link BTreeIndexStore} and
+ * delegates to it from then on.
+ * <p>
+ * All the mutations and reads of the sorted runs are guarded by the global
+ * lock of the store; SQL iterators read them in batches, taking the read lock
+ * for every batch. Maps of records sharing a key are never copied on write,
+ * they are copied when returned as a result unless the copy behavior is
+ * {@link IndexCopyBehavior#NEVER}.
+ */
+@SuppressWarnings({"rawtypes", "unchecked", "checkstyle:MethodCount"})
+public class NumericOrderedIndexStore extends BaseSingleValueIndexStore {
+
+    private static final int BATCH_SIZE = 64;
+
+    private final IndexCopyBehavior copyOn;
+    private final boolean snapshotResults;
+    private final int pageCapacity;
+
+    private volatile SortedLongRuns records;
+    private volatile NavigableMap<Data, QueryableEntry> nullRecords = new ConcurrentSkipListMap<>(DATA_COMPARATOR);
+    private volatile NumericKeyEncoding encoding;
+    private volatile BTreeIndexStore fallback;
+
+    public NumericOrderedIndexStore(IndexCopyBehavior copyOn) {
+        this(copyOn, BTreeIndexStore.pageCapacity(null));
+    }
+
+    /**
+     * @param pageCapacity the number of entries in a sorted run, see
+     *                     {@link BTreeIndexStore#pageCapacity}.
+     */
+    public NumericOrderedIndexStore(IndexCopyBehavior copyOn, int pageCapacity) {
+        super(copyOn, true);
+        assert copyOn != null;
+        this.copyOn = copyOn;
+        this.snapshotResults = copyOn != IndexCopyBehavior.NEVER;
+        this.pageCapacity = pageCapacity;
+        this.records = new SortedLongRuns(pageCapacity);
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        BTreeIndexStore fallback = this.fallback;
+        if (fallback == null && value != NULL && !acceptsForStorage(value)) {
+            fallback = switchToFallback();
+        }
+        if (fallback != null) {
+            fallback.inheritDuplicateDetection(this);
+            return fallback.insertInternal(value, record);
+        }
+
+        if (value == NULL) {
+            return nullRecords.put(record.getKeyData(), record);
+        }
+        return insertEncoded(encoding.encode(value), record);
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        BTreeIndexStore fallback = this.fallback;
+        if (fallback != null) {
+            return fallback.removeInternal(value, recordKey);
+        }
+
+        if (value == NULL) {
+            return nullRecords.remove(recordKey);
+        }
+        NumericKeyEncoding encoding = this.encoding;
+        if (encoding == null || !encoding.canEncode(value)) {
+            // such a value was never stored
+            return null;
+        }
+        return removeEncoded(encoding.encode(value), recordKey);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // Same as for OrderedIndexStore, the canonicalization is needed to
+        // support InPredicate queries.
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            records = new SortedLongRuns(pageCapacity);
+            nullRecords = new ConcurrentSkipListMap<>(DATA_COMPARATOR);
+            encoding = null;
+            fallback = null;
+            clearStatistics();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean isCovering() {
+        return !hasMultiValueRecords();
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return {@code true} if the records of this store were handed over to
+     * a {@link BTreeIndexStore} since the indexed values can't be encoded
+     * as primitive keys, {@code false} otherwise.
+     */
+    boolean isFallback() {
+        return fallback != null;
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(@Nonnull Comparable value) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(value, false));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable searchedValue, boolean descending) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(comparison, searchedValue, descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return new OrderedIndexStore.IteratorFromBatch(getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive,
+                descending));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(@Nonnull Comparable value, boolean descending) {
+        return getSqlRecordIteratorBatch(value, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable value,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        BTreeIndexStore fallback = this.fallback;
+        if (fallback != null) {
+            return fallback.getSqlRecordIteratorBatch(value, descending, lastEntryKeyData);
+        }
+
+        Object found;
+        takeReadLock();
+        try {
+            found = lookup(value);
+        } finally {
+            releaseReadLock();
+        }
+        if (found == null) {
+            return emptyIterator();
+        }
+        Iterator<QueryableEntry> entries = RecordSlots.iterator(found, descending, lastEntryKeyData);
+        return Collections.singletonList(new IndexKeyEntries(value, entries)).iterator();
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        BTreeIndexStore fallback = this.fallback;
+        if (fallback != null) {
+            return fallback.getSqlRecordIteratorBatch(descending);
+        }
+        return new KeyEntriesIterator(Range.all(encoding), descending, null, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(comparison, searchedValue, descending, null);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparison comparison,
+            @Nonnull Comparable searchedValue,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        switch (comparison) {
+            case LESS:
+                return getSqlRecordIteratorBatch(NULL, false, searchedValue, false, descending, lastEntryKeyData);
+            case LESS_OR_EQUAL:
+                return getSqlRecordIteratorBatch(NULL, false, searchedValue, true, descending, lastEntryKeyData);
+            case GREATER:
+                return getSqlRecordIteratorBatch(searchedValue, false, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            case GREATER_OR_EQUAL:
+                return getSqlRecordIteratorBatch(searchedValue, true, POSITIVE_INFINITY, true, descending, lastEntryKeyData);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        return getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending, null);
+    }
+
+    @Override
+    @SuppressWarnings({"checkstyle:NPathComplexity", "checkstyle:CyclomaticComplexity"})
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            @Nonnull Comparable from,
+            boolean fromInclusive,
+            @Nonnull Comparable to,
+            boolean toInclusive,
+            boolean descending,
+            Data lastEntryKeyData
+    ) {
+        BTreeIndexStore fallback = this.fallback;
+        if (fallback != null) {
+            return fallback.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending, lastEntryKeyData);
+        }
+
+        boolean useCursor = lastEntryKeyData != null;
+        if (useCursor && !descending && !fromInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `from` must be inclusive");
+        }
+        if (useCursor && descending && !toInclusive) {
+            throw new IllegalArgumentException("If `lastEntryKeyData` is not null then `to` must be inclusive");
+        }
+
+        int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return getSqlRecordIteratorBatch(from, descending, lastEntryKeyData);
+        } else if (order > 0) {
+            return emptyIterator();
+        }
+
+        Range range;
+        takeReadLock();
+        try {
+            range = range(from, fromInclusive, to, toInclusive);
+        } finally {
+            releaseReadLock();
+        }
+        return new KeyEntriesIterator(range, descending, lastEntryKeyData, descending ? to : from);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            BTreeIndexStore fallback = this.fallback;
+            if (fallback != null) {
+                return fallback.getRecords(value);
+            }
+
+            Object found = lookup(value);
+            return found == null ? emptySet() : new SingleResultSet(RecordSlots.asMap(found, snapshotResults));
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            BTreeIndexStore fallback = this.fallback;
+            if (fallback != null) {
+                return fallback.getRecords(values);
+            }
+
+            MultiResultSet results = createMultiResultSet();
+            Map<Data, QueryableEntry> singleRecords = null;
+            for (Comparable value : values) {
+                Object found = lookup(value);
+                if (found != null) {
+                    singleRecords = RecordSlots.collect(found, singleRecords, results, snapshotResults);
+                }
+            }
+            if (singleRecords != null) {
+                results.addResultSet(singleRecords);
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        switch (comparison) {
+            case LESS:
+                return getRecords(NULL, false, searchedValue, false);
+            case LESS_OR_EQUAL:
+                return getRecords(NULL, false, searchedValue, true);
+            case GREATER:
+                return getRecords(searchedValue, false, POSITIVE_INFINITY, true);
+            case GREATER_OR_EQUAL:
+                return getRecords(searchedValue, true, POSITIVE_INFINITY, true);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        takeReadLock();
+        try {
+            BTreeIndexStore fallback = this.fallback;
+            if (fallback != null) {
+                return fallback.getRecords(from, fromInclusive, to, toInclusive);
+            }
+
+            int order = SPECIAL_AWARE_COMPARATOR.compare(from, to);
+            if (order == 0) {
+                if (!fromInclusive || !toInclusive) {
+                    return emptySet();
+                }
+                Object found = lookup(from);
+                return found == null ? emptySet() : new SingleResultSet(RecordSlots.asMap(found, snapshotResults));
+            } else if (order > 0) {
+                return emptySet();
+            }
+            return collectRecords(range(from, fromInclusive, to, toInclusive));
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * Collects the records in the given range. Single records are gathered
+     * into a single result map instead of allocating a map per key.
+     * Needs to be invoked under the read lock.
+     */
+    private Set<QueryableEntry> collectRecords(Range range) {
+        MultiResultSet results = createMultiResultSet();
+        if (range.includesNulls && !nullRecords.isEmpty()) {
+            results.addResultSet(RecordSlots.asMap(nullRecords, snapshotResults));
+        }
+        if (range.isEmpty()) {
+            return results;
+        }
+
+        Map<Data, QueryableEntry> singleRecords = null;
+        long[] keys = new long[BATCH_SIZE];
+        Object[] values = new Object[BATCH_SIZE];
+        long next = range.from;
+        boolean inclusive = range.fromInclusive;
+        int count;
+        do {
+            count = records.fill(next, inclusive, false, keys, values);
+            for (int i = 0; i < count; i++) {
+                if (range.isBeyondTo(keys[i])) {
+                    count = 0;
+                    break;
+                }
+                singleRecords = RecordSlots.collect(values[i], singleRecords, results, snapshotResults);
+            }
+            next = keys[BATCH_SIZE - 1];
+            inclusive = false;
+        } while (count == BATCH_SIZE);
+
+        if (singleRecords != null) {
+            // the map is private to this result, there is no need to copy it
+            results.addResultSet(singleRecords);
+        }
+        return results;
+    }
+
+    private boolean acceptsForStorage(Comparable value) {
+        NumericKeyEncoding encoding = this.encoding;
+        if (encoding != null) {
+            return encoding.canEncode(value);
+        }
+        encoding = NumericKeyEncoding.forValue(value);
+        if (encoding == null) {
+            return false;
+        }
+        this.encoding = encoding;
+        return true;
+    }
+
+    private Object insertEncoded(long key, QueryableEntry record) {
+        Object slot = records.get(key);
+        QueryableEntry previous = RecordSlots.get(slot, record.getKeyData());
+        records.put(key, RecordSlots.withRecord(slot, record));
+        return previous;
+    }
+
+    private Object removeEncoded(long key, Data recordKey) {
+        Object slot = records.get(key);
+        QueryableEntry previous = RecordSlots.get(slot, recordKey);
+        if (previous != null) {
+            Object remaining = RecordSlots.withoutRecord(slot, recordKey);
+            if (remaining == null) {
+                records.remove(key);
+            } else {
+                records.put(key, remaining);
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * Hands all the records over to a new {@link BTreeIndexStore} sharing the
+     * global lock of this store. The sorted runs and the map of null records
+     * are replaced and never mutated afterwards, so the iterators created
+     * before the switch stay valid. Needs to be invoked under the write lock.
+     */
+    private BTreeIndexStore switchToFallback() {
+        BTreeIndexStore fallback = new BTreeIndexStore(copyOn, pageCapacity, getGlobalLock());
+        fallback.inheritDuplicateDetection(this);
+        for (QueryableEntry record : nullRecords.values()) {
+            fallback.insertInternal(NULL, record);
+        }
+
+        NumericKeyEncoding encoding = this.encoding;
+        long[] keys = new long[BATCH_SIZE];
+        Object[] values = new Object[BATCH_SIZE];
+        long next = Long.MIN_VALUE;
+        boolean inclusive = true;
+        int count;
+        do {
+            count = records.fill(next, inclusive, false, keys, values);
+            for (int i = 0; i < count; i++) {
+                Comparable value = encoding.decode(keys[i]);
+                Iterator<QueryableEntry> iterator = RecordSlots.iterator(values[i], false, null);
+                while (iterator.hasNext()) {
+                    fallback.insertInternal(value, iterator.next());
+                }
+            }
+            next = keys[BATCH_SIZE - 1];
+            inclusive = false;
+        } while (count == BATCH_SIZE);
+
+        records = new SortedLongRuns(pageCapacity);
+        nullRecords = new ConcurrentSkipListMap<>(DATA_COMPARATOR);
+        this.fallback = fallback;
+        return fallback;
+    }
+
+    /**
+     * Finds the records associated with the given value: either a single
+     * record or a map of records. Needs to be invoked under the read lock.
+     */
+    private Object lookup(Comparable value) {
+        if (isNull(value)) {
+            return nullRecords.isEmpty() ? null : nullRecords;
+        }
+        NumericKeyEncoding encoding = this.encoding;
+        if (encoding == null || value == POSITIVE_INFINITY) {
+            return null;
+        }
+        if (encoding.canEncodeArgument(value)) {
+            return records.get(encoding.encode(value));
+        }
+
+        OptionalLong key = records.firstKeyMatching(k -> Comparables.compare(encoding.decode(k), value) >= 0);
+        if (key.isPresent() && Comparables.compare(encoding.decode(key.getAsLong()), value) == 0) {
+            return records.get(key.getAsLong());
+        }
+        return null;
+    }
+
+    /**
+     * Translates the given bounds into the bounds of the encoded keys. Needs
+     * to be invoked under the read lock.
+     */
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private Range range(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        NumericKeyEncoding encoding = this.encoding;
+        Range range = new Range(encoding, isNull(from) && fromInclusive);
+        if (encoding == null || from == POSITIVE_INFINITY || isNull(to)) {
+            return range.empty();
+        }
+
+        if (isNull(from)) {
+            range.from = Long.MIN_VALUE;
+            range.fromInclusive = true;
+        } else if (encoding.canEncodeArgument(from)) {
+            range.from = encoding.encode(from);
+            range.fromInclusive = fromInclusive;
+        } else {
+            OptionalLong key = records.firstKeyMatching(k -> {
+                int order = Comparables.compare(encoding.decode(k), from);
+                return fromInclusive ? order >= 0 : order > 0;
+            });
+            if (key.isEmpty()) {
+                return range.empty();
+            }
+            range.from = key.getAsLong();
+            range.fromInclusive = true;
+        }
+
+        if (to == POSITIVE_INFINITY) {
+            range.to = Long.MAX_VALUE;
+            range.toInclusive = true;
+        } else if (encoding.canEncodeArgument(to)) {
+            range.to = encoding.encode(to);
+            range.toInclusive = toInclusive;
+        } else {
+            OptionalLong key = records.firstKeyMatching(k -> {
+                int order = Comparables.compare(encoding.decode(k), to);
+                return toInclusive ? order > 0 : order >= 0;
+            });
+            range.to = key.orElse(Long.MAX_VALUE);
+            range.toInclusive = key.isEmpty();
+        }
+        return range;
+    }
+
+    private static boolean isNull(Comparable value) {
+        return value == null || value == NULL;
+    }
+
+    /**
+     * A range of encoded keys, optionally preceded by the null records.
+     */
+    private static final class Range {
+        final NumericKeyEncoding encoding;
+        final boolean includesNulls;
+        long from;
+        boolean fromInclusive;
+        long to;
+        boolean toInclusive;
+        boolean empty;
+
+        Range(NumericKeyEncoding encoding, boolean includesNulls) {
+            this.encoding = encoding;
+            this.includesNulls = includesNulls;
+        }
+
+        static Range all(NumericKeyEncoding encoding) {
+            Range range = new Range(encoding, true);
+            range.from = Long.MIN_VALUE;
+            range.fromInclusive = true;
+            range.to = Long.MAX_VALUE;
+            range.toInclusive = true;
+            range.empty = encoding == null;
+            return range;
+        }
+
+        Range empty() {
+            empty = true;
+            return this;
+        }
+
+        boolean isEmpty() {
+            return empty || from > to || from == to && !(fromInclusive && toInclusive);
+        }
+
+        boolean isBeyondTo(long key) {
+            return key > to || key == to && !toInclusive;
+        }
+
+        boolean isBeyondFrom(long key) {
+            return key < from || key == from && !fromInclusive;
+        }
+    }
+
+    /**
+     * Iterates over the keys of a range, reading the sorted runs in batches
+     * under the read lock. The iterator is weakly consistent: it reflects the
+     * state of the runs at the time every batch is read.
+     */
+    private final class KeyEntriesIterator implements Iterator<IndexKeyEntries> {
+        private final SortedLongRuns runs = records;
+        private final NavigableMap<Data, QueryableEntry> nulls = nullRecords;
+        private final Range range;
+        private final boolean descending;
+        private final Comparable cursorKey;
+        private final long[] keys = new long[BATCH_SIZE];
+        private final Object[] values = new Object[BATCH_SIZE];
+
+        private Data lastEntryKeyData;
+
+        private boolean nullsPending;
+        private boolean exhausted;
+        private long next;
+        private boolean nextInclusive;
+        private int count;
+        private int position;
+        private IndexKeyEntries nextEntries;
+
+        KeyEntriesIterator(Range range, boolean descending, Data lastEntryKeyData, Comparable cursorKey) {
+            this.range = range;
+            this.descending = descending;
+            this.lastEntryKeyData = lastEntryKeyData;
+            this.cursorKey = cursorKey;
+            this.nullsPending = range.includesNulls;
+            this.exhausted = range.isEmpty();
+            this.next = descending ? range.to : range.from;
+            this.nextInclusive = descending ? range.toInclusive : range.fromInclusive;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextEntries == null) {
+                nextEntries = advance();
+            }
+            return nextEntries != null;
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            IndexKeyEntries entries = nextEntries;
+            nextEntries = null;
+            return entries;
+        }
+
+        private IndexKeyEntries advance() {
+            if (!descending && nullsPending) {
+                nullsPending = false;
+                if (!nulls.isEmpty()) {
+                    return entries(NULL, nulls);
+                }
+            }
+            if (position < count || fetch()) {
+                long key = keys[position];
+                Object found = values[position];
+                values[position++] = null;
+                return entries(range.encoding.decode(key), found);
+            }
+            if (descending && nullsPending) {
+                nullsPending = false;
+                if (!nulls.isEmpty()) {
+                    return entries(NULL, nulls);
+                }
+            }
+            return null;
+        }
+
+        private boolean fetch() {
+            if (exhausted) {
+                return false;
+            }
+            takeReadLock();
+            try {
+                count = runs.fill(next, nextInclusive, descending, keys, values);
+            } finally {
+                releaseReadLock();
+            }
+            position = 0;
+            // trim the batch to the range
+            for (int i = 0; i < count; i++) {
+                if (descending ? range.isBeyondFrom(keys[i]) : range.isBeyondTo(keys[i])) {
+                    count = i;
+                    exhausted = true;
+                    break;
+                }
+            }
+            if (count < BATCH_SIZE) {
+                exhausted = true;
+            }
+            if (count == 0) {
+                return false;
+            }
+            next = keys[count - 1];
+            nextInclusive = false;
+            return true;
+        }
+
+        private IndexKeyEntries entries(Comparable indexKey, Object found) {
+            Data lastEntryKeyData = this.lastEntryKeyData;
+            if (lastEntryKeyData != null) {
+                // only the first key may be the one of the cursor
+                this.lastEntryKeyData = null;
+                if (SPECIAL_AWARE_COMPARATOR.compare(cursorKey, indexKey) != 0) {
+                    lastEntryKeyData = null;
+                }
+            }
+            return new IndexKeyEntries(indexKey, RecordSlots.iterator(found, descending, lastEntryKeyData));
+        }
+    }
+}
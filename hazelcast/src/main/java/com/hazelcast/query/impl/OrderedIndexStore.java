@@ -113,6 +113,7 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         takeWriteLock();
         try {
             recordMap.clear();
+            clearStatistics();
         } finally {
             releaseWriteLock();
         }
@@ -123,6 +124,11 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
         return false;
     }
 
+    @Override
+    public boolean isCovering() {
+        return !hasMultiValueRecords();
+    }
+
     @Override
     public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
         return false;
@@ -463,11 +469,11 @@ public class OrderedIndexStore extends BaseSingleValueIndexStore {
 
     }
 
-    private static final class IteratorFromBatch implements Iterator<QueryableEntry> {
+    static final class IteratorFromBatch implements Iterator<QueryableEntry> {
         private final Iterator<IndexKeyEntries> iterator;
         private Iterator<QueryableEntry> indexKeyIterator;
 
-        private IteratorFromBatch(@Nonnull Iterator<IndexKeyEntries> iterator) {
+        IteratorFromBatch(@Nonnull Iterator<IndexKeyEntries> iterator) {
             this.iterator = iterator;
             this.indexKeyIterator = iterator.hasNext() ? iterator.next().getEntries() : null;
         }
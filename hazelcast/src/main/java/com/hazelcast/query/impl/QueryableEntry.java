@@ -76,6 +76,15 @@ public abstract class QueryableEntry<K, V> implements Extractable, Map.Entry<K,
 
     protected abstract Object getTargetObject(boolean key);
 
+    /**
+     * Returns the object the attributes of the value are extracted from:
+     * either the deserialized value or, for Portable, Compact and JSON values,
+     * its serialized form.
+     */
+    public Object getValueTargetObject() {
+        return getTargetObject(false);
+    }
+
     /**
      * Returns a converter corresponding to the attribute with the given name.
      * Never {@code null}, but may return {@link TypeConverters#NULL_CONVERTER}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.Data;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static java.util.Collections.emptyIterator;
+
+/**
+ * Helpers for the record slots of paged ordered index stores.
+ * <p>
+ * A slot holds the records associated with an index key: either the record
+ * itself if it's the only one, or a map of the records ordered by their key
+ * data. Single records are not wrapped, since most of the keys of ordered
+ * indexes, like timestamps or identifiers, are associated with a single
+ * record.
+ * <p>
+ * The maps are mutated in place. They are concurrent, so iterators over
+ * them stay valid while the store is updated.
+ *
+ * @see NumericOrderedIndexStore
+ * @see BTreeIndexStore
+ */
+@SuppressWarnings("unchecked")
+final class RecordSlots {
+
+    private RecordSlots() {
+    }
+
+    /**
+     * Returns the record with the given key from the given slot or
+     * {@code null} if there is no such record.
+     */
+    static QueryableEntry get(Object slot, Data recordKey) {
+        if (slot instanceof QueryableEntry record) {
+            return DATA_COMPARATOR.compare(record.getKeyData(), recordKey) == 0 ? record : null;
+        }
+        return slot == null ? null : ((Map<Data, QueryableEntry>) slot).get(recordKey);
+    }
+
+    /**
+     * Adds the given record to the given slot, replacing the record with the
+     * same key if any.
+     *
+     * @return the slot to store.
+     */
+    static Object withRecord(Object slot, QueryableEntry record) {
+        if (slot == null) {
+            return record;
+        }
+        if (slot instanceof QueryableEntry single) {
+            if (DATA_COMPARATOR.compare(single.getKeyData(), record.getKeyData()) == 0) {
+                return record;
+            }
+            NavigableMap<Data, QueryableEntry> records = new ConcurrentSkipListMap<>(DATA_COMPARATOR);
+            records.put(single.getKeyData(), single);
+            records.put(record.getKeyData(), record);
+            return records;
+        }
+        ((Map<Data, QueryableEntry>) slot).put(record.getKeyData(), record);
+        return slot;
+    }
+
+    /**
+     * Removes the record with the given key from the given slot.
+     *
+     * @return the slot to store or {@code null} if no records are left.
+     */
+    static Object withoutRecord(Object slot, Data recordKey) {
+        if (slot instanceof QueryableEntry single) {
+            return DATA_COMPARATOR.compare(single.getKeyData(), recordKey) == 0 ? null : single;
+        }
+        if (slot == null) {
+            return null;
+        }
+        Map<Data, QueryableEntry> records = (Map<Data, QueryableEntry>) slot;
+        records.remove(recordKey);
+        return records.isEmpty() ? null : records;
+    }
+
+    /**
+     * Returns the records of the given slot as a map.
+     *
+     * @param snapshot whether to copy the records, so the result stays
+     *                 intact when the slot is updated.
+     */
+    static Map<Data, QueryableEntry> asMap(Object slot, boolean snapshot) {
+        if (slot instanceof QueryableEntry record) {
+            return Collections.singletonMap(record.getKeyData(), record);
+        }
+        Map<Data, QueryableEntry> records = (Map<Data, QueryableEntry>) slot;
+        return snapshot ? new HashMap<>(records) : records;
+    }
+
+    /**
+     * Returns an iterator over the records of the given slot ordered by their
+     * key data.
+     *
+     * @param lastEntryKeyData if not {@code null}, only the records following
+     *                         the record with this key are returned.
+     */
+    static Iterator<QueryableEntry> iterator(Object slot, boolean descending, Data lastEntryKeyData) {
+        if (slot instanceof QueryableEntry record) {
+            if (lastEntryKeyData != null) {
+                int order = DATA_COMPARATOR.compare(record.getKeyData(), lastEntryKeyData);
+                if (descending ? order >= 0 : order <= 0) {
+                    return emptyIterator();
+                }
+            }
+            return Collections.singleton(record).iterator();
+        }
+
+        NavigableMap<Data, QueryableEntry> records = (NavigableMap<Data, QueryableEntry>) slot;
+        if (descending) {
+            records = records.descendingMap();
+        }
+        if (lastEntryKeyData != null) {
+            records = records.tailMap(lastEntryKeyData, false);
+        }
+        return records.values().iterator();
+    }
+
+    /**
+     * Adds the records of the given slot either to the given map of single
+     * records or, if the slot holds several records, directly to the given
+     * results.
+     *
+     * @return the map of single records, created if it was {@code null}.
+     */
+    static Map<Data, QueryableEntry> collect(Object slot, Map<Data, QueryableEntry> singleRecords,
+                                             MultiResultSet results, boolean snapshot) {
+        if (slot instanceof QueryableEntry record) {
+            if (singleRecords == null) {
+                singleRecords = new HashMap<>();
+            }
+            singleRecords.put(record.getKeyData(), record);
+        } else {
+            results.addResultSet(asMap(slot, snapshot));
+        }
+        return singleRecords;
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.function.LongPredicate;
+
+/**
+ * An ordered map from primitive {@code long} keys to object values.
+ * <p>
+ * The entries are kept in a directory of sorted fixed-capacity runs, which
+ * is a two-level B+tree with a flat root: the first key of every run is
+ * duplicated in a {@code long[]} array, so a lookup is a binary search over
+ * the directory followed by a binary search inside a single run. Keys are
+ * never boxed and, unlike a skip list, there are no per-entry nodes: an
+ * entry costs a {@code long} slot and a reference slot in the arrays of its
+ * run.
+ * <p>
+ * Runs are split in halves when they overflow and merged with their successor
+ * when they become sparse after removals.
+ * <p>
+ * The class is not thread-safe. Mutations and reads must be guarded
+ * externally, for instance by a read-write lock.
+ */
+final class SortedLongRuns {
+
+    private static final int INITIAL_DIRECTORY_CAPACITY = 8;
+
+    private final int runCapacity;
+    private final int mergeThreshold;
+
+    private long[] firstKeys = new long[INITIAL_DIRECTORY_CAPACITY];
+    private Run[] runs = new Run[INITIAL_DIRECTORY_CAPACITY];
+    private int runCount;
+    private int size;
+
+    SortedLongRuns(int runCapacity) {
+        assert runCapacity >= BPlusTree.MIN_PAGE_CAPACITY;
+        this.runCapacity = runCapacity;
+        // runs filled less than a quarter are merged
+        this.mergeThreshold = runCapacity >>> 2;
+    }
+
+    /**
+     * @return the number of keys in this map.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value associated with the given key or {@code null} if
+     * there is no such key.
+     */
+    Object get(long key) {
+        if (runCount == 0) {
+            return null;
+        }
+        Run run = runs[runFor(key)];
+        int slot = run.search(key);
+        return slot >= 0 ? run.values[slot] : null;
+    }
+
+    /**
+     * Associates the given key with the given non-null value.
+     *
+     * @return the value previously associated with the key or {@code null}
+     * if there was none.
+     */
+    Object put(long key, Object value) {
+        assert value != null;
+        if (runCount == 0) {
+            insertRun(0, new Run(runCapacity));
+        }
+        int runIndex = runFor(key);
+        Run run = runs[runIndex];
+        int slot = run.search(key);
+        if (slot >= 0) {
+            Object previous = run.values[slot];
+            run.values[slot] = value;
+            return previous;
+        }
+
+        slot = -slot - 1;
+        if (run.size == runCapacity) {
+            Run upper = run.splitUpperHalf();
+            insertRun(runIndex + 1, upper);
+            if (slot > run.size) {
+                slot -= run.size;
+                run = upper;
+                runIndex++;
+            }
+        }
+        run.insert(slot, key, value);
+        firstKeys[runIndex] = run.keys[0];
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the given key.
+     *
+     * @return the value previously associated with the key or {@code null}
+     * if there was none.
+     */
+    Object remove(long key) {
+        if (runCount == 0) {
+            return null;
+        }
+        int runIndex = runFor(key);
+        Run run = runs[runIndex];
+        int slot = run.search(key);
+        if (slot < 0) {
+            return null;
+        }
+
+        Object previous = run.values[slot];
+        run.delete(slot);
+        size--;
+        if (run.size == 0) {
+            deleteRun(runIndex);
+            return previous;
+        }
+
+        firstKeys[runIndex] = run.keys[0];
+        if (run.size < mergeThreshold && runIndex + 1 < runCount) {
+            Run next = runs[runIndex + 1];
+            if (run.size + next.size <= runCapacity / 2) {
+                run.append(next);
+                deleteRun(runIndex + 1);
+            }
+        }
+        return previous;
+    }
+
+    void clear() {
+        firstKeys = new long[INITIAL_DIRECTORY_CAPACITY];
+        runs = new Run[INITIAL_DIRECTORY_CAPACITY];
+        runCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the smallest key accepted by the given predicate.
+     * <p>
+     * The predicate must be monotonic: once it accepts a key, it must accept
+     * every greater key as well.
+     */
+    OptionalLong firstKeyMatching(LongPredicate predicate) {
+        int low = 0;
+        int high = runCount - 1;
+        // find the first run whose last key is accepted
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Run run = runs[mid];
+            if (predicate.test(run.keys[run.size - 1])) {
+                high = mid - 1;
+            } else {
+                low = mid + 1;
+            }
+        }
+        if (low == runCount) {
+            return OptionalLong.empty();
+        }
+
+        Run run = runs[low];
+        int lowSlot = 0;
+        int highSlot = run.size - 1;
+        while (lowSlot < highSlot) {
+            int mid = (lowSlot + highSlot) >>> 1;
+            if (predicate.test(run.keys[mid])) {
+                highSlot = mid;
+            } else {
+                lowSlot = mid + 1;
+            }
+        }
+        return OptionalLong.of(run.keys[lowSlot]);
+    }
+
+    /**
+     * Copies consecutive entries, starting at the given key, into the given
+     * arrays.
+     * <p>
+     * In ascending order the copying starts at the smallest key that is
+     * greater than (or equal to, if inclusive) the start key; in descending
+     * order at the greatest key that is less than (or equal to, if inclusive)
+     * the start key. At most {@code keys.length} entries are copied.
+     *
+     * @return the number of copied entries.
+     */
+    int fill(long start, boolean inclusive, boolean descending, long[] keys, Object[] values) {
+        if (runCount == 0) {
+            return 0;
+        }
+        int runIndex = runFor(start);
+        int slot = runs[runIndex].search(start);
+        return descending
+                ? fillDescending(runIndex, slot >= 0 ? (inclusive ? slot : slot - 1) : -slot - 2, keys, values)
+                : fillAscending(runIndex, slot >= 0 ? (inclusive ? slot : slot + 1) : -slot - 1, keys, values);
+    }
+
+    private int fillAscending(int runIndex, int slot, long[] keys, Object[] values) {
+        int count = 0;
+        while (runIndex < runCount && count < keys.length) {
+            Run run = runs[runIndex];
+            int length = Math.min(run.size - slot, keys.length - count);
+            if (length > 0) {
+                System.arraycopy(run.keys, slot, keys, count, length);
+                System.arraycopy(run.values, slot, values, count, length);
+                count += length;
+            }
+            runIndex++;
+            slot = 0;
+        }
+        return count;
+    }
+
+    private int fillDescending(int runIndex, int slot, long[] keys, Object[] values) {
+        int count = 0;
+        while (runIndex >= 0 && count < keys.length) {
+            Run run = runs[runIndex];
+            for (; slot >= 0 && count < keys.length; slot--, count++) {
+                keys[count] = run.keys[slot];
+                values[count] = run.values[slot];
+            }
+            if (--runIndex >= 0) {
+                slot = runs[runIndex].size - 1;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the index of the run that holds the given key or would hold it
+     * if the key were inserted: the last run whose first key is not greater
+     * than the given one, or the first run if there is no such run.
+     */
+    private int runFor(long key) {
+        int index = Arrays.binarySearch(firstKeys, 0, runCount, key);
+        return index >= 0 ? index : Math.max(0, -index - 2);
+    }
+
+    private void insertRun(int index, Run run) {
+        if (runCount == runs.length) {
+            int capacity = runs.length << 1;
+            firstKeys = Arrays.copyOf(firstKeys, capacity);
+            runs = Arrays.copyOf(runs, capacity);
+        }
+        System.arraycopy(firstKeys, index, firstKeys, index + 1, runCount - index);
+        System.arraycopy(runs, index, runs, index + 1, runCount - index);
+        firstKeys[index] = run.size == 0 ? 0 : run.keys[0];
+        runs[index] = run;
+        runCount++;
+    }
+
+    private void deleteRun(int index) {
+        System.arraycopy(firstKeys, index + 1, firstKeys, index, runCount - index - 1);
+        System.arraycopy(runs, index + 1, runs, index, runCount - index - 1);
+        runs[--runCount] = null;
+    }
+
+    private static final class Run {
+        final long[] keys;
+        final Object[] values;
+        int size;
+
+        Run(int capacity) {
+            keys = new long[capacity];
+            values = new Object[capacity];
+        }
+
+        int search(long key) {
+            return Arrays.binarySearch(keys, 0, size, key);
+        }
+
+        void insert(int slot, long key, Object value) {
+            System.arraycopy(keys, slot, keys, slot + 1, size - slot);
+            System.arraycopy(values, slot, values, slot + 1, size - slot);
+            keys[slot] = key;
+            values[slot] = value;
+            size++;
+        }
+
+        void delete(int slot) {
+            System.arraycopy(keys, slot + 1, keys, slot, size - slot - 1);
+            System.arraycopy(values, slot + 1, values, slot, size - slot - 1);
+            values[--size] = null;
+        }
+
+        Run splitUpperHalf() {
+            Run upper = new Run(keys.length);
+            int half = size >>> 1;
+            upper.size = size - half;
+            System.arraycopy(keys, half, upper.keys, 0, upper.size);
+            System.arraycopy(values, half, upper.values, 0, upper.size);
+            Arrays.fill(values, half, size, null);
+            size = half;
+            return upper;
+        }
+
+        void append(Run other) {
+            System.arraycopy(other.keys, 0, keys, size, other.size);
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+    }
+}
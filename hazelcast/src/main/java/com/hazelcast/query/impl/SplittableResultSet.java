@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.query.impl;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A result set of an index query which can be split into parts holding the
+ * entries of disjoint groups of index keys, so that the parts can be iterated
+ * in parallel.
+ */
+public interface SplittableResultSet extends Set<QueryableEntry> {
+
+    /**
+     * Splits this result set into at most {@code maxParts} parts. Iterating
+     * the parts one after the other yields the same entries in the same order
+     * as iterating this result set. The parts can be iterated concurrently.
+     *
+     * @param maxParts       the maximum number of parts
+     * @param minKeysPerPart the minimum number of index keys of a part
+     * @return the parts, or a list holding only this result set if it can't
+     * be split
+     */
+    List<Set<QueryableEntry>> split(int maxParts, int minKeysPerPart);
+}
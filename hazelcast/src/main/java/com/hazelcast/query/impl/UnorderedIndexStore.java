@@ -119,6 +119,7 @@ public class UnorderedIndexStore extends BaseSingleValueIndexStore {
         try {
             recordsWithNullValue.clear();
             recordMap.clear();
+            clearStatistics();
         } finally {
             releaseWriteLock();
         }
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.bitmap;
+
+import static java.lang.Long.numberOfTrailingZeros;
+
+/**
+ * A scratch set of 2^16 bits used by word-parallel set operations on sparse
+ * bit sets.
+ * <p>
+ * A block covers exactly the range of members managed by a single 16-bit
+ * storage of {@link SparseBitSet}, so dense storages are combined into it a
+ * whole {@code long} word at a time. A summary bit is maintained for every
+ * non-zero word, that allows to drain sparsely populated blocks without
+ * scanning all of their words.
+ */
+final class BitBlock {
+
+    /**
+     * The number of members a single block covers.
+     */
+    public static final int SIZE = 1 << Short.SIZE;
+
+    // 2^6 = 64 = number of bits a long can store
+    private static final int LONG_SHIFT = 6;
+    private static final int WORD_COUNT = SIZE >>> LONG_SHIFT;
+    private static final int SUMMARY_COUNT = WORD_COUNT >>> LONG_SHIFT;
+
+    private final long[] words = new long[WORD_COUNT];
+    // a bit per each non-zero word
+    private final long[] summary = new long[SUMMARY_COUNT];
+
+    /**
+     * Sets the given bit in this block.
+     *
+     * @param bit the bit to set, must be in [0, {@link #SIZE}) range.
+     */
+    public void set(int bit) {
+        int word = bit >>> LONG_SHIFT;
+        words[word] |= 1L << bit;
+        summary[word >>> LONG_SHIFT] |= 1L << word;
+    }
+
+    /**
+     * Sets all the bits set in the given directly indexable bits in this
+     * block.
+     *
+     * @param bits the bits to combine into this block, must be exactly {@link
+     *             #SIZE} bits long.
+     */
+    public void or(long[] bits) {
+        assert bits.length == WORD_COUNT;
+        for (int i = 0; i < WORD_COUNT; ++i) {
+            long value = bits[i];
+            words[i] |= value;
+            // (value | -value) >>> 63 is 1 for non-zero values and 0 otherwise
+            summary[i >>> LONG_SHIFT] |= ((value | -value) >>> Long.SIZE - 1) << i;
+        }
+    }
+
+    /**
+     * Clears the lowest bit set in this block and returns it.
+     *
+     * @return the cleared bit or {@code -1} if this block is empty.
+     */
+    public int poll() {
+        for (int i = 0; i < SUMMARY_COUNT; ++i) {
+            long summaryValue = summary[i];
+            if (summaryValue != 0) {
+                int word = i << LONG_SHIFT | numberOfTrailingZeros(summaryValue);
+                long value = words[word];
+                assert value != 0;
+                int bit = word << LONG_SHIFT | numberOfTrailingZeros(value);
+                // zero out the consumed bit
+                value &= value - 1;
+                words[word] = value;
+                if (value == 0) {
+                    summary[i] = summaryValue & summaryValue - 1;
+                }
+                return bit;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Clears all the bits preceding the given bit in this block, and then
+     * clears the lowest bit left set and returns it.
+     *
+     * @param bit the bit to poll at least from.
+     * @return the cleared bit or {@code -1} if no bits at or after the given
+     * one are set in this block.
+     */
+    public int pollAtLeast(int bit) {
+        int word = bit >>> LONG_SHIFT;
+        int summaryIndex = word >>> LONG_SHIFT;
+        for (int i = 0; i < summaryIndex; ++i) {
+            clearWords(i, summary[i]);
+            summary[i] = 0;
+        }
+
+        // the preceding words of the summary the given bit belongs to
+        long summaryValue = summary[summaryIndex];
+        clearWords(summaryIndex, summaryValue & (1L << word) - 1);
+        summaryValue &= -(1L << word);
+
+        long value = words[word] & -(1L << bit);
+        words[word] = value;
+        if (value == 0) {
+            summaryValue &= ~(1L << word);
+        }
+        summary[summaryIndex] = summaryValue;
+
+        return poll();
+    }
+
+    /**
+     * Clears this block.
+     */
+    public void clear() {
+        for (int i = 0; i < SUMMARY_COUNT; ++i) {
+            clearWords(i, summary[i]);
+            summary[i] = 0;
+        }
+    }
+
+    private void clearWords(int summaryIndex, long summaryValue) {
+        int base = summaryIndex << LONG_SHIFT;
+        while (summaryValue != 0) {
+            words[base | numberOfTrailingZeros(summaryValue)] = 0;
+            summaryValue &= summaryValue - 1;
+        }
+    }
+
+}
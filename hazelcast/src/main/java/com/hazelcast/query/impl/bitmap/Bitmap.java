@@ -26,6 +26,7 @@ import com.hazelcast.query.impl.predicates.NotEqualPredicate;
 import com.hazelcast.query.impl.predicates.NotPredicate;
 import com.hazelcast.query.impl.predicates.OrPredicate;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -139,6 +140,18 @@ public final class Bitmap<E> {
         entries.clear();
     }
 
+    /**
+     * Returns the number of entries associated with the given value without
+     * iterating them.
+     *
+     * @param value the value to count the entries of, already converted.
+     * @return the number of entries associated with the value.
+     */
+    public long count(Object value) {
+        SparseBitSet bitSet = bitSets.get(value);
+        return bitSet == null ? 0 : bitSet.size();
+    }
+
     /**
      * Evaluates the given predicate while converting the predicate arguments
      * using the given converter.
@@ -195,7 +208,7 @@ public final class Bitmap<E> {
 
         if (predicate instanceof InPredicate inPredicate) {
             Comparable[] values = inPredicate.getValues();
-            return BitmapAlgorithms.or(valueIterators(values, converter));
+            return valueUnion(values, converter);
         }
 
         throw new IllegalArgumentException("unexpected predicate: " + predicate);
@@ -214,12 +227,24 @@ public final class Bitmap<E> {
         return bitSet == null ? AscendingLongIterator.EMPTY : bitSet.iterator();
     }
 
-    private AscendingLongIterator[] valueIterators(Comparable[] values, TypeConverter converter) {
-        AscendingLongIterator[] iterators = new AscendingLongIterator[values.length];
-        for (int i = 0; i < values.length; ++i) {
-            iterators[i] = valueIterator(values[i], converter);
+    private AscendingLongIterator valueUnion(Comparable[] values, TypeConverter converter) {
+        SparseBitSet[] valueBitSets = new SparseBitSet[values.length];
+        int count = 0;
+        for (Comparable value : values) {
+            SparseBitSet bitSet = bitSets.get(converter.convert(value));
+            if (bitSet != null) {
+                valueBitSets[count++] = bitSet;
+            }
+        }
+
+        switch (count) {
+            case 0:
+                return AscendingLongIterator.EMPTY;
+            case 1:
+                return valueBitSets[0].iterator();
+            default:
+                return BitmapAlgorithms.or(count == values.length ? valueBitSets : Arrays.copyOf(valueBitSets, count));
         }
-        return iterators;
     }
 
     /**
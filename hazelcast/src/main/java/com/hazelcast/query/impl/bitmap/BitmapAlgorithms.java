@@ -45,6 +45,19 @@ final class BitmapAlgorithms {
         return new OrIterator(iterators);
     }
 
+    /**
+     * @return an iterator that represents a result of union over the given
+     * sparse bit sets.
+     * <p>
+     * Unlike {@link #or(AscendingLongIterator[])}, the union is computed block
+     * by block combining the storages of the bit sets word by word, that is
+     * much cheaper than merging the members one by one if many bit sets are
+     * involved or the bit sets are dense.
+     */
+    public static AscendingLongIterator or(SparseBitSet[] bitSets) {
+        return new UnionIterator(bitSets);
+    }
+
     /**
      * @return an iterator that represents a result of negation of the given
      * iterator over the given universe (a set of known elements).
@@ -287,6 +300,120 @@ final class BitmapAlgorithms {
 
     }
 
+    private static final class UnionIterator implements AscendingLongIterator {
+
+        // The idea: split the member space into blocks of BitBlock.SIZE members
+        // each, the blocks are matching the 16-bit storages of the sparse bit
+        // sets. Find the lowest block having any members using per bit set
+        // iterators, combine the members of all the bit sets located in the
+        // block into the block bits and drain them; the bit sets iterators are
+        // used just to skip to the next non-empty block.
+
+        private static final long BLOCK_BASE_MASK = -BitBlock.SIZE;
+
+        private final SparseBitSet[] bitSets;
+        private final AscendingLongIterator[] iterators;
+        private final BitBlock block = new BitBlock();
+
+        private long blockBase;
+        private long index;
+
+        UnionIterator(SparseBitSet[] bitSets) {
+            this.bitSets = bitSets;
+            this.iterators = new AscendingLongIterator[bitSets.length];
+            for (int i = 0; i < bitSets.length; ++i) {
+                iterators[i] = bitSets[i].iterator();
+            }
+            index = fill();
+        }
+
+        @Override
+        public long getIndex() {
+            return index;
+        }
+
+        @Override
+        public long advance() {
+            long current = index;
+            if (current == AscendingLongIterator.END) {
+                return AscendingLongIterator.END;
+            }
+
+            int bit = block.poll();
+            index = bit == -1 ? fill() : blockBase | bit;
+            return current;
+        }
+
+        @Override
+        public long advanceAtLeastTo(long member) {
+            long current = index;
+            if (current == AscendingLongIterator.END || current >= member) {
+                return current;
+            }
+
+            if ((member & BLOCK_BASE_MASK) != blockBase) {
+                // The member is beyond the current block: skip to its block.
+
+                block.clear();
+                for (AscendingLongIterator iterator : iterators) {
+                    iterator.advanceAtLeastTo(member);
+                }
+                index = fill();
+                if (index == AscendingLongIterator.END || index >= member) {
+                    return index;
+                }
+            }
+
+            // The member is within the current block.
+
+            int bit = block.pollAtLeast((int) (member & ~BLOCK_BASE_MASK));
+            index = bit == -1 ? fill() : blockBase | bit;
+            return index;
+        }
+
+        /**
+         * Fills the block with the members of the lowest non-empty block and
+         * polls the first of them.
+         *
+         * @return the polled member or {@link AscendingLongIterator#END} if no
+         * members left.
+         */
+        private long fill() {
+            long min = AscendingLongIterator.END;
+            for (AscendingLongIterator iterator : iterators) {
+                long iteratorIndex = iterator.getIndex();
+                if (iteratorIndex != AscendingLongIterator.END && (min == AscendingLongIterator.END || iteratorIndex < min)) {
+                    min = iteratorIndex;
+                }
+            }
+            if (min == AscendingLongIterator.END) {
+                return AscendingLongIterator.END;
+            }
+
+            long base = min & BLOCK_BASE_MASK;
+            // overflows for the very last block
+            long nextBase = base + BitBlock.SIZE;
+            for (int i = 0; i < iterators.length; ++i) {
+                AscendingLongIterator iterator = iterators[i];
+                // END is never matching a base since bases are non-negative
+                if ((iterator.getIndex() & BLOCK_BASE_MASK) == base) {
+                    bitSets[i].orInto(base, block);
+                    if (nextBase < 0) {
+                        iterators[i] = AscendingLongIterator.EMPTY;
+                    } else {
+                        iterator.advanceAtLeastTo(nextBase);
+                    }
+                }
+            }
+
+            blockBase = base;
+            int bit = block.poll();
+            assert bit != -1;
+            return base | bit;
+        }
+
+    }
+
     private static final class NotIterator implements AscendingLongIterator {
 
         // The idea: find gaps in the base iterator and iterate indexes/members
@@ -54,6 +54,11 @@ import static java.util.Arrays.copyOf;
  * various storage flavors once certain thresholds on storage size are reached.
  * <p>
  * Empty storages are never stored by the implementation.
+ * <p>
+ * Every storage keeps track of the number of members it stores, so the
+ * cardinality of a bit set is known without iterating it. The members of a
+ * 16-bit storage may be combined into a {@link BitBlock} at once, which
+ * allows to do set operations word by word instead of member by member.
  */
 final class SparseBitSet {
 
@@ -84,6 +89,8 @@ final class SparseBitSet {
     private int lastPrefix = -1;
     private Storage32 lastStorage;
 
+    private long size;
+
     /**
      * Adds the given member to this bit set.
      *
@@ -94,7 +101,9 @@ final class SparseBitSet {
         int prefix = (int) (member >>> Integer.SIZE);
 
         if (prefix == lastPrefix) {
+            int oldSize = lastStorage.size();
             Storage32 newStorage = lastStorage.add((int) member);
+            size += newStorage.size() - oldSize;
             if (newStorage != lastStorage) {
                 // storage was upgraded
                 lastStorage = newStorage;
@@ -107,8 +116,11 @@ final class SparseBitSet {
                 Storage32 createdStorage = new ArrayStorage32((int) member);
                 lastStorage = createdStorage;
                 storages.set(prefix, createdStorage);
+                ++size;
             } else {
+                int oldSize = storage.size();
                 Storage32 newStorage = storage.add((int) member);
+                size += newStorage.size() - oldSize;
                 if (newStorage == storage) {
                     lastStorage = storage;
                 } else {
@@ -132,7 +144,10 @@ final class SparseBitSet {
         int prefix = (int) (member >>> Integer.SIZE);
 
         if (prefix == lastPrefix) {
-            if (lastStorage.remove((int) member)) {
+            int oldSize = lastStorage.size();
+            boolean emptied = lastStorage.remove((int) member);
+            size -= oldSize - lastStorage.size();
+            if (emptied) {
                 lastPrefix = -1;
                 lastStorage = null;
                 return storages.clear(prefix);
@@ -144,7 +159,10 @@ final class SparseBitSet {
             if (storage == null) {
                 return false;
             }
-            if (storage.remove((int) member)) {
+            int oldSize = storage.size();
+            boolean emptied = storage.remove((int) member);
+            size -= oldSize - storage.size();
+            if (emptied) {
                 lastPrefix = -1;
                 lastStorage = null;
                 return storages.clear(prefix);
@@ -164,6 +182,32 @@ final class SparseBitSet {
         return new IteratorImpl(storages);
     }
 
+    /**
+     * @return the number of bits set in this sparse bit set.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Sets the bits of the given block corresponding to the members of this
+     * bit set located in the range of {@link BitBlock#SIZE} members starting at
+     * the given block base.
+     *
+     * @param blockBase the first member of the range, must be a multiple of
+     *                  {@link BitBlock#SIZE}.
+     * @param block     the block to set the bits in.
+     */
+    public void orInto(long blockBase, BitBlock block) {
+        assert blockBase >= 0 && (blockBase & SHORT_POSTFIX_MASK) == 0;
+        // not using the cached last storage here since the method is called
+        // by readers
+        Storage32 storage = storages.get((int) (blockBase >>> Integer.SIZE));
+        if (storage != null) {
+            storage.orInto((short) (blockBase >>> Short.SIZE), block);
+        }
+    }
+
     /**
      * Defines internal contract of storages responsible for storing of 32-bit
      * postfixes.
@@ -188,6 +232,20 @@ final class SparseBitSet {
          */
         boolean remove(int member);
 
+        /**
+         * @return the number of members stored in this storage.
+         */
+        int size();
+
+        /**
+         * Sets the bits of the given block corresponding to the members of
+         * this storage having the given 16-bit prefix.
+         *
+         * @param prefix the 16-bit prefix of the members to set.
+         * @param block  the block to set the bits in.
+         */
+        void orInto(short prefix, BitBlock block);
+
         /**
          * Starts iteration on this storage using the given iterator.
          * <p>
@@ -313,6 +371,29 @@ final class SparseBitSet {
             return false;
         }
 
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void orInto(short prefix, BitBlock block) {
+            long from = toUnsignedLong(prefix) << Short.SIZE;
+            long to = from + BitBlock.SIZE;
+            int position = unsignedBinarySearch(members, size, from);
+            if (position < 0) {
+                position = -(position + 1);
+            }
+
+            for (; position < size; ++position) {
+                long member = toUnsignedLong(members[position]);
+                if (member >= to) {
+                    break;
+                }
+                block.set((int) (member - from));
+            }
+        }
+
         @Override
         public void iterate(IteratorImpl iterator) {
             assert size > 0;
@@ -391,6 +472,9 @@ final class SparseBitSet {
         private short[] prefixes;
         private Storage16[] storages;
 
+        // the total number of members in all the 16-bit postfix storages
+        private int cardinality;
+
         // used for caching of the last resolved 16-bit storage
         private int lastPrefix = -1;
         private Storage16 lastStorage;
@@ -410,6 +494,7 @@ final class SparseBitSet {
             for (int i = index; i < members.length; ++i) {
                 append(members[i]);
             }
+            this.cardinality = members.length + 1;
         }
 
         @Override
@@ -423,7 +508,9 @@ final class SparseBitSet {
             if (unsignedPrefix == lastPrefix) {
                 // We are lucky: just add the member to the cached storage.
 
+                int oldSize = lastStorage.size();
                 Storage16 newStorage = lastStorage.add((short) member);
+                cardinality += newStorage.size() - oldSize;
                 // handle potential storage upgrade
                 if (newStorage != lastStorage) {
                     int index = unsignedBinarySearch(prefixes, size, unsignedPrefix);
@@ -439,7 +526,9 @@ final class SparseBitSet {
                 // The storage already exists: just add the member to it.
 
                 Storage16 storage = storages[index];
+                int oldSize = storage.size();
                 Storage16 newStorage = storage.add((short) member);
+                cardinality += newStorage.size() - oldSize;
                 // handle potential storage upgrade
                 if (newStorage != storage) {
                     storages[index] = newStorage;
@@ -480,6 +569,7 @@ final class SparseBitSet {
             lastPrefix = unsignedPrefix;
             lastStorage = createdStorage;
             ++size;
+            ++cardinality;
             return this;
         }
 
@@ -498,7 +588,9 @@ final class SparseBitSet {
                 // We are lucky: just remove the member from the cached storage.
 
                 Storage16 storage = lastStorage;
+                int oldSize = storage.size();
                 newStorage = storage.remove((short) member);
+                cardinality -= oldSize - sizeOf(newStorage);
                 if (newStorage == storage) {
                     return false;
                 }
@@ -514,7 +606,9 @@ final class SparseBitSet {
                 }
 
                 Storage16 storage = storages[index];
+                int oldSize = storage.size();
                 newStorage = storage.remove((short) member);
+                cardinality -= oldSize - sizeOf(newStorage);
                 if (newStorage == storage) {
                     lastStorage = storage;
                     lastPrefix = unsignedPrefix;
@@ -568,6 +662,19 @@ final class SparseBitSet {
             return false;
         }
 
+        @Override
+        public int size() {
+            return cardinality;
+        }
+
+        @Override
+        public void orInto(short prefix, BitBlock block) {
+            int index = unsignedBinarySearch(prefixes, size, toUnsignedInt(prefix));
+            if (index >= 0) {
+                storages[index].orInto(block);
+            }
+        }
+
         @Override
         public void iterate(IteratorImpl iterator) {
             assert size > 0;
@@ -648,6 +755,10 @@ final class SparseBitSet {
             return iterateAtLeastFrom(member, position, iterator);
         }
 
+        private static int sizeOf(Storage16 storage) {
+            return storage == null ? 0 : storage.size();
+        }
+
         private void append(int member) {
             short prefix = (short) (member >>> Short.SIZE);
 
@@ -734,6 +845,19 @@ final class SparseBitSet {
          */
         Storage16 remove(short member);
 
+        /**
+         * @return the number of members stored in this storage.
+         */
+        int size();
+
+        /**
+         * Sets the bits of the given block corresponding to the members of
+         * this storage.
+         *
+         * @param block the block to set the bits in.
+         */
+        void orInto(BitBlock block);
+
         /**
          * Starts iteration on this storage using the given iterator.
          * <p>
@@ -884,6 +1008,18 @@ final class SparseBitSet {
             return this;
         }
 
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void orInto(BitBlock block) {
+            for (int i = 0; i < size; ++i) {
+                block.set(toUnsignedInt(members[i]));
+            }
+        }
+
         @Override
         public void iterate(IteratorImpl iterator) {
             assert size > 0;
@@ -1027,6 +1163,16 @@ final class SparseBitSet {
             return this;
         }
 
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void orInto(BitBlock block) {
+            block.or(members);
+        }
+
         @Override
         public void iterate(IteratorImpl iterator) {
             assert size > 0;
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.getters;
+
+import com.hazelcast.internal.util.ExceptionUtil;
+import com.hazelcast.query.QueryException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Direct, {@link MethodHandle}-based access to a scalar attribute of plain
+ * Java objects of a given class.
+ * <p>
+ * The attribute path is resolved exactly as {@link ReflectionHelper} does it:
+ * for every path element a public no-arg method named after the element
+ * itself, {@code get<Element>} or {@code is<Element>} is looked up first,
+ * then a public field and then a declared field of the class or one of its
+ * superclasses. Unlike {@link Getter}s, the resolved handles are typed: the
+ * leaf value of {@link Kind#LONG integral} and {@link Kind#DOUBLE
+ * floating-point} primitive attributes is read without boxing.
+ * <p>
+ * Only the paths which are resolvable from the class alone are supported,
+ * i.e. the ones without {@code this}, {@code [any]} or {@code [index]}
+ * modifiers, arrays, collections and {@link Optional}s, ending with a
+ * primitive or one of the final {@link Comparable} types known to the query
+ * engine. For other attributes {@link #of} returns {@code null}, and the
+ * caller is expected to use {@link Extractors}.
+ */
+public final class AttributeHandle {
+
+    /**
+     * How the leaf value of the attribute is read.
+     */
+    public enum Kind {
+        /**
+         * {@code byte}, {@code short}, {@code char}, {@code int} and
+         * {@code long} attributes, read by {@link #readLong}.
+         */
+        LONG,
+        /**
+         * {@code float} and {@code double} attributes, read by
+         * {@link #readDouble}.
+         */
+        DOUBLE,
+        /**
+         * Boxed primitives, {@code boolean} and the other supported
+         * {@link Comparable}s, read by {@link #readObject}.
+         */
+        OBJECT
+    }
+
+    private static final Set<Class<?>> OBJECT_LEAF_TYPES = Set.of(String.class, Boolean.class, Byte.class, Short.class,
+            Character.class, Integer.class, Long.class, Float.class, Double.class, LocalDate.class, LocalTime.class,
+            LocalDateTime.class, OffsetDateTime.class, UUID.class);
+
+    private static final MethodType OBJECT_GETTER = methodType(Object.class, Object.class);
+
+    private static final ClassValue<ConcurrentMap<String, Optional<AttributeHandle>>> CACHE = new ClassValue<>() {
+        @Override
+        protected ConcurrentMap<String, Optional<AttributeHandle>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final MethodHandle[] parents;
+    private final MethodHandle leaf;
+    private final Kind kind;
+    private final Class<?> leafType;
+
+    private AttributeHandle(MethodHandle[] parents, MethodHandle leaf, Kind kind, Class<?> leafType) {
+        this.parents = parents;
+        this.leaf = leaf;
+        this.kind = kind;
+        this.leafType = leafType;
+    }
+
+    /**
+     * Returns the handle of the attribute of the objects of the given class
+     * or {@code null} if the attribute is not supported. The handles are
+     * cached per class and attribute.
+     *
+     * @param clazz     the class of the objects the attribute is read from
+     * @param attribute the canonical attribute path
+     * @return the attribute handle or {@code null}
+     */
+    public static AttributeHandle of(Class<?> clazz, String attribute) {
+        Map<String, Optional<AttributeHandle>> handles = CACHE.get(clazz);
+        Optional<AttributeHandle> handle = handles.get(attribute);
+        if (handle == null) {
+            handle = Optional.ofNullable(resolve(clazz, attribute));
+            handles.put(attribute, handle);
+        }
+        return handle.orElse(null);
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the boxed type of the leaf value
+     */
+    public Class<?> getLeafType() {
+        return leafType;
+    }
+
+    /**
+     * Navigates from the given target object to the object holding the leaf
+     * value.
+     *
+     * @return the object holding the leaf value or {@code null} if one of
+     * the intermediate values is {@code null}
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public Object navigate(Object target) {
+        try {
+            Object current = target;
+            for (MethodHandle parent : parents) {
+                current = (Object) parent.invokeExact(current);
+                if (current == null) {
+                    return null;
+                }
+            }
+            return current;
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    /**
+     * Reads the leaf value of a {@link Kind#LONG} attribute from the object
+     * returned by {@link #navigate}.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public long readLong(Object holder) {
+        try {
+            return (long) leaf.invokeExact(holder);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    /**
+     * Reads the leaf value of a {@link Kind#DOUBLE} attribute from the
+     * object returned by {@link #navigate}.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public double readDouble(Object holder) {
+        try {
+            return (double) leaf.invokeExact(holder);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    /**
+     * Reads the leaf value of a {@link Kind#OBJECT} attribute from the
+     * object returned by {@link #navigate}.
+     */
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public Object readObject(Object holder) {
+        try {
+            return (Object) leaf.invokeExact(holder);
+        } catch (Throwable t) {
+            throw failure(t);
+        }
+    }
+
+    /**
+     * Wraps the failures of the accessors the same way {@link Extractors}
+     * does it.
+     */
+    private static RuntimeException failure(Throwable t) {
+        if (t instanceof Exception e) {
+            return new QueryException(e);
+        }
+        throw ExceptionUtil.sneakyThrow(t);
+    }
+
+    @SuppressWarnings("checkstyle:ReturnCount")
+    private static AttributeHandle resolve(Class<?> clazz, String attribute) {
+        String[] names = attribute.split("\\.");
+        List<MethodHandle> parents = new ArrayList<>(names.length - 1);
+        Class<?> type = clazz;
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i];
+            if (name.isEmpty() || name.indexOf('[') >= 0 || name.equals(THIS_ATTRIBUTE_NAME.value())) {
+                return null;
+            }
+            MethodHandle handle = findAccessor(type, name);
+            if (handle == null) {
+                return null;
+            }
+            type = handle.type().returnType();
+            if (type == void.class || type.isArray() || Collection.class.isAssignableFrom(type) || type == Optional.class) {
+                return null;
+            }
+            if (i < names.length - 1) {
+                if (type.isPrimitive()) {
+                    return null;
+                }
+                parents.add(handle.asType(OBJECT_GETTER));
+            } else {
+                return leaf(parents.toArray(new MethodHandle[0]), handle, type);
+            }
+        }
+        return null;
+    }
+
+    private static AttributeHandle leaf(MethodHandle[] parents, MethodHandle handle, Class<?> type) {
+        if (type == byte.class || type == short.class || type == char.class || type == int.class || type == long.class) {
+            return new AttributeHandle(parents, handle.asType(methodType(long.class, Object.class)), Kind.LONG,
+                    methodType(type).wrap().returnType());
+        } else if (type == float.class || type == double.class) {
+            return new AttributeHandle(parents, handle.asType(methodType(double.class, Object.class)), Kind.DOUBLE,
+                    methodType(type).wrap().returnType());
+        } else if (type == boolean.class || OBJECT_LEAF_TYPES.contains(type)) {
+            return new AttributeHandle(parents, handle.asType(OBJECT_GETTER), Kind.OBJECT,
+                    methodType(type).wrap().returnType());
+        }
+        return null;
+    }
+
+    /**
+     * Finds the accessor of the attribute following the lookup order of
+     * {@link ReflectionHelper#createGetter(Object, String, boolean)}.
+     */
+    @SuppressWarnings({"checkstyle:IllegalCatch", "checkstyle:ReturnCount"})
+    private static MethodHandle findAccessor(Class<?> clazz, String name) {
+        try {
+            String camelName = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+            for (String methodName : new String[]{name, "get" + camelName, "is" + camelName}) {
+                try {
+                    Method method = clazz.getMethod(methodName);
+                    method.setAccessible(true);
+                    return MethodHandles.lookup().unreflect(method);
+                } catch (NoSuchMethodException ignored) {
+                    // try the next name
+                }
+            }
+            try {
+                return MethodHandles.lookup().unreflectGetter(clazz.getField(name));
+            } catch (NoSuchFieldException ignored) {
+                // try the declared fields
+            }
+            Class<?> c = clazz;
+            while (!c.isInterface() && !Object.class.equals(c)) {
+                try {
+                    Field field = c.getDeclaredField(name);
+                    field.setAccessible(true);
+                    return MethodHandles.lookup().unreflectGetter(field);
+                } catch (NoSuchFieldException ignored) {
+                    c = c.getSuperclass();
+                }
+            }
+            return null;
+        } catch (Exception e) {
+            // inaccessible members are left to the reflective getters
+            return null;
+        }
+    }
+}
@@ -20,10 +20,22 @@ import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.GenericRecordQueryReader;
 import com.hazelcast.internal.serialization.impl.InternalGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.CompactFieldAccessor;
 import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
 
+import java.io.IOException;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 public class CompactGetter extends Getter {
     private final InternalSerializationService serializationService;
+    /**
+     * The accessors of the top-level fields of the serialized values, by the
+     * schema ID and the field name, empty if the field is not supported.
+     */
+    private final ConcurrentMap<Long, ConcurrentMap<String, Optional<CompactFieldAccessor>>> accessors =
+            new ConcurrentHashMap<>();
 
     public CompactGetter(InternalSerializationService serializationService) {
         super(null);
@@ -31,6 +43,13 @@ public class CompactGetter extends Getter {
     }
 
     private Object getValueInternal(Object target, String fieldPath, boolean useLazyDeserialization) throws Exception {
+        if (target instanceof Data data && isTopLevelField(fieldPath)) {
+            // fixed-size and string fields are read directly from the serialized form
+            CompactFieldAccessor accessor = getAccessor(data, fieldPath);
+            if (accessor != null) {
+                return accessor.read(data.toByteArray());
+            }
+        }
         InternalGenericRecord record;
         if (target instanceof CompactGenericRecord genericRecord) {
             record = genericRecord;
@@ -41,6 +60,23 @@ public class CompactGetter extends Getter {
         return reader.read(fieldPath);
     }
 
+    private CompactFieldAccessor getAccessor(Data data, String fieldName) throws IOException {
+        long schemaId = CompactFieldAccessor.readSchemaId(data.toByteArray(), serializationService.getByteOrder());
+        ConcurrentMap<String, Optional<CompactFieldAccessor>> schemaAccessors =
+                accessors.computeIfAbsent(schemaId, id -> new ConcurrentHashMap<>());
+        Optional<CompactFieldAccessor> accessor = schemaAccessors.get(fieldName);
+        if (accessor == null) {
+            accessor = Optional.ofNullable(CompactFieldAccessor.of(serializationService.extractSchemaFromData(data),
+                    fieldName, serializationService.getByteOrder()));
+            schemaAccessors.put(fieldName, accessor);
+        }
+        return accessor.orElse(null);
+    }
+
+    private static boolean isTopLevelField(String fieldPath) {
+        return fieldPath.indexOf('.') < 0 && fieldPath.indexOf('[') < 0;
+    }
+
     @Override
     public Object getValue(Object target, String fieldPath) throws Exception {
         return getValueInternal(target, fieldPath, false);
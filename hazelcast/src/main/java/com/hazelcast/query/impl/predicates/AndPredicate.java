@@ -49,6 +49,15 @@ public final class AndPredicate
     @Serial
     private static final long serialVersionUID = 1L;
 
+    /**
+     * An indexed predicate whose result is estimated to be larger than this
+     * many times the smallest result set is evaluated on the entries of the
+     * smallest result set instead of using its index.
+     */
+    private static final int RESIDUAL_RATIO = 10;
+
+    private static final long UNKNOWN_SIZE = Long.MAX_VALUE;
+
     protected Predicate[] predicates;
 
     public AndPredicate() {
@@ -71,20 +80,46 @@ public final class AndPredicate
 
     @Override
     public Set<QueryableEntry> filter(QueryContext queryContext) {
-        Set<QueryableEntry> smallestResultSet = null;
-        List<Set<QueryableEntry>> otherResultSets = null;
+        List<IndexAwarePredicate> indexedPredicates = null;
         List<Predicate> unindexedPredicates = null;
-
         for (Predicate predicate : predicates) {
             if (isIndexedPredicate(predicate, queryContext)) {
-                // Avoid checking indexed partitions count twice to avoid
-                // scenario when the owner partitions count changes concurrently and null
-                // value from the filter method may indicate that the index is under
-                // construction.
-                int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
-                queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
-                Set<QueryableEntry> currentResultSet = ((IndexAwarePredicate) predicate).filter(queryContext);
-                queryContext.setOwnedPartitionCount(ownedPartitionsCount);
+                indexedPredicates = initOrGetListOf(indexedPredicates);
+                indexedPredicates.add((IndexAwarePredicate) predicate);
+            } else {
+                unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                unindexedPredicates.add(predicate);
+            }
+        }
+        if (indexedPredicates == null) {
+            return null;
+        }
+
+        // Avoid checking indexed partitions count twice to avoid
+        // scenario when the owner partitions count changes concurrently and null
+        // value from the filter method may indicate that the index is under
+        // construction.
+        int ownedPartitionsCount = queryContext.getOwnedPartitionCount();
+        queryContext.setOwnedPartitionCount(SKIP_PARTITIONS_COUNT_CHECK);
+        try {
+            IndexAwarePredicate[] orderedPredicates = indexedPredicates.toArray(new IndexAwarePredicate[0]);
+            long[] estimates = orderBySelectivity(orderedPredicates, queryContext);
+
+            Set<QueryableEntry> smallestResultSet = null;
+            List<Set<QueryableEntry>> otherResultSets = null;
+            for (int i = 0; i < orderedPredicates.length; i++) {
+                IndexAwarePredicate predicate = orderedPredicates[i];
+                if (smallestResultSet != null && estimates[i] != UNKNOWN_SIZE
+                        && estimates[i] > RESIDUAL_RATIO * (long) estimatedSizeOf(smallestResultSet)) {
+                    // matching the few entries of the smallest result set against
+                    // the predicate is cheaper than producing and probing the large
+                    // result set of the predicate
+                    unindexedPredicates = initOrGetListOf(unindexedPredicates);
+                    unindexedPredicates.add(predicate);
+                    continue;
+                }
+
+                Set<QueryableEntry> currentResultSet = predicate.filter(queryContext);
                 if (smallestResultSet == null) {
                     smallestResultSet = currentResultSet;
                 } else if (estimatedSizeOf(currentResultSet) < estimatedSizeOf(smallestResultSet)) {
@@ -95,16 +130,42 @@ public final class AndPredicate
                     otherResultSets = initOrGetListOf(otherResultSets);
                     otherResultSets.add(currentResultSet);
                 }
-            } else {
-                unindexedPredicates = initOrGetListOf(unindexedPredicates);
-                unindexedPredicates.add(predicate);
             }
+            if (smallestResultSet == null) {
+                return null;
+            }
+            return new AndResultSet(smallestResultSet, otherResultSets, unindexedPredicates);
+        } finally {
+            queryContext.setOwnedPartitionCount(ownedPartitionsCount);
         }
+    }
 
-        if (smallestResultSet == null) {
-            return null;
+    /**
+     * Orders the given predicates by their estimated result sizes, the
+     * predicates which can't estimate their result sizes go last in their
+     * original order.
+     *
+     * @return the estimated result sizes of the ordered predicates, {@link
+     * #UNKNOWN_SIZE} for the predicates which can't estimate them.
+     */
+    private static long[] orderBySelectivity(IndexAwarePredicate[] predicates, QueryContext queryContext) {
+        long[] estimates = new long[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            IndexAwarePredicate predicate = predicates[i];
+            long estimate = predicate.estimateResultSize(queryContext);
+            if (estimate < 0) {
+                estimate = UNKNOWN_SIZE;
+            }
+            // insertion sort, there are just a few predicates
+            int j = i;
+            for (; j > 0 && estimates[j - 1] > estimate; j--) {
+                estimates[j] = estimates[j - 1];
+                predicates[j] = predicates[j - 1];
+            }
+            estimates[j] = estimate;
+            predicates[j] = predicate;
         }
-        return new AndResultSet(smallestResultSet, otherResultSets, unindexedPredicates);
+        return estimates;
     }
 
     private static boolean isIndexedPredicate(Predicate predicate, QueryContext queryContext) {
@@ -119,6 +180,20 @@ public final class AndPredicate
         return list;
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        long estimate = -1;
+        for (Predicate predicate : predicates) {
+            if (isIndexedPredicate(predicate, queryContext)) {
+                long predicateEstimate = ((IndexAwarePredicate) predicate).estimateResultSize(queryContext);
+                if (predicateEstimate >= 0 && (estimate < 0 || predicateEstimate < estimate)) {
+                    estimate = predicateEstimate;
+                }
+            }
+        }
+        return estimate;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         for (Predicate predicate : predicates) {
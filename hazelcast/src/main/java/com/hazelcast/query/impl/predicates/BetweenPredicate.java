@@ -78,6 +78,12 @@ public class BetweenPredicate extends AbstractIndexAwarePredicate implements Vis
         return index.getRecords(from, true, to, true);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return index == null ? -1 : index.estimateRecordCount(from, true, to, true);
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
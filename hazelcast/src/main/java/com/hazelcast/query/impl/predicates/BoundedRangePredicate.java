@@ -74,6 +74,12 @@ public class BoundedRangePredicate extends AbstractIndexAwarePredicate implement
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        return index == null ? -1 : index.estimateRecordCount(from, fromInclusive, to, toInclusive);
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable value) {
         if (value == null) {
@@ -89,6 +89,12 @@ public class CompositeEqualPredicate implements IndexAwarePredicate {
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        return index == null ? -1 : index.estimateRecordCount(value);
+    }
+
     @Override
     public String toString() {
         return Arrays.toString(components) + " = " + value;
@@ -124,6 +124,12 @@ public class CompositeRangePredicate implements IndexAwarePredicate {
         return index.getRecords(from, fromInclusive, to, toInclusive);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = queryContext.matchIndex(indexName, QueryContext.IndexMatchHint.EXACT_NAME);
+        return index == null ? -1 : index.estimateRecordCount(from, fromInclusive, to, toInclusive);
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         return true;
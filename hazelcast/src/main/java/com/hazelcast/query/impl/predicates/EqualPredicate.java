@@ -71,6 +71,12 @@ public class EqualPredicate extends AbstractIndexAwarePredicate
         return index.getRecords(value);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        return index == null ? -1 : index.estimateRecordCount(value);
+    }
+
     @Override
     protected boolean applyForSingleAttributeValue(Comparable attributeValue) {
         if (attributeValue == null) {
@@ -84,6 +84,15 @@ public final class GreaterLessPredicate extends AbstractIndexAwarePredicate impl
         return index.getRecords(comparison, value);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_ORDERED);
+        if (index == null) {
+            return -1;
+        }
+        return less ? index.estimateRecordCount(null, false, value, equal) : index.estimateRecordCount(value, equal, null, false);
+    }
+
     @Override
     public void readData(ObjectDataInput in) throws IOException {
         super.readData(in);
@@ -122,6 +122,23 @@ public class InPredicate extends AbstractIndexAwarePredicate implements Visitabl
         }
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        Index index = matchIndex(queryContext, QueryContext.IndexMatchHint.PREFER_UNORDERED);
+        if (index == null) {
+            return -1;
+        }
+        long estimate = 0;
+        for (Comparable value : values) {
+            long valueEstimate = index.estimateRecordCount(value);
+            if (valueEstimate < 0) {
+                return -1;
+            }
+            estimate += valueEstimate;
+        }
+        return estimate;
+    }
+
     @Override
     public void writeData(ObjectDataOutput out) throws IOException {
         super.writeData(out);
@@ -76,4 +76,19 @@ public interface IndexAwarePredicate<K, V> extends Predicate<K, V> {
      * speed up the processing, {@code false} otherwise.
      */
     boolean isIndexed(QueryContext queryContext);
+
+    /**
+     * Estimates the size of the result set {@link #filter} produces in the
+     * given query context without producing it.
+     * <p>
+     * The query engine uses the estimates to evaluate the most selective
+     * predicates using the indexes first.
+     *
+     * @param queryContext the query context to access the indexes.
+     * @return the estimated size of the result set or {@code -1} if this
+     * predicate can't estimate it.
+     */
+    default long estimateResultSize(QueryContext queryContext) {
+        return -1;
+    }
 }
@@ -82,6 +82,21 @@ public final class OrPredicate
         return indexedResults.isEmpty() ? null : new OrResultSet(indexedResults);
     }
 
+    @Override
+    public long estimateResultSize(QueryContext queryContext) {
+        long estimate = 0;
+        for (Predicate predicate : predicates) {
+            long predicateEstimate = predicate instanceof IndexAwarePredicate iap && iap.isIndexed(queryContext)
+                    ? iap.estimateResultSize(queryContext)
+                    : -1;
+            if (predicateEstimate < 0) {
+                return -1;
+            }
+            estimate += predicateEstimate;
+        }
+        return estimate;
+    }
+
     @Override
     public boolean isIndexed(QueryContext queryContext) {
         for (Predicate predicate : predicates) {
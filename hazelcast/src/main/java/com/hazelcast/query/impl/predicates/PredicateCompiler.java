@@ -0,0 +1,549 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.core.HazelcastJsonValue;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.compact.CompactFieldAccessor;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.Portable;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.AttributeType;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.query.impl.getters.AttributeHandle;
+import com.hazelcast.query.impl.getters.ReflectionHelper;
+
+import java.nio.ByteOrder;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Compiles the predicates evaluated by full partition scans into trees of
+ * evaluators reading the attributes of plain Java values directly through
+ * {@link AttributeHandle}s.
+ * <p>
+ * The interpreted evaluation of, for instance, {@code age > 30} goes through
+ * {@link AbstractPredicate#apply}, {@link QueryableEntry#getAttributeValue},
+ * the {@link com.hazelcast.query.impl.getters.Extractors} getter cache and a
+ * reflective getter for every entry, boxes the value, converts the given
+ * value to its type and compares two {@link Comparable}s. A compiled
+ * predicate converts the given values once, binds the attribute accessors
+ * once per value class and compares the primitive attributes unboxed.
+ * <p>
+ * Compact values stored in the serialized form are not deserialized either.
+ * The compiled attributes are bound once per {@link Schema} to
+ * {@link CompactFieldAccessor}s, which read the fixed-size fields at their
+ * schema-resolved offsets straight from the {@link Data} bytes, and compare
+ * the strings with the UTF-8 encoded given values byte by byte, instead of
+ * creating a generic record and a query reader for every attribute access.
+ * Only the top-level fixed-size and string fields are compiled this way.
+ * <p>
+ * {@link EqualPredicate}, {@link NotEqualPredicate},
+ * {@link GreaterLessPredicate} and {@link BetweenPredicate} on the value
+ * attributes resolvable by {@link AttributeHandle} are compiled, combined by
+ * {@link AndPredicate}, {@link OrPredicate} and {@link NotPredicate}. Other
+ * predicates are kept and applied to the entry as they are, and so is the
+ * whole predicate for the entries which are neither plain Java objects nor
+ * serialized Compact values, e.g. Portable or JSON values, or for the value
+ * classes and schemas some compiled attribute can't be bound for. In all these cases, as well as for the
+ * errors, the results are the same as of the interpreted evaluation.
+ */
+public final class PredicateCompiler {
+
+    private PredicateCompiler() {
+    }
+
+    /**
+     * Compiles the given predicate.
+     *
+     * @param predicate        the predicate to compile
+     * @param customAttributes the names of the attributes with custom
+     *                         extractors which must not be compiled
+     * @return the compiled predicate or the given one if no part of it can be
+     * compiled
+     */
+    public static Predicate compile(Predicate predicate, Set<String> customAttributes) {
+        return compile(predicate, customAttributes, null, ByteOrder.BIG_ENDIAN);
+    }
+
+    /**
+     * Compiles the given predicate, including the evaluation on serialized
+     * Compact values.
+     *
+     * @param predicate        the predicate to compile
+     * @param customAttributes the names of the attributes with custom
+     *                         extractors which must not be compiled
+     * @param schemaService    the service to look up the schemas of the
+     *                         Compact values or {@code null} if the
+     *                         serialized Compact values must be deserialized
+     * @param byteOrder        the byte order of the serialized values
+     * @return the compiled predicate or the given one if no part of it can be
+     * compiled
+     */
+    public static Predicate compile(Predicate predicate, Set<String> customAttributes, SchemaService schemaService,
+                                    ByteOrder byteOrder) {
+        Node node = toNode(predicate, customAttributes);
+        return node instanceof Opaque ? predicate : new CompiledPredicate(predicate, node, schemaService, byteOrder);
+    }
+
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:ReturnCount"})
+    private static Node toNode(Predicate predicate, Set<String> customAttributes) {
+        Class<?> clazz = predicate.getClass();
+        if (clazz == SqlPredicate.class && ((SqlPredicate) predicate).predicate != null) {
+            return toNode(((SqlPredicate) predicate).predicate, customAttributes);
+        } else if (clazz == AndPredicate.class) {
+            return compound(((AndPredicate) predicate).predicates, true, predicate, customAttributes);
+        } else if (clazz == OrPredicate.class) {
+            return compound(((OrPredicate) predicate).predicates, false, predicate, customAttributes);
+        } else if (clazz == NotPredicate.class) {
+            Node node = toNode(((NotPredicate) predicate).predicate, customAttributes);
+            return node instanceof Opaque ? new Opaque(predicate) : new Not(node);
+        } else if (predicate instanceof AbstractPredicate<?, ?> abstractPredicate
+                && isCompilable(abstractPredicate.attributeName, customAttributes)) {
+            String attribute = abstractPredicate.attributeName;
+            if (clazz == EqualPredicate.class) {
+                return new AttributeComparison(attribute, Op.EQUAL, ((EqualPredicate) predicate).value);
+            } else if (clazz == NotEqualPredicate.class) {
+                return new Not(new AttributeComparison(attribute, Op.EQUAL, ((NotEqualPredicate) predicate).value));
+            } else if (clazz == GreaterLessPredicate.class) {
+                GreaterLessPredicate greaterLess = (GreaterLessPredicate) predicate;
+                if (!isNull(greaterLess.value)) {
+                    Op op = greaterLess.less
+                            ? greaterLess.equal ? Op.LESS_OR_EQUAL : Op.LESS
+                            : greaterLess.equal ? Op.GREATER_OR_EQUAL : Op.GREATER;
+                    return new AttributeComparison(attribute, op, greaterLess.value);
+                }
+            } else if (clazz == BetweenPredicate.class) {
+                BetweenPredicate between = (BetweenPredicate) predicate;
+                if (!isNull(between.from) && !isNull(between.to)) {
+                    return new Compound(new Node[]{
+                            new AttributeComparison(attribute, Op.GREATER_OR_EQUAL, between.from),
+                            new AttributeComparison(attribute, Op.LESS_OR_EQUAL, between.to)}, true);
+                }
+            }
+        }
+        return new Opaque(predicate);
+    }
+
+    private static Node compound(Predicate[] predicates, boolean and, Predicate predicate, Set<String> customAttributes) {
+        Node[] nodes = new Node[predicates.length];
+        boolean compiled = false;
+        for (int i = 0; i < predicates.length; i++) {
+            nodes[i] = toNode(predicates[i], customAttributes);
+            compiled |= !(nodes[i] instanceof Opaque);
+        }
+        return compiled ? new Compound(nodes, and) : new Opaque(predicate);
+    }
+
+    private static boolean isCompilable(String attribute, Set<String> customAttributes) {
+        return attribute != null
+                && !attribute.equals(THIS_ATTRIBUTE_NAME.value())
+                && !attribute.equals(KEY_ATTRIBUTE_NAME.value())
+                && !attribute.startsWith(KEY_ATTRIBUTE_NAME.value() + ".")
+                && !customAttributes.contains(attribute);
+    }
+
+    /**
+     * The predicate compiled into a tree of {@link Node}s, bound lazily to
+     * the classes or Compact schemas of the values it is applied to.
+     */
+    private static final class CompiledPredicate implements Predicate {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient Predicate predicate;
+        private final transient Node root;
+        private final transient ConcurrentMap<Class<?>, Evaluator> evaluators = new ConcurrentHashMap<>();
+        private final transient ConcurrentMap<Long, Evaluator> compactEvaluators = new ConcurrentHashMap<>();
+        private final transient SchemaService schemaService;
+        private final transient ByteOrder byteOrder;
+        private final transient Evaluator fallback;
+
+        private transient Bound last;
+        private transient CompactBound lastCompact;
+
+        CompiledPredicate(Predicate predicate, Node root, SchemaService schemaService, ByteOrder byteOrder) {
+            this.predicate = predicate;
+            this.root = root;
+            this.schemaService = schemaService;
+            this.byteOrder = byteOrder;
+            this.fallback = (target, entry) -> predicate.apply(entry);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean apply(Map.Entry entry) {
+            if (!(entry instanceof QueryableEntry<?, ?> queryableEntry)) {
+                return predicate.apply(entry);
+            }
+            Object target = queryableEntry.getValueTargetObject();
+            if (target instanceof Data data && data.isCompact() && schemaService != null) {
+                // the evaluators bound to the schemas read the serialized form
+                byte[] payload = data.toByteArray();
+                return compactEvaluator(payload).test(payload, entry);
+            }
+            if (target == null || target instanceof Data || target instanceof HazelcastJsonValue
+                    || target instanceof GenericRecord || target instanceof Portable) {
+                return predicate.apply(entry);
+            }
+            return evaluator(target.getClass()).test(target, entry);
+        }
+
+        private Evaluator evaluator(Class<?> clazz) {
+            Bound bound = last;
+            if (bound != null && bound.clazz == clazz) {
+                return bound.evaluator;
+            }
+            Evaluator evaluator = evaluators.computeIfAbsent(clazz, c -> {
+                Evaluator bind = root.bind(c);
+                return bind == null ? fallback : bind;
+            });
+            last = new Bound(clazz, evaluator);
+            return evaluator;
+        }
+
+        private Evaluator compactEvaluator(byte[] payload) {
+            long schemaId = CompactFieldAccessor.readSchemaId(payload, byteOrder);
+            CompactBound bound = lastCompact;
+            if (bound != null && bound.schemaId == schemaId) {
+                return bound.evaluator;
+            }
+            Evaluator evaluator = compactEvaluators.get(schemaId);
+            if (evaluator == null) {
+                Schema schema = schemaService.get(schemaId);
+                if (schema == null) {
+                    // leave the failure to the interpreted predicate
+                    return fallback;
+                }
+                Evaluator bind = root.bind(schema, byteOrder);
+                evaluator = bind == null ? fallback : bind;
+                compactEvaluators.put(schemaId, evaluator);
+            }
+            lastCompact = new CompactBound(schemaId, evaluator);
+            return evaluator;
+        }
+
+        @Override
+        public String toString() {
+            return "Compiled(" + predicate + ")";
+        }
+    }
+
+    /**
+     * Monomorphic cache entry of the {@link CompiledPredicate}.
+     */
+    private record Bound(Class<?> clazz, Evaluator evaluator) {
+    }
+
+    /**
+     * Monomorphic cache entry of the {@link CompiledPredicate} for the
+     * serialized Compact values.
+     */
+    private record CompactBound(long schemaId, Evaluator evaluator) {
+    }
+
+    /**
+     * Evaluates the compiled predicate on a value of a particular class or,
+     * for the serialized Compact values, on the payload of their data.
+     */
+    @FunctionalInterface
+    private interface Evaluator {
+        boolean test(Object target, Map.Entry entry);
+    }
+
+    /**
+     * A node of the compiled predicate tree, independent of the value class.
+     */
+    private interface Node {
+        /**
+         * @return the evaluator of this node for the values of the given
+         * class or {@code null} if it can't be bound for them
+         */
+        Evaluator bind(Class<?> clazz);
+
+        /**
+         * @return the evaluator of this node for the payloads of the
+         * serialized Compact values of the given schema or {@code null} if
+         * it can't be bound for them
+         */
+        Evaluator bind(Schema schema, ByteOrder byteOrder);
+    }
+
+    /**
+     * A predicate which is not compiled and is applied to the entry.
+     */
+    private record Opaque(Predicate predicate) implements Node {
+        @Override
+        public Evaluator bind(Class<?> clazz) {
+            return (target, entry) -> predicate.apply(entry);
+        }
+
+        @Override
+        public Evaluator bind(Schema schema, ByteOrder byteOrder) {
+            return (target, entry) -> predicate.apply(entry);
+        }
+    }
+
+    private record Not(Node node) implements Node {
+        @Override
+        public Evaluator bind(Class<?> clazz) {
+            return negate(node.bind(clazz));
+        }
+
+        @Override
+        public Evaluator bind(Schema schema, ByteOrder byteOrder) {
+            return negate(node.bind(schema, byteOrder));
+        }
+
+        private static Evaluator negate(Evaluator evaluator) {
+            return evaluator == null ? null : (target, entry) -> !evaluator.test(target, entry);
+        }
+    }
+
+    private record Compound(Node[] nodes, boolean and) implements Node {
+        @Override
+        public Evaluator bind(Class<?> clazz) {
+            return combine(node -> node.bind(clazz));
+        }
+
+        @Override
+        public Evaluator bind(Schema schema, ByteOrder byteOrder) {
+            return combine(node -> node.bind(schema, byteOrder));
+        }
+
+        private Evaluator combine(Function<Node, Evaluator> binder) {
+            Evaluator[] evaluators = new Evaluator[nodes.length];
+            for (int i = 0; i < nodes.length; i++) {
+                evaluators[i] = binder.apply(nodes[i]);
+                if (evaluators[i] == null) {
+                    return null;
+                }
+            }
+            if (evaluators.length == 2) {
+                Evaluator first = evaluators[0];
+                Evaluator second = evaluators[1];
+                return and
+                        ? (target, entry) -> first.test(target, entry) && second.test(target, entry)
+                        : (target, entry) -> first.test(target, entry) || second.test(target, entry);
+            }
+            return and ? (target, entry) -> {
+                for (Evaluator evaluator : evaluators) {
+                    if (!evaluator.test(target, entry)) {
+                        return false;
+                    }
+                }
+                return true;
+            } : (target, entry) -> {
+                for (Evaluator evaluator : evaluators) {
+                    if (evaluator.test(target, entry)) {
+                        return true;
+                    }
+                }
+                return false;
+            };
+        }
+    }
+
+    private enum Op {
+        EQUAL,
+        LESS,
+        LESS_OR_EQUAL,
+        GREATER,
+        GREATER_OR_EQUAL;
+
+        boolean matches(int comparison) {
+            return switch (this) {
+                case EQUAL -> comparison == 0;
+                case LESS -> comparison < 0;
+                case LESS_OR_EQUAL -> comparison <= 0;
+                case GREATER -> comparison > 0;
+                case GREATER_OR_EQUAL -> comparison >= 0;
+            };
+        }
+    }
+
+    /**
+     * Comparison of an attribute with a given value, bound to an
+     * {@link AttributeHandle} of the value class or to a
+     * {@link CompactFieldAccessor} of the Compact schema.
+     */
+    private record AttributeComparison(String attribute, Op op, Comparable value) implements Node {
+
+        @Override
+        @SuppressWarnings("checkstyle:ReturnCount")
+        public Evaluator bind(Class<?> clazz) {
+            AttributeHandle handle = AttributeHandle.of(clazz, attribute);
+            if (handle == null) {
+                return null;
+            }
+
+            if (isNull(value)) {
+                // only the equality with null is compiled, it holds for null attributes only
+                assert op == Op.EQUAL;
+                return handle.getKind() == AttributeHandle.Kind.OBJECT
+                        ? (target, entry) -> {
+                            Object holder = handle.navigate(target);
+                            return holder == null || handle.readObject(holder) == null;
+                        }
+                        : (target, entry) -> handle.navigate(target) == null;
+            }
+
+            Comparable converted = convert(handle.getLeafType(), value);
+            if (converted == null) {
+                return null;
+            }
+            // the interpreted predicates are satisfied by null attributes only if the given value is null
+            return switch (handle.getKind()) {
+                case LONG -> {
+                    long given = converted instanceof Character c ? c : ((Number) converted).longValue();
+                    yield (target, entry) -> {
+                        Object holder = handle.navigate(target);
+                        return holder != null && op.matches(Long.compare(handle.readLong(holder), given));
+                    };
+                }
+                case DOUBLE -> {
+                    double given = ((Number) converted).doubleValue();
+                    yield (target, entry) -> {
+                        Object holder = handle.navigate(target);
+                        return holder != null && op.matches(Double.compare(handle.readDouble(holder), given));
+                    };
+                }
+                case OBJECT -> op == Op.EQUAL
+                        ? (target, entry) -> {
+                            Object holder = handle.navigate(target);
+                            return holder != null && converted.equals(handle.readObject(holder));
+                        }
+                        : (target, entry) -> {
+                            Object holder = handle.navigate(target);
+                            Comparable attributeValue = holder == null ? null : (Comparable) handle.readObject(holder);
+                            return attributeValue != null && op.matches(attributeValue.compareTo(converted));
+                        };
+            };
+        }
+
+        @Override
+        @SuppressWarnings({"checkstyle:ReturnCount", "checkstyle:CyclomaticComplexity"})
+        public Evaluator bind(Schema schema, ByteOrder byteOrder) {
+            CompactFieldAccessor accessor = CompactFieldAccessor.of(schema, attribute, byteOrder);
+            if (accessor == null) {
+                return null;
+            }
+
+            FieldKind kind = accessor.getKind();
+            if (isNull(value)) {
+                // only the equality with null is compiled, only the strings can be null
+                assert op == Op.EQUAL;
+                return kind == FieldKind.STRING
+                        ? (target, entry) -> accessor.stringPosition((byte[]) target) == NULL_OFFSET
+                        : (target, entry) -> false;
+            }
+
+            Comparable converted = convert(leafType(kind), value);
+            if (converted == null) {
+                return null;
+            }
+            return switch (kind) {
+                case BOOLEAN -> {
+                    boolean given = (Boolean) converted;
+                    yield (target, entry) -> op.matches(Boolean.compare(accessor.readBoolean((byte[]) target), given));
+                }
+                case INT8, INT16, INT32, INT64 -> {
+                    long given = ((Number) converted).longValue();
+                    yield (target, entry) -> op.matches(Long.compare(accessor.readLong((byte[]) target), given));
+                }
+                case FLOAT32, FLOAT64 -> {
+                    double given = ((Number) converted).doubleValue();
+                    yield (target, entry) -> op.matches(Double.compare(accessor.readDouble((byte[]) target), given));
+                }
+                case STRING -> {
+                    byte[] given = ((String) converted).getBytes(UTF_8);
+                    if (!new String(given, UTF_8).equals(converted)) {
+                        // unpaired surrogates are not encoded losslessly
+                        yield null;
+                    }
+                    // the interpreted predicates are satisfied by null attributes only if the given value is null
+                    yield op == Op.EQUAL
+                            ? (target, entry) -> {
+                                byte[] payload = (byte[]) target;
+                                int position = accessor.stringPosition(payload);
+                                return position != NULL_OFFSET && accessor.stringEquals(payload, position, given);
+                            }
+                            : (target, entry) -> {
+                                byte[] payload = (byte[]) target;
+                                int position = accessor.stringPosition(payload);
+                                return position != NULL_OFFSET && op.matches(accessor.compareString(payload, position, given));
+                            };
+                }
+                default -> null;
+            };
+        }
+
+        /**
+         * @return the type of the values of the field kind as they are read
+         * by the generic records
+         */
+        private static Class<?> leafType(FieldKind kind) {
+            return switch (kind) {
+                case BOOLEAN -> Boolean.class;
+                case INT8 -> Byte.class;
+                case INT16 -> Short.class;
+                case INT32 -> Integer.class;
+                case INT64 -> Long.class;
+                case FLOAT32 -> Float.class;
+                case FLOAT64 -> Double.class;
+                default -> String.class;
+            };
+        }
+
+        /**
+         * Converts the given value to the type of the attribute as
+         * {@link AbstractPredicate#convert} does it, but only if the result is
+         * of exactly that type, so that the comparisons of
+         * {@link com.hazelcast.query.impl.Comparables} reduce to the ones of
+         * the type.
+         */
+        @SuppressWarnings("checkstyle:IllegalCatch")
+        private static Comparable convert(Class<?> type, Comparable value) {
+            if (value.getClass() == type) {
+                return value;
+            }
+            AttributeType attributeType = ReflectionHelper.getAttributeType(type);
+            if (attributeType == null) {
+                return null;
+            }
+            try {
+                Comparable converted = attributeType.getConverter().convert(value);
+                return converted != null && converted.getClass() == type ? converted : null;
+            } catch (RuntimeException e) {
+                // leave the failure to the interpreted predicate
+                return null;
+            }
+        }
+    }
+}
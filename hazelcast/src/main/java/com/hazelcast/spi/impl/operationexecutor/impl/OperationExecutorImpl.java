@@ -52,6 +52,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_GENERIC_PRIORITY_QUEUE_SIZE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_GENERIC_QUEUE_SIZE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_GENERIC_THREAD_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_PARTITION_MOVE_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_PARTITION_THREAD_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_PRIORITY_QUEUE_SIZE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_EXECUTOR_QUEUE_SIZE;
@@ -66,6 +67,8 @@ import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.spi.impl.operationservice.impl.InboundResponseHandlerSupplier.getIdleStrategy;
 import static com.hazelcast.spi.properties.ClusterProperty.GENERIC_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_BALANCING_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_BALANCING_INTERVAL_MILLIS;
 import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.PRIORITY_GENERIC_OPERATION_THREAD_COUNT;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -73,7 +76,8 @@ import static java.util.concurrent.TimeUnit.SECONDS;
 /**
  * An {@link OperationExecutor} that schedules:
  * <ol>
- * <li>partition-specific operations to a specific-partition operation thread (using a mod on the partition ID)</li>
+ * <li>partition-specific operations to a specific-partition operation thread (using a mod on the partition ID,
+ * unless partitions are moved between the threads by the {@link PartitionThreadBalancer})</li>
  * <li>non-specific operations to generic operation threads</li>
  * </ol>
  * The {@link #execute(Object, int, boolean)} accepts an Object instead of a runnable to prevent needing to
@@ -115,6 +119,8 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     private final int priorityThreadCount;
     private final TpcServerBootstrap tpcServerBootstrap;
     private final NodeEngine engine;
+    // null if partition thread balancing is disabled
+    private final PartitionThreadBalancer balancer;
 
     @SuppressWarnings("java:S107")
     public OperationExecutorImpl(HazelcastProperties properties,
@@ -142,6 +148,7 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         this.genericOperationRunners = initGenericOperationRunners(properties, runnerFactory);
         this.genericThreads = initGenericThreads(hzName, nodeExtension, configClassLoader);
         this.engine = engine;
+        this.balancer = initBalancer(properties, hzName);
     }
 
     public PartitionOperationThread[] getPartitionThreads() {
@@ -233,6 +240,26 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return threads;
     }
 
+    private PartitionThreadBalancer initBalancer(HazelcastProperties properties, String hzName) {
+        // the TPC eventloops have their own scheduling
+        if (tpcServerBootstrap.isEnabled() || !properties.getBoolean(PARTITION_OPERATION_THREAD_BALANCING_ENABLED)) {
+            return null;
+        }
+
+        long intervalMillis = properties.getMillis(PARTITION_OPERATION_THREAD_BALANCING_INTERVAL_MILLIS);
+        PartitionThreadBalancer balancer = new PartitionThreadBalancer(logger, partitionThreads,
+                partitionOperationRunners, intervalMillis, hzName);
+        for (PartitionOperationThread partitionThread : partitionThreads) {
+            partitionThread.balancer = balancer;
+        }
+        return balancer;
+    }
+
+    // only for testing purposes
+    PartitionThreadBalancer getBalancer() {
+        return balancer;
+    }
+
     static int getPartitionThreadId(int partitionId, int partitionThreadCount) {
         return partitionId % partitionThreadCount;
     }
@@ -387,6 +414,11 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         return partitionThreads.length;
     }
 
+    @Probe(name = OPERATION_METRIC_EXECUTOR_PARTITION_MOVE_COUNT)
+    private long getPartitionMoveCount() {
+        return balancer == null ? 0 : balancer.moveCount();
+    }
+
     @Override
     @Probe(name = OPERATION_METRIC_EXECUTOR_GENERIC_THREAD_COUNT)
     public int getGenericThreadCount() {
@@ -395,7 +427,7 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
 
     @Override
     public int getPartitionThreadId(int partitionId) {
-        return getPartitionThreadId(partitionId, partitionThreads.length);
+        return toPartitionThreadIndex(partitionId);
     }
 
     @Override
@@ -410,6 +442,11 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
         checkNotNull(taskFactory, "taskFactory can't be null");
         checkNotNull(partitions, "partitions can't be null");
 
+        if (balancer != null) {
+            balancer.executeOnPartitions(taskFactory, partitions);
+            return;
+        }
+
         for (PartitionOperationThread partitionThread : partitionThreads) {
             TaskBatch batch = new TaskBatch(taskFactory, partitions, partitionThread.threadId, partitionThreads.length);
             partitionThread.queue.add(batch, false);
@@ -431,6 +468,8 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     private void execute(Object task, int partitionId, boolean priority) {
         if (partitionId < 0) {
             genericQueue.add(task, priority);
+        } else if (balancer != null) {
+            balancer.execute(task, partitionId, priority);
         } else {
             OperationThread partitionThread = partitionThreads[toPartitionThreadIndex(partitionId)];
             partitionThread.queue.add(task, priority);
@@ -563,6 +602,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
     // public for testing purposes
     @Override
     public int toPartitionThreadIndex(int partitionId) {
+        if (balancer != null) {
+            return balancer.ownerOf(partitionId);
+        }
         return partitionId % partitionThreads.length;
     }
 
@@ -578,6 +620,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
             startAll(partitionThreads);
         }
         startAll(genericThreads);
+        if (balancer != null) {
+            balancer.start();
+        }
     }
 
     private static void startAll(OperationThread[] operationThreads) {
@@ -588,6 +633,9 @@ public final class OperationExecutorImpl implements OperationExecutor, StaticMet
 
     @Override
     public void shutdown() {
+        if (balancer != null) {
+            balancer.shutdown();
+        }
         // when tpc is enabled, the partitionThread are manged bu the tpcEngine.
         if (!tpcServerBootstrap.isEnabled()) {
             shutdownAll(partitionThreads);
@@ -18,12 +18,18 @@ package com.hazelcast.spi.impl.operationexecutor.impl;
 
 import com.hazelcast.instance.impl.NodeExtension;
 import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import java.util.ArrayDeque;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_BUSY_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 
 /**
  * An {@link OperationThread} that executes Operations for a particular partition,
@@ -33,6 +39,17 @@ public class PartitionOperationThread extends OperationThread {
 
     OperationRunner[] partitionOperationRunners;
 
+    // only updated by this thread and only when partition thread balancing is enabled
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_BUSY_TIME, unit = NS)
+    final SwCounter busyTime = newSwCounter();
+
+    // set before the thread is started; null if partition thread balancing is disabled
+    PartitionThreadBalancer balancer;
+    // the partition being handed off to this thread and its tasks received so far, together
+    // with the tasks offered to every partition thread meanwhile; only accessed by this thread
+    int deferredPartitionId = -1;
+    final ArrayDeque<Object> deferredTasks = new ArrayDeque<>();
+
     @SuppressFBWarnings("EI_EXPOSE_REP")
     public PartitionOperationThread(String name,
                                     int threadId,
@@ -54,6 +71,22 @@ public class PartitionOperationThread extends OperationThread {
         return partitionOperationRunners[partitionId];
     }
 
+    @Override
+    void process(Object task) {
+        if (balancer == null) {
+            super.process(task);
+        } else {
+            balancer.process(this, task);
+        }
+    }
+
+    /**
+     * Processes the task without consulting the {@link PartitionThreadBalancer}.
+     */
+    void processDirect(Object task) {
+        super.process(task);
+    }
+
     @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT)
     int priorityPendingCount() {
         return queue.prioritySize();
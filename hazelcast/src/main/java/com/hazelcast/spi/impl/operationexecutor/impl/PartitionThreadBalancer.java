@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.executor.HazelcastManagedThread;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.PartitionTaskFactory;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.instance.impl.OutOfMemoryErrorDispatcher.inspectOutOfMemoryError;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * Moves partitions between {@link PartitionOperationThread}s at runtime, so
+ * that a few hot partitions sharing a partition thread don't saturate it
+ * while other partition threads are idle.
+ * <p>
+ * Every partition has a routing thread, the thread new tasks are offered to,
+ * and an owner thread, the only thread allowed to process the tasks of the
+ * partition. Normally both are the same thread. A partition is moved from
+ * thread A to thread B as follows:
+ * <ol>
+ * <li>the routing is switched to B and the balancer waits till every
+ * submission that could still have read A has been offered to A</li>
+ * <li>a handoff task is offered to A. Since it is queued behind every task
+ * that was offered to A, when A processes it, A has processed all tasks of
+ * the partition. A then makes B the owner and offers a resume task to B</li>
+ * <li>in the meantime, B defers the tasks of the partition it receives.
+ * When B processes the resume task, it processes the deferred tasks in
+ * arrival order and from then on processes the tasks of the partition
+ * directly</li>
+ * </ol>
+ * While B defers the tasks of the partition, it also defers the tasks that
+ * are offered to every partition thread, like the barriers of
+ * {@link OperationExecutorImpl#executeOnPartitionThreads}: a barrier
+ * processed by every thread must not overtake a task of the partition that
+ * was submitted before it.
+ * <p>
+ * So at any moment a single thread processes the tasks of a partition and
+ * the tasks are processed in the order they were submitted. At most one
+ * partition is in transit at any time.
+ * <p>
+ * Balancing rounds are run periodically. A round compares the time the
+ * partition threads spent processing partition tasks since the previous
+ * round and moves the partition from the busiest to the least busy thread
+ * that reduces the peak load the most.
+ */
+final class PartitionThreadBalancer implements Runnable {
+
+    private static final int MIN_IMBALANCE_PERCENTAGE = 10;
+    private static final int PERCENTAGE = 100;
+
+    private final ILogger logger;
+    private final PartitionOperationThread[] threads;
+    private final OperationRunner[] runners;
+    private final long intervalMillis;
+    private final String threadName;
+    // partitionId -> index of the thread the tasks of the partition are offered to
+    private final AtomicIntegerArray routing;
+    // partitionId -> index of the thread allowed to process the tasks of the partition
+    private final AtomicIntegerArray owners;
+    // partitionId -> number of submissions that read the routing and did not yet offer the task
+    private final AtomicIntegerArray submitting;
+    // partitionId -> nanos spent processing the partition; only written by the owner thread
+    private final AtomicLongArray busyNanos;
+    // only accessed by the balancing rounds
+    private final long[] lastBusyNanos;
+    private final long[] partitionLoads;
+    private final long[] threadLoads;
+    private final AtomicLong moveCount = new AtomicLong();
+
+    private volatile boolean moving;
+    private long lastRoundNanos = System.nanoTime();
+    private ScheduledExecutorService scheduler;
+
+    PartitionThreadBalancer(ILogger logger, PartitionOperationThread[] threads, OperationRunner[] runners,
+                            long intervalMillis, String hzName) {
+        this.logger = logger;
+        this.threads = threads;
+        this.runners = runners;
+        this.intervalMillis = intervalMillis;
+        this.threadName = createThreadPoolName(hzName, "partition-thread-balancer");
+        int partitionCount = runners.length;
+        this.routing = new AtomicIntegerArray(partitionCount);
+        this.owners = new AtomicIntegerArray(partitionCount);
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            int threadId = OperationExecutorImpl.getPartitionThreadId(partitionId, threads.length);
+            routing.set(partitionId, threadId);
+            owners.set(partitionId, threadId);
+        }
+        this.submitting = new AtomicIntegerArray(partitionCount);
+        this.busyNanos = new AtomicLongArray(partitionCount);
+        this.lastBusyNanos = new long[partitionCount];
+        this.partitionLoads = new long[partitionCount];
+        this.threadLoads = new long[threads.length];
+    }
+
+    int ownerOf(int partitionId) {
+        return owners.get(partitionId);
+    }
+
+    long moveCount() {
+        return moveCount.get();
+    }
+
+    void start() {
+        scheduler = new ScheduledThreadPoolExecutor(1, r -> new HazelcastManagedThread(r, threadName));
+        scheduler.scheduleWithFixedDelay(this, intervalMillis, intervalMillis, MILLISECONDS);
+    }
+
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    void execute(Object task, int partitionId, boolean priority) {
+        submitting.incrementAndGet(partitionId);
+        try {
+            threads[routing.get(partitionId)].queue.add(task, priority);
+        } finally {
+            submitting.decrementAndGet(partitionId);
+        }
+    }
+
+    void executeOnPartitions(PartitionTaskFactory taskFactory, BitSet partitions) {
+        // a task batch per thread would pin its partitions to the thread, so every
+        // partition gets its own task which is created on the owner thread
+        for (int partitionId = partitions.nextSetBit(0); partitionId >= 0; partitionId = partitions.nextSetBit(partitionId + 1)) {
+            execute(new PartitionTask(taskFactory, partitionId), partitionId, false);
+        }
+    }
+
+    /**
+     * Processes a task taken from the queue of the given thread.
+     */
+    void process(PartitionOperationThread thread, Object task) {
+        int partitionId = partitionIdOf(task);
+        if (partitionId < 0) {
+            if (thread.deferredPartitionId >= 0 && !(task instanceof ResumeTask)) {
+                // a task offered to every partition thread is processed after the deferred tasks
+                thread.deferredTasks.add(task);
+            } else {
+                thread.processDirect(task);
+            }
+            return;
+        }
+
+        if (thread.deferredPartitionId == partitionId || owners.get(partitionId) != thread.threadId) {
+            // the partition is being handed off to this thread; since only one partition
+            // is in transit at any time, a thread defers the tasks of at most one partition
+            thread.deferredPartitionId = partitionId;
+            thread.deferredTasks.add(task);
+            return;
+        }
+
+        processTimed(thread, partitionId, task);
+    }
+
+    private void processTimed(PartitionOperationThread thread, int partitionId, Object task) {
+        long startNanos = System.nanoTime();
+        try {
+            if (task instanceof PartitionTask partitionTask) {
+                Object created = partitionTask.create(logger);
+                if (created != null) {
+                    thread.processDirect(created);
+                }
+            } else {
+                thread.processDirect(task);
+            }
+        } finally {
+            long durationNanos = System.nanoTime() - startNanos;
+            busyNanos.lazySet(partitionId, busyNanos.get(partitionId) + durationNanos);
+            thread.busyTime.inc(durationNanos);
+        }
+    }
+
+    private static int partitionIdOf(Object task) {
+        if (task.getClass() == Packet.class) {
+            return ((Packet) task).getPartitionId();
+        } else if (task instanceof Operation operation) {
+            return operation.getPartitionId();
+        } else if (task instanceof PartitionSpecificRunnable runnable) {
+            return runnable.getPartitionId();
+        } else if (task instanceof PartitionTask partitionTask) {
+            return partitionTask.partitionId;
+        }
+        return -1;
+    }
+
+    @Override
+    public void run() {
+        try {
+            rebalance();
+        } catch (Throwable t) {
+            inspectOutOfMemoryError(t);
+            logger.severe("Failed to rebalance the partition threads", t);
+        }
+    }
+
+    void rebalance() {
+        if (moving) {
+            return;
+        }
+
+        long nowNanos = System.nanoTime();
+        long elapsedNanos = nowNanos - lastRoundNanos;
+        lastRoundNanos = nowNanos;
+        int busiest = updateLoads();
+        int idlest = 0;
+        for (int threadId = 1; threadId < threadLoads.length; threadId++) {
+            if (threadLoads[threadId] < threadLoads[idlest]) {
+                idlest = threadId;
+            }
+        }
+
+        long imbalanceNanos = threadLoads[busiest] - threadLoads[idlest];
+        if (imbalanceNanos * PERCENTAGE < elapsedNanos * MIN_IMBALANCE_PERCENTAGE) {
+            return;
+        }
+
+        // the partition that, once moved, gives the lowest load of the two threads
+        int candidate = -1;
+        long candidatePeak = threadLoads[busiest];
+        for (int partitionId = 0; partitionId < partitionLoads.length; partitionId++) {
+            long load = partitionLoads[partitionId];
+            if (load == 0 || owners.get(partitionId) != busiest) {
+                continue;
+            }
+
+            long peak = Math.max(threadLoads[busiest] - load, threadLoads[idlest] + load);
+            if (peak < candidatePeak) {
+                candidatePeak = peak;
+                candidate = partitionId;
+            }
+        }
+
+        if (candidate >= 0) {
+            move(candidate, idlest);
+        }
+    }
+
+    /**
+     * Updates the partition and thread loads since the previous round.
+     *
+     * @return the index of the busiest thread
+     */
+    private int updateLoads() {
+        Arrays.fill(threadLoads, 0);
+        for (int partitionId = 0; partitionId < partitionLoads.length; partitionId++) {
+            long busy = busyNanos.get(partitionId);
+            partitionLoads[partitionId] = busy - lastBusyNanos[partitionId];
+            lastBusyNanos[partitionId] = busy;
+            threadLoads[owners.get(partitionId)] += partitionLoads[partitionId];
+        }
+
+        int busiest = 0;
+        for (int threadId = 1; threadId < threadLoads.length; threadId++) {
+            if (threadLoads[threadId] > threadLoads[busiest]) {
+                busiest = threadId;
+            }
+        }
+        return busiest;
+    }
+
+    /**
+     * Starts moving the partition to the given thread. Only one partition
+     * can be in transit at any time; the move is not started if another
+     * partition is in transit or if the partition is already routed to the
+     * target thread.
+     * <p>
+     * Should only be called from a single thread, normally the balancer
+     * thread.
+     *
+     * @return {@code true} if the move was started
+     */
+    boolean move(int partitionId, int targetThreadId) {
+        int sourceThreadId = routing.get(partitionId);
+        if (moving || sourceThreadId == targetThreadId) {
+            return false;
+        }
+
+        moving = true;
+        routing.set(partitionId, targetThreadId);
+        // wait till the submissions that may have read the old routing have offered their task
+        while (submitting.get(partitionId) != 0) {
+            Thread.onSpinWait();
+        }
+
+        moveCount.incrementAndGet();
+        if (logger.isFineEnabled()) {
+            logger.fine("Moving partition " + partitionId + " from " + threads[sourceThreadId].getName()
+                    + " to " + threads[targetThreadId].getName());
+        }
+        threads[sourceThreadId].queue.add((Runnable) () -> handOff(partitionId, targetThreadId), false);
+        return true;
+    }
+
+    /**
+     * Runs on the source thread after it processed all tasks of the partition.
+     */
+    private void handOff(int partitionId, int targetThreadId) {
+        PartitionOperationThread target = threads[targetThreadId];
+        runners[partitionId].setCurrentThread(target);
+        owners.set(partitionId, targetThreadId);
+        target.queue.add(new ResumeTask(target, partitionId), true);
+    }
+
+    /**
+     * Runs on the target thread once it owns the partition.
+     */
+    private void resume(PartitionOperationThread thread, int partitionId) {
+        ArrayDeque<Object> pending = thread.deferredTasks;
+        for (Object task = pending.poll(); task != null; task = pending.poll()) {
+            if (partitionIdOf(task) < 0) {
+                thread.processDirect(task);
+            } else {
+                processTimed(thread, partitionId, task);
+            }
+        }
+        thread.deferredPartitionId = -1;
+        moving = false;
+    }
+
+    boolean isMoving() {
+        return moving;
+    }
+
+    /**
+     * Makes the target thread process the deferred tasks of the partition
+     * handed off to it; it is never deferred itself.
+     */
+    private final class ResumeTask implements Runnable {
+        private final PartitionOperationThread thread;
+        private final int partitionId;
+
+        ResumeTask(PartitionOperationThread thread, int partitionId) {
+            this.thread = thread;
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public void run() {
+            resume(thread, partitionId);
+        }
+    }
+
+    /**
+     * A task of an {@link OperationExecutorImpl#executeOnPartitions} call for
+     * a single partition.
+     */
+    private static final class PartitionTask {
+        private final PartitionTaskFactory taskFactory;
+        private final int partitionId;
+
+        PartitionTask(PartitionTaskFactory taskFactory, int partitionId) {
+            this.taskFactory = taskFactory;
+            this.partitionId = partitionId;
+        }
+
+        Object create(ILogger logger) {
+            try {
+                return taskFactory.create(partitionId);
+            } catch (Throwable t) {
+                inspectOutOfMemoryError(t);
+                logger.severe("Failed to create task for partition " + partitionId + " from " + taskFactory, t);
+                return null;
+            }
+        }
+    }
+}
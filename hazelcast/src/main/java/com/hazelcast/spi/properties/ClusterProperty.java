@@ -151,6 +151,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty SOCKET_BUFFER_DIRECT
             = new HazelcastProperty("hazelcast.socket.buffer.direct", false);
 
+    /**
+     * The maximum size in MB of the direct memory pooled for the socket
+     * buffers, shared by all the connections of the member. The pool is only
+     * used if the {@link #SOCKET_BUFFER_DIRECT direct socket buffers} are
+     * enabled: the buffers of a closed connection are returned to the pool
+     * and reused by new connections instead of being left to the garbage
+     * collector. When the pool is exhausted, the buffers are allocated
+     * outside of it. {@code 0} disables the pool.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty SOCKET_BUFFER_POOL_SIZE
+            = new HazelcastProperty("hazelcast.socket.buffer.pool.size", 0);
+
     /**
      * Overrides receive buffer size for connections opened by clients.
      * <p>
@@ -363,6 +377,39 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * Enables the compression of the packets sent to the other members with
+     * Deflate. The packets are compressed only if the receiving member can
+     * decompress them, which is negotiated when the connection is established.
+     * The packets smaller than {@link #NETWORK_COMPRESSION_THRESHOLD} are sent
+     * uncompressed.
+     * <p>
+     * It is disabled by default.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_ENABLED
+            = new HazelcastProperty("hazelcast.network.compression.enabled", false);
+
+    /**
+     * The size in bytes of the packets below which they are sent uncompressed
+     * when {@link #NETWORK_COMPRESSION_ENABLED} is set.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_THRESHOLD
+            = new HazelcastProperty("hazelcast.network.compression.threshold.bytes", 8192);
+
+    /**
+     * The Deflate compression level of the packets, from 1 (the fastest) to
+     * 9 (the best compression), when {@link #NETWORK_COMPRESSION_ENABLED} is
+     * set.
+     *
+     * @since 6.0
+     */
+    public static final HazelcastProperty NETWORK_COMPRESSION_LEVEL
+            = new HazelcastProperty("hazelcast.network.compression.level", 1);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -532,6 +579,25 @@ public final class ClusterProperty {
     public static final HazelcastProperty PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB
             = new HazelcastProperty("hazelcast.partition.migration.chunks.max.migrating.data.in.mb", 250);
 
+    /**
+     * Maximum number of migration fragments of a single partition migration
+     * that the migration source sends without waiting for the destination to
+     * acknowledge them.
+     * <p>
+     * With the default value of 1, the source prepares and sends the next
+     * fragment only after the destination has applied the previous one. With
+     * a larger value, the source streams the fragments: it prepares and sends
+     * the next fragments while the destination is still applying the previous
+     * ones, so preparation, transfer and application of the fragments overlap.
+     * Since chunked fragments are bounded by
+     * {@link #PARTITION_CHUNKED_MAX_MIGRATING_DATA_IN_MB}, the migrating data of
+     * a single migration is bounded by this value times that limit. A fragment
+     * sent this way is not retried; if it fails, the whole migration fails and
+     * is retried by the master.
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_MAX_IN_FLIGHT_FRAGMENTS
+            = new HazelcastProperty("hazelcast.partition.migration.max.in.flight.fragments", 1);
+
     /**
      * The time that a newly-appointed master node waits before forming a cluster.
      * Once a cluster is being started, a newly-appointed master node may receive
@@ -1021,6 +1087,41 @@ public final class ClusterProperty {
     public static final HazelcastProperty AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION
             = new HazelcastProperty("hazelcast.aggregation.accumulation.parallel.evaluation", true);
 
+    /**
+     * Enables compilation of the predicates evaluated by full partition scans.
+     * <p>
+     * Comparisons of the attributes of plain Java values, such as the ones
+     * created by {@code Predicates.equal}, {@code Predicates.greaterThan} or
+     * {@code Predicates.between} and combined by {@code Predicates.and},
+     * {@code Predicates.or} or {@code Predicates.not}, are compiled into
+     * evaluators reading the attributes through method handles bound once per
+     * value class and comparing primitive attributes without boxing. The
+     * results are the same as of the interpreted evaluation, which is used
+     * for all other predicates and values.
+     * <p>
+     * The default is {@code false}, the compiled evaluation is experimental.
+     */
+    public static final HazelcastProperty QUERY_PREDICATE_COMPILATION_ENABLED
+            = new HazelcastProperty("hazelcast.query.predicate.compilation.enabled", false);
+
+    /**
+     * The maximum number of parts of an index range scan processed in parallel.
+     * <p>
+     * Each Hazelcast member iterates the entries matched by a global index,
+     * filters them by the predicates the index can't answer and converts them
+     * into the rows of the query result (serializing keys and values and
+     * applying the projection) using the thread evaluating the query by
+     * default. With a value greater than 1, the index keys in the queried
+     * range are split into contiguous sub-ranges whose entries are iterated,
+     * filtered and converted on the query executor; the rows are merged in
+     * the order of the index keys. It pays off for queries returning large
+     * results.
+     * <p>
+     * The default is {@code 1}, which disables the parallel scan.
+     */
+    public static final HazelcastProperty QUERY_INDEX_SCAN_PARALLELISM
+            = new HazelcastProperty("hazelcast.query.index.scan.parallelism", 1);
+
     /**
      * Enables use of the concurrent HD index introduced in 4.1 for the IMDG
      * predicate API (old query engine) and reverts to using the per-partition
@@ -1106,6 +1207,20 @@ public final class ClusterProperty {
     public static final HazelcastProperty QUERY_OPTIMIZER_TYPE
             = new HazelcastProperty("hazelcast.query.optimizer.type", QueryOptimizerFactory.Type.RULES.toString());
 
+    /**
+     * When enabled, on-heap {@link com.hazelcast.config.IndexType#SORTED SORTED}
+     * indexes keep their keys in paged structures instead of the skip list
+     * based store: single attribute indexes of numeric and temporal values keep
+     * them as primitive keys in sorted runs, other sorted indexes use a B+tree
+     * whose page size is taken from {@link com.hazelcast.config.BTreeIndexConfig}.
+     * This lowers the memory per indexed entry and the allocations of range
+     * queries.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty QUERY_INDEX_PAGED_STORES_ENABLED
+            = new HazelcastProperty("hazelcast.query.index.paged.stores.enabled", false);
+
     /**
      * Type of Query Index result copying behavior. Defines the behavior for
      * index copying on index read/write.
@@ -1318,6 +1433,59 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * When enabled, the serialized values of maps with
+     * {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY} in-memory
+     * format are kept in native memory slabs instead of on the heap. Keys
+     * and record metadata stay on the heap. Values are copied to the heap on
+     * every read, so this trades some CPU for a smaller heap and shorter GC
+     * pauses with large maps.
+     * <p>
+     * Native memory used by the values is not included in the owned
+     * entry memory cost of the map, so heap based max-size policies
+     * only account for the on-heap part of the entries.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty MAP_OFF_HEAP_VALUES_ENABLED
+            = new HazelcastProperty("hazelcast.map.offheap.values.enabled", false);
+
+    /**
+     * When enabled, maps with {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY}
+     * in-memory format which have neither per entry stats nor eviction configured
+     * use a packed record layout: the serialized value is stored inline in the
+     * record instead of in a separate wrapper object. This reduces the heap cost
+     * of every entry whose value isn't read, which matters for maps with many
+     * small entries.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty MAP_PACKED_RECORDS_ENABLED
+            = new HazelcastProperty("hazelcast.map.packed.records.enabled", false);
+
+    /**
+     * When enabled, {@link IMap#get(Object)} calls for keys owned by the
+     * calling member are served directly from the caller thread for maps with
+     * {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY} in-memory
+     * format, instead of being queued to the partition thread. This takes the
+     * latency of local reads off the partition queues, e.g. when they hold long
+     * running entry processors.
+     * <p>
+     * Reads fall back to the partition thread for missing keys and for entries
+     * which have a time-to-live or max-idle, belong to a map with interceptors
+     * or eviction, or belong to a migrating partition or to a partition with
+     * locked entries. Local reads don't update the access statistics. A read
+     * that overlaps an update of the same entry or a change of the partition
+     * also falls back, so local reads return the same values as partition
+     * thread reads.
+     * <p>
+     * Ignored when {@link #MAP_OFF_HEAP_VALUES_ENABLED} is set.
+     * <p>
+     * Default: false
+     */
+    public static final HazelcastProperty MAP_LOCAL_READS_ENABLED
+            = new HazelcastProperty("hazelcast.map.local.reads.enabled", false);
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -1487,6 +1655,34 @@ public final class ClusterProperty {
     public static final HazelcastProperty PRIORITY_GENERIC_OPERATION_THREAD_COUNT
             = new HazelcastProperty("hazelcast.operation.priority.generic.thread.count", 1);
 
+    /**
+     * Enables runtime rebalancing of partitions over the partition operation
+     * threads.
+     * <p>
+     * By default, a partition is statically bound to the partition thread
+     * {@code partitionId % threadCount}, so a few hot partitions sharing a
+     * thread can saturate it while other partition threads sit idle. When
+     * enabled, the busy time of every partition is tracked and partitions are
+     * periodically handed off from the busiest to the least busy partition
+     * thread. The handoff preserves the guarantee that a partition is only
+     * processed by a single thread at any time and that operations for a
+     * partition are processed in submission order.
+     * <p>
+     * Has no effect when TPC is enabled. The default is {@code false}.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_THREAD_BALANCING_ENABLED
+            = new HazelcastProperty("hazelcast.operation.thread.balancing.enabled", false);
+
+    /**
+     * The interval between two rounds of partition thread rebalancing, see
+     * {@link #PARTITION_OPERATION_THREAD_BALANCING_ENABLED}. Every round moves
+     * at most one partition.
+     * <p>
+     * The default is 1000 milliseconds.
+     */
+    public static final HazelcastProperty PARTITION_OPERATION_THREAD_BALANCING_INTERVAL_MILLIS
+            = new HazelcastProperty("hazelcast.operation.thread.balancing.interval.millis", 1000, MILLISECONDS);
+
     /**
      * The number of threads that process responses.
      * <p>
@@ -0,0 +1,377 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.config.vector.Metric;
+import com.hazelcast.config.vector.VectorIndexConfig;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+
+/**
+ * An in-memory Hierarchical Navigable Small World graph over {@code float[]} vectors,
+ * see <a href="https://arxiv.org/abs/1603.09320">Malkov, Yashunin</a>.
+ * <p>
+ * Nodes are identified by non-negative ints assigned by the caller. A removed node
+ * is only marked as deleted: it keeps routing searches but is never returned. The
+ * caller should build a new index from the live nodes once most of them are deleted.
+ * <p>
+ * This class is not thread-safe; it is meant to be owned by a single partition thread.
+ */
+public final class HnswIndex {
+
+    /**
+     * Default size of the dynamic candidate list of searches.
+     */
+    public static final int DEFAULT_EF_SEARCH = 64;
+
+    private static final int MAX_LEVEL = 16;
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long RANDOM_SEED = 0x5DEECE66DL;
+
+    private final Metric metric;
+    private final int dimension;
+    private final int maxDegree;
+    private final int efConstruction;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(RANDOM_SEED);
+    private final NodeHeap candidates = new NodeHeap(INITIAL_CAPACITY, false);
+    private final BitSet deleted = new BitSet();
+
+    private float[][] vectors = new float[INITIAL_CAPACITY][];
+    // node -> level -> [count, neighbour...]
+    private int[][][] links = new int[INITIAL_CAPACITY][][];
+    private int[] visited = new int[INITIAL_CAPACITY];
+    private int visitedEpoch;
+    private int entryPoint = -1;
+    private int topLevel = -1;
+    private int nodeCount;
+    private int deletedCount;
+
+    public HnswIndex(VectorIndexConfig config) {
+        this(config.getMetric(), config.getDimension(), config.getMaxDegree(), config.getEfConstruction());
+    }
+
+    public HnswIndex(Metric metric, int dimension, int maxDegree, int efConstruction) {
+        this.metric = metric;
+        this.dimension = checkPositive("dimension", dimension);
+        this.maxDegree = checkPositive("maxDegree", maxDegree);
+        this.efConstruction = checkPositive("efConstruction", efConstruction);
+        this.levelMultiplier = 1 / Math.log(Math.max(maxDegree, 2));
+    }
+
+    public Metric getMetric() {
+        return metric;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Returns the number of live nodes.
+     */
+    public int size() {
+        return nodeCount - deletedCount;
+    }
+
+    /**
+     * Adds a node. The id must not be used by a live node.
+     */
+    public void add(int id, float[] vector) {
+        checkDimension(vector);
+        ensureCapacity(id + 1);
+        if (vectors[id] != null) {
+            if (!deleted.get(id)) {
+                throw new IllegalArgumentException("Node " + id + " already exists");
+            }
+            // re-adding a deleted node, it can't keep its old links
+            rebuildWithout(id);
+            ensureCapacity(id + 1);
+        }
+        insert(id, metric == Metric.COSINE ? VectorDistances.normalize(vector) : vector.clone());
+    }
+
+    /**
+     * Marks the node with the given id as deleted.
+     *
+     * @return {@code true} if there was a live node with the id
+     */
+    public boolean remove(int id) {
+        if (id >= vectors.length || vectors[id] == null || deleted.get(id)) {
+            return false;
+        }
+        deleted.set(id);
+        deletedCount++;
+        return true;
+    }
+
+    /**
+     * Finds the live nodes closest to the query.
+     *
+     * @param query     the query vector
+     * @param k         maximum number of nodes to return
+     * @param ef        size of the dynamic candidate list, higher values
+     *                  give better recall at the expense of latency
+     * @param ids       receives the ids of the found nodes, closest first
+     * @param distances receives the {@link VectorDistances#distance distances} of the found nodes
+     * @return the number of found nodes
+     */
+    public int search(float[] query, int k, int ef, int[] ids, float[] distances) {
+        checkDimension(query);
+        if (entryPoint == -1 || size() == 0) {
+            return 0;
+        }
+
+        float[] q = metric == Metric.COSINE ? VectorDistances.normalize(query) : query;
+        int closest = entryPoint;
+        for (int level = topLevel; level > 0; level--) {
+            closest = greedyClosest(q, closest, level);
+        }
+        NodeHeap results = searchLayer(q, closest, Math.max(ef, k), 0, false);
+        while (results.size() > k) {
+            results.pop();
+        }
+        int count = results.size();
+        for (int i = count - 1; i >= 0; i--) {
+            distances[i] = results.topDistance();
+            ids[i] = results.pop();
+        }
+        return count;
+    }
+
+    private void insert(int id, float[] vector) {
+        int level = randomLevel();
+        vectors[id] = vector;
+        links[id] = new int[level + 1][];
+        for (int l = 0; l <= level; l++) {
+            links[id][l] = new int[maxDegree(l) + 1];
+        }
+        nodeCount++;
+
+        if (entryPoint == -1) {
+            entryPoint = id;
+            topLevel = level;
+            return;
+        }
+
+        int closest = entryPoint;
+        for (int l = topLevel; l > level; l--) {
+            closest = greedyClosest(vector, closest, l);
+        }
+        for (int l = Math.min(level, topLevel); l >= 0; l--) {
+            NodeHeap found = searchLayer(vector, closest, efConstruction, l, true);
+            int[] sorted = drainSorted(found);
+            closest = sorted[0];
+            int[] selected = selectNeighbours(vector, sorted, maxDegree(l));
+            for (int neighbour : selected) {
+                addLink(id, neighbour, l);
+                addLink(neighbour, id, l);
+            }
+        }
+        if (level > topLevel) {
+            entryPoint = id;
+            topLevel = level;
+        }
+    }
+
+    private int greedyClosest(float[] query, int start, int level) {
+        int closest = start;
+        float closestDistance = distance(query, closest);
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            int[] neighbours = links[closest][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int candidate = neighbours[i];
+                float d = distance(query, candidate);
+                if (d < closestDistance) {
+                    closest = candidate;
+                    closestDistance = d;
+                    changed = true;
+                }
+            }
+        }
+        return closest;
+    }
+
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    private NodeHeap searchLayer(float[] query, int start, int ef, int level, boolean includeDeleted) {
+        int epoch = nextVisitedEpoch();
+        NodeHeap results = new NodeHeap(ef + 1, true);
+        candidates.clear();
+
+        float startDistance = distance(query, start);
+        visited[start] = epoch;
+        candidates.push(start, startDistance);
+        if (includeDeleted || !deleted.get(start)) {
+            results.push(start, startDistance);
+        }
+
+        while (!candidates.isEmpty()) {
+            float candidateDistance = candidates.topDistance();
+            if (results.size() >= ef && candidateDistance > results.topDistance()) {
+                break;
+            }
+            int[] neighbours = links[candidates.pop()][level];
+            for (int i = 1; i <= neighbours[0]; i++) {
+                int neighbour = neighbours[i];
+                if (visited[neighbour] == epoch) {
+                    continue;
+                }
+                visited[neighbour] = epoch;
+                float d = distance(query, neighbour);
+                if (results.size() < ef || d < results.topDistance()) {
+                    candidates.push(neighbour, d);
+                    if (includeDeleted || !deleted.get(neighbour)) {
+                        results.push(neighbour, d);
+                        if (results.size() > ef) {
+                            results.pop();
+                        }
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Selects the neighbours with the heuristic of the paper: a candidate is skipped
+     * if it is closer to an already selected neighbour than to the base node, which
+     * keeps links spread in all directions. Skipped candidates fill up the free slots.
+     *
+     * @param sorted candidates, closest to the base node first
+     */
+    private int[] selectNeighbours(float[] base, int[] sorted, int limit) {
+        if (sorted.length <= limit) {
+            return sorted;
+        }
+        int[] selected = new int[limit];
+        int selectedCount = 0;
+        int[] skipped = new int[sorted.length];
+        int skippedCount = 0;
+        for (int i = 0; i < sorted.length && selectedCount < limit; i++) {
+            int candidate = sorted[i];
+            float toBase = distance(base, candidate);
+            boolean good = true;
+            for (int j = 0; j < selectedCount; j++) {
+                if (distance(vectors[selected[j]], candidate) < toBase) {
+                    good = false;
+                    break;
+                }
+            }
+            if (good) {
+                selected[selectedCount++] = candidate;
+            } else {
+                skipped[skippedCount++] = candidate;
+            }
+        }
+        for (int i = 0; i < skippedCount && selectedCount < limit; i++) {
+            selected[selectedCount++] = skipped[i];
+        }
+        return selectedCount == limit ? selected : Arrays.copyOf(selected, selectedCount);
+    }
+
+    private void addLink(int from, int to, int level) {
+        int[] neighbours = links[from][level];
+        int count = neighbours[0];
+        if (count < neighbours.length - 1) {
+            neighbours[count + 1] = to;
+            neighbours[0] = count + 1;
+            return;
+        }
+
+        // full, keep the best ones of the current neighbours and the new one
+        float[] base = vectors[from];
+        NodeHeap heap = new NodeHeap(count + 1, true);
+        for (int i = 1; i <= count; i++) {
+            heap.push(neighbours[i], distance(base, neighbours[i]));
+        }
+        heap.push(to, distance(base, to));
+        int[] selected = selectNeighbours(base, drainSorted(heap), count);
+        System.arraycopy(selected, 0, neighbours, 1, selected.length);
+        neighbours[0] = selected.length;
+    }
+
+    private void rebuildWithout(int excludedId) {
+        float[][] oldVectors = vectors;
+        BitSet oldDeleted = (BitSet) deleted.clone();
+        oldDeleted.set(excludedId);
+
+        vectors = new float[oldVectors.length][];
+        links = new int[oldVectors.length][][];
+        deleted.clear();
+        entryPoint = -1;
+        topLevel = -1;
+        nodeCount = 0;
+        deletedCount = 0;
+        for (int id = 0; id < oldVectors.length; id++) {
+            if (oldVectors[id] != null && !oldDeleted.get(id)) {
+                // already normalized
+                insert(id, oldVectors[id]);
+            }
+        }
+    }
+
+    private static int[] drainSorted(NodeHeap maxHeap) {
+        int[] sorted = new int[maxHeap.size()];
+        for (int i = sorted.length - 1; i >= 0; i--) {
+            sorted[i] = maxHeap.pop();
+        }
+        return sorted;
+    }
+
+    private int maxDegree(int level) {
+        return level == 0 ? 2 * maxDegree : maxDegree;
+    }
+
+    private int randomLevel() {
+        double u = 1 - random.nextDouble();
+        return Math.min((int) (-Math.log(u) * levelMultiplier), MAX_LEVEL);
+    }
+
+    private float distance(float[] query, int node) {
+        return VectorDistances.distance(metric, query, vectors[node]);
+    }
+
+    private int nextVisitedEpoch() {
+        if (++visitedEpoch == Integer.MAX_VALUE) {
+            Arrays.fill(visited, 0);
+            visitedEpoch = 1;
+        }
+        return visitedEpoch;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= vectors.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, vectors.length * 2);
+        vectors = Arrays.copyOf(vectors, newCapacity);
+        links = Arrays.copyOf(links, newCapacity);
+        visited = Arrays.copyOf(visited, newCapacity);
+    }
+
+    private void checkDimension(float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Vector of dimension " + vector.length
+                    + " doesn't match the index dimension " + dimension);
+        }
+    }
+}
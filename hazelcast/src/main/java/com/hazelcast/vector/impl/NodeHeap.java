@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import java.util.Arrays;
+
+/**
+ * A binary heap of graph nodes ordered by their distance, kept in
+ * parallel primitive arrays to avoid boxing on the search path.
+ */
+final class NodeHeap {
+
+    private final boolean maxHeap;
+    private int[] ids;
+    private float[] distances;
+    private int size;
+
+    /**
+     * @param initialCapacity the initial capacity
+     * @param maxHeap         {@code true} if the farthest node should be on the top,
+     *                        {@code false} if the closest one
+     */
+    NodeHeap(int initialCapacity, boolean maxHeap) {
+        this.maxHeap = maxHeap;
+        this.ids = new int[Math.max(initialCapacity, 1)];
+        this.distances = new float[ids.length];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    int topId() {
+        return ids[0];
+    }
+
+    float topDistance() {
+        return distances[0];
+    }
+
+    void push(int id, float distance) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            distances = Arrays.copyOf(distances, size * 2);
+        }
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(distance, distances[parent])) {
+                break;
+            }
+            ids[index] = ids[parent];
+            distances[index] = distances[parent];
+            index = parent;
+        }
+        ids[index] = id;
+        distances[index] = distance;
+    }
+
+    /**
+     * Removes the top node and returns its id.
+     */
+    int pop() {
+        int top = ids[0];
+        int lastId = ids[--size];
+        float lastDistance = distances[size];
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            int right = child + 1;
+            if (right < size && before(distances[right], distances[child])) {
+                child = right;
+            }
+            if (!before(distances[child], lastDistance)) {
+                break;
+            }
+            ids[index] = ids[child];
+            distances[index] = distances[child];
+            index = child;
+        }
+        ids[index] = lastId;
+        distances[index] = lastDistance;
+        return top;
+    }
+
+    private boolean before(float a, float b) {
+        return maxHeap ? a > b : a < b;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.vector.SearchResult;
+import com.hazelcast.vector.VectorValues;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Deserialized {@link SearchResult} returned to the user.
+ */
+public class SearchResultImpl<K, V> implements SearchResult<K, V> {
+
+    private final K key;
+    private final V value;
+    private final VectorValues vectors;
+    private final float score;
+
+    public SearchResultImpl(@Nonnull K key, @Nullable V value, @Nullable VectorValues vectors, float score) {
+        this.key = key;
+        this.value = value;
+        this.vectors = vectors;
+        this.score = score;
+    }
+
+    @Nonnull
+    @Override
+    public K getKey() {
+        return key;
+    }
+
+    @Nullable
+    @Override
+    public V getValue() {
+        return value;
+    }
+
+    @Nullable
+    @Override
+    public VectorValues getVectors() {
+        return vectors;
+    }
+
+    @Override
+    public float getScore() {
+        return score;
+    }
+
+    @Override
+    public String toString() {
+        return "SearchResultImpl{"
+                + "key=" + key
+                + ", score=" + score
+                + ", value=" + value
+                + ", vectors=" + vectors
+                + '}';
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.config.vector.VectorCollectionConfig;
+import com.hazelcast.config.vector.VectorIndexConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.vector.Hint;
+import com.hazelcast.vector.SearchOptions;
+import com.hazelcast.vector.VectorValues;
+import com.hazelcast.vector.VectorValues.MultiIndexVectorValues;
+import com.hazelcast.vector.VectorValues.SingleVectorValues;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Holds the documents of a vector collection stored in a single partition,
+ * together with an {@link HnswIndex} per configured vector index.
+ * <p>
+ * Every document gets a new internal id when it is put; the id is shared by
+ * all indexes of the collection. Ids of removed documents are not reused, so
+ * once most of the ids are dead the indexes are rebuilt with dense ids.
+ * This class is not thread-safe; it is only accessed by the partition thread.
+ */
+public class VectorCollectionContainer {
+
+    /**
+     * Size of the dynamic candidate list of a search, see {@link HnswIndex#search}.
+     * Defaults to {@link HnswIndex#DEFAULT_EF_SEARCH} or the search limit, whichever is larger.
+     */
+    public static final Hint<Integer> EF_SEARCH = new Hint<>("efSearch", Integer::parseInt);
+
+    private static final String DEFAULT_INDEX_NAME = "";
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int MIN_DEAD_IDS_TO_COMPACT = 1024;
+
+    private final String name;
+    private final VectorCollectionConfig config;
+    private final Map<String, HnswIndex> indexes;
+    private final Map<Data, Integer> keyToId = new HashMap<>();
+    private Data[] keys = new Data[INITIAL_CAPACITY];
+    private DataVectorDocument[] documents = new DataVectorDocument[INITIAL_CAPACITY];
+    private int nextId;
+
+    public VectorCollectionContainer(String name, VectorCollectionConfig config) {
+        this.name = name;
+        this.config = config;
+        this.indexes = createIndexes(config);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public VectorCollectionConfig getConfig() {
+        return config;
+    }
+
+    public int size() {
+        return keyToId.size();
+    }
+
+    public DataVectorDocument get(Data key) {
+        Integer id = keyToId.get(key);
+        return id == null ? null : documents[id];
+    }
+
+    /**
+     * Puts the document and indexes its vectors.
+     *
+     * @return the previous document of the key or {@code null}
+     * @throws IllegalArgumentException if the vectors of the document don't match the indexes
+     */
+    public DataVectorDocument put(Data key, DataVectorDocument document) {
+        // validate all vectors before any index is touched
+        float[][] vectors = new float[indexes.size()][];
+        int i = 0;
+        for (Map.Entry<String, HnswIndex> entry : indexes.entrySet()) {
+            vectors[i++] = vectorOf(document.getVectors(), entry.getKey(), entry.getValue());
+        }
+
+        DataVectorDocument oldDocument = remove(key);
+        int id = nextId++;
+        ensureCapacity(id + 1);
+        keys[id] = key;
+        documents[id] = document;
+        keyToId.put(key, id);
+        i = 0;
+        for (HnswIndex index : indexes.values()) {
+            index.add(id, vectors[i++]);
+        }
+        return oldDocument;
+    }
+
+    /**
+     * Removes the document of the key from the collection and its indexes.
+     *
+     * @return the removed document or {@code null}
+     */
+    public DataVectorDocument remove(Data key) {
+        Integer id = keyToId.remove(key);
+        if (id == null) {
+            return null;
+        }
+        DataVectorDocument document = documents[id];
+        keys[id] = null;
+        documents[id] = null;
+        for (HnswIndex index : indexes.values()) {
+            index.remove(id);
+        }
+        compactIfNeeded();
+        return document;
+    }
+
+    /**
+     * Returns the documents closest to the query vector, most similar first.
+     *
+     * @throws IllegalArgumentException if the query doesn't have exactly one vector
+     *                                  or it doesn't match an index
+     */
+    public List<DataSearchResult> search(VectorValues query, SearchOptions options) {
+        Map.Entry<String, float[]> queryVector = queryVectorOf(query);
+        String indexName = queryVector.getKey();
+        HnswIndex index = indexes.get(indexName);
+        if (index == null) {
+            throw new IllegalArgumentException("Vector collection '" + name + "' has no index '" + indexName + "'");
+        }
+
+        int limit = options.getLimit();
+        int ef = EF_SEARCH.isPresent(options) ? EF_SEARCH.get(options) : HnswIndex.DEFAULT_EF_SEARCH;
+        int[] ids = new int[limit];
+        float[] distances = new float[limit];
+        int count = index.search(queryVector.getValue(), limit, ef, ids, distances);
+
+        List<DataSearchResult> results = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int id = ids[i];
+            DataSearchResult result = new DataSearchResult(id, keys[id],
+                    VectorDistances.score(index.getMetric(), distances[i]));
+            DataVectorDocument document = documents[id];
+            if (options.isIncludeValue()) {
+                result.setValue(document.getValue());
+            }
+            if (options.isIncludeVectors()) {
+                result.setVectors(VectorValues.of(vectorOf(document.getVectors(), indexName, index)));
+            }
+            results.add(result);
+        }
+        return results;
+    }
+
+    public void forEach(BiConsumer<Data, DataVectorDocument> consumer) {
+        keyToId.forEach((key, id) -> consumer.accept(key, documents[id]));
+    }
+
+    public void clear() {
+        keyToId.clear();
+        keys = new Data[INITIAL_CAPACITY];
+        documents = new DataVectorDocument[INITIAL_CAPACITY];
+        resetIndexes();
+        nextId = 0;
+    }
+
+    private void compactIfNeeded() {
+        int deadIds = nextId - keyToId.size();
+        if (deadIds < MIN_DEAD_IDS_TO_COMPACT || deadIds <= keyToId.size()) {
+            return;
+        }
+
+        Data[] oldKeys = keys;
+        DataVectorDocument[] oldDocuments = documents;
+        int oldIdCount = nextId;
+        keys = new Data[Math.max(INITIAL_CAPACITY, 2 * keyToId.size())];
+        documents = new DataVectorDocument[keys.length];
+        resetIndexes();
+        keyToId.clear();
+        nextId = 0;
+        for (int oldId = 0; oldId < oldIdCount; oldId++) {
+            if (oldKeys[oldId] == null) {
+                continue;
+            }
+            int id = nextId++;
+            keys[id] = oldKeys[oldId];
+            documents[id] = oldDocuments[oldId];
+            keyToId.put(keys[id], id);
+            for (Map.Entry<String, HnswIndex> entry : indexes.entrySet()) {
+                entry.getValue().add(id, vectorOf(documents[id].getVectors(), entry.getKey(), entry.getValue()));
+            }
+        }
+    }
+
+    private void resetIndexes() {
+        indexes.clear();
+        indexes.putAll(createIndexes(config));
+    }
+
+    private static Map<String, HnswIndex> createIndexes(VectorCollectionConfig config) {
+        Map<String, HnswIndex> indexes = new LinkedHashMap<>();
+        for (VectorIndexConfig indexConfig : config.getVectorIndexConfigs()) {
+            indexes.put(indexName(indexConfig.getName()), new HnswIndex(indexConfig));
+        }
+        return indexes;
+    }
+
+    private float[] vectorOf(VectorValues values, String indexName, HnswIndex index) {
+        float[] vector;
+        if (values instanceof SingleVectorValues single) {
+            if (indexes.size() != 1) {
+                throw new IllegalArgumentException("Vector collection '" + name + "' has " + indexes.size()
+                        + " indexes, the vectors must be named after the indexes");
+            }
+            vector = single.vector();
+        } else if (values instanceof MultiIndexVectorValues multi) {
+            vector = multi.indexNameToVector().get(indexName);
+            if (vector == null && indexes.size() == 1 && multi.indexNameToVector().size() == 1) {
+                vector = multi.indexNameToVector().values().iterator().next();
+            }
+        } else {
+            throw new IllegalArgumentException("Unsupported vector values " + values);
+        }
+
+        if (vector == null) {
+            throw new IllegalArgumentException("Missing vector for index '" + indexName
+                    + "' of vector collection '" + name + "'");
+        }
+        if (vector.length != index.getDimension()) {
+            throw new IllegalArgumentException("Vector of dimension " + vector.length + " doesn't match the dimension "
+                    + index.getDimension() + " of index '" + indexName + "' of vector collection '" + name + "'");
+        }
+        return vector;
+    }
+
+    private Map.Entry<String, float[]> queryVectorOf(VectorValues query) {
+        if (query instanceof SingleVectorValues single) {
+            if (indexes.size() != 1) {
+                throw new IllegalArgumentException("Vector collection '" + name + "' has " + indexes.size()
+                        + " indexes, the query vector must be named after an index");
+            }
+            return Map.entry(indexes.keySet().iterator().next(), single.vector());
+        } else if (query instanceof MultiIndexVectorValues multi && multi.indexNameToVector().size() == 1) {
+            Map.Entry<String, float[]> entry = multi.indexNameToVector().entrySet().iterator().next();
+            return indexes.size() == 1 ? Map.entry(indexes.keySet().iterator().next(), entry.getValue()) : entry;
+        }
+        throw new IllegalArgumentException("Search requires exactly one query vector, but found " + query);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= keys.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, keys.length * 2);
+        keys = Arrays.copyOf(keys, newCapacity);
+        documents = Arrays.copyOf(documents, newCapacity);
+    }
+
+    private static String indexName(String name) {
+        return name == null ? DEFAULT_INDEX_NAME : name;
+    }
+}
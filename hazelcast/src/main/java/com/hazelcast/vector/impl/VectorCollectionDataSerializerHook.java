@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.internal.serialization.DataSerializerHook;
+import com.hazelcast.nio.serialization.DataSerializableFactory;
+import com.hazelcast.vector.impl.operations.GetOperation;
+import com.hazelcast.vector.impl.operations.PutBackupOperation;
+import com.hazelcast.vector.impl.operations.PutOperation;
+import com.hazelcast.vector.impl.operations.RemoveBackupOperation;
+import com.hazelcast.vector.impl.operations.RemoveOperation;
+import com.hazelcast.vector.impl.operations.SearchOperation;
+import com.hazelcast.vector.impl.operations.SizeOperation;
+import com.hazelcast.vector.impl.operations.VectorCollectionReplicationOperation;
+
+public final class VectorCollectionDataSerializerHook implements DataSerializerHook {
+
+    public static final int F_ID = VectorCollectionSerializerConstants.FACTORY_ID;
+
+    public static final int PUT_OPERATION = VectorCollectionSerializerConstants.PUT_OPERATION;
+    public static final int PUT_BACKUP_OPERATION = VectorCollectionSerializerConstants.PUT_BACKUP_OPERATION;
+    public static final int GET_OPERATION = VectorCollectionSerializerConstants.GET_OPERATION;
+    public static final int REMOVE_OPERATION = VectorCollectionSerializerConstants.REMOVE_OPERATION;
+    public static final int REMOVE_BACKUP_OPERATION = VectorCollectionSerializerConstants.REMOVE_BACKUP_OPERATION;
+    public static final int SEARCH_OPERATION = VectorCollectionSerializerConstants.SEARCH_OPERATION;
+    public static final int SIZE_OPERATION = VectorCollectionSerializerConstants.SIZE_OPERATION;
+    public static final int REPLICATION_OPERATION = VectorCollectionSerializerConstants.REPLICATION_OPERATION;
+
+    @Override
+    public int getFactoryId() {
+        return F_ID;
+    }
+
+    @SuppressWarnings("checkstyle:CyclomaticComplexity")
+    @Override
+    public DataSerializableFactory createFactory() {
+        return typeId -> switch (typeId) {
+            case VectorCollectionSerializerConstants.VECTOR_DOCUMENT -> new VectorDocumentImpl<>();
+            case VectorCollectionSerializerConstants.DATA_VECTOR_DOCUMENT -> new DataVectorDocument();
+            case VectorCollectionSerializerConstants.SEARCH_OPTIONS -> new SearchOptionsImpl();
+            case VectorCollectionSerializerConstants.DATA_SEARCH_RESULT -> new DataSearchResult();
+            case VectorCollectionSerializerConstants.SINGLE_VECTOR_VALUES -> new SingleIndexVectorValues();
+            case VectorCollectionSerializerConstants.MULTIPLE_VECTOR_VALUES -> new MultiIndexVectorValues();
+            case PUT_OPERATION -> new PutOperation();
+            case PUT_BACKUP_OPERATION -> new PutBackupOperation();
+            case GET_OPERATION -> new GetOperation();
+            case REMOVE_OPERATION -> new RemoveOperation();
+            case REMOVE_BACKUP_OPERATION -> new RemoveBackupOperation();
+            case SEARCH_OPERATION -> new SearchOperation();
+            case SIZE_OPERATION -> new SizeOperation();
+            case REPLICATION_OPERATION -> new VectorCollectionReplicationOperation();
+            default -> throw new IllegalArgumentException("Unknown type id " + typeId);
+        };
+    }
+}
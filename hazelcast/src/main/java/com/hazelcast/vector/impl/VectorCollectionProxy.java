@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.impl.AbstractDistributedObject;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.BinaryOperationFactory;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.vector.SearchOptions;
+import com.hazelcast.vector.SearchResult;
+import com.hazelcast.vector.VectorDocument;
+import com.hazelcast.vector.VectorValues;
+import com.hazelcast.vector.impl.operations.GetOperation;
+import com.hazelcast.vector.impl.operations.PutOperation;
+import com.hazelcast.vector.impl.operations.RemoveOperation;
+import com.hazelcast.vector.impl.operations.SearchOperation;
+import com.hazelcast.vector.impl.operations.SizeOperation;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+
+/**
+ * Member-side proxy of a vector collection.
+ * <pre>
+ * VectorCollectionProxy&lt;String, Person&gt; collection = (VectorCollectionProxy&lt;String, Person&gt;)
+ *         hazelcastInstance.getDistributedObject(VectorCollectionService.SERVICE_NAME, "persons");
+ * </pre>
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values of the documents
+ */
+public class VectorCollectionProxy<K, V> extends AbstractDistributedObject<VectorCollectionService> {
+
+    private static final Comparator<DataSearchResult> BY_SCORE_DESCENDING =
+            Comparator.comparingDouble(DataSearchResult::getScore).reversed();
+
+    private final String name;
+
+    public VectorCollectionProxy(String name, NodeEngine nodeEngine, VectorCollectionService service) {
+        super(nodeEngine, service);
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getServiceName() {
+        return VectorCollectionService.SERVICE_NAME;
+    }
+
+    public VectorDocument<V> get(@Nonnull K key) {
+        return getAsync(key).joinInternal();
+    }
+
+    public InternalCompletableFuture<VectorDocument<V>> getAsync(@Nonnull K key) {
+        Data keyData = toData(checkNotNull(key, "key cannot be null"));
+        Operation operation = new GetOperation(name, keyData).setPartitionId(getPartitionId(keyData));
+        return this.<DataVectorDocument>invokeOnPartition(operation).thenApply(this::toDocument);
+    }
+
+    /**
+     * Puts the document and returns the previous document of the key.
+     */
+    public VectorDocument<V> put(@Nonnull K key, @Nonnull VectorDocument<V> document) {
+        return putAsync(key, document).joinInternal();
+    }
+
+    public InternalCompletableFuture<VectorDocument<V>> putAsync(@Nonnull K key, @Nonnull VectorDocument<V> document) {
+        Data keyData = toData(checkNotNull(key, "key cannot be null"));
+        checkNotNull(document, "document cannot be null");
+        DataVectorDocument dataDocument = new DataVectorDocument(toData(document.getValue()), document.getVectors());
+        Operation operation = new PutOperation(name, keyData, dataDocument).setPartitionId(getPartitionId(keyData));
+        return this.<DataVectorDocument>invokeOnPartition(operation).thenApply(this::toDocument);
+    }
+
+    /**
+     * Removes the document of the key and returns it.
+     */
+    public VectorDocument<V> remove(@Nonnull K key) {
+        return removeAsync(key).joinInternal();
+    }
+
+    public InternalCompletableFuture<VectorDocument<V>> removeAsync(@Nonnull K key) {
+        Data keyData = toData(checkNotNull(key, "key cannot be null"));
+        Operation operation = new RemoveOperation(name, keyData).setPartitionId(getPartitionId(keyData));
+        return this.<DataVectorDocument>invokeOnPartition(operation).thenApply(this::toDocument);
+    }
+
+    public long size() {
+        try {
+            Map<Integer, Object> results = getOperationService().invokeOnAllPartitions(getServiceName(),
+                    new BinaryOperationFactory(new SizeOperation(name), getNodeEngine()));
+            long size = 0;
+            for (Object result : results.values()) {
+                size += getNodeEngine().<Integer>toObject(result);
+            }
+            return size;
+        } catch (Throwable t) {
+            throw rethrow(t);
+        }
+    }
+
+    /**
+     * Returns the documents most similar to the query vector, most similar first.
+     */
+    public List<SearchResult<K, V>> search(@Nonnull VectorValues query, @Nonnull SearchOptions options) {
+        try {
+            return searchAsync(query, options).toCompletableFuture().join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause());
+        }
+    }
+
+    /**
+     * Searches all partitions in parallel, each returns its own top
+     * {@link SearchOptions#getLimit()} results which are merged here.
+     */
+    public CompletionStage<List<SearchResult<K, V>>> searchAsync(@Nonnull VectorValues query,
+                                                                 @Nonnull SearchOptions options) {
+        checkNotNull(query, "query cannot be null");
+        checkNotNull(options, "options cannot be null");
+        Operation operation = new SearchOperation(name, query, options);
+        return getOperationService().<Object>invokeOnAllPartitionsAsync(getServiceName(),
+                        new BinaryOperationFactory(operation, getNodeEngine()))
+                .thenApply(results -> merge(results, options.getLimit()));
+    }
+
+    private List<SearchResult<K, V>> merge(Map<Integer, Object> partitionResults, int limit) {
+        List<DataSearchResult> all = new ArrayList<>();
+        for (Object partitionResult : partitionResults.values()) {
+            List<DataSearchResult> results = getNodeEngine().toObject(partitionResult);
+            all.addAll(results);
+        }
+        all.sort(BY_SCORE_DESCENDING);
+
+        int count = Math.min(limit, all.size());
+        List<SearchResult<K, V>> merged = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            DataSearchResult result = all.get(i);
+            merged.add(new SearchResultImpl<>(getNodeEngine().toObject(result.getKey()),
+                    getNodeEngine().toObject(result.getValue()), result.getVectors(), result.getScore()));
+        }
+        return merged;
+    }
+
+    private VectorDocument<V> toDocument(DataVectorDocument document) {
+        if (document == null) {
+            return null;
+        }
+        V value = getNodeEngine().toObject(document.getValue());
+        return VectorDocument.of(value, document.getVectors());
+    }
+
+    @Override
+    public String toString() {
+        return "VectorCollection{" + "name='" + name + '\'' + '}';
+    }
+}
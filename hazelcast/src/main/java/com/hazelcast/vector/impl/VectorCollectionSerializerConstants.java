@@ -24,6 +24,14 @@ abstract class VectorCollectionSerializerConstants {
     public static final short DATA_VECTOR_DOCUMENT = 2;
     public static final short SEARCH_OPTIONS = 3;
     public static final short DATA_SEARCH_RESULT = 4;
+    public static final short PUT_OPERATION = 5;
+    public static final short PUT_BACKUP_OPERATION = 6;
+    public static final short GET_OPERATION = 7;
+    public static final short REMOVE_OPERATION = 8;
+    public static final short REMOVE_BACKUP_OPERATION = 9;
+    public static final short SEARCH_OPERATION = 10;
+    public static final short SIZE_OPERATION = 11;
+    public static final short REPLICATION_OPERATION = 12;
     public static final short SINGLE_VECTOR_VALUES = 15;
     public static final short MULTIPLE_VECTOR_VALUES = 16;
 }
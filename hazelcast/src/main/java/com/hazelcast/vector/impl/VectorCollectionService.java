@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.vector.VectorCollectionConfig;
+import com.hazelcast.internal.partition.MigrationAwareService;
+import com.hazelcast.internal.partition.MigrationEndpoint;
+import com.hazelcast.internal.partition.PartitionMigrationEvent;
+import com.hazelcast.internal.partition.PartitionReplicationEvent;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.services.ManagedService;
+import com.hazelcast.internal.services.RemoteService;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.vector.impl.operations.VectorCollectionReplicationOperation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Partitioned vector collection service. Every partition keeps its own
+ * {@link VectorCollectionContainer} per collection, searches are executed on
+ * all partitions and their results are merged by the caller.
+ */
+public class VectorCollectionService implements ManagedService, RemoteService, MigrationAwareService {
+
+    public static final String SERVICE_NAME = VectorCollectionServiceUtil.SERVICE_NAME;
+
+    private final NodeEngine nodeEngine;
+    private final ConcurrentMap<String, VectorCollectionContainer>[] partitionContainers;
+
+    @SuppressWarnings("unchecked")
+    public VectorCollectionService(NodeEngine nodeEngine) {
+        this.nodeEngine = nodeEngine;
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        this.partitionContainers = new ConcurrentMap[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitionContainers[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public VectorCollectionContainer getOrCreateContainer(int partitionId, String name) {
+        return partitionContainers[partitionId].computeIfAbsent(name,
+                n -> new VectorCollectionContainer(n, getVectorCollectionConfig(n)));
+    }
+
+    public VectorCollectionContainer getContainerOrNull(int partitionId, String name) {
+        return partitionContainers[partitionId].get(name);
+    }
+
+    /**
+     * Returns the configuration of the vector collection.
+     *
+     * @throws InvalidConfigurationException if the collection isn't configured
+     */
+    public VectorCollectionConfig getVectorCollectionConfig(String name) {
+        VectorCollectionConfig config = nodeEngine.getConfig().getVectorCollectionConfigOrNull(name);
+        if (config == null || config.getVectorIndexConfigs().isEmpty()) {
+            throw new InvalidConfigurationException("Vector collection '" + name
+                    + "' must be configured with at least one vector index");
+        }
+        return config;
+    }
+
+    @Override
+    public void init(NodeEngine nodeEngine, Properties properties) {
+    }
+
+    @Override
+    public void reset() {
+        for (ConcurrentMap<String, VectorCollectionContainer> containers : partitionContainers) {
+            containers.clear();
+        }
+    }
+
+    @Override
+    public void shutdown(boolean terminate) {
+        reset();
+    }
+
+    @Override
+    public VectorCollectionProxy<?, ?> createDistributedObject(String name, UUID source, boolean local) {
+        getVectorCollectionConfig(name);
+        return new VectorCollectionProxy<>(name, nodeEngine, this);
+    }
+
+    @Override
+    public void destroyDistributedObject(String name, boolean local) {
+        for (ConcurrentMap<String, VectorCollectionContainer> containers : partitionContainers) {
+            containers.remove(name);
+        }
+    }
+
+    @Override
+    public void beforeMigration(PartitionMigrationEvent event) {
+    }
+
+    @Override
+    public Operation prepareReplicationOperation(PartitionReplicationEvent event) {
+        Map<String, Map<Data, DataVectorDocument>> data = new HashMap<>();
+        for (VectorCollectionContainer container : partitionContainers[event.getPartitionId()].values()) {
+            if (event.getReplicaIndex() > container.getConfig().getTotalBackupCount()) {
+                continue;
+            }
+            Map<Data, DataVectorDocument> documents = new HashMap<>();
+            container.forEach(documents::put);
+            data.put(container.getName(), documents);
+        }
+        return data.isEmpty() ? null : new VectorCollectionReplicationOperation(data);
+    }
+
+    @Override
+    public void commitMigration(PartitionMigrationEvent event) {
+        if (event.getMigrationEndpoint() == MigrationEndpoint.SOURCE) {
+            clearPartitionReplica(event.getPartitionId(), event.getNewReplicaIndex());
+        }
+    }
+
+    @Override
+    public void rollbackMigration(PartitionMigrationEvent event) {
+        if (event.getMigrationEndpoint() == MigrationEndpoint.DESTINATION) {
+            clearPartitionReplica(event.getPartitionId(), event.getCurrentReplicaIndex());
+        }
+    }
+
+    private void clearPartitionReplica(int partitionId, int thresholdReplicaIndex) {
+        partitionContainers[partitionId].values().removeIf(container -> thresholdReplicaIndex == -1
+                || thresholdReplicaIndex > container.getConfig().getTotalBackupCount());
+    }
+}
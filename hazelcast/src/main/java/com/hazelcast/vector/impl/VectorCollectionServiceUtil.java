@@ -17,15 +17,13 @@
 package com.hazelcast.vector.impl;
 
 /**
- * Exists ONLY to remove the VectorCollectionService.SERVICE_NAME dependency from OS to Enterprise that is induced by the
- * PERMISSION_FACTORY_MAP in {@link com.hazelcast.security.permission.ActionConstants} and the duplication of an important String
- * literal which we don't want to get out of sync.
+ * Holds the name of the {@link VectorCollectionService}, so that the
+ * PERMISSION_FACTORY_MAP in {@link com.hazelcast.security.permission.ActionConstants} doesn't need to
+ * duplicate an important String literal which we don't want to get out of sync.
  */
 public class VectorCollectionServiceUtil {
     /**
-     * Name that the VectorCollectionService is registered under. Note that this is here to remove the dependency from OS to
-     * Enterprise within the key of {@link com.hazelcast.security.permission.ActionConstants}'s PERMISSION_FACTORY_MAP.
-     * This should NOT be referenced by any other usage in OS other than this single scenario.
+     * Name that the {@link VectorCollectionService} is registered under.
      */
     public static final String SERVICE_NAME = "hz:service:vector";
     private VectorCollectionServiceUtil() {
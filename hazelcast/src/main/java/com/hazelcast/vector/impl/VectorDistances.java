@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.config.vector.Metric;
+
+/**
+ * Distance kernels over {@code float[]} vectors.
+ * <p>
+ * The loops are unrolled with independent accumulators so that the JIT can
+ * keep several lanes in flight and auto-vectorize them. The distances returned
+ * by {@link #distance(Metric, float[], float[])} are ordered the same way for
+ * all metrics: the smaller, the closer the vectors are.
+ */
+public final class VectorDistances {
+
+    private static final int UNROLL = 4;
+
+    private VectorDistances() {
+    }
+
+    /**
+     * Returns the dot product of the given vectors.
+     */
+    public static float dot(float[] a, float[] b) {
+        int length = a.length;
+        int bound = length - length % UNROLL;
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        for (; i < bound; i += UNROLL) {
+            s0 += a[i] * b[i];
+            s1 += a[i + 1] * b[i + 1];
+            s2 += a[i + 2] * b[i + 2];
+            s3 += a[i + 3] * b[i + 3];
+        }
+        for (; i < length; i++) {
+            s0 += a[i] * b[i];
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the squared Euclidean distance of the given vectors.
+     */
+    public static float squaredEuclidean(float[] a, float[] b) {
+        int length = a.length;
+        int bound = length - length % UNROLL;
+        float s0 = 0;
+        float s1 = 0;
+        float s2 = 0;
+        float s3 = 0;
+        int i = 0;
+        for (; i < bound; i += UNROLL) {
+            float d0 = a[i] - b[i];
+            float d1 = a[i + 1] - b[i + 1];
+            float d2 = a[i + 2] - b[i + 2];
+            float d3 = a[i + 3] - b[i + 3];
+            s0 += d0 * d0;
+            s1 += d1 * d1;
+            s2 += d2 * d2;
+            s3 += d3 * d3;
+        }
+        for (; i < length; i++) {
+            float d = a[i] - b[i];
+            s0 += d * d;
+        }
+        return (s0 + s1) + (s2 + s3);
+    }
+
+    /**
+     * Returns the cosine similarity of the given vectors, or {@code 0}
+     * if any of them is a zero vector.
+     */
+    public static float cosine(float[] a, float[] b) {
+        int length = a.length;
+        float dot = 0;
+        float normA = 0;
+        float normB = 0;
+        for (int i = 0; i < length; i++) {
+            dot += a[i] * b[i];
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+        float norms = (float) Math.sqrt((double) normA * normB);
+        return norms == 0 ? 0 : dot / norms;
+    }
+
+    /**
+     * Returns a copy of the given vector scaled to unit length, or
+     * the vector itself if it is a zero vector.
+     */
+    public static float[] normalize(float[] vector) {
+        float norm = (float) Math.sqrt(dot(vector, vector));
+        if (norm == 0) {
+            return vector;
+        }
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = vector[i] / norm;
+        }
+        return normalized;
+    }
+
+    /**
+     * Returns the distance of the given vectors for the given metric. For
+     * {@link Metric#COSINE} the vectors must already be {@link #normalize normalized}.
+     */
+    public static float distance(Metric metric, float[] a, float[] b) {
+        return switch (metric) {
+            case EUCLIDEAN -> squaredEuclidean(a, b);
+            case COSINE -> 1 - dot(a, b);
+            case DOT -> -dot(a, b);
+        };
+    }
+
+    /**
+     * Converts a {@link #distance distance} to a similarity score, the
+     * higher the score, the more similar the vectors are. Scores of the
+     * {@link Metric#EUCLIDEAN} and {@link Metric#COSINE} metrics are
+     * between {@code 0} and {@code 1}.
+     */
+    public static float score(Metric metric, float distance) {
+        return switch (metric) {
+            case EUCLIDEAN -> 1 / (1 + distance);
+            case COSINE -> (1 + (1 - distance)) / 2;
+            case DOT -> (1 - distance) / 2;
+        };
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl.operations;
+
+import com.hazelcast.config.vector.VectorCollectionConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.impl.operationservice.BackupAwareOperation;
+import com.hazelcast.spi.impl.operationservice.MutatingOperation;
+import com.hazelcast.vector.impl.VectorCollectionService;
+
+public abstract class AbstractBackupAwareOperation extends AbstractKeyBasedOperation
+        implements BackupAwareOperation, MutatingOperation {
+
+    protected boolean shouldBackup = true;
+
+    public AbstractBackupAwareOperation() {
+    }
+
+    public AbstractBackupAwareOperation(String name, Data key) {
+        super(name, key);
+    }
+
+    @Override
+    public boolean shouldBackup() {
+        return shouldBackup;
+    }
+
+    @Override
+    public int getSyncBackupCount() {
+        return getConfig().getBackupCount();
+    }
+
+    @Override
+    public int getAsyncBackupCount() {
+        return getConfig().getAsyncBackupCount();
+    }
+
+    private VectorCollectionConfig getConfig() {
+        VectorCollectionService service = getService();
+        return service.getVectorCollectionConfig(name);
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl.operations;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.BackupOperation;
+import com.hazelcast.vector.impl.DataVectorDocument;
+
+import java.io.IOException;
+
+import static com.hazelcast.vector.impl.VectorCollectionDataSerializerHook.PUT_BACKUP_OPERATION;
+
+public class PutBackupOperation extends AbstractKeyBasedOperation implements BackupOperation {
+
+    private DataVectorDocument document;
+
+    public PutBackupOperation() {
+    }
+
+    public PutBackupOperation(String name, Data key, DataVectorDocument document) {
+        super(name, key);
+        this.document = document;
+    }
+
+    @Override
+    public void run() throws Exception {
+        getContainer().put(key, document);
+    }
+
+    @Override
+    public int getClassId() {
+        return PUT_BACKUP_OPERATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(document);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        document = in.readObject();
+    }
+}
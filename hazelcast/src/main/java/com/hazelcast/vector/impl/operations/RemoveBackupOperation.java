@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl.operations;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.spi.impl.operationservice.BackupOperation;
+
+import static com.hazelcast.vector.impl.VectorCollectionDataSerializerHook.REMOVE_BACKUP_OPERATION;
+
+public class RemoveBackupOperation extends AbstractKeyBasedOperation implements BackupOperation {
+
+    public RemoveBackupOperation() {
+    }
+
+    public RemoveBackupOperation(String name, Data key) {
+        super(name, key);
+    }
+
+    @Override
+    public void run() throws Exception {
+        getContainer().remove(key);
+    }
+
+    @Override
+    public int getClassId() {
+        return REMOVE_BACKUP_OPERATION;
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl.operations;
+
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
+import com.hazelcast.vector.SearchOptions;
+import com.hazelcast.vector.VectorValues;
+import com.hazelcast.vector.impl.DataSearchResult;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.hazelcast.vector.impl.VectorCollectionDataSerializerHook.SEARCH_OPERATION;
+
+/**
+ * Searches the index of a single partition, responds with at most
+ * {@link SearchOptions#getLimit()} results, most similar first.
+ */
+public class SearchOperation extends AbstractVectorCollectionOperation implements ReadonlyOperation {
+
+    private VectorValues query;
+    private SearchOptions options;
+    private transient List<DataSearchResult> results;
+
+    public SearchOperation() {
+    }
+
+    public SearchOperation(String name, VectorValues query, SearchOptions options) {
+        super(name);
+        this.query = query;
+        this.options = options;
+    }
+
+    @Override
+    public void run() throws Exception {
+        results = getContainer().search(query, options);
+    }
+
+    @Override
+    public Object getResponse() {
+        return results;
+    }
+
+    @Override
+    public int getClassId() {
+        return SEARCH_OPERATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeObject(query);
+        out.writeObject(options);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        query = in.readObject();
+        options = in.readObject();
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl.operations;
+
+import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
+import com.hazelcast.vector.impl.VectorCollectionContainer;
+import com.hazelcast.vector.impl.VectorCollectionService;
+
+import static com.hazelcast.vector.impl.VectorCollectionDataSerializerHook.SIZE_OPERATION;
+
+/**
+ * Responds with the number of documents of the collection in a partition.
+ */
+public class SizeOperation extends AbstractVectorCollectionOperation implements ReadonlyOperation {
+
+    private transient int size;
+
+    public SizeOperation() {
+    }
+
+    public SizeOperation(String name) {
+        super(name);
+    }
+
+    @Override
+    public void run() throws Exception {
+        VectorCollectionService service = getService();
+        VectorCollectionContainer container = service.getContainerOrNull(getPartitionId(), name);
+        size = container == null ? 0 : container.size();
+    }
+
+    @Override
+    public Object getResponse() {
+        return size;
+    }
+
+    @Override
+    public int getClassId() {
+        return SIZE_OPERATION;
+    }
+}
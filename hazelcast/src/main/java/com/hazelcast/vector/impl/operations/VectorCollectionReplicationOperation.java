@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl.operations;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.vector.impl.DataVectorDocument;
+import com.hazelcast.vector.impl.VectorCollectionContainer;
+import com.hazelcast.vector.impl.VectorCollectionDataSerializerHook;
+import com.hazelcast.vector.impl.VectorCollectionService;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.hazelcast.internal.util.MapUtil.createHashMap;
+import static com.hazelcast.vector.impl.VectorCollectionDataSerializerHook.REPLICATION_OPERATION;
+
+/**
+ * Replicates the documents of all vector collections of a partition.
+ * The indexes are rebuilt on the replica.
+ */
+public class VectorCollectionReplicationOperation extends Operation implements IdentifiedDataSerializable {
+
+    private Map<String, Map<Data, DataVectorDocument>> data;
+
+    public VectorCollectionReplicationOperation() {
+    }
+
+    public VectorCollectionReplicationOperation(Map<String, Map<Data, DataVectorDocument>> data) {
+        this.data = data;
+    }
+
+    @Override
+    public void run() throws Exception {
+        VectorCollectionService service = getService();
+        for (Map.Entry<String, Map<Data, DataVectorDocument>> entry : data.entrySet()) {
+            VectorCollectionContainer container = service.getOrCreateContainer(getPartitionId(), entry.getKey());
+            container.clear();
+            entry.getValue().forEach(container::put);
+        }
+    }
+
+    @Override
+    public String getServiceName() {
+        return VectorCollectionService.SERVICE_NAME;
+    }
+
+    @Override
+    public int getFactoryId() {
+        return VectorCollectionDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return REPLICATION_OPERATION;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeInt(data.size());
+        for (Map.Entry<String, Map<Data, DataVectorDocument>> entry : data.entrySet()) {
+            out.writeString(entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (Map.Entry<Data, DataVectorDocument> document : entry.getValue().entrySet()) {
+                IOUtil.writeData(out, document.getKey());
+                out.writeObject(document.getValue());
+            }
+        }
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        int collectionCount = in.readInt();
+        data = createHashMap(collectionCount);
+        for (int i = 0; i < collectionCount; i++) {
+            String name = in.readString();
+            int documentCount = in.readInt();
+            Map<Data, DataVectorDocument> documents = createHashMap(documentCount);
+            for (int j = 0; j < documentCount; j++) {
+                documents.put(IOUtil.readData(in), in.readObject());
+            }
+            data.put(name, documents);
+        }
+    }
+}
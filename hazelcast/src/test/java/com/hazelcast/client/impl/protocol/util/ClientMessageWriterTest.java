@@ -30,7 +30,11 @@ import java.nio.ByteBuffer;
 import static com.hazelcast.client.impl.protocol.ClientMessage.DEFAULT_FLAGS;
 import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
 import static com.hazelcast.client.impl.protocol.ClientMessage.createForDecode;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -57,4 +61,26 @@ public class ClientMessageWriterTest {
         assertFalse(clientMessageWriter.writeTo(buffer, message));
 
     }
+
+    @Test
+    public void testWriteLargeFrame_contentHandedOverWithoutCopy() {
+        byte[] content = new byte[1000];
+        ClientMessage message = createForDecode(new ClientMessage.Frame(new byte[10], DEFAULT_FLAGS))
+                .add(new ClientMessage.Frame(content, DEFAULT_FLAGS))
+                .add(new ClientMessage.Frame(new byte[20], DEFAULT_FLAGS));
+        ByteBuffer buffer = ByteBuffer.allocate(100);
+        ClientMessageWriter clientMessageWriter = new ClientMessageWriter();
+
+        // the writing stops after the length and flags of the large frame
+        assertFalse(clientMessageWriter.writeTo(buffer, message, 500));
+        assertEquals(2 * SIZE_OF_FRAME_LENGTH_AND_FLAGS + 10, buffer.position());
+        ByteBuffer gatheringBuffer = clientMessageWriter.takeGatheringBuffer();
+        assertSame(content, gatheringBuffer.array());
+        assertEquals(content.length, gatheringBuffer.remaining());
+        assertNull(clientMessageWriter.takeGatheringBuffer());
+
+        assertTrue(clientMessageWriter.writeTo(buffer, message, 500));
+        assertEquals(3 * SIZE_OF_FRAME_LENGTH_AND_FLAGS + 30, buffer.position());
+        assertNull(clientMessageWriter.takeGatheringBuffer());
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.hotrestart.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.persistence.BackupTaskState;
+import com.hazelcast.persistence.PersistenceService;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LocalPersistenceServiceTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 2000;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void persistentMap_isReloadedAfterRestart_binary() throws IOException {
+        persistentMap_isReloadedAfterRestart(InMemoryFormat.BINARY);
+    }
+
+    @Test
+    public void persistentMap_isReloadedAfterRestart_object() throws IOException {
+        persistentMap_isReloadedAfterRestart(InMemoryFormat.OBJECT);
+    }
+
+    private void persistentMap_isReloadedAfterRestart(InMemoryFormat inMemoryFormat) throws IOException {
+        Config config = newConfig(tempFolder.newFolder(), inMemoryFormat);
+        String mapName = randomName();
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            map.remove(i);
+        }
+        map.put(1, "updated");
+        instance.getMap("transient").put(1, 1);
+        instance.shutdown();
+
+        instance = factory.newHazelcastInstance(config);
+        IMap<Integer, String> restarted = instance.getMap(mapName);
+        LocalPersistenceService persistenceService = getPersistenceService(instance);
+        assertTrueEventually(() -> assertTrue(persistenceService.isReloadCompleted()));
+        assertFalse(persistenceService.isReloading());
+
+        assertEquals(ENTRY_COUNT / 2, restarted.size());
+        assertEquals("updated", restarted.get(1));
+        assertEquals("value-3", restarted.get(3));
+        assertNull(restarted.get(2));
+        assertEquals(0, instance.getMap("transient").size());
+        instance.shutdown();
+    }
+
+    @Test
+    public void clearedMap_isEmptyAfterRestart() throws IOException {
+        Config config = newConfig(tempFolder.newFolder(), InMemoryFormat.BINARY);
+        String mapName = randomName();
+
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap(mapName);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value-" + i);
+        }
+        map.clear();
+        map.put(1, "after-clear");
+        instance.shutdown();
+
+        instance = factory.newHazelcastInstance(config);
+        LocalPersistenceService persistenceService = getPersistenceService(instance);
+        assertTrueEventually(() -> assertTrue(persistenceService.isReloadCompleted()));
+
+        IMap<Integer, String> restarted = instance.getMap(mapName);
+        assertEquals(1, restarted.size());
+        assertEquals("after-clear", restarted.get(1));
+        instance.shutdown();
+    }
+
+    @Test
+    public void backup_copiesPersistedEntries() throws IOException {
+        File backupDir = tempFolder.newFolder();
+        Config config = newConfig(tempFolder.newFolder(), InMemoryFormat.BINARY);
+        config.getPersistenceConfig().setBackupDir(backupDir);
+
+        HazelcastInstance instance = createHazelcastInstanceFactory(1).newHazelcastInstance(config);
+        instance.getMap("persistent").put(1, 1);
+        PersistenceService persistenceService = instance.getCluster().getPersistenceService();
+        assertTrue(persistenceService.isBackupEnabled());
+
+        persistenceService.backup(42);
+
+        assertEquals(BackupTaskState.SUCCESS, persistenceService.getBackupTaskStatus().getState());
+        assertThat(new File(backupDir, "backup-42").list()).isNotEmpty();
+        instance.shutdown();
+    }
+
+    @Test
+    public void persistenceIsDisabledByDefault() {
+        HazelcastInstance instance = createHazelcastInstance(smallInstanceConfig());
+
+        PersistenceService persistenceService = instance.getCluster().getPersistenceService();
+
+        assertFalse(persistenceService instanceof LocalPersistenceService);
+        assertFalse(persistenceService.isBackupEnabled());
+    }
+
+    private static LocalPersistenceService getPersistenceService(HazelcastInstance instance) {
+        return (LocalPersistenceService) instance.getCluster().getPersistenceService();
+    }
+
+    private Config newConfig(File baseDir, InMemoryFormat inMemoryFormat) {
+        Config config = smallInstanceConfig();
+        config.getPersistenceConfig()
+                .setEnabled(true)
+                .setBaseDir(baseDir);
+        MapConfig mapConfig = new MapConfig("*")
+                .setInMemoryFormat(inMemoryFormat);
+        mapConfig.getDataPersistenceConfig().setEnabled(true);
+        config.addMapConfig(mapConfig);
+        config.addMapConfig(new MapConfig("transient"));
+        return config;
+    }
+}
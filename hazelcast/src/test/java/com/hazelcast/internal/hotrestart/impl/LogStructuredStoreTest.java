@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.hotrestart.impl;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LogStructuredStoreTest {
+
+    private static final ILogger LOGGER = Logger.getLogger(LogStructuredStoreTest.class);
+    private static final String MAP = "map";
+    private static final int PARTITION_COUNT = 4;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private File dir;
+    private LogStructuredStore store;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = tempFolder.newFolder();
+        store = new LogStructuredStore(dir, PARTITION_COUNT, LOGGER);
+    }
+
+    @After
+    public void tearDown() {
+        store.close();
+    }
+
+    @Test
+    public void reload_returnsLastValues() {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        store.put(MAP, 1, data("k1"), data("v2"));
+        store.put(MAP, 2, data("k2"), data("v1"));
+        store.put("other", 1, data("k1"), data("o1"));
+
+        Map<String, Object> entries = reopenAndReload();
+
+        assertEquals(3, entries.size());
+        assertEquals("v2", entries.get(MAP + "/1/k1"));
+        assertEquals("v1", entries.get(MAP + "/2/k2"));
+        assertEquals("o1", entries.get("other/1/k1"));
+    }
+
+    @Test
+    public void reload_skipsRemovedKeys() {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        store.put(MAP, 1, data("k2"), data("v2"));
+        store.remove(MAP, 1, data("k1"));
+
+        Map<String, Object> entries = reopenAndReload();
+
+        assertEquals(1, entries.size());
+        assertEquals("v2", entries.get(MAP + "/1/k2"));
+    }
+
+    @Test
+    public void reload_skipsClearedPartitions() {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        store.put(MAP, 2, data("k2"), data("v2"));
+        store.clear(MAP, 1);
+        store.put(MAP, 1, data("k3"), data("v3"));
+
+        Map<String, Object> entries = reopenAndReload();
+
+        assertEquals(2, entries.size());
+        assertNull(entries.get(MAP + "/1/k1"));
+        assertEquals("v2", entries.get(MAP + "/2/k2"));
+        assertEquals("v3", entries.get(MAP + "/1/k3"));
+    }
+
+    @Test
+    public void reload_keepsRecoveredRecordsLive() {
+        store.put(MAP, 1, data("k1"), data("v1"));
+
+        reopenAndReload();
+
+        assertFalse(store.isRecoveryPending());
+        Map<String, Object> entries = reopenAndReload();
+        assertEquals(1, entries.size());
+        assertEquals("v1", entries.get(MAP + "/1/k1"));
+    }
+
+    @Test
+    public void dropRecovered_shadowsOnlyRecoveredRecords() {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        store.put(MAP, 2, data("k2"), data("v2"));
+        reopen();
+        store.put(MAP, 1, data("k3"), data("v3"));
+
+        store.dropRecovered(MAP, 1);
+
+        Map<String, Object> entries = reopenAndReload();
+        assertEquals(2, entries.size());
+        assertEquals("v2", entries.get(MAP + "/2/k2"));
+        assertEquals("v3", entries.get(MAP + "/1/k3"));
+    }
+
+    @Test
+    public void reapplying_doesNotAppendRecoveredRecordsAgain() {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        reopen();
+        long totalBytes = store.getTotalBytes();
+
+        store.setReapplying(1, true);
+        store.put(MAP, 1, data("k1"), data("v1"));
+        store.setReapplying(1, false);
+
+        assertEquals(totalBytes, store.getTotalBytes());
+        store.put(MAP, 1, data("k1"), data("v2"));
+        assertTrue(store.getTotalBytes() > totalBytes);
+    }
+
+    @Test
+    public void flush_writesPendingRecordsToSegmentFile() {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        store.fsync(1);
+
+        store.flush();
+
+        File[] segments = LogStructuredStore.listSegmentFiles(LogStructuredStore.partitionDir(dir, 1));
+        assertEquals(1, segments.length);
+        assertEquals(store.getTotalBytes(), segments[0].length());
+    }
+
+    @Test
+    public void reload_survivesRepeatedRestarts() {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        reopen();
+        // mutations during the reload window shadow the recovered records
+        store.remove(MAP, 1, data("k1"));
+        store.put(MAP, 1, data("k2"), data("v2"));
+
+        Map<String, Object> entries = reopenAndReload();
+
+        assertEquals(1, entries.size());
+        assertEquals("v2", entries.get(MAP + "/1/k2"));
+    }
+
+    @Test
+    public void compact_removesGarbageSegments() {
+        store.close();
+        store = new LogStructuredStore(dir, PARTITION_COUNT, 256, 0.5, "flusher", LOGGER);
+        for (int i = 0; i < 100; i++) {
+            store.put(MAP, i % 10 % 4, data("k" + i % 10), data("v" + i));
+        }
+        store.flush();
+        int segmentsBefore = store.getSegmentCount();
+
+        assertTrue(store.compact() > 0);
+
+        assertTrue(store.getSegmentCount() < segmentsBefore);
+        Map<String, Object> entries = reopenAndReload();
+        assertEquals(10, entries.size());
+        for (int i = 90; i < 100; i++) {
+            assertEquals("v" + i, entries.get(MAP + "/" + i % 10 % 4 + "/k" + i % 10));
+        }
+    }
+
+    @Test
+    public void compact_keepsTombstonesWhileOlderSegmentsExist() {
+        store.close();
+        store = new LogStructuredStore(dir, PARTITION_COUNT, 256, 0.5, "flusher", LOGGER);
+        store.put(MAP, 1, data("k1"), data("v1"));
+        for (int i = 0; i < 20; i++) {
+            store.put(MAP, 2, data("k2"), data("v" + i));
+        }
+        store.clear(MAP, 1);
+        for (int i = 0; i < 20; i++) {
+            store.put(MAP, 2, data("k2"), data("w" + i));
+        }
+        store.flush();
+
+        store.compact();
+
+        Map<String, Object> entries = reopenAndReload();
+        assertEquals(1, entries.size());
+        assertEquals("w19", entries.get(MAP + "/2/k2"));
+    }
+
+    @Test
+    public void reload_ignoresTornRecordAtTheEnd() throws IOException {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        store.put(MAP, 1, data("k2"), data("v2"));
+        store.close();
+        File[] segments = LogStructuredStore.listSegmentFiles(LogStructuredStore.partitionDir(dir, 1));
+        try (RandomAccessFile file = new RandomAccessFile(segments[segments.length - 1], "rw")) {
+            file.setLength(file.length() - 3);
+        }
+
+        Map<String, Object> entries = reopenAndReload();
+
+        assertEquals(1, entries.size());
+        assertEquals("v1", entries.get(MAP + "/1/k1"));
+    }
+
+    @Test
+    public void backup_copiesSegments() throws IOException {
+        store.put(MAP, 1, data("k1"), data("v1"));
+        File backupDir = tempFolder.newFolder();
+
+        store.backup(backupDir);
+        store.close();
+        store = new LogStructuredStore(backupDir, PARTITION_COUNT, LOGGER);
+
+        Map<String, Object> entries = reload();
+        assertEquals(1, entries.size());
+        assertEquals("v1", entries.get(MAP + "/1/k1"));
+    }
+
+    @Test
+    public void open_failsWhenDirectoryIsInUse() {
+        assertThrows(Exception.class, () -> new LogStructuredStore(dir, PARTITION_COUNT, LOGGER));
+    }
+
+    private void reopen() {
+        store.close();
+        store = new LogStructuredStore(dir, PARTITION_COUNT, LOGGER);
+    }
+
+    private Map<String, Object> reopenAndReload() {
+        reopen();
+        return reload();
+    }
+
+    private Map<String, Object> reload() {
+        Map<String, Object> entries = new ConcurrentHashMap<>();
+        store.reload(2, Executors.defaultThreadFactory(), () -> new ReloadSink() {
+            @Override
+            public void accept(String name, int partitionId, Data key, Data value) {
+                Object previous = entries.put(name + "/" + partitionId + "/" + ss.toObject(key), ss.toObject(value));
+                assertNull("duplicate record of " + key, previous);
+            }
+
+            @Override
+            public void flush() {
+            }
+        });
+        return entries;
+    }
+
+    private Data data(Object value) {
+        return ss.toData(value);
+    }
+}
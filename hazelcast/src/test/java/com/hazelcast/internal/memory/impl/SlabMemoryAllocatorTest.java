@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.impl.SlabMemoryAllocator.MAX_SLAB_BLOCK_SIZE;
+import static com.hazelcast.internal.memory.impl.SlabMemoryAllocator.MIN_BLOCK_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertThrows;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SlabMemoryAllocatorTest {
+
+    private static final int SLAB_SIZE = 4096;
+
+    private SlabMemoryAllocator allocator;
+
+    @Before
+    public void setUp() {
+        allocator = new SlabMemoryAllocator(SLAB_SIZE);
+    }
+
+    @After
+    public void tearDown() {
+        allocator.dispose();
+    }
+
+    @Test
+    public void testConstructor_whenSlabSizeNotPowerOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new SlabMemoryAllocator(5000));
+    }
+
+    @Test
+    public void testConstructor_whenSlabSizeSmallerThanMaxBlockSize() {
+        assertThrows(IllegalArgumentException.class, () -> new SlabMemoryAllocator(MAX_SLAB_BLOCK_SIZE / 2));
+    }
+
+    @Test
+    public void testBlockSize() {
+        assertEquals(MIN_BLOCK_SIZE, SlabMemoryAllocator.blockSize(1));
+        assertEquals(MIN_BLOCK_SIZE, SlabMemoryAllocator.blockSize(MIN_BLOCK_SIZE));
+        assertEquals(32, SlabMemoryAllocator.blockSize(17));
+        assertEquals(MAX_SLAB_BLOCK_SIZE, SlabMemoryAllocator.blockSize(MAX_SLAB_BLOCK_SIZE));
+        assertEquals(2 * MAX_SLAB_BLOCK_SIZE, SlabMemoryAllocator.blockSize(MAX_SLAB_BLOCK_SIZE + 1));
+    }
+
+    @Test
+    public void testAllocate_fromSlab() {
+        long address1 = allocator.allocate(20);
+        long address2 = allocator.allocate(20);
+
+        assertEquals(32, address2 - address1);
+        assertEquals(64, allocator.getUsedMemory());
+        assertEquals(SLAB_SIZE, allocator.getCommittedMemory());
+    }
+
+    @Test
+    public void testAllocate_whenSlabExhausted_thenNewSlab() {
+        for (int i = 0; i < SLAB_SIZE / MAX_SLAB_BLOCK_SIZE + 1; i++) {
+            allocator.allocate(MAX_SLAB_BLOCK_SIZE);
+        }
+
+        assertEquals(2 * SLAB_SIZE, allocator.getCommittedMemory());
+    }
+
+    @Test
+    public void testFree_thenBlockReused() {
+        long address = allocator.allocate(100);
+        allocator.free(address, 100);
+
+        assertEquals(0, allocator.getUsedMemory());
+        assertEquals(address, allocator.allocate(120));
+    }
+
+    @Test
+    public void testAllocateLarge() {
+        int size = MAX_SLAB_BLOCK_SIZE * 3;
+        long address = allocator.allocate(size);
+        MEM.setMemory(address, size, (byte) 1);
+
+        assertEquals(MAX_SLAB_BLOCK_SIZE * 4, allocator.getUsedMemory());
+        assertEquals(MAX_SLAB_BLOCK_SIZE * 4, allocator.getCommittedMemory());
+    }
+
+    @Test
+    public void testFreeLarge_thenBlockRetainedAndReused() {
+        int size = MAX_SLAB_BLOCK_SIZE * 3;
+        long address = allocator.allocate(size);
+
+        allocator.free(address, size);
+
+        // still mapped, a stale reader of another thread can't fault on it
+        assertEquals(0, allocator.getUsedMemory());
+        assertEquals(MAX_SLAB_BLOCK_SIZE * 4, allocator.getCommittedMemory());
+
+        assertEquals(address, allocator.allocate(MAX_SLAB_BLOCK_SIZE * 4));
+        assertEquals(MAX_SLAB_BLOCK_SIZE * 4, allocator.getCommittedMemory());
+    }
+
+    @Test
+    public void testReallocate_whenSameSizeClass_thenSameAddress() {
+        long address = allocator.allocate(40);
+
+        assertEquals(address, allocator.reallocate(address, 40, 60));
+    }
+
+    @Test
+    public void testReallocate_whenDifferentSizeClass_thenContentCopied() {
+        long address = allocator.allocate(16);
+        MEM.putLong(address, 42L);
+        MEM.putLong(address + 8, 43L);
+
+        long newAddress = allocator.reallocate(address, 16, 100);
+
+        assertNotEquals(address, newAddress);
+        assertEquals(42L, MEM.getLong(newAddress));
+        assertEquals(43L, MEM.getLong(newAddress + 8));
+        assertEquals(128, allocator.getUsedMemory());
+    }
+
+    @Test
+    public void testDispose() {
+        allocator.allocate(100);
+        allocator.allocate(MAX_SLAB_BLOCK_SIZE * 2);
+
+        allocator.dispose();
+
+        assertEquals(0, allocator.getUsedMemory());
+        assertEquals(0, allocator.getCommittedMemory());
+        assertThrows(IllegalStateException.class, () -> allocator.allocate(10));
+    }
+}
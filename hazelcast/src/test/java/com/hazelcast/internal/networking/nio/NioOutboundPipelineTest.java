@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.OutboundFrame;
+import com.hazelcast.internal.networking.OutboundHandler;
+import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
+import com.hazelcast.internal.util.ConcurrencyDetection;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static com.hazelcast.internal.networking.HandlerStatus.BLOCKED;
+import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NioOutboundPipelineTest extends HazelcastTestSupport {
+
+    private static final int FRAME_LENGTH = 100;
+
+    private final List<Runnable> ownerTasks = new ArrayList<>();
+    private NioChannel channel;
+    private SocketChannel socketChannel;
+    private NioOutboundPipeline pipeline;
+
+    @Before
+    public void setup() {
+        channel = mock(NioChannel.class);
+        socketChannel = mock(SocketChannel.class);
+        when(channel.socketChannel()).thenReturn(socketChannel);
+        NioThread owner = mock(NioThread.class);
+        doAnswer(invocation -> ownerTasks.add(invocation.getArgument(0))).when(owner).addTaskAndWakeup(any(Runnable.class));
+        pipeline = new NioOutboundPipeline(channel, owner, mock(ChannelErrorHandler.class),
+                Logger.getLogger(NioOutboundPipelineTest.class), mock(IOBalancer.class),
+                ConcurrencyDetection.createDisabled(), false, false);
+        pipeline.selectionKey = mock(SelectionKey.class);
+    }
+
+    @Test
+    public void write_whenConcurrentProducers_thenAllFramesTakenInProducerOrder() throws Exception {
+        int producerCount = 4;
+        int framesPerProducer = 10_000;
+        CyclicBarrier barrier = new CyclicBarrier(producerCount);
+        List<Future<?>> producers = new ArrayList<>();
+        for (int producer = 0; producer < producerCount; producer++) {
+            int producerId = producer;
+            producers.add(spawn(() -> {
+                barrier.await();
+                for (int sequence = 0; sequence < framesPerProducer; sequence++) {
+                    pipeline.write(new TestFrame(producerId, sequence, sequence % 10 == 0));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> producer : producers) {
+            producer.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS);
+        }
+
+        assertEquals(producerCount * framesPerProducer, pipeline.totalFramesPending());
+        assertEquals((long) producerCount * framesPerProducer * FRAME_LENGTH,
+                pipeline.bytesPending() + pipeline.priorityBytesPending());
+
+        int[] lastNormal = new int[producerCount];
+        int[] lastPriority = new int[producerCount];
+        Arrays.fill(lastNormal, -1);
+        Arrays.fill(lastPriority, -1);
+        int taken = 0;
+        for (OutboundFrame frame; (frame = pipeline.get()) != null; taken++) {
+            TestFrame testFrame = (TestFrame) frame;
+            int[] last = testFrame.urgent ? lastPriority : lastNormal;
+            assertTrue(testFrame.sequence > last[testFrame.producer]);
+            last[testFrame.producer] = testFrame.sequence;
+        }
+
+        assertEquals(producerCount * framesPerProducer, taken);
+        assertEquals(0, pipeline.totalFramesPending());
+        assertEquals(0, pipeline.bytesPending());
+        assertEquals(0, pipeline.priorityBytesPending());
+    }
+
+    @Test
+    public void get_takesPriorityFramesFirst() {
+        TestFrame normal1 = new TestFrame(0, 0, false);
+        TestFrame priority1 = new TestFrame(0, 1, true);
+        TestFrame normal2 = new TestFrame(0, 2, false);
+        TestFrame priority2 = new TestFrame(0, 3, true);
+        pipeline.write(normal1);
+        pipeline.write(priority1);
+        pipeline.write(normal2);
+        pipeline.write(priority2);
+
+        assertEquals(2 * FRAME_LENGTH, pipeline.priorityBytesPending());
+        assertEquals(2 * FRAME_LENGTH, pipeline.bytesPending());
+
+        assertSame(priority1, pipeline.get());
+        assertSame(priority2, pipeline.get());
+        assertEquals(0, pipeline.priorityBytesPending());
+        assertSame(normal1, pipeline.get());
+        assertSame(normal2, pipeline.get());
+        assertNull(pipeline.get());
+        assertEquals(0, pipeline.bytesPending());
+    }
+
+    @Test
+    public void drainWriteQueues_whenPipelineOwned_thenClearedByOwnerOnProcess() throws Exception {
+        pipeline.write(new TestFrame(0, 0, false));
+        pipeline.write(new TestFrame(0, 1, true));
+
+        // the pipeline starts scheduled, i.e. owned by its thread
+        pipeline.drainWriteQueues();
+        assertEquals(2, pipeline.totalFramesPending());
+        assertFalse(pipeline.isClosed());
+
+        pipeline.process();
+
+        assertWriteQueuesCleared();
+    }
+
+    @Test
+    public void drainWriteQueues_whenPipelineDirty_thenClosedByOwner() throws Exception {
+        // the socket takes nothing, so the pipeline waits for an OP_WRITE
+        TestHandler handler = new TestHandler(ByteBuffer.allocate(100), CLEAN);
+        pipeline.addLast(handler);
+        pipeline.process();
+        pipeline.write(new TestFrame(0, 0, false));
+        pipeline.write(new TestFrame(0, 1, true));
+        assertEquals(2, pipeline.totalFramesPending());
+
+        // the socket is closed, so the OP_WRITE never comes
+        pipeline.drainWriteQueues();
+        runOwnerTasks();
+
+        assertWriteQueuesCleared();
+        assertEquals(1, handler.closedCount);
+        verify(channel).onPipelineClosed();
+    }
+
+    @Test
+    public void drainWriteQueues_whenPipelineBlocked_thenClosedByOwner() throws Exception {
+        TestHandler handler = new TestHandler(ByteBuffer.allocate(0), BLOCKED);
+        pipeline.addLast(handler);
+        pipeline.process();
+        pipeline.write(new TestFrame(0, 0, false));
+        pipeline.write(new TestFrame(0, 1, true));
+        assertEquals(2, pipeline.totalFramesPending());
+
+        pipeline.drainWriteQueues();
+        runOwnerTasks();
+
+        assertWriteQueuesCleared();
+        assertEquals(1, handler.closedCount);
+        verify(channel).onPipelineClosed();
+    }
+
+    @Test
+    public void drainWriteQueues_whenPipelineProcessed_thenClosedByProcessingThread() throws Exception {
+        TestHandler handler = new TestHandler(ByteBuffer.allocate(0), CLEAN);
+        handler.onWrite = () -> {
+            pipeline.write(new TestFrame(0, 0, false));
+            // the channel gets closed and the owner runs the close task while the pipeline is processed
+            pipeline.drainWriteQueues();
+            runOwnerTasks();
+            assertFalse(pipeline.isClosed());
+            assertEquals(0, handler.closedCount);
+        };
+        pipeline.addLast(handler);
+
+        pipeline.process();
+
+        assertWriteQueuesCleared();
+        assertEquals(1, handler.closedCount);
+        verify(channel).onPipelineClosed();
+
+        // processing the closed pipeline doesn't touch the handlers anymore
+        pipeline.process();
+        assertEquals(1, handler.invocations);
+        assertEquals(1, handler.closedCount);
+    }
+
+    @Test
+    public void process_whenHeapGatheringBuffer_thenWrittenInChunksOfSendBufferSize() throws Exception {
+        List<Integer> chunkSizes = new ArrayList<>();
+        when(socketChannel.write(any(ByteBuffer[].class))).thenAnswer(invocation -> {
+            ByteBuffer[] buffers = invocation.getArgument(0);
+            chunkSizes.add(buffers[1].remaining());
+            long written = 0;
+            for (ByteBuffer buffer : buffers) {
+                written += buffer.remaining();
+                buffer.position(buffer.limit());
+            }
+            return written;
+        });
+        ByteBuffer payload = ByteBuffer.wrap(new byte[10_000]);
+        GatheringHandler handler = new GatheringHandler(ByteBuffer.allocate(1024).flip(), payload);
+        pipeline.addLast(handler);
+        assertTrue(handler.gatheringEnabled());
+
+        pipeline.process();
+
+        assertFalse(payload.hasRemaining());
+        assertEquals(10_000, payload.limit());
+        assertEquals(10, chunkSizes.size());
+        for (int chunkSize : chunkSizes) {
+            assertTrue(chunkSize <= 1024);
+        }
+        assertEquals(10_000, pipeline.bytesWritten());
+    }
+
+    @Test
+    public void addLast_whenDirectSendBuffer_thenGatheringDisabled() {
+        GatheringHandler handler = new GatheringHandler(ByteBuffer.allocateDirect(1024).flip(), null);
+
+        pipeline.addLast(handler);
+
+        assertFalse(handler.gatheringEnabled());
+    }
+
+    private void runOwnerTasks() {
+        List<Runnable> tasks = new ArrayList<>(ownerTasks);
+        ownerTasks.clear();
+        tasks.forEach(Runnable::run);
+    }
+
+    private void assertWriteQueuesCleared() {
+        assertEquals(0, pipeline.totalFramesPending());
+        assertEquals(0, pipeline.bytesPending());
+        assertEquals(0, pipeline.priorityBytesPending());
+        assertTrue(pipeline.isClosed());
+    }
+
+    private static final class TestFrame implements OutboundFrame {
+
+        private final int producer;
+        private final int sequence;
+        private final boolean urgent;
+
+        private TestFrame(int producer, int sequence, boolean urgent) {
+            this.producer = producer;
+            this.sequence = sequence;
+            this.urgent = urgent;
+        }
+
+        @Override
+        public boolean isUrgent() {
+            return urgent;
+        }
+
+        @Override
+        public int getFrameLength() {
+            return FRAME_LENGTH;
+        }
+    }
+
+    /**
+     * Hands over a payload to be written after its empty dst buffer.
+     */
+    private static final class GatheringHandler extends OutboundHandler<Supplier<OutboundFrame>, ByteBuffer> {
+
+        private final ByteBuffer payload;
+
+        private GatheringHandler(ByteBuffer dst, ByteBuffer payload) {
+            this.dst = dst;
+            this.payload = payload;
+        }
+
+        @Override
+        public HandlerStatus onWrite() {
+            return CLEAN;
+        }
+
+        @Override
+        public ByteBuffer gatheringBuffer() {
+            return payload != null && payload.hasRemaining() ? payload : null;
+        }
+
+        boolean gatheringEnabled() {
+            return isGatheringWriteEnabled();
+        }
+    }
+
+    /**
+     * Takes no frames and leaves its dst buffer as it is. A BLOCKED handler
+     * acts like a TLS handler waiting for the handshake.
+     */
+    private static final class TestHandler extends OutboundHandler<Supplier<OutboundFrame>, ByteBuffer> {
+
+        private final HandlerStatus status;
+        private Runnable onWrite = () -> { };
+        private int invocations;
+        private int closedCount;
+
+        private TestHandler(ByteBuffer dst, HandlerStatus status) {
+            this.dst = dst;
+            this.status = status;
+        }
+
+        @Override
+        public HandlerStatus onWrite() {
+            invocations++;
+            onWrite.run();
+            return status;
+        }
+
+        @Override
+        public void handlerClosed() {
+            closedCount++;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.nio.ByteBuffer;
+
+import static com.hazelcast.internal.nio.ByteBufferPool.MIN_CHUNK_SIZE;
+import static com.hazelcast.internal.nio.ByteBufferPool.SLAB_SIZE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ByteBufferPoolTest {
+
+    private final ByteBufferPool pool = new ByteBufferPool(2 * SLAB_SIZE);
+
+    @Test
+    public void acquire_returnsDirectBufferOfRequestedCapacity() {
+        PooledByteBuffer pooled = pool.acquire(1000);
+        ByteBuffer buffer = pooled.buffer();
+
+        assertTrue(pooled.isPooled());
+        assertTrue(buffer.isDirect());
+        assertEquals(1000, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(1000, buffer.limit());
+        assertEquals(SLAB_SIZE, pool.getReservedBytes());
+        assertEquals(MIN_CHUNK_SIZE, pool.getUsedBytes());
+    }
+
+    @Test
+    public void release_returnsChunkToPool() {
+        PooledByteBuffer pooled = pool.acquire(3 * MIN_CHUNK_SIZE);
+        assertEquals(4 * MIN_CHUNK_SIZE, pool.getUsedBytes());
+
+        assertTrue(pooled.release());
+
+        assertEquals(0, pool.getUsedBytes());
+        // the slab is kept and its chunks are reused
+        pool.acquire(3 * MIN_CHUNK_SIZE);
+        assertEquals(SLAB_SIZE, pool.getReservedBytes());
+    }
+
+    @Test
+    public void chunksOfSlab_doNotOverlap() {
+        int chunkCount = SLAB_SIZE / MIN_CHUNK_SIZE;
+        PooledByteBuffer[] buffers = new PooledByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            buffers[i] = pool.acquire(MIN_CHUNK_SIZE);
+            ByteBuffer buffer = buffers[i].buffer();
+            while (buffer.hasRemaining()) {
+                buffer.put((byte) i);
+            }
+        }
+
+        for (int i = 0; i < chunkCount; i++) {
+            ByteBuffer buffer = buffers[i].buffer();
+            for (int position = 0; position < buffer.capacity(); position++) {
+                assertEquals((byte) i, buffer.get(position));
+            }
+        }
+        assertEquals(SLAB_SIZE, pool.getReservedBytes());
+    }
+
+    @Test
+    public void acquire_whenLargerThanSlab_thenUnpooled() {
+        PooledByteBuffer pooled = pool.acquire(SLAB_SIZE + 1);
+
+        assertFalse(pooled.isPooled());
+        assertEquals(SLAB_SIZE + 1, pooled.buffer().capacity());
+        assertTrue(pooled.release());
+        assertEquals(0, pool.getReservedBytes());
+    }
+
+    @Test
+    public void acquire_whenPoolExhausted_thenUnpooled() {
+        pool.acquire(SLAB_SIZE);
+        pool.acquire(SLAB_SIZE);
+
+        PooledByteBuffer pooled = pool.acquire(SLAB_SIZE);
+
+        assertFalse(pooled.isPooled());
+        assertEquals(2 * SLAB_SIZE, pool.getReservedBytes());
+    }
+
+    @Test
+    public void retain_keepsBufferUntilLastRelease() {
+        PooledByteBuffer pooled = pool.acquire(100);
+        assertSame(pooled, pooled.retain());
+        assertEquals(2, pooled.refCount());
+
+        assertFalse(pooled.release());
+        assertEquals(MIN_CHUNK_SIZE, pool.getUsedBytes());
+        pooled.buffer();
+
+        assertTrue(pooled.release());
+        assertEquals(0, pool.getUsedBytes());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void release_whenReleased_thenFails() {
+        PooledByteBuffer pooled = pool.acquire(100);
+        pooled.release();
+
+        pooled.release();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void buffer_whenReleased_thenFails() {
+        PooledByteBuffer pooled = pool.acquire(100);
+        pooled.release();
+
+        pooled.buffer();
+    }
+}
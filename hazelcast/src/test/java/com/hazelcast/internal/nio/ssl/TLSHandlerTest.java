@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nio.ssl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.SSLConfig;
+import com.hazelcast.internal.networking.Channel;
+import com.hazelcast.internal.networking.ChannelOptions;
+import com.hazelcast.internal.networking.HandlerStatus;
+import com.hazelcast.internal.networking.InboundPipeline;
+import com.hazelcast.internal.networking.OutboundPipeline;
+import com.hazelcast.nio.ssl.SSLContextFactory;
+import com.hazelcast.nio.ssl.SSLEngineFactory;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManagerFactory;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.security.KeyStore;
+import java.util.Properties;
+import java.util.Random;
+
+import static com.hazelcast.internal.networking.ChannelOption.SO_RCVBUF;
+import static com.hazelcast.internal.networking.ChannelOption.SO_SNDBUF;
+import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TLSHandlerTest {
+
+    private static final String KEY_STORE = "keystore.jks";
+    private static final char[] KEY_STORE_PASSWORD = "password".toCharArray();
+
+    private final TLSMetrics metrics = new TLSMetrics();
+    private SSLEngineFactory engineFactory;
+    private Address serverAddress;
+
+    @Before
+    public void setup() throws Exception {
+        engineFactory = TLSEngineFactory.create(new SSLConfig().setEnabled(true)
+                .setFactoryImplementation(new TestSSLContextFactory()), null, false);
+        serverAddress = new Address("127.0.0.1", 5701);
+    }
+
+    @Test
+    public void testDataExchanged() throws Exception {
+        Peer client = new Peer(engineFactory.create(true, serverAddress), 1 << 17);
+        Peer server = new Peer(engineFactory.create(false, null), 1 << 17);
+
+        exchange(client, server, 50_000, 70_000);
+
+        assertEquals("TLSv1.3", client.engine.getSession().getProtocol());
+        assertEquals(2, metrics.handshakes());
+        assertEquals(120_000, metrics.encryptedBytes());
+        assertEquals(120_000, metrics.decryptedBytes());
+    }
+
+    @Test
+    public void testDataExchanged_whenNextHandlerReadsFewBytes() throws Exception {
+        // e.g. the protocol decoders
+        Peer client = new Peer(engineFactory.create(true, serverAddress), 3);
+        Peer server = new Peer(engineFactory.create(false, null), 3);
+
+        exchange(client, server, 50_000, 70_000);
+    }
+
+    @Test
+    public void testSessionResumed_whenReconnected() throws Exception {
+        Peer client = new Peer(engineFactory.create(true, serverAddress), 1 << 17);
+        exchange(client, new Peer(engineFactory.create(false, null), 1 << 17), 100, 100);
+
+        Peer reconnectedClient = new Peer(engineFactory.create(true, serverAddress), 1 << 17);
+        exchange(reconnectedClient, new Peer(engineFactory.create(false, null), 1 << 17), 100, 100);
+
+        // a resumed session keeps the creation time of the original one
+        assertEquals(client.engine.getSession().getCreationTime(),
+                reconnectedClient.engine.getSession().getCreationTime());
+    }
+
+    @Test
+    public void testEngineFactory_properties() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(TLSEngineFactory.PROTOCOL, "TLSv1.2, TLSv1.3");
+        properties.setProperty(TLSEngineFactory.MUTUAL_AUTHENTICATION, "REQUIRED");
+        properties.setProperty(TLSEngineFactory.SESSION_CACHE_SIZE, "100");
+        SSLContext sslContext = newSSLContext();
+        TLSEngineFactory factory = new TLSEngineFactory(sslContext);
+        factory.init(properties, false);
+
+        SSLEngine serverEngine = factory.create(false, null);
+        assertArrayEquals(new String[]{"TLSv1.2", "TLSv1.3"}, serverEngine.getEnabledProtocols());
+        assertTrue(serverEngine.getNeedClientAuth());
+        assertFalse(factory.create(true, serverAddress).getNeedClientAuth());
+        assertEquals(100, sslContext.getServerSessionContext().getSessionCacheSize());
+    }
+
+    @Test(expected = InvalidConfigurationException.class)
+    public void testEngineFactory_unsupportedProtocol() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty(TLSEngineFactory.PROTOCOL, "SSLv2");
+        new TLSEngineFactory(newSSLContext()).init(properties, false);
+    }
+
+    private static void exchange(Peer client, Peer server, int clientBytes, int serverBytes) throws Exception {
+        Random random = new Random();
+        byte[] clientData = new byte[clientBytes];
+        random.nextBytes(clientData);
+        byte[] serverData = new byte[serverBytes];
+        random.nextBytes(serverData);
+        client.send(clientData, serverBytes);
+        server.send(serverData, clientBytes);
+
+        for (int round = 0; round < 100 && (server.received.hasRemaining() || client.received.hasRemaining()); round++) {
+            client.writeTo(server);
+            server.read();
+            server.writeTo(client);
+            client.read();
+        }
+
+        assertArrayEquals(clientData, server.received.array());
+        assertArrayEquals(serverData, client.received.array());
+    }
+
+    private static SSLContext newSSLContext() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream in = TLSHandlerTest.class.getClassLoader().getResourceAsStream(KEY_STORE)) {
+            keyStore.load(in, KEY_STORE_PASSWORD);
+        }
+        KeyManagerFactory keyManagerFactory = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+        keyManagerFactory.init(keyStore, KEY_STORE_PASSWORD);
+        TrustManagerFactory trustManagerFactory = TrustManagerFactory.getInstance(TrustManagerFactory.getDefaultAlgorithm());
+        trustManagerFactory.init(keyStore);
+        SSLContext sslContext = SSLContext.getInstance("TLS");
+        sslContext.init(keyManagerFactory.getKeyManagers(), trustManagerFactory.getTrustManagers(), null);
+        return sslContext;
+    }
+
+    private static Channel newChannel() {
+        ChannelOptions options = mock(ChannelOptions.class);
+        when(options.getOption(SO_RCVBUF)).thenReturn(1024);
+        when(options.getOption(SO_SNDBUF)).thenReturn(1024);
+        Channel channel = mock(Channel.class);
+        when(channel.options()).thenReturn(options);
+        when(channel.newBuffer(anyInt())).thenAnswer(invocation -> ByteBuffer.allocateDirect(invocation.getArgument(0)));
+        when(channel.inboundPipeline()).thenReturn(mock(InboundPipeline.class));
+        when(channel.outboundPipeline()).thenReturn(mock(OutboundPipeline.class));
+        return channel;
+    }
+
+    /**
+     * The TLS handlers of a channel, the pipelines are driven by the test.
+     */
+    private final class Peer {
+
+        private final SSLEngine engine;
+        private final TLSDecoder decoder;
+        private final TLSEncoder encoder;
+        private final ByteBuffer decrypted;
+        private ByteBuffer received;
+
+        Peer(SSLEngine engine, int decryptedBufferSize) throws Exception {
+            this.engine = engine;
+            engine.beginHandshake();
+            Channel channel = newChannel();
+            TLSHandshake handshake = new TLSHandshake(channel, engine, metrics);
+            decoder = new TLSDecoder(handshake);
+            decoder.setChannel(channel).handlerAdded();
+            encoder = new TLSEncoder(handshake);
+            encoder.setChannel(channel).handlerAdded();
+            decrypted = ByteBuffer.allocate(decryptedBufferSize);
+            decoder.dst(decrypted);
+        }
+
+        void send(byte[] data, int receivedBytes) {
+            encoder.src(ByteBuffer.wrap(data));
+            received = ByteBuffer.allocate(receivedBytes);
+        }
+
+        void writeTo(Peer peer) throws Exception {
+            encoder.onWrite();
+            ByteBuffer encrypted = encoder.dst();
+            ByteBuffer peerSrc = peer.decoder.src();
+            int length = Math.min(encrypted.remaining(), peerSrc.remaining());
+            peerSrc.put(encrypted.slice(encrypted.position(), length));
+            encrypted.position(encrypted.position() + length);
+        }
+
+        void read() throws Exception {
+            // the next handler consumes the decrypted data as long as the decoder is dirty
+            HandlerStatus status;
+            do {
+                status = decoder.onRead();
+                decrypted.flip();
+                int length = Math.min(decrypted.remaining(), received.remaining());
+                received.put(decrypted.slice(decrypted.position(), length));
+                decrypted.position(decrypted.position() + length);
+                decrypted.compact();
+            } while (status == DIRTY);
+        }
+    }
+
+    public static class TestSSLContextFactory implements SSLContextFactory {
+
+        private SSLContext sslContext;
+
+        @Override
+        public void init(Properties properties) throws Exception {
+            sslContext = newSSLContext();
+        }
+
+        @Override
+        public SSLContext getSSLContext() {
+            return sslContext;
+        }
+    }
+}
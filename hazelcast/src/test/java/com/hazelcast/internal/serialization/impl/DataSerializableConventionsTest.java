@@ -40,7 +40,6 @@ import com.hazelcast.query.impl.predicates.SkipIndexPredicate;
 import com.hazelcast.spi.impl.operationservice.AbstractLocalOperation;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.QuickTest;
-import com.hazelcast.vector.impl.DataVectorDocument;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
@@ -331,8 +330,7 @@ public class DataSerializableConventionsTest {
 
     protected Set<? extends Package> getEnterprisePackages() {
         return Set.of(CPMemberInfo.class.getPackage(),
-                    LogEntry.class.getPackage(),
-                    DataVectorDocument.class.getPackage());
+                    LogEntry.class.getPackage());
     }
 
     /**
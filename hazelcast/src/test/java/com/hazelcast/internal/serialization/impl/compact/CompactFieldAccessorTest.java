@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecord;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.test.HazelcastParametrizedRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.nio.ByteOrder;
+import java.util.List;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static com.hazelcast.internal.serialization.impl.compact.OffsetReader.NULL_OFFSET;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParametrizedRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class CompactFieldAccessorTest {
+
+    private static final List<String> STRINGS = List.of("", "a", "ab", "b", "\u00e9", "\u4e2d", "\ue000",
+            "\uffff", "\ud83d\ude00", "a\ue000", "a\ud83d\ude00");
+
+    @Parameterized.Parameter(0)
+    public ByteOrder byteOrder;
+
+    @Parameterized.Parameter(1)
+    public int paddingLength;
+
+    @Parameterized.Parameters(name = "byteOrder:{0}, paddingLength:{1}")
+    public static Object[][] parameters() {
+        // the padding selects the byte, short and int offset readers
+        return new Object[][]{
+                {ByteOrder.BIG_ENDIAN, 0},
+                {ByteOrder.BIG_ENDIAN, 300},
+                {ByteOrder.BIG_ENDIAN, 70000},
+                {ByteOrder.LITTLE_ENDIAN, 0},
+                {ByteOrder.LITTLE_ENDIAN, 300},
+                {ByteOrder.LITTLE_ENDIAN, 70000},
+        };
+    }
+
+    @Test
+    public void testFieldsReadFromData() throws Exception {
+        InternalSerializationService serializationService = createSerializationService(
+                new SerializationConfig().setByteOrder(byteOrder));
+        GenericRecord record = GenericRecordBuilder.compact("accessorTestDTO")
+                .setString("padding", "x".repeat(paddingLength))
+                .setBoolean("b1", false)
+                .setBoolean("b2", true)
+                .setInt8("i8", (byte) -8)
+                .setInt16("i16", (short) -16)
+                .setInt32("i32", -32)
+                .setInt64("i64", -64L)
+                .setFloat32("f32", 3.2f)
+                .setFloat64("f64", -6.4)
+                .setString("str", "hazelcast")
+                .setString("nullStr", null)
+                .build();
+        Data data = serializationService.toData(record);
+        byte[] payload = data.toByteArray();
+        Schema schema = serializationService.extractSchemaFromData(data);
+
+        assertEquals(schema.getSchemaId(), CompactFieldAccessor.readSchemaId(payload, byteOrder));
+        for (String fieldName : schema.getFieldNames()) {
+            assertEquals(fieldName, record.getObject(fieldName), accessor(schema, fieldName).read(payload));
+        }
+        assertFalse(accessor(schema, "b1").readBoolean(payload));
+        assertTrue(accessor(schema, "b2").readBoolean(payload));
+        assertEquals(-32, accessor(schema, "i32").readLong(payload));
+        assertEquals(3.2f, accessor(schema, "f32").readDouble(payload), 0);
+
+        CompactFieldAccessor str = accessor(schema, "str");
+        int position = str.stringPosition(payload);
+        assertTrue(str.stringEquals(payload, position, "hazelcast".getBytes(UTF_8)));
+        assertFalse(str.stringEquals(payload, position, "hazelcas".getBytes(UTF_8)));
+        assertEquals(NULL_OFFSET, accessor(schema, "nullStr").stringPosition(payload));
+        assertNull(CompactFieldAccessor.of(schema, "missing", byteOrder));
+    }
+
+    @Test
+    public void testStringsComparedAsStrings() throws Exception {
+        InternalSerializationService serializationService = createSerializationService(
+                new SerializationConfig().setByteOrder(byteOrder));
+        for (String value : STRINGS) {
+            Data data = serializationService.toData(GenericRecordBuilder.compact("accessorTestDTO")
+                    .setString("padding", "x".repeat(paddingLength))
+                    .setString("str", value)
+                    .build());
+            byte[] payload = data.toByteArray();
+            CompactFieldAccessor str = accessor(serializationService.extractSchemaFromData(data), "str");
+            int position = str.stringPosition(payload);
+            for (String given : STRINGS) {
+                assertEquals(value + " vs " + given, Integer.signum(value.compareTo(given)),
+                        Integer.signum(str.compareString(payload, position, given.getBytes(UTF_8))));
+            }
+        }
+    }
+
+    private CompactFieldAccessor accessor(Schema schema, String fieldName) {
+        return CompactFieldAccessor.of(schema, fieldName, byteOrder);
+    }
+}
@@ -29,8 +29,10 @@ import com.hazelcast.internal.ascii.TextCommandService;
 import com.hazelcast.internal.networking.InboundHandler;
 import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.nio.ssl.TLSMetrics;
 import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.server.tcp.PacketCompressor;
 import com.hazelcast.internal.server.tcp.PacketDecoder;
 import com.hazelcast.internal.server.tcp.PacketEncoder;
 import com.hazelcast.logging.ILogger;
@@ -72,6 +74,8 @@ public class MockServerContext implements ServerContext {
     public final InternalSerializationService serializationService;
     public final LoggingServiceImpl loggingService;
     private final HazelcastProperties properties;
+    private final PacketCompressor packetCompressor;
+    private final TLSMetrics tlsMetrics = new TLSMetrics();
     public volatile Consumer<Packet> packetConsumer;
     private final ILogger logger;
 
@@ -93,6 +97,7 @@ public class MockServerContext implements ServerContext {
         props.put(IO_INPUT_THREAD_COUNT.getName(), "1");
         props.put(IO_OUTPUT_THREAD_COUNT.getName(), "1");
         this.properties = new HazelcastProperties(props);
+        this.packetCompressor = new PacketCompressor(properties);
     }
 
     @Override
@@ -383,12 +388,22 @@ public class MockServerContext implements ServerContext {
             } catch (Exception e) {
                 logger.severe(e);
             }
-        })};
+        }, packetCompressor)};
     }
 
     @Override
     public OutboundHandler[] createOutboundHandlers(EndpointQualifier qualifier, ServerConnection connection) {
-        return new OutboundHandler[]{new PacketEncoder()};
+        return new OutboundHandler[]{new PacketEncoder(connection, packetCompressor)};
+    }
+
+    @Override
+    public PacketCompressor getPacketCompressor() {
+        return packetCompressor;
+    }
+
+    @Override
+    public TLSMetrics getTlsMetrics() {
+        return tlsMetrics;
     }
 
     @Override
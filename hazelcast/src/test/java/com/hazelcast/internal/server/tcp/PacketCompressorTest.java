@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.server.tcp;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Properties;
+import java.util.Random;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+import static com.hazelcast.internal.nio.Packet.FLAG_COMPRESSED;
+import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.NETWORK_COMPRESSION_THRESHOLD;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PacketCompressorTest {
+
+    private PacketCompressor compressor;
+    private Deflater deflater;
+    private Inflater inflater;
+
+    @Before
+    public void setup() {
+        Properties properties = new Properties();
+        properties.setProperty(NETWORK_COMPRESSION_ENABLED.getName(), "true");
+        properties.setProperty(NETWORK_COMPRESSION_THRESHOLD.getName(), "1024");
+        compressor = new PacketCompressor(new HazelcastProperties(properties));
+        deflater = compressor.newDeflater();
+        inflater = new Inflater();
+    }
+
+    @Test
+    public void whenCompressible_thenRoundTrips() throws DataFormatException {
+        byte[] payload = new byte[10000];
+        for (int i = 0; i < payload.length; i++) {
+            payload[i] = (byte) (i % 10);
+        }
+        Packet packet = new Packet(payload, 42).setPacketType(Packet.Type.OPERATION).raiseFlags(FLAG_URGENT);
+
+        Packet compressed = compressor.compress(packet, deflater);
+
+        assertTrue(compressed.isFlagRaised(FLAG_COMPRESSED));
+        assertTrue(compressed.dataSize() < packet.dataSize());
+        assertEquals(42, compressed.getPartitionId());
+
+        Packet decompressed = compressor.decompress(compressed, inflater);
+
+        assertFalse(decompressed.isFlagRaised(FLAG_COMPRESSED));
+        assertEquals(packet.getFlags(), decompressed.getFlags());
+        assertEquals(Packet.Type.OPERATION, decompressed.getPacketType());
+        assertEquals(42, decompressed.getPartitionId());
+        assertArrayEquals(payload, decompressed.toByteArray());
+    }
+
+    @Test
+    public void whenBelowThreshold_thenNotCompressed() {
+        Packet packet = new Packet(new byte[100]);
+
+        assertSame(packet, compressor.compress(packet, deflater));
+    }
+
+    @Test
+    public void whenIncompressible_thenNotCompressed() {
+        byte[] payload = new byte[10000];
+        new Random(1).nextBytes(payload);
+        Packet packet = new Packet(payload);
+
+        assertSame(packet, compressor.compress(packet, deflater));
+    }
+
+    @Test
+    public void whenDeflaterReused_thenRoundTrips() throws DataFormatException {
+        for (int i = 0; i < 3; i++) {
+            Packet packet = new Packet(new byte[2000 * (i + 1)]);
+
+            Packet compressed = compressor.compress(packet, deflater);
+            assertNotSame(packet, compressed);
+
+            assertArrayEquals(packet.toByteArray(), compressor.decompress(compressed, inflater).toByteArray());
+        }
+    }
+
+    @Test(expected = DataFormatException.class)
+    public void whenTruncated_thenFails() throws DataFormatException {
+        Packet compressed = compressor.compress(new Packet(new byte[10000]), deflater);
+        byte[] payload = compressed.toByteArray();
+        byte[] truncated = new byte[payload.length / 2];
+        System.arraycopy(payload, 0, truncated, 0, truncated.length);
+
+        compressor.decompress(new Packet(truncated).resetFlagsTo(compressed.getFlags()), inflater);
+    }
+
+    @Test
+    public void whenHighlyCompressible_thenRoundTrips() throws DataFormatException {
+        byte[] payload = new byte[1 << 20];
+
+        Packet compressed = compressor.compress(new Packet(payload), deflater);
+        assertTrue(compressed.dataSize() < payload.length / 100);
+
+        assertArrayEquals(payload, compressor.decompress(compressed, inflater).toByteArray());
+    }
+
+    @Test(expected = DataFormatException.class)
+    public void whenLengthExceedsDeflateRatio_thenFails() throws DataFormatException {
+        Packet compressed = compressor.compress(new Packet(new byte[10000]), deflater);
+        byte[] payload = compressed.toByteArray();
+        Bits.writeIntB(payload, 0, Integer.MAX_VALUE);
+
+        compressor.decompress(new Packet(payload).resetFlagsTo(compressed.getFlags()), inflater);
+    }
+
+    @Test(expected = DataFormatException.class)
+    public void whenLengthLargerThanInflated_thenFails() throws DataFormatException {
+        Packet compressed = compressor.compress(new Packet(new byte[10000]), deflater);
+        byte[] payload = compressed.toByteArray();
+        Bits.writeIntB(payload, 0, 20000);
+
+        compressor.decompress(new Packet(payload).resetFlagsTo(compressed.getFlags()), inflater);
+    }
+
+    @Test
+    public void whenDisabledByDefault() {
+        assertFalse(new PacketCompressor(new HazelcastProperties(new Properties())).isEnabled());
+    }
+}
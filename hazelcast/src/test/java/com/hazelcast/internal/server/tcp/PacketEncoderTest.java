@@ -38,6 +38,8 @@ import java.util.function.Supplier;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static com.hazelcast.internal.networking.HandlerStatus.DIRTY;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -90,6 +92,42 @@ public class PacketEncoderTest extends HazelcastTestSupport {
         assertEquals(DIRTY, result);
     }
 
+    @Test
+    public void whenLargePacketAndGatheringWriteEnabled_thenPayloadNotCopied() {
+        Packet packet = new Packet(serializationService.toBytes(new byte[100_000]));
+        Packet smallPacket = new Packet(serializationService.toBytes("foobar"));
+        ByteBuffer dst = ByteBuffer.allocate(1000);
+        dst.flip();
+
+        PacketSupplier src = new PacketSupplier();
+        src.queue.add(packet);
+        src.queue.add(smallPacket);
+
+        encoder.dst(dst);
+        encoder.src(src);
+        encoder.setGatheringWriteEnabled(true);
+        int headerSize = packet.getFrameLength() - packet.totalSize();
+
+        // only the header is written, the payload is handed over to the pipeline
+        assertEquals(DIRTY, encoder.onWrite());
+        assertEquals(headerSize, dst.remaining());
+        ByteBuffer payload = encoder.gatheringBuffer();
+        assertSame(packet.toByteArray(), payload.array());
+        assertEquals(packet.totalSize(), payload.remaining());
+
+        // nothing is written until the payload is
+        assertEquals(DIRTY, encoder.onWrite());
+        assertEquals(headerSize, dst.remaining());
+
+        ByteBuffer written = ByteBuffer.allocate(headerSize + packet.totalSize());
+        written.put(dst).put(payload).flip();
+        assertEquals(packet, new PacketIOHelper().readFrom(written));
+
+        assertEquals(CLEAN, encoder.onWrite());
+        assertNull(encoder.gatheringBuffer());
+        assertEquals(smallPacket, new PacketIOHelper().readFrom(dst));
+    }
+
     static class PacketSupplier implements Supplier<Packet> {
         Queue<Packet> queue = new LinkedBlockingQueue<>();
 
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static com.hazelcast.map.IMapAccessors.getMapServiceContext;
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.util.concurrent.TimeUnit.HOURS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MapLocalReadsTest extends HazelcastTestSupport {
+
+    private static final CountDownLatch PROCESSOR_STARTED = new CountDownLatch(1);
+    private static final CountDownLatch PROCESSOR_RELEASED = new CountDownLatch(1);
+
+    private HazelcastInstance instance;
+    private IMap<String, String> map;
+
+    @Before
+    public void setUp() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_LOCAL_READS_ENABLED.getName(), "true");
+        config.addMapConfig(new MapConfig("evicting*")
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(EvictionPolicy.LRU)
+                        .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                        .setSize(1000)));
+        instance = createHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+    }
+
+    @Test
+    public void testGet_whenPartitionThreadBusy_thenNotQueued() throws Exception {
+        String blockedKey = generateKeyForPartition(instance, 1);
+        String key = generateKeyForPartition(instance, 1);
+        map.put(blockedKey, "blocked");
+        map.put(key, "value");
+
+        Future<Object> processor = map.submitToKey(blockedKey, entry -> {
+            PROCESSOR_STARTED.countDown();
+            assertOpenEventually(PROCESSOR_RELEASED);
+            return null;
+        }).toCompletableFuture();
+        try {
+            assertOpenEventually(PROCESSOR_STARTED);
+            Future<String> get = spawn(() -> map.get(key));
+
+            assertEquals("value", get.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS));
+        } finally {
+            PROCESSOR_RELEASED.countDown();
+        }
+        processor.get(ASSERT_TRUE_EVENTUALLY_TIMEOUT, SECONDS);
+    }
+
+    @Test
+    public void testGet_seesLatestValue() {
+        map.put("key", "value1");
+        assertEquals("value1", map.get("key"));
+
+        map.put("key", "value2");
+        assertEquals("value2", map.get("key"));
+
+        map.remove("key");
+        assertNull(map.get("key"));
+    }
+
+    @Test
+    public void testGet_updatesGetOperationCount() {
+        map.put("key", "value");
+
+        map.get("key");
+        map.get("key");
+
+        assertEquals(2, map.getLocalMapStats().getGetOperationCount());
+    }
+
+    @Test
+    public void testReadOwnedData() {
+        map.put("key", "value");
+
+        assertEquals("value", getSerializationService(instance).toObject(readOwnedData("key")));
+        assertNull(readOwnedData("missing"));
+    }
+
+    @Test
+    public void testReadOwnedData_whenEntryHasTtl_thenNull() {
+        map.put("key", "value", 1, HOURS);
+
+        assertNull(readOwnedData("key"));
+        assertEquals("value", map.get("key"));
+    }
+
+    @Test
+    public void testReadOwnedData_whenInterceptorAdded_thenNull() {
+        map.put("key", "value");
+        map.addInterceptor(new UppercaseInterceptor());
+
+        assertNull(readOwnedData("key"));
+        assertEquals("VALUE", map.get("key"));
+    }
+
+    @Test
+    public void testReadOwnedData_whenLocked_thenNull() {
+        map.put("key", "value");
+        map.lock("key");
+        try {
+            assertNull(readOwnedData("key"));
+            assertEquals("value", map.get("key"));
+        } finally {
+            map.unlock("key");
+        }
+        assertEquals("value", getSerializationService(instance).toObject(readOwnedData("key")));
+    }
+
+    @Test
+    public void testReadOwnedData_whenEvictionConfigured_thenNull() {
+        IMap<String, String> evictingMap = instance.getMap("evicting-" + randomMapName());
+        evictingMap.put("key", "value");
+
+        assertNull(readOwnedData(evictingMap, "key"));
+        assertEquals("value", evictingMap.get("key"));
+    }
+
+    private Data readOwnedData(String key) {
+        return readOwnedData(map, key);
+    }
+
+    private Data readOwnedData(IMap<String, String> map, String key) {
+        Data keyData = getSerializationService(instance).toData(key);
+        MapServiceContext mapServiceContext = getMapServiceContext(map);
+        int partitionId = getPartitionService(instance).getPartitionId(keyData);
+        RecordStore<?> recordStore = mapServiceContext.getPartitionContainer(partitionId)
+                .getExistingRecordStore(map.getName());
+        return recordStore == null ? null : recordStore.readOwnedData(keyData);
+    }
+
+    private static class UppercaseInterceptor extends MapInterceptorAdaptor {
+        @Override
+        public Object interceptGet(Object value) {
+            return value == null ? null : ((String) value).toUpperCase();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
+import com.hazelcast.internal.partition.impl.MigrationStats;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the {@link MigrationTest} scenarios with multiple migration
+ * fragments in flight.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class StreamingMigrationTest extends MigrationTest {
+
+    @Override
+    protected Config getConfig(String mapName) {
+        Config config = super.getConfig(mapName);
+        config.setProperty(ClusterProperty.PARTITION_MIGRATION_MAX_IN_FLIGHT_FRAGMENTS.getName(), "4");
+        return config;
+    }
+
+    @Test
+    public void testMigration_recordsSentFragments() {
+        int mapCount = 5;
+        int size = 1_000;
+        Config config = getConfig(randomMapName());
+        TestHazelcastInstanceFactory nodeFactory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = nodeFactory.newHazelcastInstance(config);
+        for (int m = 0; m < mapCount; m++) {
+            Map<Integer, Integer> map = instance1.getMap("map-" + m);
+            for (int i = 0; i < size; i++) {
+                map.put(i, i);
+            }
+        }
+
+        HazelcastInstance instance2 = nodeFactory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+
+        for (int m = 0; m < mapCount; m++) {
+            Map<Integer, Integer> map = instance2.getMap("map-" + m);
+            assertEquals("Some records have been lost.", size, map.size());
+            for (int i = 0; i < size; i++) {
+                assertEquals(i, (int) map.get(i));
+            }
+        }
+
+        MigrationStats stats = ((InternalPartitionServiceImpl) getPartitionService(instance1)).getMigrationManager().getStats();
+        assertTrue(stats.getTotalSentMigrationFragments() > stats.getTotalCompletedMigrations());
+        assertTrue(stats.getTotalSentMigrationChunkBytes() > 0);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.hazelcast.map.impl.iterator;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class AbstractMapQueryStreamIteratorTest {
+
+    private static final int PARTITION_COUNT = 7;
+    private static final int PAGES_PER_PARTITION = 3;
+
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    public void testIteration_returnsAllItems() {
+        TestIterator iterator = new TestIterator(4);
+
+        Set<Integer> items = new HashSet<>();
+        iterator.forEachRemaining(items::add);
+
+        assertThat(items).hasSize(PARTITION_COUNT * PAGES_PER_PARTITION);
+        assertThat(iterator.fetches).isEqualTo(PARTITION_COUNT * PAGES_PER_PARTITION);
+    }
+
+    @Test
+    public void testIteration_pageBeingConsumedCountsAgainstLimit() {
+        assertPagesBounded(1);
+        assertPagesBounded(3);
+    }
+
+    private void assertPagesBounded(int maxConcurrentFetches) {
+        TestIterator iterator = new TestIterator(maxConcurrentFetches);
+
+        // each page holds a single item, so the page of the last returned
+        // item is being consumed and the later fetched ones are in flight
+        int consumed = 0;
+        while (iterator.hasNext()) {
+            iterator.next();
+            consumed++;
+            assertThat(iterator.fetches - consumed + 1).isLessThanOrEqualTo(maxConcurrentFetches);
+        }
+        assertThat(consumed).isEqualTo(PARTITION_COUNT * PAGES_PER_PARTITION);
+    }
+
+    private class TestIterator extends AbstractMapQueryStreamIterator<Integer, Integer, Integer> {
+
+        private int fetches;
+
+        TestIterator(int maxConcurrentFetches) {
+            super("map", 1, maxConcurrentFetches, PARTITION_COUNT, Predicates.alwaysTrue(),
+                    Projections.<Entry<Integer, Integer>, Integer>singleAttribute("this"));
+        }
+
+        @Override
+        protected CompletableFuture<Page> fetch(int partitionId, IterationPointer[] pointers) {
+            fetches++;
+            int pageIndex = pointers[0].getIndex() == Integer.MAX_VALUE ? 0 : pointers[0].getIndex();
+            int nextPageIndex = pageIndex + 1 < PAGES_PER_PARTITION ? pageIndex + 1 : -1;
+            return completedFuture(new Page(partitionId,
+                    singletonList(serializationService.toData(partitionId * PAGES_PER_PARTITION + pageIndex)),
+                    new IterationPointer[]{new IterationPointer(nextPageIndex, -1)}));
+        }
+
+        @Override
+        protected SerializationService getSerializationService() {
+            return serializationService;
+        }
+    }
+}
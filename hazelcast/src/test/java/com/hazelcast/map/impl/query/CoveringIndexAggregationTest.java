@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class CoveringIndexAggregationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 200;
+
+    private IMap<Integer, Item> indexed;
+    private IMap<Integer, Item> reference;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig();
+        config.getMapConfig("indexed*").setInMemoryFormat(InMemoryFormat.BINARY)
+                .setCacheDeserializedValues(CacheDeserializedValues.NEVER);
+        config.getMapConfig("reference*").setInMemoryFormat(InMemoryFormat.BINARY);
+        HazelcastInstance instance = createHazelcastInstance(config);
+        indexed = instance.getMap("indexed");
+        reference = instance.getMap("reference");
+        indexed.addIndex(IndexType.SORTED, "value");
+        indexed.addIndex(IndexType.SORTED, "kind");
+        indexed.addIndex(IndexType.SORTED, "tags[any]");
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Item item = new Item(i % 7 == 0 ? null : i % 50, Kind.values()[i % Kind.values().length], List.of(i % 3, i % 3));
+            indexed.put(i, item);
+            reference.put(i, item);
+        }
+        Item.DESERIALIZATIONS.set(0);
+    }
+
+    @Test
+    public void aggregationsOfIndexedAttribute_doNotDeserializeValues() {
+        assertCovered(Aggregators.count("value"), Predicates.alwaysTrue());
+        assertCovered(Aggregators.integerMin("value"), Predicates.alwaysTrue());
+        assertCovered(Aggregators.integerMax("value"), Predicates.alwaysTrue());
+        assertCovered(Aggregators.integerSum("value"), Predicates.greaterThan("value", 10));
+        assertCovered(Aggregators.integerAvg("value"), Predicates.lessEqual("value", 10));
+        assertCovered(Aggregators.count(), Predicates.between("value", 10, 20));
+        assertCovered(Aggregators.count(), Predicates.equal("this.value", 30));
+        assertCovered(Aggregators.distinct("value"), Predicates.greaterEqual("value", 45));
+        assertCovered(Aggregators.count(), Predicates.between("value", 20, 10));
+    }
+
+    @Test
+    public void aggregationOnPartitionSubset() {
+        Predicate<Integer, Item> predicate = Predicates.multiPartitionPredicate(Set.of(17, 42, 101), Predicates.alwaysTrue());
+
+        assertCovered(Aggregators.count("value"), predicate);
+        assertCovered(Aggregators.integerMax("value"), predicate);
+    }
+
+    @Test
+    public void aggregationsNotCoveredByIndex() {
+        // enums are indexed by their names
+        assertSameResult(Aggregators.distinct("kind"), Predicates.alwaysTrue());
+        // collection elements are indexed once per entry
+        assertSameResult(Aggregators.count("tags[any]"), Predicates.alwaysTrue());
+        assertSameResult(Aggregators.integerSum("tags[any]"), Predicates.alwaysTrue());
+        // the predicate isn't evaluated on the aggregated attribute
+        assertSameResult(Aggregators.integerMax("value"), Predicates.equal("kind", Kind.SECOND));
+        assertSameResult(Aggregators.count(), Predicates.alwaysTrue());
+        assertSameResult(Aggregators.count(), Predicates.equal("value", null));
+
+        assertTrue(Item.DESERIALIZATIONS.get() > 0);
+    }
+
+    private <R> void assertCovered(Aggregator<?, R> aggregator, Predicate<Integer, Item> predicate) {
+        assertSameResult(aggregator, predicate);
+        assertEquals(0, Item.DESERIALIZATIONS.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> void assertSameResult(Aggregator<?, R> aggregator, Predicate<Integer, Item> predicate) {
+        Aggregator<Map.Entry<Integer, Item>, R> typed = (Aggregator<Map.Entry<Integer, Item>, R>) aggregator;
+        int deserializations = Item.DESERIALIZATIONS.get();
+        R expected = reference.aggregate(typed, predicate);
+        Item.DESERIALIZATIONS.set(deserializations);
+        R actual = indexed.aggregate(typed, predicate);
+        assertEquals(expected, actual);
+    }
+
+    enum Kind {
+        FIRST, SECOND, THIRD
+    }
+
+    static class Item implements DataSerializable {
+
+        static final AtomicInteger DESERIALIZATIONS = new AtomicInteger();
+
+        private Integer value;
+        private Kind kind;
+        private List<Integer> tags;
+
+        Item() {
+        }
+
+        Item(Integer value, Kind kind, List<Integer> tags) {
+            this.value = value;
+            this.kind = kind;
+            this.tags = tags;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeObject(value);
+            out.writeString(kind.name());
+            out.writeObject(new ArrayList<>(tags));
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            DESERIALIZATIONS.incrementAndGet();
+            value = in.readObject();
+            kind = Kind.valueOf(in.readString());
+            tags = in.readObject();
+        }
+    }
+}
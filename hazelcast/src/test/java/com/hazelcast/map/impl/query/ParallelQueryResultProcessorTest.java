@@ -0,0 +1,195 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.query;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.IterationType;
+import com.hazelcast.internal.util.executor.ManagedExecutorService;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.QueryResultSizeExceededException;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.projection.Projections;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.FastMultiResultSet;
+import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.spi.properties.ClusterProperty.QUERY_INDEX_SCAN_PARALLELISM;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ParallelQueryResultProcessorTest extends HazelcastTestSupport {
+
+    // enough index keys for several parts of uneven sizes
+    private static final int ENTRY_COUNT = 6 * ParallelQueryResultProcessor.MIN_KEYS_PER_PART + 100;
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Integer> map;
+
+    @Before
+    public void before() {
+        Config config = smallInstanceConfig().setProperty(QUERY_INDEX_SCAN_PARALLELISM.getName(), "2");
+        instance = createHazelcastInstance(config);
+        map = instance.getMap(randomMapName());
+        map.addIndex(IndexType.SORTED, "this");
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+    }
+
+    @Test
+    public void parallelProcessorIsUsed() {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        assertTrue(mapService.getMapServiceContext().getResultProcessorRegistry()
+                .get(QueryResult.class) instanceof ParallelQueryResultProcessor);
+    }
+
+    @Test
+    public void indexQuery() {
+        Predicate<Integer, Integer> predicate = Predicates.greaterEqual("this", 100);
+
+        Set<Map.Entry<Integer, Integer>> entries = map.entrySet(predicate);
+        assertEquals(ENTRY_COUNT - 100, entries.size());
+        for (Map.Entry<Integer, Integer> entry : entries) {
+            assertEquals(entry.getKey(), entry.getValue());
+            assertTrue(entry.getKey() >= 100);
+        }
+
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 100; i < ENTRY_COUNT; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, map.keySet(predicate));
+        assertEquals(expected, new HashSet<>(map.values(predicate)));
+    }
+
+    @Test
+    public void projection() {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            expected.add(i);
+        }
+        assertEquals(expected, new HashSet<>(map.project(Projections.singleAttribute("this"), Predicates.alwaysTrue())));
+    }
+
+    @Test
+    public void scan() {
+        Set<Integer> expected = new HashSet<>();
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            expected.add(i);
+        }
+        assertEquals(expected, map.keySet(entry -> entry.getValue() % 2 == 0));
+    }
+
+    @Test
+    public void partsAreMergedInKeyOrder() {
+        ManagedExecutorService executor = mock(ManagedExecutorService.class);
+        when(executor.submit(any(Callable.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(invocation.<Callable>getArgument(0).call()));
+        ParallelQueryResultProcessor processor = new ParallelQueryResultProcessor(
+                getSerializationService(instance), executor, 2, Integer.MAX_VALUE);
+
+        List<Data> expected = new ArrayList<>();
+        FastMultiResultSet entries = new FastMultiResultSet();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            Data key = mock(Data.class);
+            expected.add(key);
+            entries.addResultSet(singleEntry(key));
+        }
+
+        QueryResult result = processor.populateResult(query(), Long.MAX_VALUE, entries, null);
+
+        List<Data> keys = new ArrayList<>();
+        for (QueryResultRow row : result) {
+            keys.add(row.getKey());
+        }
+        assertThat(keys).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    public void partsInFlightAreCancelled_whenResultLimitExceeded() {
+        FastMultiResultSet entries = new FastMultiResultSet();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            entries.addResultSet(singleEntry(mock(Data.class)));
+        }
+
+        // the first part alone exceeds the limit once it completes
+        QueryResult firstPart = new QueryResult(IterationType.KEY, null, getSerializationService(instance),
+                Long.MAX_VALUE, false);
+        firstPart.addRow(new QueryResultRow(mock(Data.class), null));
+        firstPart.addRow(new QueryResultRow(mock(Data.class), null));
+        List<CompletableFuture<QueryResult>> submitted = new ArrayList<>();
+        ManagedExecutorService executor = mock(ManagedExecutorService.class);
+        when(executor.submit(any(Callable.class))).thenAnswer(invocation -> {
+            CompletableFuture<QueryResult> future = new CompletableFuture<>();
+            if (submitted.isEmpty()) {
+                future.complete(firstPart);
+            }
+            submitted.add(future);
+            return future;
+        });
+        ParallelQueryResultProcessor processor = new ParallelQueryResultProcessor(
+                getSerializationService(instance), executor, 2, Integer.MAX_VALUE);
+
+        assertThatThrownBy(() -> processor.populateResult(query(), 1, entries, null))
+                .isInstanceOf(QueryResultSizeExceededException.class);
+        assertEquals(2, submitted.size());
+        assertTrue(submitted.get(1).isCancelled());
+    }
+
+    private Query query() {
+        return Query.of().mapName(map.getName()).predicate(Predicates.alwaysTrue())
+                .iterationType(IterationType.KEY).build();
+    }
+
+    private static ConcurrentMap<Data, QueryableEntry> singleEntry(Data key) {
+        QueryableEntry entry = mock(QueryableEntry.class);
+        when(entry.getKeyData()).thenReturn(key);
+        ConcurrentMap<Data, QueryableEntry> entries = new ConcurrentHashMap<>();
+        entries.put(key, entry);
+        return entries;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapDataRecordTest {
+
+    private SerializationService serializationService;
+    private OffHeapValueStore valueStore;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        valueStore = new OffHeapValueStore();
+    }
+
+    @After
+    public void tearDown() {
+        valueStore.dispose();
+    }
+
+    @Test
+    public void testGetValue_returnsHeapCopy() {
+        Data value = serializationService.toData("value");
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, value);
+
+        Data actual = record.getValue();
+
+        assertEquals(value, actual);
+        assertNotSame(value, actual);
+        assertEquals("value", serializationService.toObject(actual));
+    }
+
+    @Test
+    public void testSetValue_freesOldValue() {
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, serializationService.toData("value1"));
+        long usedMemory = valueStore.getUsedMemory();
+
+        record.setValue(serializationService.toData("value2"));
+
+        assertEquals(usedMemory, valueStore.getUsedMemory());
+        assertEquals("value2", serializationService.toObject(record.getValue()));
+    }
+
+    @Test
+    public void testSetValue_whenNull() {
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, serializationService.toData("value"));
+
+        record.setValue(null);
+
+        assertNull(record.getValue());
+        assertEquals(0, record.getOffHeapCost());
+        assertEquals(0, valueStore.getUsedMemory());
+    }
+
+    @Test
+    public void testDispose() {
+        Data value = serializationService.toData("value");
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, value);
+        assertEquals(OffHeapValueStore.HEADER_SIZE + value.totalSize(), record.getOffHeapCost());
+
+        record.dispose();
+
+        assertNull(record.getValue());
+        assertEquals(0, valueStore.getUsedMemory());
+    }
+
+    @Test
+    public void testGetValue_whenLargeValue() {
+        byte[] bytes = new byte[64 * 1024];
+        bytes[bytes.length - 1] = 1;
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, serializationService.toData(bytes));
+
+        byte[] actual = serializationService.toObject(record.getValue());
+
+        assertEquals(bytes.length, actual.length);
+        assertEquals(1, actual[actual.length - 1]);
+    }
+
+    @Test
+    public void testSetValue_whenLargeValue_thenBlockReused() {
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, serializationService.toData(new byte[40 * 1024]));
+        long usedMemory = valueStore.getUsedMemory();
+        long committedMemory = valueStore.getCommittedMemory();
+
+        record.setValue(serializationService.toData(new byte[60 * 1024]));
+
+        assertEquals(usedMemory, valueStore.getUsedMemory());
+        assertEquals(committedMemory, valueStore.getCommittedMemory());
+        assertEquals(60 * 1024, serializationService.<byte[]>toObject(record.getValue()).length);
+    }
+
+    @Test
+    public void testGetValue_whenStoreDisposed_thenNull() {
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, serializationService.toData("value"));
+
+        valueStore.dispose();
+
+        assertNull(record.getValue());
+        assertEquals(0, valueStore.getCommittedMemory());
+    }
+
+    @Test
+    public void testDispose_whenLoadInProgress_thenReleasedByLoad() {
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, serializationService.toData("value"));
+        assertTrue(valueStore.enterLoad());
+
+        valueStore.dispose();
+
+        // the memory stays mapped for the load in progress
+        assertTrue(valueStore.getCommittedMemory() > 0);
+        assertNull(record.getValue());
+
+        valueStore.exitLoad();
+        assertEquals(0, valueStore.getCommittedMemory());
+    }
+
+    @Test
+    public void testGetMatchingRecordReaderWriter() {
+        OffHeapDataRecord record = new OffHeapDataRecord(valueStore, serializationService.toData("value"));
+
+        assertEquals(RecordReaderWriter.DATA_RECORD_WITH_STATS_READER_WRITER, record.getMatchingRecordReaderWriter());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.record;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.IMap;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PackedDataRecordTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+
+    @Before
+    public void setUp() {
+        serializationService = new DefaultSerializationServiceBuilder().build();
+    }
+
+    @Test
+    public void testGetValue_sharesPayload() {
+        Data value = serializationService.toData("value");
+        PackedDataRecord record = new PackedDataRecord(value);
+
+        Data actual = record.getValue();
+
+        assertEquals(value, actual);
+        assertSame(value.toByteArray(), actual.toByteArray());
+        assertSame(Record.NOT_CACHED, record.getCachedValueUnsafe());
+    }
+
+    @Test
+    public void testGetValue_doesNotAllocateOnRepeatedReads() {
+        PackedDataRecord record = new PackedDataRecord(serializationService.toData("value"));
+
+        assertSame(record.getValue(), record.getValue());
+    }
+
+    @Test
+    public void testSetValue_thenNewValueRead() {
+        PackedDataRecord record = new PackedDataRecord(serializationService.toData("value1"));
+        Data oldValue = record.getValue();
+
+        record.setValue(serializationService.toData("value2"));
+
+        assertEquals("value1", serializationService.toObject(oldValue));
+        assertEquals("value2", serializationService.toObject(record.getValue()));
+    }
+
+    @Test
+    public void testCachedRecord_cachesDeserializedValue() {
+        PackedCachedDataRecord record = new PackedCachedDataRecord(serializationService.toData("value1"));
+
+        assertTrue(record.casCachedValue(null, "value1"));
+        assertEquals("value1", record.getCachedValueUnsafe());
+
+        record.setValue(serializationService.toData("value2"));
+        assertNull(record.getCachedValueUnsafe());
+    }
+
+    @Test
+    public void testSetValue_whenNull() {
+        PackedDataRecord record = new PackedDataRecord(serializationService.toData("value"));
+
+        record.setValue(null);
+
+        assertNull(record.getValue());
+    }
+
+    @Test
+    public void testEqualsAndHashCode() {
+        PackedDataRecord record1 = new PackedDataRecord(serializationService.toData("value"));
+        PackedDataRecord record2 = new PackedDataRecord(serializationService.toData("value"));
+        assertEquals(record1, record2);
+        assertEquals(record1.hashCode(), record2.hashCode());
+
+        record2.setVersion(1);
+        assertNotEquals(record1, record2);
+    }
+
+    @Test
+    public void testCost_isLowerThanOtherDataRecords() {
+        Data value = serializationService.toData(42L);
+
+        long packedCost = new PackedDataRecord(value).getCost();
+
+        assertTrue(packedCost < new SimpleRecord<>(value).getCost());
+        assertTrue(packedCost < new CachedSimpleRecord(value).getCost());
+        assertTrue(packedCost < new DataRecordWithStats(value).getCost());
+    }
+
+    @Test
+    public void testMapOperations() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_PACKED_RECORDS_ENABLED.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, "value-" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals("value-" + i, map.replace(i, "new-value-" + i));
+        }
+
+        assertEquals(100, map.size());
+        assertEquals("new-value-1", map.get(1));
+        assertTrue(map.getEntryView(1).getVersion() > 0);
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.OffHeapDataRecord;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Override
+    protected Config getConfig() {
+        return smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_OFF_HEAP_VALUES_ENABLED.getName(), "true");
+    }
+
+    @Test
+    public void testRecordsAreOffHeap() {
+        HazelcastInstance instance = createHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+        map.put(1, "value");
+
+        MapServiceContext mapServiceContext = getNodeEngineImpl(instance)
+                .<MapService>getService(MapService.SERVICE_NAME).getMapServiceContext();
+        RecordStore recordStore = mapServiceContext.getExistingRecordStore(
+                getPartitionService(instance).getPartitionId(1), map.getName());
+
+        assertTrue(recordStore.getStorage() instanceof OffHeapStorage);
+        assertTrue(recordStore.getRecord(getSerializationService(instance).toData(1)) instanceof OffHeapDataRecord);
+    }
+
+    @Test
+    public void testBasicOperations() {
+        HazelcastInstance instance = createHazelcastInstance(getConfig());
+        IMap<Integer, String> map = instance.getMap(randomMapName());
+
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertNull(map.put(i, "value-" + i));
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, map.replace(i, "new-value-" + i));
+        }
+        for (int i = 0; i < ENTRY_COUNT; i += 2) {
+            assertEquals("new-value-" + i, map.remove(i));
+        }
+
+        assertEquals(ENTRY_COUNT / 2, map.size());
+        for (int i = 1; i < ENTRY_COUNT; i += 2) {
+            assertEquals("new-value-" + i, map.get(i));
+        }
+
+        map.clear();
+        assertEquals(0, map.size());
+        map.put(1, "value");
+        assertEquals("value", map.get(1));
+    }
+
+    @Test
+    public void testMigrationAndBackups() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(getConfig());
+        String mapName = randomMapName();
+        IMap<Integer, String> map = instance1.getMap(mapName);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, "value-" + i);
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(getConfig());
+        waitAllForSafeState(instance1, instance2);
+        instance1.shutdown();
+
+        IMap<Integer, String> map2 = instance2.getMap(mapName);
+        assertEquals(ENTRY_COUNT, map2.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals("value-" + i, map2.get(i));
+        }
+    }
+}
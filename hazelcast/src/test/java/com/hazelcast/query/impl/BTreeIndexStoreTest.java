@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.BTreeIndexConfig;
+import com.hazelcast.memory.Capacity;
+import com.hazelcast.memory.MemoryUnit;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.CompositeValue.NEGATIVE_INFINITY;
+import static com.hazelcast.query.impl.CompositeValue.POSITIVE_INFINITY;
+import static com.hazelcast.query.impl.NumericOrderedIndexStoreTest.assertSameIteration;
+import static com.hazelcast.query.impl.NumericOrderedIndexStoreTest.entry;
+import static com.hazelcast.query.impl.NumericOrderedIndexStoreTest.keys;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BTreeIndexStoreTest extends OrderedIndexStoreTest {
+
+    @Override
+    BaseSingleValueIndexStore createStore() {
+        return new BTreeIndexStore(IndexCopyBehavior.COPY_ON_WRITE, pageConfig(64));
+    }
+
+    @Test
+    public void pageCapacity_honorsPageSize() {
+        assertEquals(1024, BTreeIndexStore.pageCapacity(new BTreeIndexConfig()));
+        assertEquals(1024, BTreeIndexStore.pageCapacity(null));
+        assertEquals(4, BTreeIndexStore.pageCapacity(pageConfig(64)));
+        assertEquals(BPlusTree.MIN_PAGE_CAPACITY, BTreeIndexStore.pageCapacity(pageConfig(1)));
+        assertEquals(BTreeIndexStore.MAX_PAGE_CAPACITY, BTreeIndexStore.pageCapacity(pageConfig(1 << 30)));
+    }
+
+    @Test
+    public void matchesOrderedIndexStore_whenManyPagesAndRemovals() {
+        BTreeIndexStore store = new BTreeIndexStore(IndexCopyBehavior.COPY_ON_READ, pageConfig(128));
+        OrderedIndexStore reference = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        Random random = new Random(42);
+        int entryCount = 2_000;
+        String[] values = new String[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            // every fourth value is shared by several entries, every tenth one is null
+            Comparable value = i % 10 == 0 ? NULL : "v" + (i % 4 == 0 ? random.nextInt(16) : random.nextInt(100_000));
+            values[i] = value == NULL ? null : (String) value;
+            store.insertInternal(value, entry(i));
+            reference.insertInternal(value, entry(i));
+        }
+        for (int i = 0; i < entryCount; i += 3) {
+            Comparable value = values[i] == null ? NULL : values[i];
+            store.removeInternal(value, entry(i).getKeyData());
+            reference.removeInternal(value, entry(i).getKeyData());
+        }
+
+        assertSameIteration(reference.getSqlRecordIteratorBatch(false), store.getSqlRecordIteratorBatch(false));
+        assertSameIteration(reference.getSqlRecordIteratorBatch(true), store.getSqlRecordIteratorBatch(true));
+        for (int i = 0; i < 50; i++) {
+            String from = "v" + random.nextInt(100_000);
+            String to = "v" + random.nextInt(100_000);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            boolean descending = random.nextBoolean();
+            assertSameIteration(reference.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending),
+                    store.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+            assertEquals(keys(reference.getRecords(from, fromInclusive, to, toInclusive)),
+                    keys(store.getRecords(from, fromInclusive, to, toInclusive)));
+            assertEquals(keys(reference.getRecords(Comparison.LESS_OR_EQUAL, to)),
+                    keys(store.getRecords(Comparison.LESS_OR_EQUAL, to)));
+            assertEquals(keys(reference.getRecords(from)), keys(store.getRecords(from)));
+        }
+        assertEquals(keys(reference.getRecords(NULL)), keys(store.getRecords(NULL)));
+    }
+
+    @Test
+    public void treeShrinks_whenEntriesRemoved() {
+        BPlusTree tree = new BPlusTree(OrderedIndexStore.SPECIAL_AWARE_COMPARATOR, 8);
+        for (int i = 0; i < 10_000; i++) {
+            tree.put(i, i);
+        }
+        int fullHeight = tree.height();
+        assertTrue(fullHeight > 3);
+
+        for (int i = 0; i < 10_000; i++) {
+            if (i % 1000 != 0) {
+                assertEquals(i, tree.remove(i));
+            }
+        }
+        assertEquals(10, tree.size());
+        assertTrue(tree.height() < fullHeight);
+        for (int i = 0; i < 10_000; i += 1000) {
+            assertEquals(i, tree.get(i));
+        }
+    }
+
+    @Test
+    public void compositeKeys_prefixRangeScan() {
+        BTreeIndexStore store = new BTreeIndexStore(IndexCopyBehavior.COPY_ON_READ, pageConfig(64));
+        int key = 0;
+        for (int a = 0; a < 5; a++) {
+            for (int b = 0; b < 5; b++) {
+                store.insertInternal(new CompositeValue(new Comparable[]{a, b}), entry(key++));
+            }
+        }
+
+        // a == 2 and b > 2, that is the entries 13 and 14
+        Comparable from = new CompositeValue(new Comparable[]{2, 2});
+        Comparable to = new CompositeValue(new Comparable[]{2, POSITIVE_INFINITY});
+        assertResult(List.of(13, 14), store.getSqlRecordIteratorBatch(from, false, to, false, false));
+        assertResult(List.of(14, 13), store.getSqlRecordIteratorBatch(from, false, to, false, true));
+
+        // a in [1, 2], any b
+        from = new CompositeValue(new Comparable[]{1, NEGATIVE_INFINITY});
+        to = new CompositeValue(new Comparable[]{2, POSITIVE_INFINITY});
+        assertEquals(Set.of(5, 6, 7, 8, 9, 10, 11, 12, 13, 14), keys(store.getRecords(from, false, to, false)));
+    }
+
+    private static BTreeIndexConfig pageConfig(long pageSizeInBytes) {
+        return new BTreeIndexConfig().setPageSize(Capacity.of(pageSizeInBytes, MemoryUnit.BYTES));
+    }
+}
@@ -24,7 +24,10 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
@@ -116,6 +119,46 @@ public class FastMultiResultSetTest {
         assertThat(result.isEmpty()).isFalse();
     }
 
+    @Test
+    public void testSplit_tooFewKeys() {
+        for (int i = 0; i < 7; i++) {
+            addEntry(entry(data()));
+        }
+
+        assertThat(result.split(4, 4)).containsExactly(result);
+    }
+
+    @Test
+    public void testSplit_preservesOrder() {
+        List<QueryableEntry> entries = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            QueryableEntry entry = entry(data());
+            entries.add(entry);
+            addEntry(entry);
+        }
+
+        List<Set<QueryableEntry>> parts = result.split(3, 2);
+
+        assertThat(parts).hasSize(3);
+        List<QueryableEntry> partEntries = new ArrayList<>();
+        for (Set<QueryableEntry> part : parts) {
+            assertThat(part.size()).isBetween(3, 4);
+            partEntries.addAll(part);
+        }
+        assertThat(partEntries).containsExactlyElementsOf(entries);
+    }
+
+    @Test
+    public void testSplit_partsAreFastMultiResultSets() {
+        for (int i = 0; i < 4; i++) {
+            addEntry(entry(data()));
+        }
+
+        for (Set<QueryableEntry> part : result.split(2, 1)) {
+            assertThat(part).isInstanceOf(FastMultiResultSet.class);
+        }
+    }
+
     public QueryableEntry entry(Data data) {
         QueryEntry entry = mock(QueryEntry.class);
         when(entry.getKeyData()).thenReturn(data);
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import org.junit.Test;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class IndexHistogramTest {
+
+    private final IndexHistogram histogram = new IndexHistogram();
+
+    @Test
+    public void estimatesEqualityFromBuckets() {
+        for (int i = 0; i < 1000; i++) {
+            histogram.onInsert(i % 10 == 0 ? 7 : i);
+        }
+
+        // hash collisions may add a few other values
+        assertEstimate(100, histogram.estimateEqual(7));
+        // numeric values are hashed in their canonical form
+        assertEquals(histogram.estimateEqual(7), histogram.estimateEqual(7L));
+        assertEquals(histogram.estimateEqual(7), histogram.estimateEqual(7.0));
+        assertTrue(histogram.estimateEqual(5000) <= 1);
+
+        for (int i = 0; i < 50; i++) {
+            histogram.onRemove(7);
+        }
+        assertEstimate(50, histogram.estimateEqual(7));
+    }
+
+    @Test
+    public void estimatesRangesFromObservedNumericRange() {
+        for (int i = 0; i < 1000; i++) {
+            histogram.onInsert(i);
+        }
+
+        assertEstimate(100, histogram.estimateRange(100, true, 200, false));
+        assertEstimate(900, histogram.estimateRange(100, false, null, false));
+        assertEstimate(250, histogram.estimateRange(NULL, false, 250, true));
+        assertEquals(0, histogram.estimateRange(2000, true, 3000, true));
+        assertEquals(histogram.estimateEqual(500), histogram.estimateRange(500, true, 500, true));
+    }
+
+    @Test
+    public void estimatesRangesOfOtherValues() {
+        for (int i = 0; i < 300; i++) {
+            histogram.onInsert("value" + i);
+        }
+
+        assertEquals(100, histogram.estimateRange("value1", true, "value2", true));
+    }
+
+    @Test
+    public void clear() {
+        histogram.onInsert(1);
+        histogram.onInsert(1);
+        histogram.clear();
+
+        assertEquals(0, histogram.estimateEqual(1));
+        assertEquals(0, histogram.estimateRange(0, true, 2, true));
+    }
+
+    private static void assertEstimate(long expected, long actual) {
+        assertTrue("expected about " + expected + " but was " + actual, Math.abs(expected - actual) <= expected / 10);
+    }
+}
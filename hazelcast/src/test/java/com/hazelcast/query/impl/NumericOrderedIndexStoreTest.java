@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.internal.serialization.impl.HeapData;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NumericOrderedIndexStoreTest extends OrderedIndexStoreTest {
+
+    @Override
+    BaseSingleValueIndexStore createStore() {
+        return new NumericOrderedIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+    }
+
+    @Test
+    public void matchesOrderedIndexStore_whenManyRunsAndRemovals() {
+        NumericOrderedIndexStore numeric = new NumericOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ, 16);
+        OrderedIndexStore reference = new OrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        Random random = new Random(42);
+        int entryCount = 2_000;
+        long[] values = new long[entryCount];
+        for (int i = 0; i < entryCount; i++) {
+            // every fourth value is shared by several entries
+            values[i] = i % 4 == 0 ? random.nextInt(16) : random.nextInt(100_000) - 50_000;
+            DummyEntry entry = entry(i);
+            numeric.insertInternal(values[i], entry);
+            reference.insertInternal(values[i], entry);
+        }
+        for (int i = 0; i < entryCount; i += 3) {
+            DummyEntry entry = entry(i);
+            numeric.removeInternal(values[i], entry.getKeyData());
+            reference.removeInternal(values[i], entry.getKeyData());
+        }
+
+        assertSameIteration(reference.getSqlRecordIteratorBatch(false), numeric.getSqlRecordIteratorBatch(false));
+        assertSameIteration(reference.getSqlRecordIteratorBatch(true), numeric.getSqlRecordIteratorBatch(true));
+        for (int i = 0; i < 50; i++) {
+            long from = random.nextInt(100_000) - 50_000;
+            long to = from + random.nextInt(20_000);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            boolean descending = random.nextBoolean();
+            assertSameIteration(reference.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending),
+                    numeric.getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+            assertEquals(keys(reference.getRecords(from, fromInclusive, to, toInclusive)),
+                    keys(numeric.getRecords(from, fromInclusive, to, toInclusive)));
+            assertEquals(keys(reference.getRecords(Comparison.LESS, to)), keys(numeric.getRecords(Comparison.LESS, to)));
+            assertEquals(keys(reference.getRecords(from)), keys(numeric.getRecords(from)));
+        }
+        assertFalse(numeric.isFallback());
+    }
+
+    @Test
+    public void nullsAreOrderedFirst() {
+        NumericOrderedIndexStore numeric = new NumericOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        numeric.insertInternal(NULL, entry(0));
+        numeric.insertInternal(5L, entry(1));
+        numeric.insertInternal(NULL, entry(2));
+        numeric.insertInternal(-5L, entry(3));
+
+        assertResult(List.of(0, 2, 3, 1), numeric.getSqlRecordIteratorBatch(false));
+        assertResult(List.of(1, 3, 2, 0), numeric.getSqlRecordIteratorBatch(true));
+        assertResult(List.of(3), numeric.getSqlRecordIteratorBatch(Comparison.LESS, 0L, false));
+        assertResult(List.of(0, 2), numeric.getSqlRecordIteratorBatch(NULL, false));
+        assertEquals(Set.of(0, 2, 3), keys(numeric.getRecords(NULL, true, 0L, false)));
+        assertEquals(Set.of(0, 2), keys(numeric.getRecords(NULL)));
+    }
+
+    @Test
+    public void queryArgumentsOfOtherNumericTypes() {
+        NumericOrderedIndexStore numeric = new NumericOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        for (int i = 0; i < 10; i++) {
+            numeric.insertInternal(i, entry(i));
+        }
+
+        assertEquals(Set.of(3), keys(numeric.getRecords(3L)));
+        assertEquals(Set.of(3), keys(numeric.getRecords(3.0)));
+        assertEquals(Set.of(), keys(numeric.getRecords(3.5)));
+        assertEquals(Set.of(4, 5, 6), keys(numeric.getRecords(3.5, true, 6.0, true)));
+        assertEquals(Set.of(4, 5), keys(numeric.getRecords(3.5, false, 6.0, false)));
+        assertResult(List.of(9, 8, 7), numeric.getSqlRecordIteratorBatch(Comparison.GREATER, 6.5, true));
+        assertEquals(Set.of(1, 2), keys(numeric.getRecords(Set.of(1L, 2.0, 2.5))));
+    }
+
+    @Test
+    public void doublesAndDates() {
+        NumericOrderedIndexStore doubles = new NumericOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        double[] values = {-1.5, Double.NEGATIVE_INFINITY, 0.0, -0.0, 2.25, Double.NaN, Double.POSITIVE_INFINITY};
+        for (int i = 0; i < values.length; i++) {
+            doubles.insertInternal(values[i], entry(i));
+        }
+        assertResult(List.of(1, 0, 3, 2, 4, 6, 5), doubles.getSqlRecordIteratorBatch(false));
+        assertEquals(Set.of(0, 3), keys(doubles.getRecords(-1.5, true, 0.0, false)));
+
+        NumericOrderedIndexStore dates = new NumericOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        for (int i = 0; i < 5; i++) {
+            dates.insertInternal(new Date(1_000L * (5 - i)), entry(i));
+        }
+        assertResult(List.of(4, 3, 2, 1, 0), dates.getSqlRecordIteratorBatch(false));
+        assertEquals(Set.of(2, 3), keys(dates.getRecords(new Date(2_000L), true, new Date(3_000L), true)));
+        assertEquals(new Date(1_000L), dates.getSqlRecordIteratorBatch(false).next().getIndexKey());
+    }
+
+    @Test
+    public void switchesToBTreeIndexStore_whenValueHasNoEncoding() {
+        NumericOrderedIndexStore numeric = new NumericOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+        numeric.insertInternal(NULL, entry(0));
+        numeric.insertInternal(1L, entry(1));
+        numeric.insertInternal(1L, entry(2));
+        Iterator<IndexKeyEntries> iteratorBeforeSwitch = numeric.getSqlRecordIteratorBatch(false);
+
+        // an integer can't be decoded back from a store of longs
+        numeric.insertInternal(3, entry(3));
+
+        assertTrue(numeric.isFallback());
+        assertResult(List.of(0, 1, 2, 3), numeric.getSqlRecordIteratorBatch(false));
+        assertEquals(Set.of(1, 2, 3), keys(numeric.getRecords(Comparison.GREATER, 0)));
+        assertResult(List.of(0, 1, 2), iteratorBeforeSwitch);
+
+        numeric.removeInternal(1L, entry(1).getKeyData());
+        assertResult(List.of(0, 2, 3), numeric.getSqlRecordIteratorBatch(false));
+
+        numeric.clear();
+        assertFalse(numeric.isFallback());
+    }
+
+    /**
+     * Creates an entry whose key data differs in the payload, so it's usable
+     * as a key of hash maps, unlike the key data of the bare dummy entry.
+     */
+    static DummyEntry entry(int key) {
+        DummyEntry entry = new DummyEntry(key, key);
+        entry.keyData = new HeapData(ByteBuffer.allocate(12).putInt(8, key).array());
+        return entry;
+    }
+
+    static Set<Object> keys(Set<QueryableEntry> records) {
+        return records.stream().map(QueryableEntry::getKey).collect(toSet());
+    }
+
+    static void assertSameIteration(Iterator<IndexKeyEntries> expected, Iterator<IndexKeyEntries> actual) {
+        assertEquals(flatten(expected), flatten(actual));
+    }
+
+    private static List<Object> flatten(Iterator<IndexKeyEntries> iterator) {
+        List<Object> result = new ArrayList<>();
+        Set<Object> indexKeys = new HashSet<>();
+        while (iterator.hasNext()) {
+            IndexKeyEntries entries = iterator.next();
+            assertTrue(indexKeys.add(entries.getIndexKey()));
+            result.add(entries.getIndexKey());
+            entries.getEntries().forEachRemaining(entry -> result.add(entry.getKey()));
+        }
+        return result;
+    }
+}
@@ -139,6 +139,19 @@ public class BitmapAlgorithmsTest {
         verifyOr();
     }
 
+    @Test
+    public void testOrOfDenseAndLastBlocks() {
+        long seed = System.nanoTime();
+        System.out.println(getClass().getSimpleName() + ".testOrOfDenseAndLastBlocks seed: " + seed);
+
+        generate(0, 3 * SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE, 2);
+        generate(1, 3 * SparseBitSet.ARRAY_STORAGE_16_MAX_SIZE, 3);
+        generate(Long.MAX_VALUE - 100000, 100001, 1);
+        generate(Long.MAX_VALUE - 2, 2, 2);
+        generateRandom(seed, 20000, 200000);
+        verifyOr();
+    }
+
     @Test
     public void testNot() {
         long seed = System.nanoTime();
@@ -250,6 +263,15 @@ public class BitmapAlgorithmsTest {
         verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Integer.MAX_VALUE);
         verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE / 2);
         verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualIterators()), expectedResult, Long.MAX_VALUE);
+
+        verify(BitmapAlgorithms.or(actualBitSets()), expectedResult);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()), expectedResult, 1);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()), expectedResult, 2);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()), expectedResult, 5);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()), expectedResult, Short.MAX_VALUE);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()), expectedResult, Integer.MAX_VALUE);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()), expectedResult, Long.MAX_VALUE / 2);
+        verifyAdvanceAtLeastTo(BitmapAlgorithms.or(actualBitSets()), expectedResult, Long.MAX_VALUE);
     }
 
     private void verifyNotAndThenClear() {
@@ -291,6 +313,10 @@ public class BitmapAlgorithmsTest {
         return actualIterators;
     }
 
+    private SparseBitSet[] actualBitSets() {
+        return actual.toArray(new SparseBitSet[0]);
+    }
+
     private void generate(long offset, long count, long step) {
         SparseBitSet actual = new SparseBitSet();
         TreeSet<Long> expected = new TreeSet<>();
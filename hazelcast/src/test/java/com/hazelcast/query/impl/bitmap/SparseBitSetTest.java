@@ -398,6 +398,7 @@ public class SparseBitSetTest {
     private void verify() {
         AscendingLongIterator iterator = actual.iterator();
         verify(iterator, expected);
+        assertEquals(expected.size(), actual.size());
     }
 
     private void verify(AscendingLongIterator actual, SortedSet<Long> expected) {
@@ -18,6 +18,8 @@ package com.hazelcast.query.impl.predicates;
 
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.IndexRegistry;
+import com.hazelcast.query.impl.QueryContext;
+import com.hazelcast.query.impl.QueryableEntry;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
@@ -25,6 +27,8 @@ import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.junit.runner.RunWith;
 
+import java.util.Set;
+
 import static com.hazelcast.query.Predicates.and;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createDelegatingVisitor;
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockNegatablePredicate;
@@ -32,6 +36,9 @@ import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createMockV
 import static com.hazelcast.query.impl.predicates.PredicateTestUtils.createPassthroughVisitor;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 
 @SuppressWarnings("rawtypes")
@@ -116,4 +123,55 @@ public class AndPredicateTest {
 
         assertThat(result).isSameAs(delegate);
     }
+
+    @Test
+    public void filter_whenIndexedPredicateIsMuchLessSelective_thenEvaluateItOnTheSmallestResultSet() {
+        QueryContext queryContext = mock(QueryContext.class);
+        QueryableEntry matching = mock(QueryableEntry.class);
+        QueryableEntry notMatching = mock(QueryableEntry.class);
+        IndexAwarePredicate wide = createMockIndexedPredicate(queryContext, 1000, Set.of());
+        when(wide.apply(matching)).thenReturn(true);
+        IndexAwarePredicate narrow = createMockIndexedPredicate(queryContext, 2, Set.of(matching, notMatching));
+
+        Set<QueryableEntry> result = new AndPredicate(wide, narrow).filter(queryContext);
+
+        assertThat(result).containsExactly(matching);
+        verify(wide, never()).filter(queryContext);
+    }
+
+    @Test
+    public void filter_whenEstimatesAreUnknown_thenIntersectAllIndexedResults() {
+        QueryContext queryContext = mock(QueryContext.class);
+        QueryableEntry matching = mock(QueryableEntry.class);
+        QueryableEntry notMatching = mock(QueryableEntry.class);
+        IndexAwarePredicate first = createMockIndexedPredicate(queryContext, -1, Set.of(matching));
+        IndexAwarePredicate second = createMockIndexedPredicate(queryContext, -1, Set.of(matching, notMatching));
+
+        Set<QueryableEntry> result = new AndPredicate(first, second).filter(queryContext);
+
+        assertThat(result).containsExactly(matching);
+        verify(first).filter(queryContext);
+        verify(second).filter(queryContext);
+    }
+
+    @Test
+    public void estimateResultSize_isTheSmallestKnownEstimate() {
+        QueryContext queryContext = mock(QueryContext.class);
+        IndexAwarePredicate unknown = createMockIndexedPredicate(queryContext, -1, Set.of());
+        IndexAwarePredicate wide = createMockIndexedPredicate(queryContext, 1000, Set.of());
+        IndexAwarePredicate narrow = createMockIndexedPredicate(queryContext, 2, Set.of());
+
+        assertThat(new AndPredicate(unknown, wide, narrow).estimateResultSize(queryContext)).isEqualTo(2);
+        assertThat(new AndPredicate(unknown).estimateResultSize(queryContext)).isEqualTo(-1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static IndexAwarePredicate createMockIndexedPredicate(QueryContext queryContext, long estimate,
+                                                                  Set<QueryableEntry> result) {
+        IndexAwarePredicate predicate = mock(IndexAwarePredicate.class);
+        when(predicate.isIndexed(queryContext)).thenReturn(true);
+        when(predicate.estimateResultSize(queryContext)).thenReturn(estimate);
+        when(predicate.filter(queryContext)).thenReturn((Set) result);
+        return predicate;
+    }
 }
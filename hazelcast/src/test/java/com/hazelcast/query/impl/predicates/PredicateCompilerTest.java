@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.predicates;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.compact.SchemaService;
+import com.hazelcast.nio.serialization.genericrecord.GenericRecordBuilder;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.QueryException;
+import com.hazelcast.query.impl.QueryEntry;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createInMemorySchemaService;
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createSerializationService;
+import static com.hazelcast.query.Predicates.and;
+import static com.hazelcast.query.Predicates.between;
+import static com.hazelcast.query.Predicates.equal;
+import static com.hazelcast.query.Predicates.greaterEqual;
+import static com.hazelcast.query.Predicates.greaterThan;
+import static com.hazelcast.query.Predicates.lessEqual;
+import static com.hazelcast.query.Predicates.lessThan;
+import static com.hazelcast.query.Predicates.like;
+import static com.hazelcast.query.Predicates.not;
+import static com.hazelcast.query.Predicates.notEqual;
+import static com.hazelcast.query.Predicates.or;
+import static com.hazelcast.query.Predicates.sql;
+import static com.hazelcast.query.impl.predicates.PredicateTestUtils.entry;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class PredicateCompilerTest {
+
+    @Test
+    public void compiledPredicates_matchInterpretedOnes() {
+        List<Predicate> predicates = List.of(
+                equal("age", 30),
+                equal("age", "30"),
+                equal("age", 30.5),
+                equal("age", 30L),
+                notEqual("age", 30),
+                greaterThan("age", 30),
+                greaterEqual("age", 30),
+                lessThan("age", 30),
+                lessEqual("age", 30.0),
+                between("age", 20, 40),
+                greaterThan("salary", 1000),
+                equal("salary", -0.0),
+                equal("salary", Double.NaN),
+                lessEqual("ratio", 0.5),
+                equal("name", "b"),
+                greaterThan("name", "b"),
+                equal("name", null),
+                notEqual("name", null),
+                equal("initial", 'b'),
+                equal("active", true),
+                equal("active", "true"),
+                equal("bonus", 10),
+                greaterThan("bonus", 5),
+                equal("bonus", null),
+                equal("address.zip", 1000),
+                greaterThan("address.city", "a"),
+                equal("address", null),
+                and(greaterThan("age", 20), lessThan("salary", 3000)),
+                or(equal("name", "a"), between("age", 30, 31)),
+                not(and(equal("active", true), greaterEqual("address.zip", 1000))),
+                and(greaterThan("age", 10), like("name", "%a%")),
+                sql("age > 25 and name = 'c'"));
+
+        List<Employee> employees = new ArrayList<>();
+        employees.add(new Employee(30, 1000.0, 0.5f, "a", 'a', true, 10, new Address(1000, "Amsterdam")));
+        employees.add(new Employee(31, -0.0, 0.25f, "b", 'b', false, null, new Address(2000, "Berlin")));
+        employees.add(new Employee(20, Double.NaN, 1.5f, null, 'c', true, 5, null));
+        employees.add(new Employee(40, 5000.0, Float.NaN, "c", 'b', false, 15, new Address(0, null)));
+
+        for (Predicate predicate : predicates) {
+            Predicate compiled = PredicateCompiler.compile(predicate, emptySet());
+            assertNotSame(predicate.toString(), predicate, compiled);
+            for (Employee employee : employees) {
+                Map.Entry entry = entry(employee);
+                assertEquals(predicate + " on " + employee, predicate.apply(entry), compiled.apply(entry));
+            }
+        }
+    }
+
+    @Test
+    public void compiledPredicates_matchInterpretedOnes_onCompactData() {
+        List<Predicate> predicates = List.of(
+                equal("age", 30),
+                equal("age", "30"),
+                equal("age", 30L),
+                notEqual("age", 30),
+                greaterThan("age", 30),
+                between("age", 20, 40),
+                lessEqual("rank", (byte) 2),
+                greaterEqual("level", 3),
+                equal("id", 3L),
+                greaterThan("salary", 1000),
+                equal("salary", Double.NaN),
+                lessEqual("ratio", 0.5),
+                equal("name", "b"),
+                greaterThan("name", "b"),
+                lessThan("name", "\uffff"),
+                equal("name", null),
+                notEqual("name", null),
+                equal("active", true),
+                equal("active", "true"),
+                equal("missing", 1),
+                equal("address.city", "Berlin"),
+                and(greaterThan("age", 20), lessThan("salary", 3000)),
+                or(equal("name", "a"), between("age", 30, 31)),
+                not(and(equal("active", true), like("name", "%a%"))),
+                sql("age > 25 and name = 'c'"));
+
+        SchemaService schemaService = createInMemorySchemaService();
+        InternalSerializationService serializationService = createSerializationService(schemaService);
+        Extractors extractors = Extractors.newBuilder(serializationService).build();
+        List<Data> values = List.of(
+                compact(serializationService, 30, 1000.0, 0.5f, "a", true),
+                compact(serializationService, 31, -0.0, 0.25f, "b", false),
+                compact(serializationService, 20, Double.NaN, 1.5f, null, true),
+                compact(serializationService, 40, 5000.0, Float.NaN, "\ud83d\ude00", false),
+                compact(serializationService, 35, 2000.0, 0.5f, "c".repeat(300), true),
+                serializationService.toData(GenericRecordBuilder.compact("employee").setInt32("age", 30).build()));
+
+        for (Predicate predicate : predicates) {
+            Predicate compiled = PredicateCompiler.compile(predicate, emptySet(), schemaService,
+                    serializationService.getByteOrder());
+            for (Data value : values) {
+                Map.Entry entry = new QueryEntry(serializationService, serializationService.toData(1), value, extractors);
+                assertEquals(predicate + " on " + serializationService.toObject(value),
+                        predicate.apply(entry), compiled.apply(entry));
+            }
+        }
+    }
+
+    @Test
+    public void notCompiled_whenNoComparisonOfValueAttributes() {
+        Predicate predicate = and(like("name", "a%"), equal("__key", 1), equal("this", 1), equal("__key.age", 1));
+        assertSame(predicate, PredicateCompiler.compile(predicate, emptySet()));
+    }
+
+    @Test
+    public void notCompiled_whenAttributeHasCustomExtractor() {
+        Predicate predicate = equal("age", 30);
+        assertSame(predicate, PredicateCompiler.compile(predicate, singleton("age")));
+    }
+
+    @Test
+    public void fallsBack_forNonComparableAttributes() {
+        Predicate predicate = equal("address", new Address(1000, "Amsterdam"));
+        Predicate compiled = PredicateCompiler.compile(predicate, emptySet());
+
+        Map.Entry entry = entry(new Employee(30, 1000.0, 0.5f, "a", 'a', true, 10, new Address(1000, "Amsterdam")));
+        assertEquals(predicate.apply(entry), compiled.apply(entry));
+    }
+
+    @Test(expected = QueryException.class)
+    public void fallsBack_forMissingAttributes() {
+        Predicate compiled = PredicateCompiler.compile(equal("missing", 30), emptySet());
+        compiled.apply(entry(new Employee(30, 1000.0, 0.5f, "a", 'a', true, 10, null)));
+    }
+
+    @Test
+    public void fallsBack_forOtherValues() {
+        Predicate predicate = equal("age", 30);
+        Predicate compiled = PredicateCompiler.compile(predicate, emptySet());
+        assertEquals(predicate.apply(entry(30)), compiled.apply(entry(30)));
+    }
+
+    private static Data compact(InternalSerializationService serializationService, int age, double salary, float ratio,
+                                String name, boolean active) {
+        return serializationService.toData(GenericRecordBuilder.compact("employee")
+                .setInt32("age", age)
+                .setInt8("rank", (byte) (age % 4))
+                .setInt16("level", (short) (age % 5))
+                .setInt64("id", age % 7)
+                .setFloat64("salary", salary)
+                .setFloat32("ratio", ratio)
+                .setString("name", name)
+                .setBoolean("active", active)
+                .setGenericRecord("address", GenericRecordBuilder.compact("address")
+                        .setString("city", active ? "Berlin" : "Amsterdam")
+                        .build())
+                .build());
+    }
+
+    public static class Employee implements Serializable {
+
+        public final String name;
+        public final char initial;
+        public final Address address;
+
+        private final int age;
+        private final double salary;
+        private final float ratio;
+        private final boolean active;
+        private final Integer bonus;
+
+        Employee(int age, double salary, float ratio, String name, char initial, boolean active, Integer bonus,
+                 Address address) {
+            this.age = age;
+            this.salary = salary;
+            this.ratio = ratio;
+            this.name = name;
+            this.initial = initial;
+            this.active = active;
+            this.bonus = bonus;
+            this.address = address;
+        }
+
+        public int getAge() {
+            return age;
+        }
+
+        public double getSalary() {
+            return salary;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public String toString() {
+            return "Employee{age=" + age + ", salary=" + salary + ", ratio=" + ratio + ", name=" + name
+                    + ", initial=" + initial + ", active=" + active + ", bonus=" + bonus + ", address=" + address + '}';
+        }
+    }
+
+    public static class Address implements Serializable, Comparable<Address> {
+
+        private final int zip;
+        private final String city;
+
+        Address(int zip, String city) {
+            this.zip = zip;
+            this.city = city;
+        }
+
+        public int getZip() {
+            return zip;
+        }
+
+        public String getCity() {
+            return city;
+        }
+
+        @Override
+        public int compareTo(Address o) {
+            return Integer.compare(zip, o.zip);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Address address && zip == address.zip;
+        }
+
+        @Override
+        public int hashCode() {
+            return zip;
+        }
+
+        @Override
+        public String toString() {
+            return "Address{zip=" + zip + ", city=" + city + '}';
+        }
+    }
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
+import com.hazelcast.spi.impl.operationservice.PartitionTaskFactory;
+import com.hazelcast.spi.properties.HazelcastProperties;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_BALANCING_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_BALANCING_INTERVAL_MILLIS;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_OPERATION_THREAD_COUNT;
+import static java.lang.Boolean.TRUE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class OperationExecutorImpl_PartitionThreadBalancingTest extends OperationExecutorImpl_AbstractTest {
+
+    private PartitionThreadBalancer balancer;
+
+    @Before
+    public void before() {
+        config.setProperty(PARTITION_OPERATION_THREAD_BALANCING_ENABLED.getName(), "true");
+        // the tests trigger the rounds themselves
+        config.setProperty(PARTITION_OPERATION_THREAD_BALANCING_INTERVAL_MILLIS.getName(), "3600000");
+    }
+
+    @Test
+    public void whenDisabled() {
+        config.setProperty(PARTITION_OPERATION_THREAD_BALANCING_ENABLED.getName(), "false");
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "4");
+        initExecutor();
+
+        assertNull(executor.getBalancer());
+        assertEquals(3, executor.toPartitionThreadIndex(3));
+    }
+
+    @Test
+    public void move_thenPartitionProcessedByTargetThread() {
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "2");
+        initBalancingExecutor();
+
+        assertTrue(balancer.move(0, 1));
+        assertTrueEventually(() -> assertFalse(balancer.isMoving()));
+        assertEquals(1, executor.toPartitionThreadIndex(0));
+
+        PartitionSpecificCallable<Boolean> task = new PartitionSpecificCallable<>(0) {
+            @Override
+            public Boolean call() {
+                return Thread.currentThread() == executor.getPartitionThreads()[1]
+                        && executor.isRunAllowed(new DummyPartitionOperation(0));
+            }
+        };
+        executor.execute(task);
+        assertEqualsEventually(task, TRUE);
+
+        PartitionSpecificCallable<Boolean> oldThreadTask = new PartitionSpecificCallable<>(2) {
+            @Override
+            public Boolean call() {
+                return executor.isRunAllowed(new DummyPartitionOperation(0));
+            }
+        };
+        executor.execute(oldThreadTask);
+        assertEqualsEventually(oldThreadTask, Boolean.FALSE);
+    }
+
+    @Test
+    public void move_whenAlreadyRoutedToTarget() {
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "2");
+        initBalancingExecutor();
+
+        assertFalse(balancer.move(1, 1));
+        assertEquals(0, balancer.moveCount());
+    }
+
+    @Test
+    public void move_whileSubmitting_thenOrderAndExclusivenessPreserved() throws Exception {
+        int threadCount = 4;
+        int taskCount = 50_000;
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), String.valueOf(threadCount));
+        initBalancingExecutor();
+
+        List<Integer> processed = new ArrayList<>();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger violations = new AtomicInteger();
+        Thread producer = new Thread(() -> {
+            for (int k = 0; k < taskCount; k++) {
+                executor.execute(new SequencedTask(k, processed, concurrent, violations));
+            }
+        });
+        producer.start();
+
+        int moves = 0;
+        while (producer.isAlive()) {
+            if (!balancer.isMoving()) {
+                int owner = executor.toPartitionThreadIndex(0);
+                if (balancer.move(0, (owner + 1) % threadCount)) {
+                    moves++;
+                }
+            }
+            Thread.yield();
+        }
+        producer.join();
+
+        assertTrueEventually(() -> {
+            synchronized (processed) {
+                assertEquals(taskCount, processed.size());
+            }
+        });
+        assertEquals(0, violations.get());
+        synchronized (processed) {
+            for (int k = 0; k < taskCount; k++) {
+                assertEquals(k, (int) processed.get(k));
+            }
+        }
+        assertTrue(moves > 0);
+        assertEquals(moves, balancer.moveCount());
+    }
+
+    @Test
+    public void rebalance_movesPartitionOffBusiestThread() {
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "2");
+        initBalancingExecutor();
+
+        // partitions 0 and 2 share the first thread, the second thread is idle
+        for (int k = 0; k < 5; k++) {
+            executor.execute(new DummyPartitionOperation(0).durationMs(20));
+            executor.execute(new DummyPartitionOperation(2).durationMs(20));
+        }
+        assertTrueEventually(() -> {
+            assertEquals(5, ((DummyOperationRunnerFactory) handlerFactory).partitionOperationHandlers.get(0).operations.size());
+            assertEquals(5, ((DummyOperationRunnerFactory) handlerFactory).partitionOperationHandlers.get(2).operations.size());
+        });
+
+        balancer.rebalance();
+        assertTrueEventually(() -> assertFalse(balancer.isMoving()));
+
+        assertEquals(1, balancer.moveCount());
+        assertEquals(1, executor.toPartitionThreadIndex(0) + executor.toPartitionThreadIndex(2));
+        assertTrue(executor.getPartitionThreads()[0].busyTime.get() > 0);
+
+        // no load since the previous round
+        balancer.rebalance();
+        assertEquals(1, balancer.moveCount());
+    }
+
+    @Test
+    public void executeOnPartitions() {
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "4");
+        initBalancingExecutor();
+        assertTrue(balancer.move(0, 3));
+
+        int partitionCount = new HazelcastProperties(config).getInteger(PARTITION_COUNT);
+        BitSet partitions = new BitSet(partitionCount);
+        partitions.set(0, partitionCount);
+        AtomicInteger completed = new AtomicInteger();
+        PartitionTaskFactory<Runnable> taskFactory = partitionId -> completed::incrementAndGet;
+
+        executor.executeOnPartitions(taskFactory, partitions);
+
+        assertTrueEventually(() -> assertEquals(partitionCount, completed.get()));
+        assertTrueEventually(() -> assertFalse(balancer.isMoving()));
+    }
+
+    @Test
+    public void executeOnPartitionThreads_duringHandOff_thenCompletesAfterPartitionTasks() {
+        config.setProperty(PARTITION_OPERATION_THREAD_COUNT.getName(), "2");
+        initBalancingExecutor();
+
+        // partition 2 keeps the source thread busy, so the handoff of partition 0 stays pending
+        CountDownLatch sourceReleased = new CountDownLatch(1);
+        executor.execute(new PartitionSpecificRunnable() {
+            @Override
+            public int getPartitionId() {
+                return 2;
+            }
+
+            @Override
+            public void run() {
+                assertOpenEventually(sourceReleased);
+            }
+        });
+        assertTrue(balancer.move(0, 1));
+
+        // routed to the target thread, which defers it till the handoff
+        AtomicBoolean taskProcessed = new AtomicBoolean();
+        executor.execute(new PartitionSpecificRunnable() {
+            @Override
+            public int getPartitionId() {
+                return 0;
+            }
+
+            @Override
+            public void run() {
+                taskProcessed.set(true);
+            }
+        });
+
+        AtomicInteger pendingThreads = new AtomicInteger(2);
+        AtomicBoolean completedAfterTask = new AtomicBoolean();
+        CountDownLatch barrierCompleted = new CountDownLatch(1);
+        executor.executeOnPartitionThreads(() -> {
+            if (pendingThreads.decrementAndGet() == 0) {
+                completedAfterTask.set(taskProcessed.get());
+                barrierCompleted.countDown();
+            }
+        });
+
+        // the target thread doesn't process the barrier before the deferred task
+        assertTrueAllTheTime(() -> assertEquals(2, pendingThreads.get()), 1);
+
+        sourceReleased.countDown();
+        assertOpenEventually(barrierCompleted);
+        assertTrue(completedAfterTask.get());
+        assertTrueEventually(() -> assertFalse(balancer.isMoving()));
+    }
+
+    private void initBalancingExecutor() {
+        initExecutor();
+        balancer = executor.getBalancer();
+    }
+
+    private static class SequencedTask implements PartitionSpecificRunnable {
+
+        private final int sequence;
+        private final List<Integer> processed;
+        private final AtomicInteger concurrent;
+        private final AtomicInteger violations;
+
+        SequencedTask(int sequence, List<Integer> processed, AtomicInteger concurrent, AtomicInteger violations) {
+            this.sequence = sequence;
+            this.processed = processed;
+            this.concurrent = concurrent;
+            this.violations = violations;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return 0;
+        }
+
+        @Override
+        public void run() {
+            if (concurrent.incrementAndGet() != 1) {
+                violations.incrementAndGet();
+            }
+            synchronized (processed) {
+                processed.add(sequence);
+            }
+            concurrent.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.config.vector.Metric;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 16;
+    private static final int K = 10;
+
+    private final Random random = new Random(42);
+
+    @ParameterizedTest
+    @ValueSource(strings = {"EUCLIDEAN", "COSINE", "DOT"})
+    void search_hasHighRecall(Metric metric) {
+        float[][] vectors = randomVectors(2000);
+        HnswIndex index = new HnswIndex(metric, DIMENSION, 16, 100);
+        for (int id = 0; id < vectors.length; id++) {
+            index.add(id, vectors[id]);
+        }
+
+        int found = 0;
+        int queries = 50;
+        for (int q = 0; q < queries; q++) {
+            float[] query = randomVector();
+            Set<Integer> expected = bruteForce(metric, vectors, query, K);
+            int[] ids = new int[K];
+            int count = index.search(query, K, HnswIndex.DEFAULT_EF_SEARCH, ids, new float[K]);
+            assertThat(count).isEqualTo(K);
+            for (int i = 0; i < count; i++) {
+                if (expected.contains(ids[i])) {
+                    found++;
+                }
+            }
+        }
+        assertThat((double) found / (queries * K)).isGreaterThan(0.9);
+    }
+
+    @Test
+    void search_returnsClosestFirst() {
+        HnswIndex index = new HnswIndex(Metric.EUCLIDEAN, 1, 4, 16);
+        for (int id = 0; id < 100; id++) {
+            index.add(id, new float[]{id});
+        }
+
+        int[] ids = new int[3];
+        float[] distances = new float[3];
+        int count = index.search(new float[]{42.2f}, 3, 16, ids, distances);
+
+        assertThat(count).isEqualTo(3);
+        assertThat(ids).containsExactly(42, 43, 41);
+        assertThat(distances[0]).isLessThan(distances[1]);
+        assertThat(distances[1]).isLessThan(distances[2]);
+    }
+
+    @Test
+    void search_skipsRemovedNodes() {
+        HnswIndex index = new HnswIndex(Metric.EUCLIDEAN, 1, 4, 16);
+        for (int id = 0; id < 100; id++) {
+            index.add(id, new float[]{id});
+        }
+
+        assertThat(index.remove(42)).isTrue();
+        assertThat(index.remove(42)).isFalse();
+        int[] ids = new int[1];
+        index.search(new float[]{42}, 1, 16, ids, new float[1]);
+
+        assertThat(ids[0]).isIn(41, 43);
+        assertThat(index.size()).isEqualTo(99);
+    }
+
+    @Test
+    void add_reusesIdOfRemovedNode() {
+        HnswIndex index = new HnswIndex(Metric.EUCLIDEAN, 1, 4, 16);
+        for (int id = 0; id < 10; id++) {
+            index.add(id, new float[]{id});
+        }
+        index.remove(5);
+        index.add(5, new float[]{100});
+
+        int[] ids = new int[1];
+        index.search(new float[]{99}, 1, 16, ids, new float[1]);
+
+        assertThat(ids[0]).isEqualTo(5);
+        assertThat(index.size()).isEqualTo(10);
+    }
+
+    @Test
+    void search_onEmptyIndex() {
+        HnswIndex index = new HnswIndex(Metric.DOT, DIMENSION, 16, 100);
+
+        assertThat(index.search(randomVector(), K, K, new int[K], new float[K])).isZero();
+    }
+
+    @Test
+    void add_rejectsWrongDimension() {
+        HnswIndex index = new HnswIndex(Metric.DOT, DIMENSION, 16, 100);
+
+        assertThatThrownBy(() -> index.add(0, new float[DIMENSION + 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Set<Integer> bruteForce(Metric metric, float[][] vectors, float[] query, int k) {
+        float[] q = metric == Metric.COSINE ? VectorDistances.normalize(query) : query;
+        Integer[] ids = new Integer[vectors.length];
+        float[] distances = new float[vectors.length];
+        for (int id = 0; id < vectors.length; id++) {
+            ids[id] = id;
+            float[] v = metric == Metric.COSINE ? VectorDistances.normalize(vectors[id]) : vectors[id];
+            distances[id] = VectorDistances.distance(metric, q, v);
+        }
+        Arrays.sort(ids, (a, b) -> Float.compare(distances[a], distances[b]));
+        return new HashSet<>(Arrays.asList(ids).subList(0, k));
+    }
+
+    private float[][] randomVectors(int count) {
+        float[][] vectors = new float[count][];
+        for (int i = 0; i < count; i++) {
+            vectors[i] = randomVector();
+        }
+        return vectors;
+    }
+
+    private float[] randomVector() {
+        float[] vector = new float[DIMENSION];
+        for (int i = 0; i < DIMENSION; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+}
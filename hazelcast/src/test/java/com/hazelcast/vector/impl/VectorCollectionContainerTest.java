@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.config.vector.Metric;
+import com.hazelcast.config.vector.VectorCollectionConfig;
+import com.hazelcast.config.vector.VectorIndexConfig;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.vector.SearchOptions;
+import com.hazelcast.vector.VectorValues;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class VectorCollectionContainerTest {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+
+    @Test
+    void search_afterManyUpdates() {
+        VectorCollectionContainer container = new VectorCollectionContainer("vectors", new VectorCollectionConfig("vectors")
+                .addVectorIndexConfig(new VectorIndexConfig(null, Metric.EUCLIDEAN, 1)));
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 500; i++) {
+                container.put(ss.toData(i), document(i, new float[]{i + round}));
+            }
+        }
+
+        List<DataSearchResult> results = container.search(VectorValues.of(new float[]{109}), SearchOptions.of(1, true, false));
+
+        assertThat(container.size()).isEqualTo(500);
+        assertThat(results).hasSize(1);
+        assertThat((Integer) ss.toObject(results.get(0).getKey())).isEqualTo(100);
+    }
+
+    @Test
+    void multipleIndexes() {
+        VectorCollectionContainer container = new VectorCollectionContainer("vectors", new VectorCollectionConfig("vectors")
+                .addVectorIndexConfig(new VectorIndexConfig("a", Metric.EUCLIDEAN, 1))
+                .addVectorIndexConfig(new VectorIndexConfig("b", Metric.DOT, 2)));
+        container.put(ss.toData(1), new DataVectorDocument(ss.toData("one"),
+                VectorValues.of(Map.of("a", new float[]{1}, "b", new float[]{1, 0}))));
+        container.put(ss.toData(2), new DataVectorDocument(ss.toData("two"),
+                VectorValues.of(Map.of("a", new float[]{2}, "b", new float[]{0, 1}))));
+
+        List<DataSearchResult> results = container.search(VectorValues.of("b", new float[]{0, 1}),
+                SearchOptions.of(1, false, true));
+
+        assertThat((Integer) ss.toObject(results.get(0).getKey())).isEqualTo(2);
+        assertThat(((VectorValues.SingleVectorValues) results.get(0).getVectors()).vector()).containsExactly(0, 1);
+        assertThatThrownBy(() -> container.put(ss.toData(3), document(3, new float[]{3})))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> container.search(VectorValues.of(new float[]{1}), SearchOptions.of(1, false, false)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private DataVectorDocument document(int value, float[] vector) {
+        return new DataVectorDocument(ss.toData(value), VectorValues.of(vector));
+    }
+}
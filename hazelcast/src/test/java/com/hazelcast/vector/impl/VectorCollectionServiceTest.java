@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InvalidConfigurationException;
+import com.hazelcast.config.vector.Metric;
+import com.hazelcast.config.vector.VectorCollectionConfig;
+import com.hazelcast.config.vector.VectorIndexConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import com.hazelcast.vector.SearchOptions;
+import com.hazelcast.vector.SearchResult;
+import com.hazelcast.vector.VectorDocument;
+import com.hazelcast.vector.VectorValues;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class VectorCollectionServiceTest extends HazelcastTestSupport {
+
+    private static final int DOCUMENT_COUNT = 500;
+
+    private TestHazelcastInstanceFactory factory;
+    private String name;
+    private Config config;
+
+    @Before
+    public void setup() {
+        factory = createHazelcastInstanceFactory();
+        name = randomName();
+        config = smallInstanceConfig();
+        config.addVectorCollectionConfig(new VectorCollectionConfig(name)
+                .addVectorIndexConfig(new VectorIndexConfig(null, Metric.EUCLIDEAN, 2)));
+    }
+
+    @Test
+    public void putGetRemove() {
+        VectorCollectionProxy<String, String> collection = collection(factory.newHazelcastInstance(config));
+
+        assertThat(collection.put("a", document("A", 1, 1))).isNull();
+        VectorDocument<String> previous = collection.put("a", document("B", 2, 2));
+
+        assertThat(previous.getValue()).isEqualTo("A");
+        assertThat(collection.get("a").getValue()).isEqualTo("B");
+        assertThat(collection.size()).isEqualTo(1);
+        assertThat(collection.remove("a").getValue()).isEqualTo("B");
+        assertThat(collection.get("a")).isNull();
+        assertThat(collection.size()).isZero();
+    }
+
+    @Test
+    public void search_mergesResultsOfAllPartitions() {
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+        factory.newHazelcastInstance(config);
+        VectorCollectionProxy<Integer, String> collection = collection(instance);
+        fill(collection);
+
+        List<SearchResult<Integer, String>> results = collection.search(VectorValues.of(new float[]{100.1f, 0}),
+                SearchOptions.of(3, true, true));
+
+        assertThat(results).extracting(SearchResult::getKey).containsExactly(100, 101, 99);
+        assertThat(results.get(0).getValue()).isEqualTo("value-100");
+        assertThat(((VectorValues.SingleVectorValues) results.get(0).getVectors()).vector())
+                .containsExactly(100, 0);
+        assertThat(results.get(0).getScore()).isGreaterThan(results.get(1).getScore());
+    }
+
+    @Test
+    public void search_withoutValues() {
+        VectorCollectionProxy<Integer, String> collection = collection(factory.newHazelcastInstance(config));
+        fill(collection);
+
+        List<SearchResult<Integer, String>> results = collection.search(VectorValues.of(new float[]{0, 0}),
+                SearchOptions.of(1, false, false));
+
+        assertThat(results).hasSize(1);
+        assertThat(results.get(0).getKey()).isZero();
+        assertThat(results.get(0).getValue()).isNull();
+        assertThat(results.get(0).getVectors()).isNull();
+    }
+
+    @Test
+    public void documentsSurviveMigrationAndMemberShutdown() {
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        fill(collection(instance1));
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+        instance1.shutdown();
+
+        VectorCollectionProxy<Integer, String> collection = collection(instance2);
+        assertThat(collection.size()).isEqualTo(DOCUMENT_COUNT);
+        List<SearchResult<Integer, String>> results = collection.search(VectorValues.of(new float[]{250, 0}),
+                SearchOptions.of(1, false, false));
+        assertThat(results).extracting(SearchResult::getKey).containsExactly(250);
+    }
+
+    @Test
+    public void put_rejectsVectorOfWrongDimension() {
+        VectorCollectionProxy<String, String> collection = collection(factory.newHazelcastInstance(config));
+
+        assertThatThrownBy(() -> collection.put("a", VectorDocument.of("A", VectorValues.of(new float[]{1, 2, 3}))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void getDistributedObject_failsWithoutConfig() {
+        HazelcastInstance instance = factory.newHazelcastInstance(config);
+
+        assertThatThrownBy(() -> instance.getDistributedObject(VectorCollectionService.SERVICE_NAME, "unknown"))
+                .isInstanceOf(InvalidConfigurationException.class);
+    }
+
+    private void fill(VectorCollectionProxy<Integer, String> collection) {
+        for (int i = 0; i < DOCUMENT_COUNT; i++) {
+            collection.put(i, document("value-" + i, i, 0));
+        }
+    }
+
+    private static VectorDocument<String> document(String value, float x, float y) {
+        return VectorDocument.of(value, VectorValues.of(new float[]{x, y}));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <K, V> VectorCollectionProxy<K, V> collection(HazelcastInstance instance) {
+        return instance.getDistributedObject(VectorCollectionService.SERVICE_NAME, name);
+    }
+}
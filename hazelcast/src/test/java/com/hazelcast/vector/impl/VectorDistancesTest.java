@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2008-2024, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.hazelcast.vector.impl;
+
+import com.hazelcast.config.vector.Metric;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class VectorDistancesTest {
+
+    private final Random random = new Random(42);
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 3, 4, 7, 128})
+    void kernelsMatchNaiveImplementation(int dimension) {
+        float[] a = randomVector(dimension);
+        float[] b = randomVector(dimension);
+
+        double dot = 0;
+        double squaredEuclidean = 0;
+        double normA = 0;
+        double normB = 0;
+        for (int i = 0; i < dimension; i++) {
+            dot += a[i] * b[i];
+            squaredEuclidean += (a[i] - b[i]) * (a[i] - b[i]);
+            normA += a[i] * a[i];
+            normB += b[i] * b[i];
+        }
+
+        assertThat(VectorDistances.dot(a, b)).isCloseTo((float) dot, within(1e-4f));
+        assertThat(VectorDistances.squaredEuclidean(a, b)).isCloseTo((float) squaredEuclidean, within(1e-4f));
+        assertThat(VectorDistances.cosine(a, b)).isCloseTo((float) (dot / Math.sqrt(normA * normB)), within(1e-4f));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"EUCLIDEAN", "COSINE", "DOT"})
+    void closerVectors_haveSmallerDistanceAndHigherScore(Metric metric) {
+        float[] query = VectorDistances.normalize(new float[]{1, 0});
+        float[] close = VectorDistances.normalize(new float[]{1, 0.1f});
+        float[] far = VectorDistances.normalize(new float[]{-1, 0.5f});
+
+        float closeDistance = VectorDistances.distance(metric, query, close);
+        float farDistance = VectorDistances.distance(metric, query, far);
+
+        assertThat(closeDistance).isLessThan(farDistance);
+        assertThat(VectorDistances.score(metric, closeDistance)).isGreaterThan(VectorDistances.score(metric, farDistance));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"EUCLIDEAN", "COSINE", "DOT"})
+    void identicalUnitVectors_haveScoreOne(Metric metric) {
+        float[] vector = VectorDistances.normalize(new float[]{3, 4});
+
+        assertThat(VectorDistances.score(metric, VectorDistances.distance(metric, vector, vector)))
+                .isCloseTo(1f, within(1e-6f));
+    }
+
+    private float[] randomVector(int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = random.nextFloat() * 2 - 1;
+        }
+        return vector;
+    }
+}